@@ -0,0 +1,108 @@
+#!/usr/bin/env bash
+#
+# Teste de fumaça da imagem nativa.
+#
+# Sobe MongoDB, PostgreSQL e um servidor SMTP local (Mailpit) em contêineres, inicia o jar e o executável nativo,
+# um de cada vez, e compara o tempo até a primeira resposta HTTP e a memória residente (RSS) de cada processo.
+# Em seguida cadastra um usuário e consulta a lista de carros para garantir que os mapeamentos do MongoDB, do
+# Hibernate e do Jackson funcionam na imagem nativa.
+#
+# Uso, a partir de Java/Back-end:
+#   mvn package && mvn -Pnative package -DskipTests
+#   ./native-smoke.sh
+#
+# Variáveis opcionais: JAR, NATIVE, PORT, STARTUP_TIMEOUT_S e KEEP_STANDINS=1 (mantém os contêineres no final).
+
+set -euo pipefail
+
+cd "$( dirname "$0" )"
+
+JAR="${JAR:-target/Back-end-1.0-SNAPSHOT.jar}"
+NATIVE="${NATIVE:-target/cars-api}"
+PORT="${PORT:-18080}"
+STARTUP_TIMEOUT_S="${STARTUP_TIMEOUT_S:-120}"
+PREFIX="cars-smoke-$$"
+
+export MONGODB_URL="mongodb://localhost:27018/cars"
+export MONGODB_DATABASE="cars"
+export POSTGRES_URL="jdbc:postgresql://localhost:5433/cars"
+export POSTGRES_USERNAME="cars"
+export POSTGRES_PASSWORD="cars"
+export MAIL_HOST="localhost"
+export MAIL_PORT="1026"
+export MAIL_USERNAME="cars"
+export MAIL_PASSWORD="cars"
+
+for artifact in "$JAR" "$NATIVE"; do
+    if [ ! -e "$artifact" ]; then
+        echo "Artefato não encontrado: $artifact" >&2
+        exit 1
+    fi
+done
+
+cleanup () {
+    if [ -n "${APP_PID:-}" ]; then
+        kill "$APP_PID" 2> /dev/null || true
+    fi
+    if [ "${KEEP_STANDINS:-0}" != "1" ]; then
+        docker rm -f "$PREFIX-mongo" "$PREFIX-postgres" "$PREFIX-mail" > /dev/null 2>&1 || true
+    fi
+}
+trap cleanup EXIT
+
+docker run -d --name "$PREFIX-mongo" -p 27018:27017 mongo:7 > /dev/null
+docker run -d --name "$PREFIX-postgres" -p 5433:5432 -e POSTGRES_DB=cars -e POSTGRES_USER=cars \
+    -e POSTGRES_PASSWORD=cars postgres:16-alpine > /dev/null
+docker run -d --name "$PREFIX-mail" -p 1026:1025 -e MP_SMTP_AUTH_ACCEPT_ANY=1 \
+    -e MP_SMTP_AUTH_ALLOW_INSECURE=1 axllent/mailpit > /dev/null
+
+until docker exec "$PREFIX-postgres" pg_isready -U cars > /dev/null 2>&1; do
+    sleep 1
+done
+
+now_ms () {
+    date +%s%3N
+}
+
+rss_kb () {
+    awk '/^VmRSS:/ { print $2 }' "/proc/$1/status"
+}
+
+# Inicia o comando recebido, mede o tempo até a primeira resposta HTTP e a memória após o teste funcional.
+measure () {
+    local label="$1"
+    shift
+    local start
+    start="$( now_ms )"
+    "$@" --server.port="$PORT" > "target/smoke-$label.log" 2>&1 &
+    APP_PID=$!
+
+    local deadline=$(( $( date +%s ) + STARTUP_TIMEOUT_S ))
+    until [ "$( curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/actuator/health" )" != "000" ]; do
+        if ! kill -0 "$APP_PID" 2> /dev/null || [ "$( date +%s )" -gt "$deadline" ]; then
+            echo "$label: a aplicação não respondeu; veja target/smoke-$label.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    local startup=$(( $( now_ms ) - start ))
+    local startup_rss
+    startup_rss="$( rss_kb "$APP_PID" )"
+
+    local user="smoke$label"
+    curl -sf -o /dev/null -X POST "http://localhost:$PORT/users/create" -H 'Content-Type: application/json' \
+        -d "{\"username\":\"$user\",\"email\":\"$user@example.com\",\"password\":\"secret123\"}"
+    curl -sf -o /dev/null -u "$user:secret123" "http://localhost:$PORT/cars"
+    local loaded_rss
+    loaded_rss="$( rss_kb "$APP_PID" )"
+
+    kill "$APP_PID"
+    wait "$APP_PID" 2> /dev/null || true
+    APP_PID=""
+
+    printf '%-8s %12s %18s %18s\n' "$label" "$startup" "$startup_rss" "$loaded_rss"
+}
+
+printf '%-8s %12s %18s %18s\n' "build" "startup_ms" "rss_startup_kb" "rss_after_smoke_kb"
+measure jvm java -jar "$JAR"
+measure native "$NATIVE"
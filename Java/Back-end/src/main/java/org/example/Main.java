@@ -1,12 +1,24 @@
 package org.example;
 
+import org.example.config.CarsRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints( CarsRuntimeHints.class )
 public class Main {
+
+    /**
+     * Quantidade máxima de etapas de inicialização guardadas para o relatório de inicialização.
+     */
+    private static final int STARTUP_STEPS_CAPACITY = 8192;
+
     public static void main ( String[] args ) {
-        SpringApplication.run( Main.class, args );
+        SpringApplication application = new SpringApplication( Main.class );
+        application.setApplicationStartup( new BufferingApplicationStartup( STARTUP_STEPS_CAPACITY ) );
+        application.run( args );
     }
-}
\ No newline at end of file
+}
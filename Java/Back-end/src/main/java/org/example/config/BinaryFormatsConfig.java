@@ -0,0 +1,50 @@
+package org.example.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuração dos formatos binários de resposta e de requisição.
+ * <p>
+ * Além de JSON, a API aceita e produz CBOR ({@code application/cbor}) e Smile
+ * ({@code application/x-jackson-smile}), escolhidos pelos cabeçalhos {@code Accept} e {@code Content-Type}. Os dois
+ * formatos representam o mesmo modelo de dados do JSON com codificação binária, reduzindo o tamanho das respostas
+ * e o custo de serialização para os consumidores internos. Clientes que não enviam {@code Accept} continuam
+ * recebendo JSON.
+ * </p>
+ * <p>
+ * Os conversores usam o {@link Jackson2ObjectMapperBuilder} configurado pelo Spring Boot, de modo que módulos e
+ * opções de serialização são os mesmos do JSON. Por serem beans, substituem os conversores padrão do Spring MVC
+ * para esses formatos, que usariam um mapeador sem essas configurações.
+ * </p>
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    /**
+     * Cria o conversor de mensagens CBOR.
+     *
+     * @param builder o construtor de mapeadores configurado pelo Spring Boot
+     * @return o conversor para {@code application/cbor}
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter ( Jackson2ObjectMapperBuilder builder ) {
+        return new MappingJackson2CborHttpMessageConverter( builder.factory( new CBORFactory() ).build() );
+    }
+
+    /**
+     * Cria o conversor de mensagens Smile.
+     *
+     * @param builder o construtor de mapeadores configurado pelo Spring Boot
+     * @return o conversor para {@code application/x-jackson-smile}
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter ( Jackson2ObjectMapperBuilder builder ) {
+        return new MappingJackson2SmileHttpMessageConverter( builder.factory( new SmileFactory() ).build() );
+    }
+}
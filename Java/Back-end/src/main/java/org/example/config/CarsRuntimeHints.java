@@ -0,0 +1,71 @@
+package org.example.config;
+
+import org.example.dto.CarsBatchDTO;
+import org.example.dto.RegisterForAdminDTO;
+import org.example.dto.RegisterForUserDTO;
+import org.example.dto.ValidationErrorDTO;
+import org.example.model.CarPricePoint;
+import org.example.model.CarPriceRollup;
+import org.example.model.CatalogStats;
+import org.example.model.Cars;
+import org.example.model.DimensionsCar;
+import org.example.model.MigrationProgress;
+import org.example.model.SpecificationsCar;
+import org.example.model.User;
+import org.example.repository.CarsRepository;
+import org.example.service.stream.CarsChangeMessage;
+import org.example.utils.QueryMongo;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Registra as informações de reflexão e de recursos exigidas pela imagem nativa do GraalVM.
+ * <p>
+ * O processamento AOT do Spring descobre sozinho os beans, os repositórios e os tipos das assinaturas dos
+ * controladores, mas não enxerga os acessos feitos por reflexão no próprio código da aplicação:
+ * </p>
+ * <ul>
+ *     <li>{@link Cars}, com {@link SpecificationsCar} e {@link DimensionsCar}, e {@link User} são convertidos pelo
+ *     Jackson e pelos mapeadores do MongoDB e do Hibernate também a partir de respostas genéricas, como
+ *     {@code ResponseEntity<?>};</li>
+ *     <li>{@link CarPricePoint}, {@link CarPriceRollup}, {@link CatalogStats} e {@link MigrationProgress} são lidos e
+ *     gravados apenas pelo {@code MongoTemplate}, fora de qualquer repositório;</li>
+ *     <li>as consultas de {@link CarsRepository} são lidas das anotações {@code @Query} e {@code @Meta}, cujos
+ *     textos vêm de {@link QueryMongo}.</li>
+ * </ul>
+ * <p>
+ * Os recursos estáticos da interface do Swagger, servidos a partir do classpath, também são incluídos na imagem.
+ * </p>
+ */
+public class CarsRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] MODEL_TYPES = {
+            Cars.class, SpecificationsCar.class, DimensionsCar.class, User.class, CarPricePoint.class,
+            CarPriceRollup.class, CatalogStats.class, CatalogStats.Totals.class, MigrationProgress.class
+    };
+
+    private static final Class<?>[] BINDING_TYPES = {
+            Cars.class, CarsBatchDTO.class, RegisterForUserDTO.class, RegisterForAdminDTO.class,
+            CarsChangeMessage.class, ValidationErrorDTO.class
+    };
+
+    @Override
+    public void registerHints ( RuntimeHints hints, ClassLoader classLoader ) {
+        for ( Class<?> type : MODEL_TYPES ) {
+            hints.reflection().registerType( type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_METHODS );
+        }
+        new BindingReflectionHintsRegistrar().registerReflectionHints( hints.reflection(), BINDING_TYPES );
+
+        hints.reflection().registerType( QueryMongo.class, MemberCategory.PUBLIC_FIELDS );
+        hints.reflection().registerType( CarsRepository.class,
+                MemberCategory.INTROSPECT_PUBLIC_METHODS, MemberCategory.INVOKE_PUBLIC_METHODS );
+
+        hints.resources().registerPattern( "META-INF/resources/swagger-ui.html" );
+        hints.resources().registerPattern( "META-INF/resources/webjars/springfox-swagger-ui/*" );
+    }
+}
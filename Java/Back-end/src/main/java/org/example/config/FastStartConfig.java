@@ -0,0 +1,59 @@
+package org.example.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.LazyInitializationBeanFactoryPostProcessor;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Configuração do perfil {@code faststart}, voltado a reduzir o tempo de inicialização da aplicação.
+ * <p>
+ * Com o perfil ativo, os beans passam a ser criados apenas quando usados pela primeira vez, como faz a propriedade
+ * {@code spring.main.lazy-initialization}. Beans com métodos {@link Scheduled} continuam sendo criados na
+ * inicialização, pois suas tarefas só são agendadas quando o bean existe, e é delas que dependem a carga dos
+ * catálogos em memória e a criação dos índices. O restante do perfil, como o processamento AOT e o arquivo CDS, é
+ * montado pelo perfil Maven de mesmo nome.
+ * </p>
+ */
+@Configuration
+@Profile( "faststart" )
+public class FastStartConfig {
+
+    /**
+     * Marca como tardias as definições de beans que não foram excluídas por um {@link LazyInitializationExcludeFilter}.
+     *
+     * @return o processador das definições de beans
+     */
+    @Bean
+    public static LazyInitializationBeanFactoryPostProcessor lazyInitializationBeanFactoryPostProcessor () {
+        return new LazyInitializationBeanFactoryPostProcessor();
+    }
+
+    /**
+     * Mantém a criação antecipada dos beans que possuem tarefas agendadas.
+     *
+     * @return o filtro de exclusão da inicialização tardia
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter () {
+        return ( String beanName, BeanDefinition definition, Class<?> beanType ) -> hasScheduledMethods( beanType );
+    }
+
+    private static boolean hasScheduledMethods ( Class<?> beanType ) {
+        if ( beanType == null ) {
+            return false;
+        }
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithMethods( beanType,
+                method -> found.set( true ),
+                method -> ! found.get() && AnnotatedElementUtils.hasAnnotation( method, Scheduled.class ) );
+        return found.get();
+    }
+}
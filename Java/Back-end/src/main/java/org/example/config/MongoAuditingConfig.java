@@ -0,0 +1,13 @@
+package org.example.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+
+/**
+ * Habilita o preenchimento automático dos campos de auditoria dos documentos do MongoDB, como
+ * {@link org.example.model.Cars#getLastModified()}.
+ */
+@Configuration
+@EnableMongoAuditing
+public class MongoAuditingConfig {
+}
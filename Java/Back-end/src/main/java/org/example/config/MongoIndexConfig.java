@@ -0,0 +1,102 @@
+package org.example.config;
+
+import org.example.model.CarPriceRollup;
+import org.example.exceptions.DependencyUnavailableException;
+import org.example.model.Cars;
+import org.example.utils.QueryMongo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Garante a existência dos índices da coleção de carros usados pelas consultas ordenadas e pela recuperação
+ * das alterações posteriores a uma fotografia do catálogo, e do índice dos agregados do histórico de preços.
+ * <p>
+ * A criação automática de índices do Spring Data MongoDB fica desabilitada por padrão, por isso os índices são
+ * declarados aqui e criados quando a aplicação termina de iniciar. A operação é idempotente.
+ * </p>
+ * <p>
+ * Os campos das buscas exatas por texto ({@code model}, {@code producedBy}, {@code specifications.engineType} e
+ * {@code features}) são indexados com a collation {@link #CASE_INSENSITIVE}, declarada também nas consultas do
+ * {@link org.example.repository.CarsRepository}, para que a comparação sem distinção de maiúsculas use o índice.
+ * </p>
+ */
+@Component
+public class MongoIndexConfig {
+
+    public static final Collation CASE_INSENSITIVE = Collation.of( QueryMongo.COLLATION_LOCALE )
+            .strength( QueryMongo.COLLATION_STRENGTH );
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( MongoIndexConfig.class );
+
+    private final MongoTemplate mongoTemplate;
+    private volatile boolean finished;
+
+    public MongoIndexConfig ( MongoTemplate mongoTemplate ) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Cria os índices das coleções {@code cars} e {@code car_price_rollups}, caso ainda não existam.
+     * <p>
+     * Se o MongoDB estiver indisponível, a aplicação continua iniciando e a criação é tentada novamente em
+     * intervalos regulares. Outras falhas, como um índice já existente com opções diferentes, não são resolvidas
+     * por novas tentativas: são registradas no log e a criação é abandonada até a próxima inicialização.
+     * </p>
+     */
+    @EventListener( ApplicationReadyEvent.class )
+    @Scheduled( initialDelayString = "${cars.mongo.index-retry-ms:60000}", fixedDelayString = "${cars.mongo.index-retry-ms:60000}" )
+    public void ensureIndexes () {
+        if ( finished ) {
+            return;
+        }
+        try {
+            IndexOperations indexes = mongoTemplate.indexOps( Cars.class );
+            indexes.ensureIndex( new Index().on( "carValue", Sort.Direction.ASC ) );
+            indexes.ensureIndex( new Index().on( "yearProduction", Sort.Direction.ASC ) );
+            indexes.ensureIndex( new Index().on( "lastModified", Sort.Direction.ASC ) );
+            caseInsensitiveIndexes().forEach( indexes::ensureIndex );
+            mongoTemplate.indexOps( CarPriceRollup.class ).ensureIndex( new Index()
+                    .on( "scope", Sort.Direction.ASC )
+                    .on( "key", Sort.Direction.ASC )
+                    .on( "period", Sort.Direction.ASC )
+                    .on( "bucket", Sort.Direction.ASC ) );
+            finished = true;
+        } catch ( DataAccessResourceFailureException | TransientDataAccessException
+                  | DependencyUnavailableException exception ) {
+            LOGGER.warn( "MongoDB unavailable while creating indexes, retrying later", exception );
+        } catch ( DataAccessException exception ) {
+            finished = true;
+            LOGGER.warn( "Could not create MongoDB indexes, giving up until the next restart", exception );
+        }
+    }
+
+    /**
+     * Retorna os índices com a collation {@link #CASE_INSENSITIVE} dos campos das buscas exatas por texto.
+     *
+     * @return os índices a serem criados na coleção de carros
+     */
+    public static List<Index> caseInsensitiveIndexes () {
+        return List.of(
+                new Index().on( "model", Sort.Direction.ASC ).named( "model_ci" ).collation( CASE_INSENSITIVE ),
+                new Index().on( "producedBy", Sort.Direction.ASC ).named( "producedBy_ci" )
+                        .collation( CASE_INSENSITIVE ),
+                new Index().on( "specifications.engineType", Sort.Direction.ASC ).named( "engineType_ci" )
+                        .collation( CASE_INSENSITIVE ),
+                new Index().on( "features", Sort.Direction.ASC ).named( "features_ci" )
+                        .collation( CASE_INSENSITIVE ) );
+    }
+}
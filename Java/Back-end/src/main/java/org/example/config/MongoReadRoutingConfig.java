@@ -0,0 +1,31 @@
+package org.example.config;
+
+import org.example.service.routing.ReadRouting;
+import org.example.service.routing.RoutingMongoTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * Substitui o {@link MongoTemplate} padrão do Spring Boot pelo {@link RoutingMongoTemplate}, que direciona as
+ * leituras de listagem e busca para os secundários do <i>replica set</i> conforme o {@link ReadRouting}.
+ */
+@Configuration
+public class MongoReadRoutingConfig {
+
+    /**
+     * Cria o template usado pelos repositórios e serviços do MongoDB.
+     *
+     * @param databaseFactory a fábrica de conexões configurada pelo Spring Boot
+     * @param converter       o conversor configurado pelo Spring Boot
+     * @param readRouting     o roteamento das leituras
+     * @return o template com roteamento de leituras
+     */
+    @Bean
+    public MongoTemplate mongoTemplate ( MongoDatabaseFactory databaseFactory, MongoConverter converter,
+                                         ReadRouting readRouting ) {
+        return new RoutingMongoTemplate( databaseFactory, converter, readRouting );
+    }
+}
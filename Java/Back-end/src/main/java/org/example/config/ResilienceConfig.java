@@ -0,0 +1,103 @@
+package org.example.config;
+
+import org.example.service.resilience.DependencyGuards;
+import org.example.service.resilience.GuardedDependenciesPostProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuração do isolamento entre as dependências externas da aplicação.
+ * <p>
+ * Registra o {@link GuardedDependenciesPostProcessor}, que aplica limites de concorrência e disjuntores ao MongoDB,
+ * ao PostgreSQL e ao servidor SMTP, e define os tempos máximos de cada chamada: conexão e leitura no cliente do
+ * MongoDB, duração das consultas JPA e conexão, leitura e escrita no envio de e-mails. Valores já definidos em
+ * {@code application.properties} para o JPA e o SMTP têm precedência.
+ * </p>
+ */
+@Configuration
+public class ResilienceConfig {
+
+    /**
+     * Registra o processador que protege as chamadas às dependências externas.
+     * <p>
+     * O método é estático para que o processador seja criado antes dos demais beans de configuração.
+     * </p>
+     *
+     * @param guards as proteções de cada dependência, resolvidas apenas na primeira chamada
+     * @return o processador de beans
+     */
+    @Bean
+    public static GuardedDependenciesPostProcessor guardedDependenciesPostProcessor (
+            ObjectProvider<DependencyGuards> guards ) {
+        return new GuardedDependenciesPostProcessor( guards );
+    }
+
+    /**
+     * Define os tempos máximos de conexão e leitura do cliente do MongoDB.
+     * <p>
+     * O tempo de leitura funciona como limite final para as operações que não recebem {@code maxTimeMS}, como as
+     * operações herdadas de {@link org.springframework.data.mongodb.repository.MongoRepository}.
+     * </p>
+     *
+     * @param connectTimeoutMillis o tempo máximo para abrir uma conexão
+     * @param readTimeoutMillis    o tempo máximo de espera por uma resposta
+     * @return o personalizador das configurações do cliente
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoTimeoutsCustomizer (
+            @Value( "${cars.resilience.mongo.connect-timeout-ms:2000}" ) int connectTimeoutMillis,
+            @Value( "${cars.resilience.mongo.read-timeout-ms:5000}" ) int readTimeoutMillis ) {
+        return builder -> builder
+                .applyToSocketSettings( socket -> socket
+                        .connectTimeout( connectTimeoutMillis, TimeUnit.MILLISECONDS )
+                        .readTimeout( readTimeoutMillis, TimeUnit.MILLISECONDS ) )
+                .applyToClusterSettings( cluster -> cluster
+                        .serverSelectionTimeout( connectTimeoutMillis, TimeUnit.MILLISECONDS ) );
+    }
+
+    /**
+     * Define o tempo máximo das consultas JPA ao PostgreSQL.
+     *
+     * @param queryTimeoutMillis o tempo máximo de uma consulta
+     * @return o personalizador das propriedades do Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer postgresTimeoutsCustomizer (
+            @Value( "${cars.resilience.postgres.query-timeout-ms:2000}" ) int queryTimeoutMillis ) {
+        return properties -> properties.putIfAbsent( "jakarta.persistence.query.timeout", queryTimeoutMillis );
+    }
+
+    /**
+     * Define os tempos máximos de conexão, leitura e escrita no servidor SMTP.
+     * <p>
+     * Sem esses limites o JavaMail aguarda indefinidamente por um servidor que não responde.
+     * </p>
+     *
+     * @param timeoutMillis o tempo máximo de cada etapa do envio
+     * @return o processador que ajusta o {@link JavaMailSenderImpl}
+     */
+    @Bean
+    public static BeanPostProcessor mailTimeoutsPostProcessor (
+            @Value( "${cars.resilience.smtp.timeout-ms:5000}" ) int timeoutMillis ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization ( Object bean, String beanName ) {
+                if ( bean instanceof JavaMailSenderImpl mailSender ) {
+                    String timeout = Integer.toString( timeoutMillis );
+                    mailSender.getJavaMailProperties().putIfAbsent( "mail.smtp.connectiontimeout", timeout );
+                    mailSender.getJavaMailProperties().putIfAbsent( "mail.smtp.timeout", timeout );
+                    mailSender.getJavaMailProperties().putIfAbsent( "mail.smtp.writetimeout", timeout );
+                }
+                return bean;
+            }
+        };
+    }
+}
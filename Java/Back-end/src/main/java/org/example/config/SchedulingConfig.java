@@ -0,0 +1,38 @@
+package org.example.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuração que habilita a execução de tarefas agendadas.
+ * <p>
+ * Necessária para as rotinas periódicas da aplicação, como a reconciliação das estruturas de catálogo mantidas
+ * em memória com o banco de dados.
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Define a quantidade de threads das tarefas agendadas.
+     * <p>
+     * Por padrão o Spring usa uma única thread, e uma rotina demorada, como a agregação das estatísticas do
+     * catálogo, atrasaria todas as demais, inclusive o <i>heartbeat</i> do fluxo de alterações.
+     * </p>
+     *
+     * @param poolSize a quantidade de threads compartilhadas pelas tarefas agendadas
+     * @return o personalizador do agendador
+     */
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer schedulingPoolCustomizer (
+            @Value( "${cars.scheduling.pool-size:4}" ) int poolSize ) {
+        return scheduler -> {
+            scheduler.setPoolSize( poolSize );
+            scheduler.setThreadNamePrefix( "cars-scheduling-" );
+        };
+    }
+}
@@ -31,7 +31,8 @@ public class WebConfig implements WebMvcConfigurer {
     public void addCorsMappings ( CorsRegistry registry ) {
         registry.addMapping( Routes.ALL_ROUTES )
                 .allowedOrigins( HttpInfo.ALLOWED_ORIGINS )
-                .allowedMethods( HttpInfo.HTTP_GET, HttpInfo.HTTP_POST, HttpInfo.HTTP_PUT, HttpInfo.HTTP_DELETE )
+                .allowedMethods( HttpInfo.HTTP_GET, HttpInfo.HTTP_POST, HttpInfo.HTTP_PUT, HttpInfo.HTTP_PATCH,
+                        HttpInfo.HTTP_DELETE )
                 .allowedHeaders( HttpInfo.ALLOWED_HEADERS );
     }
 }
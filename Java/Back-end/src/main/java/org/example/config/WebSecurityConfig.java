@@ -1,16 +1,21 @@
 package org.example.config;
 
+import org.example.filter.IdempotencyFilter;
+import org.example.filter.RateLimitFilter;
+import org.example.handler.DependencyAwareEntryPoint;
 import org.example.role.UserRole;
 import org.example.routes.Routes;
+import org.example.service.idempotency.IdempotencyStore;
+import org.example.service.ratelimit.RateLimiter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
-import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 /**
  * Configuração da segurança do aplicativo, controlando o acesso aos endpoints.
@@ -31,14 +36,22 @@ public class WebSecurityConfig {
      * <p>
      * Permite que usuários acessem o endpoint {@code /users/create} sem autenticação e desativa a proteção CSRF para ele.
      * Requer autenticação para outros endpoints, com permissões específicas para operações de administração e acesso a dados.
+     * Todas as rotas em {@code /admin} são restritas aos administradores.
+     * Após a autenticação, o {@link RateLimitFilter} limita a quantidade de requisições de cada usuário e, depois
+     * dele, o {@link IdempotencyFilter} responde às repetições das requisições de criação com {@code Idempotency-Key}.
+     * Quando os usuários não podem ser carregados porque o PostgreSQL está indisponível, o
+     * {@link DependencyAwareEntryPoint} responde com o status 503 em vez de 401.
      * </p>
      *
-     * @param http o objeto {@link HttpSecurity} usado para definir as configurações de segurança HTTP.
+     * @param http             o objeto {@link HttpSecurity} usado para definir as configurações de segurança HTTP.
+     * @param rateLimiter      o limitador de requisições por usuário e classe de rota.
+     * @param idempotencyStore as respostas guardadas das requisições de criação com chave de idempotência.
      * @return um {@link SecurityFilterChain} configurado com as regras de segurança.
      * @throws Exception se ocorrer um erro durante a configuração da segurança.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain ( HttpSecurity http ) throws Exception {
+    public SecurityFilterChain securityFilterChain ( HttpSecurity http, RateLimiter rateLimiter,
+                                                     IdempotencyStore idempotencyStore ) throws Exception {
         http
                 .csrf( csrf -> csrf.disable()// Desativa CSRF para o endpoint específico
                 )
@@ -47,6 +60,8 @@ public class WebSecurityConfig {
                                 .requestMatchers( HttpMethod.POST, Routes.CREATE_USER_ROUTE ).permitAll()
                                 .requestMatchers( HttpMethod.POST, Routes.CREATE_ADMIN_ROUTE )
                                 .hasRole( UserRole.ADMIN_ROLE.getRole() )
+                                .requestMatchers( Routes.ADMIN_AND_DEPENDENCIES_ROUTE )
+                                .hasRole( UserRole.ADMIN_ROLE.getRole() )
                                 .requestMatchers( HttpMethod.GET, Routes.CARS_ROUTE )
                                 .hasAnyRole( UserRole.USER_ROLE.getRole(), UserRole.ADMIN_ROLE.getRole() )
                                 .requestMatchers( HttpMethod.GET, Routes.CARS_AND_DEPENDENCIES_ROUTE )
@@ -55,11 +70,15 @@ public class WebSecurityConfig {
                                 .hasRole( UserRole.ADMIN_ROLE.getRole() )
                                 .requestMatchers( HttpMethod.PUT, Routes.CARS_AND_DEPENDENCIES_ROUTE )
                                 .hasRole( UserRole.ADMIN_ROLE.getRole() )
+                                .requestMatchers( HttpMethod.PATCH, Routes.CARS_AND_DEPENDENCIES_ROUTE )
+                                .hasRole( UserRole.ADMIN_ROLE.getRole() )
                                 .requestMatchers( HttpMethod.DELETE, Routes.CARS_AND_DEPENDENCIES_ROUTE )
                                 .hasRole( UserRole.ADMIN_ROLE.getRole() )
                                 .anyRequest().authenticated()
                 )
-                .httpBasic( Customizer.withDefaults() );
+                .httpBasic( basic -> basic.authenticationEntryPoint( new DependencyAwareEntryPoint() ) )
+                .addFilterAfter( new RateLimitFilter( rateLimiter ), BasicAuthenticationFilter.class )
+                .addFilterAfter( new IdempotencyFilter( idempotencyStore ), RateLimitFilter.class );
         return http.build();
     }
 
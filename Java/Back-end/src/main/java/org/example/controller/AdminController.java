@@ -39,7 +39,8 @@ public class AdminController {
      * Endpoint para criar um novo usuário com privilégios administrativos.
      * <p>
      * Recebe os dados do novo usuário em formato JSON, valida esses dados e utiliza o serviço {@link CustomUserDetailsService}
-     * para processar a criação do usuário.
+     * para processar a criação do usuário. Com o cabeçalho {@code Idempotency-Key}, as repetições da requisição
+     * recebem a mesma resposta sem criar o usuário novamente ({@link org.example.filter.IdempotencyFilter}).
      * </p>
      *
      * @param userData objeto {@link RegisterForAdminDTO} contendo os detalhes do novo usuário.
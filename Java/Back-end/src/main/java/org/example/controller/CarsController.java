@@ -1,17 +1,31 @@
 package org.example.controller;
 
+import org.example.dto.CarsBatchDTO;
+import org.example.dto.ModelMatchDTO;
+import org.example.utils.Errors;
 import org.example.utils.PageInfo;
 import org.example.exceptions.*;
 import org.example.model.Cars;
 import org.example.routes.Routes;
 import org.example.service.CarsService;
+import org.example.service.bitmap.FacetQuery;
+import org.example.service.bitmap.FacetResult;
+import org.example.service.columnar.ColumnarQuery;
+import org.example.service.ranking.RankingCriterion;
+import org.example.service.ranking.RankingService;
+import org.example.service.similar.SimilarCarsService;
+import org.example.service.stream.CarsChangeStream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -28,6 +42,15 @@ public class CarsController {
     @Autowired
     private CarsService carsService;
 
+    @Autowired
+    private CarsChangeStream carsChangeStream;
+
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private SimilarCarsService similarCarsService;
+
     /**
      * Recupera todos os carros armazenados no banco de dados.
      * <p>
@@ -60,10 +83,86 @@ public class CarsController {
         return ResponseEntity.ok( carsService.getById( id ) );
     }
 
+    /**
+     * Recupera vários carros em uma única requisição, a partir de seus IDs e/ou modelos.
+     * <p>
+     * Este endpoint retorna os carros na ordem das chaves solicitadas e lista separadamente as chaves que não
+     * correspondem a nenhum carro, sem interromper a requisição com o status HTTP 404.
+     * </p>
+     *
+     * @param ids    os IDs dos carros a serem recuperados.
+     * @param models os modelos dos carros a serem recuperados.
+     * @return um {@link CarsBatchDTO} com os carros encontrados e as chaves ausentes.
+     * @throws InvalidFieldException se a quantidade de chaves ultrapassar o limite permitido.
+     */
+    @GetMapping( Routes.BATCH_ROUTE )
+    public CarsBatchDTO getBatch ( @RequestParam( required = false ) List<String> ids,
+                                   @RequestParam( required = false ) List<String> models ) {
+        return new ResponseEntity<>( carsService.getBatch( ids, models ), HttpStatus.OK ).getBody();
+    }
+
+    /**
+     * Recupera os carros mais semelhantes a um carro.
+     * <p>
+     * A semelhança é a distância entre os vetores normalizados de valor, ano, especificações, dimensões e
+     * acessórios dos carros. O próprio carro não faz parte do resultado.
+     * </p>
+     *
+     * @param id    o ID do carro de referência.
+     * @param limit a quantidade de carros desejada. O valor padrão é 10.
+     * @return uma lista de carros, do mais semelhante para o menos semelhante.
+     * @throws InvalidFieldException     se o limite for inválido.
+     * @throws ResourceNotFoundException se o carro não existir.
+     */
+    @GetMapping( Routes.SIMILAR_ROUTE )
+    public List<Cars> getSimilar ( @PathVariable String id,
+                                   @RequestParam( defaultValue = PageInfo.DEFAULT_SIMILAR_SIZE ) int limit ) {
+        return similarCarsService.similar( id, limit );
+    }
+
+    /**
+     * Recupera o ranking dos carros segundo um critério.
+     * <p>
+     * Este endpoint retorna os primeiros carros ordenados pelo critério fornecido ({@code cheapest},
+     * {@code most_expensive}, {@code newest}, {@code oldest} ou {@code fastest}), sem carregar o catálogo inteiro.
+     * </p>
+     *
+     * @param criterion o critério do ranking.
+     * @param limit     a quantidade de carros desejada. O valor padrão é 10.
+     * @return uma lista de carros, do melhor para o pior segundo o critério.
+     * @throws InvalidFieldException se o critério ou o limite forem inválidos.
+     */
+    @GetMapping( Routes.RANKING_ROUTE )
+    public List<Cars> getRanking ( @PathVariable String criterion,
+                                   @RequestParam( defaultValue = PageInfo.DEFAULT_RANKING_SIZE ) int limit ) {
+        return new ResponseEntity<>( rankingService.top( RankingCriterion.fromPath( criterion ), limit ),
+                HttpStatus.OK ).getBody();
+    }
+
+    /**
+     * Recupera o ranking dos carros de cada fabricante segundo um critério.
+     * <p>
+     * Este endpoint retorna, para cada fabricante, os primeiros carros ordenados pelo critério fornecido.
+     * </p>
+     *
+     * @param criterion o critério do ranking.
+     * @param limit     a quantidade de carros desejada por fabricante. O valor padrão é 10.
+     * @return um mapa do fabricante para a sua lista de carros, do melhor para o pior.
+     * @throws InvalidFieldException se o critério ou o limite forem inválidos.
+     */
+    @GetMapping( Routes.RANKING_BY_PRODUCER_ROUTE )
+    public Map<String, List<Cars>> getRankingByProducer ( @PathVariable String criterion,
+                                                          @RequestParam( defaultValue = PageInfo.DEFAULT_RANKING_SIZE ) int limit ) {
+        return new ResponseEntity<>( rankingService.topByProducer( RankingCriterion.fromPath( criterion ), limit ),
+                HttpStatus.OK ).getBody();
+    }
+
     /**
      * Cria um novo carro no banco de dados.
      * <p>
      * Este endpoint adiciona um novo carro ao banco de dados com base no objeto {@link Cars} passado no corpo da requisição.
+     * Com o cabeçalho {@code Idempotency-Key}, as repetições da requisição recebem o carro criado na primeira, sem
+     * cadastrar outro carro ({@link org.example.filter.IdempotencyFilter}).
      * </p>
      *
      * @param car o objeto {@link Cars} passado no corpo da requisição.
@@ -98,6 +197,30 @@ public class CarsController {
         return ResponseEntity.ok( carsService.updateCar( id, cars ) );
     }
 
+    /**
+     * Altera apenas os campos informados de um carro existente.
+     * <p>
+     * O corpo contém somente os campos que mudam; como no cadastro, nenhum campo pode ser {@code null}. A versão
+     * sobre a qual a alteração foi feita deve ser informada no cabeçalho {@code If-Match} ou no campo
+     * {@code version} do corpo. A resposta traz a nova versão no cabeçalho {@code ETag}.
+     * </p>
+     *
+     * @param id      o ID do carro a ser alterado.
+     * @param ifMatch a versão esperada do carro, opcional se enviada no corpo.
+     * @param changes os campos alterados.
+     * @return um {@link ResponseEntity} contendo o carro alterado e o status HTTP 200 (OK).
+     * @throws ResourceNotFoundException se o carro com o ID fornecido não for encontrado.
+     * @throws InvalidFieldException     se algum campo for inválido ou a versão não for informada.
+     * @throws VersionConflictException  se o carro foi alterado por outra requisição (HTTP 409).
+     */
+    @PatchMapping( Routes.ID_ROUTE )
+    public ResponseEntity<Cars> patchCar ( @PathVariable String id,
+                                           @RequestHeader( value = HttpHeaders.IF_MATCH, required = false ) String ifMatch,
+                                           @RequestBody Map<String, Object> changes ) {
+        Cars saved = carsService.patchCar( id, changes, parseVersion( ifMatch ) );
+        return ResponseEntity.ok().eTag( String.valueOf( saved.getVersion() ) ).body( saved );
+    }
+
     /**
      * Remove um carro específico do banco de dados com base no ID fornecido.
      * <p>
@@ -128,6 +251,26 @@ public class CarsController {
         return new ResponseEntity<>( carsService.getByModel( model ), HttpStatus.OK ).getBody();
     }
 
+    /**
+     * Recupera os carros cujo modelo se aproxima do texto digitado, tolerando erros de digitação.
+     * <p>
+     * Este endpoint ignora maiúsculas, acentos e pontuação, aceita o fabricante antes do modelo e também encontra os
+     * modelos que começam pelo texto, podendo ser chamado a cada tecla digitada.
+     * </p>
+     *
+     * @param model       o texto digitado.
+     * @param maxDistance a quantidade máxima de erros de digitação aceita. O valor padrão é 2.
+     * @param limit       a quantidade máxima de carros retornados. O valor padrão é 10.
+     * @return uma lista de {@link ModelMatchDTO}, do modelo mais próximo para o mais distante.
+     * @throws InvalidFieldException se o limite ou a distância forem inválidos.
+     */
+    @GetMapping( Routes.FUZZY_MODEL_ROUTE )
+    public List<ModelMatchDTO> getModelsFuzzy ( @RequestParam String model,
+                                                @RequestParam( defaultValue = PageInfo.DEFAULT_FUZZY_DISTANCE ) int maxDistance,
+                                                @RequestParam( defaultValue = PageInfo.DEFAULT_FUZZY_SIZE ) int limit ) {
+        return carsService.getByModelFuzzy( model, maxDistance, limit );
+    }
+
     /**
      * Recupera carros com base no ano fornecido.
      * <p>
@@ -267,4 +410,95 @@ public class CarsController {
     public List<Cars> getFeature ( @RequestParam String feature ) {
         return new ResponseEntity<>( carsService.getByFeature( feature ), HttpStatus.OK ).getBody();
     }
+
+    /**
+     * Recupera carros combinando faixas de valor e ano com fabricante e tipo de motor.
+     * <p>
+     * Este endpoint retorna todos os carros que satisfazem simultaneamente todos os filtros informados. Os limites
+     * das faixas são inclusivos e filtros omitidos não são aplicados.
+     * </p>
+     *
+     * @param minValue   o valor mínimo dos carros.
+     * @param maxValue   o valor máximo dos carros.
+     * @param minYear    o ano de produção mínimo.
+     * @param maxYear    o ano de produção máximo.
+     * @param producedBy a marca que produziu os carros.
+     * @param engineType o tipo de motor dos carros.
+     * @return uma lista de carros encontrados.
+     */
+    @GetMapping( Routes.SEARCH_ROUTE )
+    public List<Cars> search ( @RequestParam( required = false ) Double minValue,
+                               @RequestParam( required = false ) Double maxValue,
+                               @RequestParam( required = false ) Integer minYear,
+                               @RequestParam( required = false ) Integer maxYear,
+                               @RequestParam( required = false ) String producedBy,
+                               @RequestParam( required = false ) String engineType ) {
+        ColumnarQuery query = new ColumnarQuery( minValue, maxValue, minYear, maxYear, producedBy, engineType );
+        return new ResponseEntity<>( carsService.search( query ), HttpStatus.OK ).getBody();
+    }
+
+    /**
+     * Recupera carros combinando filtros de características, fabricante e tipo de motor.
+     * <p>
+     * Este endpoint retorna os carros que possuem todas as características em {@code feature}, pertencem a um dos
+     * fabricantes em {@code producedBy} e a um dos tipos de motor em {@code engineType}, descartando os que possuírem
+     * algum termo das listas de exclusão. A resposta inclui a quantidade de carros do resultado por termo.
+     * </p>
+     *
+     * @param feature       as características obrigatórias.
+     * @param producedBy    os fabricantes aceitos.
+     * @param engineType    os tipos de motor aceitos.
+     * @param notFeature    as características rejeitadas.
+     * @param notProducedBy os fabricantes rejeitados.
+     * @param notEngineType os tipos de motor rejeitados.
+     * @return um {@link FacetResult} com os carros encontrados e as contagens por termo.
+     */
+    @GetMapping( Routes.FACETS_ROUTE )
+    public FacetResult getFacets ( @RequestParam( required = false ) List<String> feature,
+                                   @RequestParam( required = false ) List<String> producedBy,
+                                   @RequestParam( required = false ) List<String> engineType,
+                                   @RequestParam( required = false ) List<String> notFeature,
+                                   @RequestParam( required = false ) List<String> notProducedBy,
+                                   @RequestParam( required = false ) List<String> notEngineType ) {
+        FacetQuery query = new FacetQuery( feature, producedBy, engineType, notFeature, notProducedBy, notEngineType );
+        return new ResponseEntity<>( carsService.searchFacets( query ), HttpStatus.OK ).getBody();
+    }
+
+    /**
+     * Abre um fluxo Server-Sent Events com as alterações do catálogo de carros.
+     * <p>
+     * Cada criação, atualização ou remoção de carro é enviada como um evento {@code car-change}. Quando o cliente
+     * não consome as mensagens a tempo, as pendentes são descartadas e um evento {@code resync} é enviado, indicando
+     * que o catálogo deve ser recarregado.
+     * </p>
+     *
+     * @param producedBy a marca cujas alterações devem ser enviadas; todas quando omitida.
+     * @param engineType o tipo de motor cujas alterações devem ser enviadas; todos quando omitido.
+     * @return o {@link SseEmitter} associado à conexão.
+     */
+    @GetMapping( value = Routes.STREAM_ROUTE, produces = MediaType.TEXT_EVENT_STREAM_VALUE )
+    public SseEmitter streamChanges ( @RequestParam( required = false ) String producedBy,
+                                      @RequestParam( required = false ) String engineType ) {
+        return carsChangeStream.subscribe( producedBy, engineType );
+    }
+
+    /**
+     * Interpreta a versão enviada no cabeçalho {@code If-Match}, aceitando as formas {@code 3}, {@code "3"} e
+     * {@code W/"3"}.
+     */
+    private static Long parseVersion ( String ifMatch ) {
+        if ( ifMatch == null || ifMatch.isBlank() ) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if ( value.startsWith( "W/" ) ) {
+            value = value.substring( 2 );
+        }
+        value = value.replace( "\"", "" );
+        try {
+            return Long.parseLong( value );
+        } catch ( NumberFormatException exception ) {
+            throw new InvalidFieldException( Errors.FIELD_ERROR + HttpHeaders.IF_MATCH );
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package org.example.controller;
+
+import org.example.dto.CatalogStatsDTO;
+import org.example.routes.Routes;
+import org.example.service.stats.CatalogStatsService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador responsável pelas estatísticas do catálogo exibidas no painel administrativo.
+ * <p>
+ * As estatísticas são lidas de um único documento mantido pelo {@link CatalogStatsService}, sem percorrer a
+ * coleção de carros a cada consulta.
+ * </p>
+ */
+@RestController
+@RequestMapping( Routes.ADMIN_ROUTE )
+public class CatalogStatsController {
+
+    private final CatalogStatsService catalogStatsService;
+
+    /**
+     * Construtor da classe {@code CatalogStatsController}.
+     *
+     * @param catalogStatsService serviço responsável pelas estatísticas do catálogo.
+     */
+    public CatalogStatsController ( CatalogStatsService catalogStatsService ) {
+        this.catalogStatsService = catalogStatsService;
+    }
+
+    /**
+     * Retorna as estatísticas do catálogo: a quantidade de carros, o valor do estoque por fabricante, o valor
+     * médio por ano de produção e a quantidade de carros por tipo de motor.
+     *
+     * @return as estatísticas do catálogo.
+     */
+    @GetMapping( Routes.STATS_ROUTE )
+    public CatalogStatsDTO getStats () {
+        return catalogStatsService.stats();
+    }
+}
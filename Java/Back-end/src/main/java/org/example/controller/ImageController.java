@@ -0,0 +1,80 @@
+package org.example.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.exceptions.ImageUnavailableException;
+import org.example.exceptions.ResourceNotFoundException;
+import org.example.routes.Routes;
+import org.example.service.image.ImageResponseWriter;
+import org.example.service.image.ImageService;
+import org.example.service.image.StoredImage;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Controlador responsável por servir as imagens dos carros a partir do armazenamento local.
+ * <p>
+ * As imagens são buscadas uma única vez na URL indicada em {@code imageUrl} e, a partir daí, servidas pela própria
+ * aplicação, com suporte a requisições parciais ({@code Range}) e revalidação por {@code ETag}.
+ * </p>
+ */
+@RestController
+@RequestMapping( Routes.CARS_ROUTE )
+public class ImageController {
+
+    private final ImageService imageService;
+    private final ImageResponseWriter imageResponseWriter;
+
+    /**
+     * Construtor da classe {@code ImageController}.
+     *
+     * @param imageService        serviço responsável por obter e armazenar as imagens.
+     * @param imageResponseWriter componente que escreve os arquivos de imagem na resposta.
+     */
+    public ImageController ( ImageService imageService, ImageResponseWriter imageResponseWriter ) {
+        this.imageService = imageService;
+        this.imageResponseWriter = imageResponseWriter;
+    }
+
+    /**
+     * Retorna a imagem original de um carro.
+     *
+     * @param id       o ID do carro.
+     * @param request  a requisição HTTP.
+     * @param response a resposta HTTP na qual a imagem é escrita.
+     * @throws IOException               se a imagem não puder ser enviada.
+     * @throws ResourceNotFoundException se o carro não existir ou não possuir imagem.
+     * @throws ImageUnavailableException se a imagem não puder ser obtida da origem.
+     */
+    @GetMapping( Routes.IMAGE_ROUTE )
+    public void getImage ( @PathVariable String id, HttpServletRequest request, HttpServletResponse response )
+            throws IOException {
+        imageResponseWriter.write( imageService.original( id ), ImageResponseWriter.LONG_CACHE, request, response );
+    }
+
+    /**
+     * Retorna a miniatura de um carro na largura fornecida.
+     * <p>
+     * Enquanto a miniatura está sendo gerada, a imagem original é retornada sem permissão de cache.
+     * </p>
+     *
+     * @param id       o ID do carro.
+     * @param width    a largura da miniatura, em pixels.
+     * @param request  a requisição HTTP.
+     * @param response a resposta HTTP na qual a imagem é escrita.
+     * @throws IOException               se a imagem não puder ser enviada.
+     * @throws ResourceNotFoundException se o carro não existir ou não possuir imagem.
+     * @throws ImageUnavailableException se a imagem não puder ser obtida da origem.
+     */
+    @GetMapping( Routes.THUMBNAIL_ROUTE )
+    public void getThumbnail ( @PathVariable String id, @PathVariable Integer width, HttpServletRequest request,
+                               HttpServletResponse response ) throws IOException {
+        StoredImage image = imageService.thumbnail( id, width );
+        String cacheControl = image.isOriginal() ? ImageResponseWriter.NO_CACHE : ImageResponseWriter.LONG_CACHE;
+        imageResponseWriter.write( image, cacheControl, request, response );
+    }
+}
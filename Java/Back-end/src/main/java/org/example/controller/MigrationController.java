@@ -0,0 +1,68 @@
+package org.example.controller;
+
+import org.example.dto.MigrationStatusDTO;
+import org.example.routes.Routes;
+import org.example.service.migration.MigrationRunner;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controlador responsável por acompanhar e controlar as migrações da coleção de carros no painel administrativo.
+ * <p>
+ * As migrações são executadas em segundo plano pelo {@link MigrationRunner}; este controlador apenas consulta o
+ * andamento delas e as pausa ou retoma.
+ * </p>
+ */
+@RestController
+@RequestMapping( Routes.ADMIN_ROUTE )
+public class MigrationController {
+
+    private final MigrationRunner migrationRunner;
+
+    /**
+     * Construtor da classe {@code MigrationController}.
+     *
+     * @param migrationRunner executor responsável pelas migrações da coleção de carros.
+     */
+    public MigrationController ( MigrationRunner migrationRunner ) {
+        this.migrationRunner = migrationRunner;
+    }
+
+    /**
+     * Retorna o andamento de todas as migrações: a situação, os documentos processados e alterados, o percentual
+     * concluído, a vazão e o tempo estimado até o fim.
+     *
+     * @return o andamento das migrações, na ordem de execução.
+     */
+    @GetMapping( Routes.MIGRATIONS_ROUTE )
+    public List<MigrationStatusDTO> getMigrations () {
+        return migrationRunner.status();
+    }
+
+    /**
+     * Pausa uma migração pendente ou em execução.
+     *
+     * @param id o identificador da migração.
+     * @return o andamento da migração.
+     */
+    @PostMapping( Routes.MIGRATION_PAUSE_ROUTE )
+    public MigrationStatusDTO pauseMigration ( @PathVariable String id ) {
+        return migrationRunner.pause( id );
+    }
+
+    /**
+     * Retoma uma migração pausada ou com falha a partir do último lote gravado.
+     *
+     * @param id o identificador da migração.
+     * @return o andamento da migração.
+     */
+    @PostMapping( Routes.MIGRATION_RESUME_ROUTE )
+    public MigrationStatusDTO resumeMigration ( @PathVariable String id ) {
+        return migrationRunner.resume( id );
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.controller;
+
+import org.example.dto.PriceBucketDTO;
+import org.example.exceptions.InvalidFieldException;
+import org.example.routes.Routes;
+import org.example.service.prices.PriceHistoryService;
+import org.example.service.prices.PricePeriod;
+import org.example.utils.PageInfo;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Controlador responsável pelo histórico e pela tendência dos preços dos carros.
+ * <p>
+ * As respostas são montadas a partir dos agregados diários, semanais e mensais mantidos pelo
+ * {@link PriceHistoryService}, sem percorrer os registros individuais de cada alteração de preço. Os limites
+ * {@code from} e {@code to} são instantes no formato ISO 8601, por exemplo {@code 2024-01-01T00:00:00Z}.
+ * </p>
+ */
+@RestController
+@RequestMapping( Routes.CARS_ROUTE )
+public class PriceHistoryController {
+
+    private final PriceHistoryService priceHistoryService;
+
+    /**
+     * Construtor da classe {@code PriceHistoryController}.
+     *
+     * @param priceHistoryService serviço responsável pelo histórico de preços.
+     */
+    public PriceHistoryController ( PriceHistoryService priceHistoryService ) {
+        this.priceHistoryService = priceHistoryService;
+    }
+
+    /**
+     * Retorna o histórico de preços de um carro.
+     *
+     * @param id     o ID do carro.
+     * @param period o período de agregação: {@code day}, {@code week} ou {@code month}. O valor padrão é
+     *               {@code month}.
+     * @param from   o início do intervalo, inclusive. Opcional.
+     * @param to     o fim do intervalo, exclusive. Opcional.
+     * @return os períodos com preços registrados, do mais antigo para o mais recente.
+     * @throws InvalidFieldException se o período for inválido.
+     */
+    @GetMapping( Routes.PRICE_HISTORY_ROUTE )
+    public List<PriceBucketDTO> getPriceHistory ( @PathVariable String id,
+                                                  @RequestParam( defaultValue = PageInfo.DEFAULT_PRICE_PERIOD ) String period,
+                                                  @RequestParam( required = false ) Instant from,
+                                                  @RequestParam( required = false ) Instant to ) {
+        return priceHistoryService.history( id, PricePeriod.fromPath( period ), from, to );
+    }
+
+    /**
+     * Retorna a tendência dos preços dos carros de um fabricante.
+     *
+     * @param producedBy o fabricante.
+     * @param period     o período de agregação: {@code day}, {@code week} ou {@code month}. O valor padrão é
+     *                   {@code month}.
+     * @param from       o início do intervalo, inclusive. Opcional.
+     * @param to         o fim do intervalo, exclusive. Opcional.
+     * @return os períodos com preços registrados, do mais antigo para o mais recente.
+     * @throws InvalidFieldException se o período for inválido.
+     */
+    @GetMapping( Routes.PRICE_TREND_ROUTE )
+    public List<PriceBucketDTO> getPriceTrend ( @RequestParam String producedBy,
+                                                @RequestParam( defaultValue = PageInfo.DEFAULT_PRICE_PERIOD ) String period,
+                                                @RequestParam( required = false ) Instant from,
+                                                @RequestParam( required = false ) Instant to ) {
+        return priceHistoryService.trend( producedBy, PricePeriod.fromPath( period ), from, to );
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.controller;
+
+import org.example.dto.SavedSearchDTO;
+import org.example.exceptions.InvalidFieldException;
+import org.example.exceptions.ResourceNotFoundException;
+import org.example.routes.Routes;
+import org.example.service.percolator.SavedSearchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Controlador responsável pelas buscas salvas do usuário autenticado.
+ * <p>
+ * Sempre que um carro cadastrado ou atualizado passa a atender a uma busca salva, o dono da busca recebe um aviso
+ * por e-mail. Os avisos são agrupados e enviados em lotes.
+ * </p>
+ */
+@RestController
+@RequestMapping( Routes.USERS_ROUTE )
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+
+    /**
+     * Construtor da classe {@code SavedSearchController}.
+     *
+     * @param savedSearchService serviço responsável pelas buscas salvas.
+     */
+    public SavedSearchController ( SavedSearchService savedSearchService ) {
+        this.savedSearchService = savedSearchService;
+    }
+
+    /**
+     * Lista as buscas salvas do usuário autenticado.
+     *
+     * @param principal o usuário autenticado.
+     * @return as buscas salvas do usuário.
+     */
+    @GetMapping( Routes.SAVED_SEARCHES_ROUTE )
+    public List<SavedSearchDTO> getSavedSearches ( Principal principal ) {
+        return savedSearchService.list( principal.getName() );
+    }
+
+    /**
+     * Cadastra uma busca salva para o usuário autenticado.
+     *
+     * @param principal o usuário autenticado.
+     * @param request   os critérios da busca: {@code name} e ao menos um entre {@code producedBy},
+     *                  {@code maxValue}, {@code minYear} e {@code features}.
+     * @return a busca cadastrada, com o status HTTP 201 (CREATED).
+     * @throws InvalidFieldException se algum critério for inválido ou o limite de buscas tiver sido atingido.
+     */
+    @PostMapping( Routes.SAVED_SEARCHES_ROUTE )
+    public ResponseEntity<SavedSearchDTO> createSavedSearch ( Principal principal,
+                                                              @RequestBody SavedSearchDTO request ) {
+        return new ResponseEntity<>( savedSearchService.create( principal.getName(), request ), HttpStatus.CREATED );
+    }
+
+    /**
+     * Remove uma busca salva do usuário autenticado.
+     *
+     * @param principal o usuário autenticado.
+     * @param id        o ID da busca salva.
+     * @return uma resposta vazia com o status HTTP 204 (NO CONTENT).
+     * @throws ResourceNotFoundException se a busca não existir ou pertencer a outro usuário.
+     */
+    @DeleteMapping( Routes.SAVED_SEARCH_ROUTE )
+    public ResponseEntity<HttpStatus> deleteSavedSearch ( Principal principal, @PathVariable String id ) {
+        savedSearchService.delete( principal.getName(), id );
+        return new ResponseEntity<>( HttpStatus.NO_CONTENT );
+    }
+}
@@ -40,6 +40,8 @@ public class UserController {
      * <p>
      * Este endpoint recebe os detalhes do usuário em formato JSON e utiliza o serviço {@link CustomUserDetailsService}
      * para processar a criação do usuário. O método responde com uma mensagem de sucesso e o status HTTP 200 (OK).
+     * Com o cabeçalho {@code Idempotency-Key}, as repetições da requisição recebem a mesma resposta sem criar o
+     * usuário nem enviar o e-mail de boas-vindas novamente ({@link org.example.filter.IdempotencyFilter}).
      * </p>
      *
      * @param userData objeto {@link RegisterForUserDTO} contendo os dados do novo usuário.
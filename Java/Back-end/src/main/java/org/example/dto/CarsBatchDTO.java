@@ -0,0 +1,18 @@
+package org.example.dto;
+
+import org.example.model.Cars;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) com o resultado de uma busca de vários carros em uma única requisição.
+ * <p>
+ * Os carros encontrados são retornados na mesma ordem das chaves solicitadas, e as chaves sem carro
+ * correspondente são listadas separadamente em vez de interromper a requisição com um erro.
+ * </p>
+ *
+ * @param cars    os carros encontrados, na ordem das chaves solicitadas
+ * @param missing as chaves para as quais nenhum carro foi encontrado
+ */
+public record CarsBatchDTO( List<Cars> cars, List<String> missing ) {
+}
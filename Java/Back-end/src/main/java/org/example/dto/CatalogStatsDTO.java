@@ -0,0 +1,64 @@
+package org.example.dto;
+
+import org.example.model.CatalogStats;
+import org.example.service.stats.StatsKeys;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Data Transfer Object (DTO) com as estatísticas do catálogo exibidas no painel administrativo.
+ *
+ * @param count                    a quantidade de carros
+ * @param inventoryValue           a soma dos valores de todos os carros
+ * @param inventoryValueByProducer a soma dos valores dos carros de cada fabricante
+ * @param averagePriceByYear       o valor médio dos carros de cada ano de produção
+ * @param engineTypes              a quantidade de carros de cada tipo de motor
+ * @param updatedAt                o instante da última escrita aplicada às estatísticas
+ * @param reconciledAt             o instante da última conferência com a agregação completa
+ */
+public record CatalogStatsDTO( long count, double inventoryValue, Map<String, Double> inventoryValueByProducer,
+                               Map<Integer, Double> averagePriceByYear, Map<String, Long> engineTypes,
+                               Instant updatedAt, Instant reconciledAt ) {
+
+    /**
+     * Chave usada para os carros sem fabricante ou sem tipo de motor.
+     */
+    public static final String UNKNOWN = "unknown";
+
+    /**
+     * Constrói o DTO a partir do documento de estatísticas, ignorando os grupos que ficaram vazios.
+     *
+     * @param stats o documento de estatísticas
+     * @return o DTO correspondente
+     */
+    public static CatalogStatsDTO of ( CatalogStats stats ) {
+        Map<String, Double> producers = new TreeMap<>();
+        stats.getProducers().forEach( ( key, totals ) -> {
+            if ( totals.getCount() > 0 ) {
+                producers.merge( label( key ), totals.getSum(), Double::sum );
+            }
+        } );
+        Map<Integer, Double> years = new TreeMap<>();
+        stats.getYears().forEach( ( key, totals ) -> {
+            String year = StatsKeys.decode( key );
+            if ( totals.getCount() > 0 && year != null ) {
+                years.put( Integer.valueOf( year ), totals.getSum() / totals.getCount() );
+            }
+        } );
+        Map<String, Long> engines = new TreeMap<>();
+        stats.getEngines().forEach( ( key, count ) -> {
+            if ( count > 0 ) {
+                engines.merge( label( key ), count, Long::sum );
+            }
+        } );
+        return new CatalogStatsDTO( stats.getCount(), stats.getTotalValue(), producers, years, engines,
+                stats.getUpdatedAt(), stats.getReconciledAt() );
+    }
+
+    private static String label ( String key ) {
+        String value = StatsKeys.decode( key );
+        return value != null ? value : UNKNOWN;
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.dto;
+
+/**
+ * Data Transfer Object (DTO) que descreve um campo inválido de uma requisição.
+ *
+ * @param field   o caminho do campo, com subcampos separados por ponto, como {@code specifications.topSpeed}
+ * @param message o motivo pelo qual o valor foi rejeitado
+ */
+public record FieldErrorDTO( String field, String message ) {
+}
@@ -0,0 +1,30 @@
+package org.example.dto;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) com o andamento de uma migração da coleção de carros.
+ *
+ * @param id                  o identificador da migração
+ * @param description         a descrição da migração
+ * @param status              a situação da migração
+ * @param scanned             a quantidade de documentos processados
+ * @param modified            a quantidade de documentos alterados
+ * @param total               a quantidade estimada de documentos a processar
+ * @param percent             o percentual processado
+ * @param throughputPerSecond os documentos processados por segundo, ou {@code null} se a migração não está em
+ *                            execução
+ * @param etaSeconds          o tempo estimado até o fim, em segundos, ou {@code null} se não há estimativa
+ * @param batchLatencyMs      a latência do último lote, em milissegundos, quando executado nesta instância
+ * @param pauseMs             a pausa atual entre os lotes, em milissegundos, quando executado nesta instância
+ * @param owner               a instância que executa a migração
+ * @param startedAt           o instante em que a migração começou
+ * @param updatedAt           o instante do último lote gravado
+ * @param completedAt         o instante em que a migração terminou
+ * @param error               a causa da falha, se houver
+ */
+public record MigrationStatusDTO( String id, String description, String status, long scanned, long modified,
+                                  long total, double percent, Double throughputPerSecond, Long etaSeconds,
+                                  Long batchLatencyMs, Long pauseMs, String owner, Instant startedAt,
+                                  Instant updatedAt, Instant completedAt, String error ) {
+}
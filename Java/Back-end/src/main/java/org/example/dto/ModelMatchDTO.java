@@ -0,0 +1,13 @@
+package org.example.dto;
+
+/**
+ * Data Transfer Object (DTO) com um carro encontrado pela busca de modelos tolerante a erros de digitação.
+ *
+ * @param id         o ID do carro
+ * @param model      o modelo do carro
+ * @param producedBy o fabricante do carro
+ * @param distance   a quantidade de edições entre a consulta e o modelo, ou o fabricante seguido do modelo
+ * @param prefix     {@code true} se a consulta corresponde apenas ao início do modelo, como durante a digitação
+ */
+public record ModelMatchDTO( String id, String model, String producedBy, int distance, boolean prefix ) {
+}
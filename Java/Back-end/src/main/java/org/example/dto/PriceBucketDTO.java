@@ -0,0 +1,31 @@
+package org.example.dto;
+
+import org.example.model.CarPriceRollup;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) com os preços registrados em um período do histórico de preços.
+ *
+ * @param bucket  o instante em que o período começa
+ * @param count   a quantidade de preços registrados no período
+ * @param average a média dos preços registrados
+ * @param min     o menor preço registrado
+ * @param max     o maior preço registrado
+ * @param first   o primeiro preço registrado
+ * @param last    o último preço registrado
+ */
+public record PriceBucketDTO( Instant bucket, long count, double average, double min, double max, double first,
+                              double last ) {
+
+    /**
+     * Constrói o DTO a partir do agregado armazenado.
+     *
+     * @param rollup o agregado do período
+     * @return o DTO correspondente
+     */
+    public static PriceBucketDTO of ( CarPriceRollup rollup ) {
+        return new PriceBucketDTO( rollup.getBucket(), rollup.getCount(), rollup.getAverage(), rollup.getMin(),
+                rollup.getMax(), rollup.getFirst(), rollup.getLast() );
+    }
+}
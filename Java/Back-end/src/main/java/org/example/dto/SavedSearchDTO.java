@@ -0,0 +1,33 @@
+package org.example.dto;
+
+import org.example.model.SavedSearch;
+
+import java.util.Set;
+
+/**
+ * Data Transfer Object (DTO) de uma busca salva, usado tanto no cadastro quanto na listagem.
+ * <p>
+ * O ID é ignorado no cadastro e preenchido na listagem.
+ * </p>
+ *
+ * @param id         o ID da busca salva
+ * @param name       o nome dado pelo usuário à busca
+ * @param producedBy o fabricante exigido, ou {@code null} para qualquer fabricante
+ * @param maxValue   o valor máximo do carro, ou {@code null} para qualquer valor
+ * @param minYear    o ano de produção mínimo, ou {@code null} para qualquer ano
+ * @param features   os acessórios exigidos, todos obrigatórios
+ */
+public record SavedSearchDTO( String id, String name, String producedBy, Double maxValue, Integer minYear,
+                              Set<String> features ) {
+
+    /**
+     * Constrói o DTO a partir da busca salva.
+     *
+     * @param search a busca salva
+     * @return o DTO correspondente
+     */
+    public static SavedSearchDTO of ( SavedSearch search ) {
+        return new SavedSearchDTO( search.getId(), search.getName(), search.getProducedBy(), search.getMaxValue(),
+                search.getMinYear(), Set.copyOf( search.getFeatures() ) );
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) com o corpo da resposta de uma requisição rejeitada por validação.
+ * <p>
+ * Todos os campos inválidos são listados de uma vez, para que o cliente corrija o formulário inteiro em vez de
+ * descobrir um erro por tentativa.
+ * </p>
+ *
+ * @param message a mensagem geral do erro
+ * @param errors  os campos inválidos, na ordem em que foram verificados
+ */
+public record ValidationErrorDTO( String message, List<FieldErrorDTO> errors ) {
+}
@@ -0,0 +1,80 @@
+package org.example.events;
+
+import org.example.model.Cars;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Evento que representa uma alteração no catálogo de carros.
+ * <p>
+ * Este evento é publicado pelo {@link org.example.service.CarsService} sempre que um carro é criado, atualizado ou
+ * removido, permitindo que estruturas mantidas em memória acompanhem o estado do banco de dados sem precisar
+ * consultá-lo novamente.
+ * </p>
+ */
+public class CarsChangedEvent extends ApplicationEvent {
+
+    /**
+     * Tipos de alteração que podem ocorrer no catálogo.
+     */
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final String carId;
+    private final Cars car;
+    private final Cars previous;
+
+    /**
+     * Construtor para criar um novo evento de alteração do catálogo.
+     *
+     * @param source   o objeto que publicou o evento.
+     * @param type     o tipo de alteração realizada.
+     * @param carId    o ID do carro alterado.
+     * @param car      o estado atual do carro, ou {@code null} quando o carro foi removido.
+     * @param previous o estado anterior do carro, ou {@code null} quando o carro foi criado.
+     */
+    public CarsChangedEvent ( Object source, Type type, String carId, Cars car, Cars previous ) {
+        super( source );
+        this.type = type;
+        this.carId = carId;
+        this.car = car;
+        this.previous = previous;
+    }
+
+    /**
+     * Retorna o tipo de alteração realizada.
+     *
+     * @return o {@link Type} da alteração.
+     */
+    public Type getType () {
+        return type;
+    }
+
+    /**
+     * Retorna o ID do carro alterado.
+     *
+     * @return o ID do carro.
+     */
+    public String getCarId () {
+        return carId;
+    }
+
+    /**
+     * Retorna o estado atual do carro.
+     *
+     * @return o carro após a alteração, ou {@code null} se ele foi removido.
+     */
+    public Cars getCar () {
+        return car;
+    }
+
+    /**
+     * Retorna o estado anterior do carro.
+     *
+     * @return o carro antes da alteração, ou {@code null} se ele acabou de ser criado.
+     */
+    public Cars getPrevious () {
+        return previous;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.exceptions;
+
+/**
+ * Base das exceções de domínio da aplicação.
+ * <p>
+ * Essas exceções representam respostas esperadas da API, como um carro inexistente, um ID duplicado ou um campo
+ * inválido, e são sempre convertidas em uma resposta HTTP pelo
+ * {@link org.example.handler.GlobalExceptionHandler}. Como a pilha de chamadas nunca é exibida nem registrada,
+ * ela não é capturada: preencher o rastreamento percorre todos os quadros da pilha, que em uma requisição do
+ * Spring passam de uma centena, e era o custo dominante ao rejeitar entradas inválidas. A causa, quando existe,
+ * continua encadeada com o seu próprio rastreamento.
+ * </p>
+ */
+public abstract class ApplicationException extends RuntimeException {
+
+    /**
+     * Constrói a exceção com a mensagem especificada, sem rastreamento de pilha.
+     *
+     * @param message a mensagem de erro que será associada a esta exceção
+     */
+    protected ApplicationException ( String message ) {
+        super( message, null, false, false );
+    }
+
+    /**
+     * Constrói a exceção com a mensagem e a causa especificadas, sem rastreamento de pilha.
+     *
+     * @param message a mensagem de erro que será associada a esta exceção
+     * @param cause   a exceção que originou o erro
+     */
+    protected ApplicationException ( String message, Throwable cause ) {
+        super( message, cause, false, false );
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.exceptions;
+
+/**
+ * Exceção personalizada para indicar que uma dependência externa não está aceitando chamadas no momento.
+ * <p>
+ * Essa exceção é lançada sem consultar a dependência quando o seu circuito está aberto, após uma sequência de
+ * falhas, ou quando o limite de chamadas simultâneas reservado a ela foi atingido. Extende a classe
+ * {@link ApplicationException} para representar erros de tempo de execução que não são recuperáveis.
+ * </p>
+ */
+public class DependencyUnavailableException extends ApplicationException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constrói uma nova instância da exceção {@code DependencyUnavailableException} com uma mensagem de erro.
+     *
+     * @param message           a mensagem de erro que será associada a esta exceção
+     * @param retryAfterSeconds o tempo sugerido, em segundos, antes de uma nova tentativa
+     * @see ApplicationException
+     */
+    public DependencyUnavailableException ( String message, long retryAfterSeconds ) {
+        super( message );
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds () {
+        return retryAfterSeconds;
+    }
+}
@@ -5,11 +5,11 @@ package org.example.exceptions;
  * <p>
  * Essa exceção é lançada quando uma tentativa de criar ou adicionar um registro
  * resulta em um conflito devido à presença de um registro existente com os mesmos
- * dados. Extende a classe {@link RuntimeException}, representando erros em tempo
+ * dados. Extende a classe {@link ApplicationException}, representando erros em tempo
  * de execução que normalmente não podem ser recuperados.
  * </p>
  */
-public class DuplicatedFoundException extends RuntimeException {
+public class DuplicatedFoundException extends ApplicationException {
 
     /**
      * Constrói uma nova instância da exceção DuplicatedFoundException com uma mensagem especificada.
@@ -19,7 +19,7 @@ public class DuplicatedFoundException extends RuntimeException {
      * </p>
      *
      * @param message a mensagem de erro que será associada a esta exceção
-     * @see RuntimeException
+     * @see ApplicationException
      */
     public DuplicatedFoundException ( String message ) {
         super( message );
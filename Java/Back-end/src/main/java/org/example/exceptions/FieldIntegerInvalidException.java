@@ -6,11 +6,11 @@ package org.example.exceptions;
  * <p>
  * Essa exceção é lançada em cenários onde há uma tentativa de converter ou processar um valor que
  * deveria ser do tipo {@code Integer}, mas não atende aos critérios esperados (por exemplo, uma string
- * não numérica). Extende a classe {@link RuntimeException} para representar erros de tempo de execução
+ * não numérica). Extende a classe {@link ApplicationException} para representar erros de tempo de execução
  * que não são recuperáveis.
  * </p>
  */
-public class FieldIntegerInvalidException extends RuntimeException {
+public class FieldIntegerInvalidException extends ApplicationException {
 
     /**
      * Constrói uma nova instância da exceção {@code FieldIntegerInvalidException} com uma mensagem especificada.
@@ -20,7 +20,7 @@ public class FieldIntegerInvalidException extends RuntimeException {
      * </p>
      *
      * @param message a mensagem de erro que será associada a esta exceção
-     * @see RuntimeException
+     * @see ApplicationException
      */
     public FieldIntegerInvalidException ( String message ) {
         super( message );
@@ -6,10 +6,10 @@ package org.example.exceptions;
  * <p>
  * Essa exceção é lançada quando há uma tentativa de converter ou processar um valor que deveria ser do
  * tipo {@code String}, mas o conteúdo fornecido não atende aos critérios esperados. Extende a classe
- * {@link RuntimeException} para representar erros de tempo de execução que não são recuperáveis.
+ * {@link ApplicationException} para representar erros de tempo de execução que não são recuperáveis.
  * </p>
  */
-public class FieldStringInvalidException extends RuntimeException {
+public class FieldStringInvalidException extends ApplicationException {
 
     /**
      * Constrói uma nova instância da exceção {@code FieldStringInvalidException} com uma mensagem especificada.
@@ -19,7 +19,7 @@ public class FieldStringInvalidException extends RuntimeException {
      * </p>
      *
      * @param message a mensagem de erro que será associada a esta exceção
-     * @see RuntimeException
+     * @see ApplicationException
      */
     public FieldStringInvalidException ( String message ) {
         super( message );
@@ -0,0 +1,23 @@
+package org.example.exceptions;
+
+/**
+ * Exceção personalizada para indicar que a imagem de um carro não pôde ser obtida da sua origem.
+ * <p>
+ * Essa exceção é lançada quando o servidor externo indicado em {@code imageUrl} está indisponível, responde com
+ * erro ou fornece um conteúdo que não pode ser armazenado. Extende a classe {@link ApplicationException} para
+ * representar erros de tempo de execução que não são recuperáveis.
+ * </p>
+ */
+public class ImageUnavailableException extends ApplicationException {
+
+    /**
+     * Constrói uma nova instância da exceção {@code ImageUnavailableException} com uma mensagem e uma causa.
+     *
+     * @param message a mensagem de erro que será associada a esta exceção
+     * @param cause   a causa que impediu a obtenção da imagem
+     * @see ApplicationException
+     */
+    public ImageUnavailableException ( String message, Throwable cause ) {
+        super( message, cause );
+    }
+}
@@ -8,7 +8,7 @@ package org.example.exceptions;
  * partes do sistema.
  * </p>
  */
-public class InvalidFieldException extends RuntimeException {
+public class InvalidFieldException extends ApplicationException {
 
     /**
      * Construtor da exceção {@code InvalidFieldException}.
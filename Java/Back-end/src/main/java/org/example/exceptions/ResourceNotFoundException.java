@@ -4,11 +4,11 @@ package org.example.exceptions;
  * Exceção personalizada para indicar que um recurso não foi encontrado.
  * <p>
  * Esta exceção é lançada quando uma tentativa de acessar um recurso que não existe ou não foi encontrado no
- * sistema é feita. Extende a classe {@link RuntimeException} para representar erros de tempo de execução que
+ * sistema é feita. Extende a classe {@link ApplicationException} para representar erros de tempo de execução que
  * não são recuperáveis.
  * </p>
  */
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends ApplicationException {
 
     /**
      * Constrói uma nova instância da exceção {@code ResourceNotFoundException} com uma mensagem especificada.
@@ -19,7 +19,7 @@ public class ResourceNotFoundException extends RuntimeException {
      * </p>
      *
      * @param message a mensagem de erro que será associada a esta exceção
-     * @see RuntimeException
+     * @see ApplicationException
      */
     public ResourceNotFoundException ( String message ) {
         super( message );
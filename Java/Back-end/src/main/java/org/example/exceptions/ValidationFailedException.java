@@ -0,0 +1,42 @@
+package org.example.exceptions;
+
+import org.example.dto.FieldErrorDTO;
+import org.example.utils.Errors;
+
+import java.util.List;
+
+/**
+ * Exceção lançada quando um ou mais campos de uma requisição não passam na validação.
+ * <p>
+ * Ao contrário das demais exceções de campo, que interrompem a validação no primeiro erro, esta carrega a lista
+ * completa de campos inválidos reunida por um {@link org.example.validations.ValidationResult}. Extende a classe
+ * {@link InvalidFieldException}, de modo que quem já trata campos inválidos continua funcionando.
+ * </p>
+ */
+public class ValidationFailedException extends InvalidFieldException {
+
+    private final List<FieldErrorDTO> errors;
+
+    /**
+     * Constrói uma nova instância da exceção {@code ValidationFailedException}.
+     *
+     * @param errors os campos inválidos
+     * @see ApplicationException
+     */
+    public ValidationFailedException ( List<FieldErrorDTO> errors ) {
+        super( message( errors ) );
+        this.errors = List.copyOf( errors );
+    }
+
+    public List<FieldErrorDTO> getErrors () {
+        return errors;
+    }
+
+    private static String message ( List<FieldErrorDTO> errors ) {
+        StringBuilder message = new StringBuilder( Errors.VALIDATION_ERROR );
+        for ( int i = 0; i < errors.size(); i++ ) {
+            message.append( i == 0 ? "" : ", " ).append( errors.get( i ).field() );
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.exceptions;
+
+/**
+ * Exceção personalizada para indicar que um registro foi alterado por outra requisição.
+ * <p>
+ * Essa exceção é lançada quando a versão informada pelo cliente em uma atualização não corresponde mais à versão
+ * armazenada, evitando que a alteração de um administrador sobrescreva a de outro. Extende a classe
+ * {@link ApplicationException} para representar erros de tempo de execução que não são recuperáveis.
+ * </p>
+ */
+public class VersionConflictException extends ApplicationException {
+
+    private final Long currentVersion;
+
+    /**
+     * Constrói uma nova instância da exceção {@code VersionConflictException}.
+     *
+     * @param message        a mensagem de erro que será associada a esta exceção
+     * @param currentVersion a versão armazenada no momento do conflito
+     * @see ApplicationException
+     */
+    public VersionConflictException ( String message, Long currentVersion ) {
+        super( message );
+        this.currentVersion = currentVersion;
+    }
+
+    public Long getCurrentVersion () {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,205 @@
+package org.example.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.routes.Routes;
+import org.example.service.idempotency.IdempotencyStore;
+import org.example.service.idempotency.StoredResponse;
+import org.example.utils.Errors;
+import org.example.utils.HttpInfo;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Filtro que torna idempotentes as requisições de criação enviadas com o cabeçalho {@code Idempotency-Key}.
+ * <p>
+ * Executado após a autenticação e o {@link RateLimitFilter}, o filtro atende {@code POST /cars},
+ * {@code POST /users/create} e {@code POST /admin/create}, de modo que as repetições também contam no limite de
+ * requisições. As repetições de uma requisição já concluída recebem a resposta guardada no {@link IdempotencyStore},
+ * com o cabeçalho {@code Idempotent-Replayed}, sem gravar novamente no banco de dados. Como a chave é guardada junto
+ * com o cabeçalho de autorização, só quem enviou as mesmas credenciais recebe a resposta guardada; nas requisições
+ * anônimas, como o cadastro de usuários, o endereço do cliente ocupa o lugar das credenciais. O corpo é lido
+ * por inteiro para calcular seu resumo, por isso corpos acima de {@value HttpInfo#MAX_IDEMPOTENT_BODY_BYTES} bytes
+ * resultam no status {@code 413 Payload Too Large}. Reutilizar uma chave com outro corpo resulta no status
+ * {@code 422 Unprocessable Entity}, e uma repetição que não pôde aguardar a execução original, no status
+ * {@code 409 Conflict}.
+ * </p>
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Set<String> ROUTES = Set.of( Routes.CARS_ROUTE, Routes.CREATE_USER_ROUTE,
+            Routes.CREATE_ADMIN_ROUTE );
+
+    private final IdempotencyStore store;
+
+    public IdempotencyFilter ( IdempotencyStore store ) {
+        this.store = store;
+    }
+
+    @Override
+    protected boolean shouldNotFilter ( HttpServletRequest request ) {
+        return ! store.isEnabled()
+                || ! HttpInfo.HTTP_POST.equals( request.getMethod() )
+                || request.getHeader( HttpInfo.IDEMPOTENCY_KEY_HEADER ) == null
+                || ! ROUTES.contains( path( request ) );
+    }
+
+    @Override
+    protected void doFilterInternal ( HttpServletRequest request, HttpServletResponse response, FilterChain chain )
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader( HttpInfo.IDEMPOTENCY_KEY_HEADER );
+        if ( idempotencyKey.isBlank() || idempotencyKey.length() > HttpInfo.MAX_IDEMPOTENCY_KEY_LENGTH ) {
+            reject( response, HttpStatus.BAD_REQUEST, Errors.IDEMPOTENCY_KEY_ERROR );
+            return;
+        }
+        if ( request.getContentLengthLong() > HttpInfo.MAX_IDEMPOTENT_BODY_BYTES ) {
+            reject( response, HttpStatus.PAYLOAD_TOO_LARGE, Errors.IDEMPOTENCY_BODY_ERROR );
+            return;
+        }
+        // O tamanho declarado pode faltar ou estar errado; a leitura nunca passa do limite
+        byte[] body = request.getInputStream().readNBytes( HttpInfo.MAX_IDEMPOTENT_BODY_BYTES + 1 );
+        if ( body.length > HttpInfo.MAX_IDEMPOTENT_BODY_BYTES ) {
+            reject( response, HttpStatus.PAYLOAD_TOO_LARGE, Errors.IDEMPOTENCY_BODY_ERROR );
+            return;
+        }
+        IdempotencyStore.Key key = IdempotencyStore.Key.of( request.getMethod(), path( request ), scope( request ),
+                idempotencyKey );
+
+        IdempotencyStore.Decision decision;
+        try {
+            decision = store.begin( key, IdempotencyStore.fingerprint( body ) );
+        } catch ( InterruptedException exception ) {
+            Thread.currentThread().interrupt();
+            reject( response, HttpStatus.CONFLICT, Errors.IDEMPOTENCY_IN_PROGRESS_ERROR );
+            return;
+        }
+        switch ( decision.outcome() ) {
+            case REPLAY -> replay( response, decision.response() );
+            case CONFLICT -> reject( response, HttpStatus.UNPROCESSABLE_ENTITY, Errors.IDEMPOTENCY_REUSED_ERROR );
+            case IN_PROGRESS -> reject( response, HttpStatus.CONFLICT, Errors.IDEMPOTENCY_IN_PROGRESS_ERROR );
+            case EXECUTE -> execute( new CachedBodyRequest( request, body ), response, chain, key );
+        }
+    }
+
+    private void execute ( HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                           IdempotencyStore.Key key ) throws ServletException, IOException {
+        ContentCachingResponseWrapper recorder = new ContentCachingResponseWrapper( response );
+        boolean completed = false;
+        try {
+            chain.doFilter( request, recorder );
+            if ( HttpStatus.valueOf( recorder.getStatus() ).is2xxSuccessful() ) {
+                store.complete( key, new StoredResponse( recorder.getStatus(), recorder.getContentType(),
+                        recorder.getContentAsByteArray() ) );
+                completed = true;
+            }
+        } finally {
+            if ( ! completed ) {
+                store.abandon( key );
+            }
+            recorder.copyBodyToResponse();
+        }
+    }
+
+    private static void replay ( HttpServletResponse response, StoredResponse stored ) throws IOException {
+        response.setStatus( stored.status() );
+        if ( stored.contentType() != null ) {
+            response.setContentType( stored.contentType() );
+        }
+        response.setHeader( HttpInfo.IDEMPOTENT_REPLAYED_HEADER, Boolean.TRUE.toString() );
+        response.setContentLength( stored.body().length );
+        response.getOutputStream().write( stored.body() );
+    }
+
+    private static void reject ( HttpServletResponse response, HttpStatus status, String message )
+            throws IOException {
+        response.setStatus( status.value() );
+        response.setContentType( MediaType.TEXT_PLAIN_VALUE );
+        response.getWriter().write( message );
+    }
+
+    /**
+     * Retorna o escopo das chaves da requisição: as credenciais enviadas ou, sem elas, o endereço do cliente, para
+     * que clientes anônimos diferentes que escolham a mesma chave não recebam a resposta um do outro.
+     */
+    private static String scope ( HttpServletRequest request ) {
+        String credentials = request.getHeader( HttpHeaders.AUTHORIZATION );
+        return credentials != null ? credentials : "anonymous:" + request.getRemoteAddr();
+    }
+
+    private static String path ( HttpServletRequest request ) {
+        return request.getRequestURI().substring( request.getContextPath().length() );
+    }
+
+    /**
+     * Requisição cujo corpo já foi lido pelo filtro e é entregue novamente aos controladores.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest ( HttpServletRequest request, byte[] body ) {
+            super( request );
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream () {
+            ByteArrayInputStream input = new ByteArrayInputStream( body );
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished () {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady () {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener ( ReadListener listener ) {
+                    // O corpo já está em memória: todo ele está disponível de imediato
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch ( IOException exception ) {
+                        listener.onError( exception );
+                    }
+                }
+
+                @Override
+                public int read () {
+                    return input.read();
+                }
+
+                @Override
+                public int read ( byte[] buffer, int offset, int length ) {
+                    return input.read( buffer, offset, length );
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader () {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader( new InputStreamReader( getInputStream(),
+                    encoding != null ? Charset.forName( encoding ) : StandardCharsets.UTF_8 ) );
+        }
+    }
+}
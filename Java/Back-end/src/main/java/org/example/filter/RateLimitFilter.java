@@ -0,0 +1,77 @@
+package org.example.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.service.ratelimit.RateLimiter;
+import org.example.service.ratelimit.RouteClass;
+import org.example.utils.Errors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtro que limita a quantidade de requisições de cada usuário.
+ * <p>
+ * Executado logo após a autenticação, o filtro identifica o usuário autenticado e seu papel, classifica a rota em
+ * uma {@link RouteClass} e consulta o {@link RateLimiter}. Requisições acima do limite recebem o status
+ * {@code 429 Too Many Requests} com o cabeçalho {@code Retry-After}, sem chegar aos controladores nem aos bancos de
+ * dados. Requisições sem autenticação são limitadas pelo endereço do cliente.
+ * </p>
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter ( RateLimiter rateLimiter ) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal ( HttpServletRequest request, HttpServletResponse response, FilterChain chain )
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String principal = request.getRemoteAddr();
+        String role = RateLimiter.ANONYMOUS;
+        if ( authentication != null && authentication.isAuthenticated()
+                && ! ( authentication instanceof AnonymousAuthenticationToken ) ) {
+            principal = authentication.getName();
+            role = roleOf( authentication );
+        }
+
+        RouteClass routeClass = RouteClass.classify( request.getMethod(),
+                request.getRequestURI().substring( request.getContextPath().length() ) );
+        long wait = rateLimiter.tryAcquire( principal, role, routeClass );
+        if ( wait == 0 ) {
+            chain.doFilter( request, response );
+            return;
+        }
+
+        long retryAfter = Math.max( 1, ( wait + 999 ) / 1000 );
+        response.setStatus( HttpStatus.TOO_MANY_REQUESTS.value() );
+        response.setHeader( HttpHeaders.RETRY_AFTER, Long.toString( retryAfter ) );
+        response.setContentType( MediaType.TEXT_PLAIN_VALUE );
+        response.getWriter().write( Errors.RATE_LIMIT_ERROR + retryAfter );
+    }
+
+    private static String roleOf ( Authentication authentication ) {
+        String role = RateLimiter.ANONYMOUS;
+        for ( GrantedAuthority authority : authentication.getAuthorities() ) {
+            String name = authority.getAuthority();
+            if ( name != null && name.startsWith( ROLE_PREFIX ) ) {
+                role = name.substring( ROLE_PREFIX.length() );
+            }
+        }
+        return role;
+    }
+}
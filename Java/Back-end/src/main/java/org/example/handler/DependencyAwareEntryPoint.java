@@ -0,0 +1,64 @@
+package org.example.handler;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.exceptions.DependencyUnavailableException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
+
+import java.io.IOException;
+
+/**
+ * Ponto de entrada da autenticação básica que distingue credenciais inválidas de uma dependência indisponível.
+ * <p>
+ * O Spring Security envolve as exceções lançadas ao carregar o usuário em
+ * {@link InternalAuthenticationServiceException}, que normalmente resultaria no status 401. Quando a causa é uma
+ * {@link DependencyUnavailableException}, como o PostgreSQL com o circuito aberto, a resposta tem o status
+ * {@code 503 Service Unavailable} e o cabeçalho {@code Retry-After}, como no {@link GlobalExceptionHandler}; as
+ * demais falhas seguem para o {@link BasicAuthenticationEntryPoint}.
+ * </p>
+ */
+public class DependencyAwareEntryPoint implements AuthenticationEntryPoint {
+
+    private static final String REALM = "Realm";
+
+    private final BasicAuthenticationEntryPoint basic = new BasicAuthenticationEntryPoint();
+
+    public DependencyAwareEntryPoint () {
+        basic.setRealmName( REALM );
+    }
+
+    @Override
+    public void commence ( HttpServletRequest request, HttpServletResponse response,
+                           AuthenticationException exception ) throws IOException {
+        DependencyUnavailableException unavailable = unavailableCause( exception );
+        if ( unavailable == null ) {
+            basic.commence( request, response, exception );
+            return;
+        }
+        response.setStatus( HttpStatus.SERVICE_UNAVAILABLE.value() );
+        response.setHeader( HttpHeaders.RETRY_AFTER, Long.toString( unavailable.getRetryAfterSeconds() ) );
+        response.setContentType( MediaType.TEXT_PLAIN_VALUE );
+        response.getWriter().write( unavailable.getMessage() );
+    }
+
+    private static DependencyUnavailableException unavailableCause ( AuthenticationException exception ) {
+        if ( ! ( exception instanceof InternalAuthenticationServiceException ) ) {
+            return null;
+        }
+        for ( Throwable cause = exception.getCause(); cause != null; cause = cause.getCause() ) {
+            if ( cause instanceof DependencyUnavailableException unavailable ) {
+                return unavailable;
+            }
+            if ( cause.getCause() == cause ) {
+                break;
+            }
+        }
+        return null;
+    }
+}
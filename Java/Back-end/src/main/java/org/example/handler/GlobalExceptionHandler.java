@@ -1,6 +1,10 @@
 package org.example.handler;
 
+import org.example.dto.ValidationErrorDTO;
 import org.example.exceptions.*;
+import org.example.utils.Errors;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -138,4 +142,89 @@ public class GlobalExceptionHandler {
         // Retorna uma resposta personalizada com a mensagem de erro
         return new ResponseEntity<>( ex.getMessage(), HttpStatus.BAD_REQUEST );
     }
+
+    /**
+     * Manipula exceções do tipo {@link ValidationFailedException}.
+     * <p>
+     * Quando a validação de um carro ou de um usuário encontra campos inválidos, este método retorna uma resposta
+     * com o status HTTP 400 (Bad Request) e um corpo estruturado com a mensagem geral e a lista de todos os campos
+     * rejeitados, cada um com o seu motivo.
+     * </p>
+     *
+     * @param exception a exceção do tipo {@code ValidationFailedException} que foi lançada
+     * @return {@code ResponseEntity<ValidationErrorDTO>} contendo os campos inválidos e o status HTTP 400 (Bad Request)
+     */
+    @ExceptionHandler( ValidationFailedException.class )
+    public ResponseEntity<ValidationErrorDTO> handleValidationFailed ( ValidationFailedException exception ) {
+        return ResponseEntity.status( HttpStatus.BAD_REQUEST )
+                .body( new ValidationErrorDTO( exception.getMessage(), exception.getErrors() ) );
+    }
+
+    /**
+     * Manipula exceções do tipo {@link VersionConflictException}.
+     * <p>
+     * Quando uma atualização é feita sobre uma versão desatualizada de um carro, este método retorna uma resposta
+     * com o status HTTP 409 (Conflict), a mensagem de erro associada à exceção e a versão atual no cabeçalho
+     * {@code ETag}, para que o cliente releia o carro antes de tentar novamente.
+     * </p>
+     *
+     * @param exception a exceção do tipo {@code VersionConflictException} que foi lançada
+     * @return {@code ResponseEntity<String>} contendo uma mensagem de erro e o status HTTP 409 (Conflict)
+     */
+    @ExceptionHandler( VersionConflictException.class )
+    public ResponseEntity<String> handleVersionConflictException ( VersionConflictException exception ) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status( HttpStatus.CONFLICT );
+        if ( exception.getCurrentVersion() != null ) {
+            response.eTag( String.valueOf( exception.getCurrentVersion() ) );
+        }
+        return response.body( exception.getMessage() );
+    }
+
+    /**
+     * Manipula exceções do tipo {@link ImageUnavailableException}.
+     * <p>
+     * Quando a imagem de um carro não pode ser obtida do servidor de origem, este método retorna uma resposta com o
+     * status HTTP 502 (Bad Gateway) e a mensagem de erro associada à exceção.
+     * </p>
+     *
+     * @param exception a exceção do tipo {@code ImageUnavailableException} que foi lançada
+     * @return {@code ResponseEntity<String>} contendo uma mensagem de erro e o status HTTP 502 (Bad Gateway)
+     */
+    @ExceptionHandler( ImageUnavailableException.class )
+    public ResponseEntity<String> handleImageUnavailable ( ImageUnavailableException exception ) {
+        return ResponseEntity.status( HttpStatus.BAD_GATEWAY ).body( exception.getMessage() );
+    }
+
+    /**
+     * Manipula exceções do tipo {@link DependencyUnavailableException}.
+     * <p>
+     * Quando uma dependência externa rejeita a chamada por estar com o circuito aberto ou com o limite de chamadas
+     * simultâneas esgotado, este método retorna uma resposta com o status HTTP 503 (Service Unavailable), o
+     * cabeçalho {@code Retry-After} e a mensagem de erro associada à exceção.
+     * </p>
+     *
+     * @param exception a exceção do tipo {@code DependencyUnavailableException} que foi lançada
+     * @return {@code ResponseEntity<String>} contendo uma mensagem de erro e o status HTTP 503 (Service Unavailable)
+     */
+    @ExceptionHandler( DependencyUnavailableException.class )
+    public ResponseEntity<String> handleDependencyUnavailable ( DependencyUnavailableException exception ) {
+        return ResponseEntity.status( HttpStatus.SERVICE_UNAVAILABLE )
+                .header( HttpHeaders.RETRY_AFTER, Long.toString( exception.getRetryAfterSeconds() ) )
+                .body( exception.getMessage() );
+    }
+
+    /**
+     * Manipula exceções do tipo {@link QueryTimeoutException}.
+     * <p>
+     * Quando uma consulta ultrapassa o tempo máximo configurado para o banco de dados, este método retorna uma
+     * resposta com o status HTTP 503 (Service Unavailable) e uma mensagem de erro genérica.
+     * </p>
+     *
+     * @param exception a exceção do tipo {@code QueryTimeoutException} que foi lançada
+     * @return {@code ResponseEntity<String>} contendo uma mensagem de erro e o status HTTP 503 (Service Unavailable)
+     */
+    @ExceptionHandler( QueryTimeoutException.class )
+    public ResponseEntity<String> handleQueryTimeout ( QueryTimeoutException exception ) {
+        return ResponseEntity.status( HttpStatus.SERVICE_UNAVAILABLE ).body( Errors.QUERY_TIMEOUT_ERROR );
+    }
 }
@@ -2,11 +2,13 @@ package org.example.handler;
 
 import org.example.build.BuildClient.ConcreteBuilderUser;
 import org.example.build.BuildClient.DirectorUser;
+import org.example.exceptions.ValidationFailedException;
 import org.example.model.User;
 import org.example.role.UserRole;
 import org.example.repository.UserRepository;
 import org.example.utils.Errors;
 import org.example.validations.StringValidation;
+import org.example.validations.ValidationResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Component;
@@ -43,7 +45,8 @@ public class HandleClient {
     /**
      * Constrói e valida uma nova instância de {@link User} com base nos dados fornecidos.
      * <p>
-     * Realiza a validação do nome de usuário, e-mail e senha, e verifica se o nome de usuário já existe no banco de dados.
+     * Realiza a validação do nome de usuário, e-mail, senha e papel, reunindo todos os campos vazios em uma única
+     * resposta, e verifica se o nome de usuário já existe no banco de dados.
      * Caso o nome de usuário já esteja em uso, é lançada uma exceção {@link BadCredentialsException}.
      * </p>
      *
@@ -52,19 +55,22 @@ public class HandleClient {
      * @param password a senha a ser validada e utilizada para criar o {@link User}
      * @param role     o papel do usuário a ser atribuído ao {@link User}
      * @return uma instância de {@link User} com os dados fornecidos
-     * @throws BadCredentialsException  se o nome de usuário já existir no banco de dados
-     * @throws IllegalArgumentException se o nome de usuário, e-mail ou a senha não forem válidos
+     * @throws BadCredentialsException   se o nome de usuário já existir no banco de dados
+     * @throws ValidationFailedException se o nome de usuário, o e-mail, a senha ou o papel não forem informados
      */
     public User toCallBuilder ( String username, String email, String password, UserRole role ) {
-        StringValidation.validate( username, password, email );
+        new ValidationResult()
+                .text( "username", username )
+                .text( "email", email )
+                .text( "password", password )
+                .text( "role", role != null ? role.getRole() : null )
+                .throwIfInvalid();
         StringValidation.validatePassword( password, Errors.PASSWORD_INVALID_ERROR );
 
         if ( userRepository.findByUsername( username ) != null ) {
             throw new BadCredentialsException( "USERNAME INVALID" );
         }
 
-        StringValidation.validate( role.getRole() );
-
         ConcreteBuilderUser builderUser = new ConcreteBuilderUser();
         return directorUser.construct( builderUser, username, email, password, role );
     }
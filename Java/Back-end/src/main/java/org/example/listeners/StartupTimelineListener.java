@@ -0,0 +1,99 @@
+package org.example.listeners;
+
+import org.example.service.ranking.TopK;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+
+/**
+ * Ouvinte que gera o relatório de inicialização da aplicação.
+ * <p>
+ * Quando a aplicação fica pronta, as etapas registradas pelo {@link BufferingApplicationStartup} configurado em
+ * {@link org.example.Main} são percorridas e os beans cuja criação foi mais demorada são registrados no log,
+ * junto com o tempo total de inicialização. A duração de cada bean inclui a criação das suas dependências.
+ * </p>
+ * <p>
+ * Com {@code cars.startup.max-ms} maior que zero, o tempo total é comparado com essa meta. Com
+ * {@code cars.startup.exit-after-report} habilitado, a aplicação é encerrada logo após o relatório com código
+ * {@code 0}, se a meta foi cumprida, ou {@value #REGRESSION_EXIT_CODE}, caso contrário; é assim que o perfil Maven
+ * {@code faststart} verifica regressões no tempo de inicialização.
+ * </p>
+ */
+@Component
+public class StartupTimelineListener {
+
+    static final int REGRESSION_EXIT_CODE = 3;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( StartupTimelineListener.class );
+    private static final String BEAN_INSTANTIATE_STEP = "spring.beans.instantiate";
+    private static final String BEAN_NAME_TAG = "beanName";
+
+    private final int reportSize;
+    private final long maxStartupMillis;
+    private final boolean exitAfterReport;
+
+    public StartupTimelineListener ( @Value( "${cars.startup.report-size:10}" ) int reportSize,
+                                     @Value( "${cars.startup.max-ms:0}" ) long maxStartupMillis,
+                                     @Value( "${cars.startup.exit-after-report:false}" ) boolean exitAfterReport ) {
+        this.reportSize = reportSize;
+        this.maxStartupMillis = maxStartupMillis;
+        this.exitAfterReport = exitAfterReport;
+    }
+
+    /**
+     * Registra o relatório de inicialização e, se configurado, verifica a meta de tempo.
+     *
+     * @param event o evento publicado quando a aplicação está pronta para receber requisições
+     */
+    @EventListener
+    public void onApplicationReady ( ApplicationReadyEvent event ) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        long startupMillis = event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : 0;
+
+        StringBuilder report = new StringBuilder( "Application started in " ).append( startupMillis ).append( " ms" );
+        if ( context.getApplicationStartup() instanceof BufferingApplicationStartup startup ) {
+            TopK<StartupTimeline.TimelineEvent> slowest = new TopK<>( reportSize,
+                    Comparator.comparing( StartupTimeline.TimelineEvent::getDuration, Comparator.reverseOrder() ) );
+            for ( StartupTimeline.TimelineEvent step : startup.getBufferedTimeline().getEvents() ) {
+                if ( BEAN_INSTANTIATE_STEP.equals( step.getStartupStep().getName() ) ) {
+                    slowest.offer( step );
+                }
+            }
+            report.append( "; slowest beans:" );
+            for ( StartupTimeline.TimelineEvent step : slowest.toList() ) {
+                report.append( System.lineSeparator() ).append( "  " )
+                        .append( String.format( "%6d ms  ", step.getDuration().toMillis() ) )
+                        .append( beanName( step.getStartupStep() ) );
+            }
+        }
+        LOGGER.info( report.toString() );
+
+        boolean regression = maxStartupMillis > 0 && startupMillis > maxStartupMillis;
+        if ( regression ) {
+            LOGGER.warn( "Startup time {} ms exceeds the target of {} ms", startupMillis, maxStartupMillis );
+        }
+        if ( exitAfterReport ) {
+            int exitCode = regression ? REGRESSION_EXIT_CODE : 0;
+            System.exit( SpringApplication.exit( context, () -> exitCode ) );
+        }
+    }
+
+    private static String beanName ( StartupStep step ) {
+        for ( StartupStep.Tag tag : step.getTags() ) {
+            if ( BEAN_NAME_TAG.equals( tag.getKey() ) ) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+}
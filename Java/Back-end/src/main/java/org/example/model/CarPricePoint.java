@@ -0,0 +1,86 @@
+package org.example.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+import java.time.Instant;
+
+/**
+ * Registro de uma alteração de preço de um carro, armazenado em uma coleção de séries temporais do MongoDB.
+ * <p>
+ * Cada carro forma uma série, identificada pelo campo {@code carId}, e o MongoDB agrupa internamente os registros
+ * de uma mesma série em intervalos de tempo, reduzindo o espaço ocupado e o custo das consultas por período.
+ * </p>
+ */
+@Document( collection = "car_prices" )
+@TimeSeries( timeField = "at", metaField = "carId", granularity = Granularity.HOURS )
+public class CarPricePoint {
+    @Id
+    private String id;
+    private Instant at;
+    private String carId;
+    private String producedBy;
+    private Double price;
+    private Double previousPrice;
+
+    public CarPricePoint () {
+    }
+
+    public CarPricePoint ( Instant at, String carId, String producedBy, Double price, Double previousPrice ) {
+        this.at = at;
+        this.carId = carId;
+        this.producedBy = producedBy;
+        this.price = price;
+        this.previousPrice = previousPrice;
+    }
+
+    public String getId () {
+        return id;
+    }
+
+    public void setId ( String id ) {
+        this.id = id;
+    }
+
+    public Instant getAt () {
+        return at;
+    }
+
+    public void setAt ( Instant at ) {
+        this.at = at;
+    }
+
+    public String getCarId () {
+        return carId;
+    }
+
+    public void setCarId ( String carId ) {
+        this.carId = carId;
+    }
+
+    public String getProducedBy () {
+        return producedBy;
+    }
+
+    public void setProducedBy ( String producedBy ) {
+        this.producedBy = producedBy;
+    }
+
+    public Double getPrice () {
+        return price;
+    }
+
+    public void setPrice ( Double price ) {
+        this.price = price;
+    }
+
+    public Double getPreviousPrice () {
+        return previousPrice;
+    }
+
+    public void setPreviousPrice ( Double previousPrice ) {
+        this.previousPrice = previousPrice;
+    }
+}
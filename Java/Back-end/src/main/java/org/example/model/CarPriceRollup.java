@@ -0,0 +1,133 @@
+package org.example.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Agregado dos preços registrados em um período para um carro ou para um fabricante.
+ * <p>
+ * Os agregados são mantidos de forma incremental a cada alteração de preço, de modo que as consultas de histórico
+ * e de tendência leem um documento por período em vez de percorrer os registros individuais.
+ * </p>
+ */
+@Document( collection = "car_price_rollups" )
+public class CarPriceRollup {
+    @Id
+    private String id;
+    private String scope;
+    private String key;
+    private String period;
+    private Instant bucket;
+    private long count;
+    private double sum;
+    private double min;
+    private double max;
+    private double first;
+    private double last;
+    private Instant lastAt;
+
+    public CarPriceRollup () {
+    }
+
+    public String getId () {
+        return id;
+    }
+
+    public void setId ( String id ) {
+        this.id = id;
+    }
+
+    public String getScope () {
+        return scope;
+    }
+
+    public void setScope ( String scope ) {
+        this.scope = scope;
+    }
+
+    public String getKey () {
+        return key;
+    }
+
+    public void setKey ( String key ) {
+        this.key = key;
+    }
+
+    public String getPeriod () {
+        return period;
+    }
+
+    public void setPeriod ( String period ) {
+        this.period = period;
+    }
+
+    public Instant getBucket () {
+        return bucket;
+    }
+
+    public void setBucket ( Instant bucket ) {
+        this.bucket = bucket;
+    }
+
+    public long getCount () {
+        return count;
+    }
+
+    public void setCount ( long count ) {
+        this.count = count;
+    }
+
+    public double getSum () {
+        return sum;
+    }
+
+    public void setSum ( double sum ) {
+        this.sum = sum;
+    }
+
+    public double getMin () {
+        return min;
+    }
+
+    public void setMin ( double min ) {
+        this.min = min;
+    }
+
+    public double getMax () {
+        return max;
+    }
+
+    public void setMax ( double max ) {
+        this.max = max;
+    }
+
+    public double getFirst () {
+        return first;
+    }
+
+    public void setFirst ( double first ) {
+        this.first = first;
+    }
+
+    public double getLast () {
+        return last;
+    }
+
+    public void setLast ( double last ) {
+        this.last = last;
+    }
+
+    public Instant getLastAt () {
+        return lastAt;
+    }
+
+    public void setLastAt ( Instant lastAt ) {
+        this.lastAt = lastAt;
+    }
+
+    public double getAverage () {
+        return count == 0 ? 0 : sum / count;
+    }
+}
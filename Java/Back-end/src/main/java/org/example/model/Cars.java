@@ -1,8 +1,11 @@
 package org.example.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -20,6 +23,10 @@ public class Cars {
     private SpecificationsCar specifications;
     private List<String> features;
     private DimensionsCar dimensions;
+    @LastModifiedDate
+    private Instant lastModified;
+    @Version
+    private Long version;
 
     public Cars () {
     }
@@ -107,4 +114,20 @@ public class Cars {
     public void setDimensions ( DimensionsCar dimensions ) {
         this.dimensions = dimensions;
     }
+
+    public Instant getLastModified () {
+        return lastModified;
+    }
+
+    public void setLastModified ( Instant lastModified ) {
+        this.lastModified = lastModified;
+    }
+
+    public Long getVersion () {
+        return version;
+    }
+
+    public void setVersion ( Long version ) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,129 @@
+package org.example.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Estatísticas do catálogo de carros, mantidas em um único documento.
+ * <p>
+ * O documento é atualizado com {@code $inc} a cada escrita no catálogo e substituído periodicamente pelo resultado
+ * de uma agregação completa, de modo que o painel administrativo lê um documento em vez de percorrer a coleção. As
+ * chaves dos mapas são os fabricantes, os anos e os tipos de motor, codificados por
+ * {@link org.example.service.stats.StatsKeys} para que possam ser usados como nomes de campos.
+ * </p>
+ */
+@Document( collection = "car_stats" )
+public class CatalogStats {
+    @Id
+    private String id;
+    private long count;
+    private double totalValue;
+    private Map<String, Totals> producers = new HashMap<>();
+    private Map<String, Totals> years = new HashMap<>();
+    private Map<String, Long> engines = new HashMap<>();
+    private Instant updatedAt;
+    private Instant reconciledAt;
+
+    public CatalogStats () {
+    }
+
+    public String getId () {
+        return id;
+    }
+
+    public void setId ( String id ) {
+        this.id = id;
+    }
+
+    public long getCount () {
+        return count;
+    }
+
+    public void setCount ( long count ) {
+        this.count = count;
+    }
+
+    public double getTotalValue () {
+        return totalValue;
+    }
+
+    public void setTotalValue ( double totalValue ) {
+        this.totalValue = totalValue;
+    }
+
+    public Map<String, Totals> getProducers () {
+        return producers;
+    }
+
+    public void setProducers ( Map<String, Totals> producers ) {
+        this.producers = producers;
+    }
+
+    public Map<String, Totals> getYears () {
+        return years;
+    }
+
+    public void setYears ( Map<String, Totals> years ) {
+        this.years = years;
+    }
+
+    public Map<String, Long> getEngines () {
+        return engines;
+    }
+
+    public void setEngines ( Map<String, Long> engines ) {
+        this.engines = engines;
+    }
+
+    public Instant getUpdatedAt () {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt ( Instant updatedAt ) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getReconciledAt () {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt ( Instant reconciledAt ) {
+        this.reconciledAt = reconciledAt;
+    }
+
+    /**
+     * Quantidade de carros e soma dos seus valores em um grupo do catálogo.
+     */
+    public static class Totals {
+        private long count;
+        private double sum;
+
+        public Totals () {
+        }
+
+        public Totals ( long count, double sum ) {
+            this.count = count;
+            this.sum = sum;
+        }
+
+        public long getCount () {
+            return count;
+        }
+
+        public void setCount ( long count ) {
+            this.count = count;
+        }
+
+        public double getSum () {
+            return sum;
+        }
+
+        public void setSum ( double sum ) {
+            this.sum = sum;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Progresso de uma migração da coleção de carros, gravado após cada lote processado.
+ * <p>
+ * O último {@code _id} processado permite retomar a migração do ponto em que parou após uma reinicialização, e o
+ * responsável e o prazo da concessão impedem que duas instâncias executem a mesma migração ao mesmo tempo.
+ * </p>
+ */
+@Document( collection = "car_migrations" )
+public class MigrationProgress {
+    @Id
+    private String id;
+    private String description;
+    private String status;
+    private Object lastId;
+    private long scanned;
+    private long modified;
+    private long total;
+    private String owner;
+    private Instant leaseUntil;
+    private Instant startedAt;
+    private Instant updatedAt;
+    private Instant completedAt;
+    private String error;
+
+    public MigrationProgress () {
+    }
+
+    public String getId () {
+        return id;
+    }
+
+    public void setId ( String id ) {
+        this.id = id;
+    }
+
+    public String getDescription () {
+        return description;
+    }
+
+    public void setDescription ( String description ) {
+        this.description = description;
+    }
+
+    public String getStatus () {
+        return status;
+    }
+
+    public void setStatus ( String status ) {
+        this.status = status;
+    }
+
+    public Object getLastId () {
+        return lastId;
+    }
+
+    public void setLastId ( Object lastId ) {
+        this.lastId = lastId;
+    }
+
+    public long getScanned () {
+        return scanned;
+    }
+
+    public void setScanned ( long scanned ) {
+        this.scanned = scanned;
+    }
+
+    public long getModified () {
+        return modified;
+    }
+
+    public void setModified ( long modified ) {
+        this.modified = modified;
+    }
+
+    public long getTotal () {
+        return total;
+    }
+
+    public void setTotal ( long total ) {
+        this.total = total;
+    }
+
+    public String getOwner () {
+        return owner;
+    }
+
+    public void setOwner ( String owner ) {
+        this.owner = owner;
+    }
+
+    public Instant getLeaseUntil () {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil ( Instant leaseUntil ) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public Instant getStartedAt () {
+        return startedAt;
+    }
+
+    public void setStartedAt ( Instant startedAt ) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getUpdatedAt () {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt ( Instant updatedAt ) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getCompletedAt () {
+        return completedAt;
+    }
+
+    public void setCompletedAt ( Instant completedAt ) {
+        this.completedAt = completedAt;
+    }
+
+    public String getError () {
+        return error;
+    }
+
+    public void setError ( String error ) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Busca salva por um usuário para ser avisado quando um carro que atende aos seus critérios for cadastrado.
+ * <p>
+ * Os critérios não informados não restringem a busca; os acessórios exigidos precisam estar todos presentes no
+ * carro. As comparações de texto ignoram maiúsculas e minúsculas.
+ * </p>
+ */
+@Entity
+@Table( name = "saved_searches" )
+public class SavedSearch {
+    @Id
+    @GeneratedValue( strategy = GenerationType.UUID )
+    private String id;
+    @ManyToOne( fetch = FetchType.EAGER, optional = false )
+    @JoinColumn( name = "user_id" )
+    private User user;
+    private String name;
+    private String producedBy;
+    private Double maxValue;
+    private Integer minYear;
+    @ElementCollection( fetch = FetchType.EAGER )
+    @CollectionTable( name = "saved_search_features", joinColumns = @JoinColumn( name = "saved_search_id" ) )
+    @Column( name = "feature" )
+    private Set<String> features = new HashSet<>();
+
+    public SavedSearch () {
+    }
+
+    public SavedSearch ( User user, String name, String producedBy, Double maxValue, Integer minYear,
+                         Set<String> features ) {
+        this.user = user;
+        this.name = name;
+        this.producedBy = producedBy;
+        this.maxValue = maxValue;
+        this.minYear = minYear;
+        this.features = features == null ? new HashSet<>() : new HashSet<>( features );
+    }
+
+    public String getId () {
+        return id;
+    }
+
+    public void setId ( String id ) {
+        this.id = id;
+    }
+
+    public User getUser () {
+        return user;
+    }
+
+    public void setUser ( User user ) {
+        this.user = user;
+    }
+
+    public String getName () {
+        return name;
+    }
+
+    public void setName ( String name ) {
+        this.name = name;
+    }
+
+    public String getProducedBy () {
+        return producedBy;
+    }
+
+    public void setProducedBy ( String producedBy ) {
+        this.producedBy = producedBy;
+    }
+
+    public Double getMaxValue () {
+        return maxValue;
+    }
+
+    public void setMaxValue ( Double maxValue ) {
+        this.maxValue = maxValue;
+    }
+
+    public Integer getMinYear () {
+        return minYear;
+    }
+
+    public void setMinYear ( Integer minYear ) {
+        this.minYear = minYear;
+    }
+
+    public Set<String> getFeatures () {
+        return features;
+    }
+
+    public void setFeatures ( Set<String> features ) {
+        this.features = features;
+    }
+}
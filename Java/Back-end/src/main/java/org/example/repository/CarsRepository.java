@@ -6,11 +6,14 @@ import org.example.exceptions.FieldStringInvalidException;
 import org.example.exceptions.ResourceNotFoundException;
 import org.example.model.Cars;
 import org.example.utils.QueryMongo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -18,19 +21,35 @@ import java.util.List;
  * <p>
  * Este repositório fornece métodos para consultar carros com base em diversos critérios, como modelo, valor, ano de produção, fabricante, tipo de motor, etc.
  * </p>
+ * <p>
+ * Todas as consultas são enviadas com {@code maxTimeMS}, para que o próprio MongoDB interrompa as que ultrapassarem
+ * {@link QueryMongo#MAX_TIME_MS}.
+ * </p>
+ * <p>
+ * As buscas exatas por modelo, fabricante, tipo de motor e característica ignoram maiúsculas e minúsculas: elas
+ * declaram a collation {@link QueryMongo#CASE_INSENSITIVE_COLLATION}, a mesma dos índices criados pelo
+ * {@link org.example.config.MongoIndexConfig}. O MongoDB só usa um índice quando a collation da consulta é igual à
+ * dele, por isso as duas devem mudar juntas.
+ * </p>
  */
 @Repository
 public interface CarsRepository extends MongoRepository<Cars, String>, PagingAndSortingRepository<Cars, String> {
 
     /**
-     * Verifica se o modelo pesquisado existe e retorna o carro correspondente.
+     * Retorna os carros com o modelo pesquisado, ordenados pelo ID.
+     * <p>
+     * Como a busca ignora maiúsculas e minúsculas, "Civic" e "civic" correspondem ao mesmo modelo; a ordenação
+     * pelo ID torna determinístico o carro escolhido quando o limite é menor que a quantidade de correspondências.
+     * </p>
      *
      * @param model O modelo do carro.
-     * @return O carro com o modelo correspondente.
-     * @throws ResourceNotFoundException Se o modelo não for encontrado.
+     * @param limit A quantidade máxima de carros retornados.
+     * @return Os carros com o modelo correspondente.
      */
-    @Query( QueryMongo.FIND_BY_MODEL )
-    Cars findByModel ( String model ); // Concluido
+    @Query( value = QueryMongo.FIND_BY_MODEL, collation = QueryMongo.CASE_INSENSITIVE_COLLATION,
+            sort = QueryMongo.SORT_BY_ID )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
+    List<Cars> findByModel ( String model, Limit limit ); // Concluido
 
     /**
      * Retorna uma lista de carros cujo valor é menor do que o valor pesquisado.
@@ -40,6 +59,7 @@ public interface CarsRepository extends MongoRepository<Cars, String>, PagingAnd
      * @throws ResourceNotFoundException Se nenhum carro for encontrado.
      */
     @Query( QueryMongo.FIND_BY_LESS_VALUE )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
     List<Cars> findByLessThanValue ( Double value ); // Concluido
 
     /**
@@ -51,6 +71,7 @@ public interface CarsRepository extends MongoRepository<Cars, String>, PagingAnd
      * @throws FieldDoubleInvalidException Se o valor fornecido for inválido.
      */
     @Query( QueryMongo.FIND_BY_VALUE )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
     List<Cars> findByValue ( Double value ); // Concluido
 
     /**
@@ -62,6 +83,7 @@ public interface CarsRepository extends MongoRepository<Cars, String>, PagingAnd
      * @throws FieldDoubleInvalidException Se o valor fornecido for inválido.
      */
     @Query( QueryMongo.FIND_BY_BIGGER_VALUE )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
     List<Cars> findBiggerThanValue ( Double value ); // Concluido
 
     /**
@@ -73,6 +95,7 @@ public interface CarsRepository extends MongoRepository<Cars, String>, PagingAnd
      * @throws FieldIntegerInvalidException Se o ano fornecido for inválido.
      */
     @Query( QueryMongo.FIND_BY_YEAR )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
     List<Cars> findByYear ( Integer year ); // Concluido
 
     /**
@@ -84,6 +107,7 @@ public interface CarsRepository extends MongoRepository<Cars, String>, PagingAnd
      * @throws FieldIntegerInvalidException Se o ano fornecido for inválido.
      */
     @Query( QueryMongo.FIND_BY_NEWER_YEAR )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
     List<Cars> findNewerThanYear ( Integer year ); // Concluido
 
     /**
@@ -95,6 +119,7 @@ public interface CarsRepository extends MongoRepository<Cars, String>, PagingAnd
      * @throws FieldIntegerInvalidException Se o ano fornecido for inválido.
      */
     @Query( QueryMongo.FIND_BY_OLDER_YEAR )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
     List<Cars> findOlderThanYear ( Integer year ); // Concluido
 
     /**
@@ -105,7 +130,8 @@ public interface CarsRepository extends MongoRepository<Cars, String>, PagingAnd
      * @throws ResourceNotFoundException   Se nenhum carro for encontrado.
      * @throws FieldStringInvalidException Se o nome da fabricante for inválido.
      */
-    @Query( QueryMongo.FIND_BY_PRODUCEDBY )
+    @Query( value = QueryMongo.FIND_BY_PRODUCEDBY, collation = QueryMongo.CASE_INSENSITIVE_COLLATION )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
     List<Cars> findProducedBy ( String producedBy );
 
     /**
@@ -116,7 +142,8 @@ public interface CarsRepository extends MongoRepository<Cars, String>, PagingAnd
      * @throws ResourceNotFoundException   Se nenhum carro for encontrado.
      * @throws FieldStringInvalidException Se o tipo de motor for inválido.
      */
-    @Query( QueryMongo.FIND_BY_ENGINE_TYPE )
+    @Query( value = QueryMongo.FIND_BY_ENGINE_TYPE, collation = QueryMongo.CASE_INSENSITIVE_COLLATION )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
     List<Cars> findByEngineType ( String engineType );
 
     /**
@@ -128,6 +155,7 @@ public interface CarsRepository extends MongoRepository<Cars, String>, PagingAnd
      * @throws FieldStringInvalidException Se a velocidade fornecida for inválida.
      */
     @Query( QueryMongo.FIND_BY_TOP_SPEED )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
     List<Cars> findByTopSpeed ( String topSpeed );
 
     /**
@@ -138,7 +166,60 @@ public interface CarsRepository extends MongoRepository<Cars, String>, PagingAnd
      * @throws ResourceNotFoundException   Se nenhuma feature correspondente for encontrada.
      * @throws FieldStringInvalidException Se a feature fornecida for inválida.
      */
-    @Query( QueryMongo.FIND_BY_FEATURE )
+    @Query( value = QueryMongo.FIND_BY_FEATURE, collation = QueryMongo.CASE_INSENSITIVE_COLLATION )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
     List<Cars> findByFeature ( String features );
-}
 
+    /**
+     * Retorna uma lista de carros cujo valor e ano de produção estão dentro das faixas fornecidas.
+     *
+     * @param minValue O valor mínimo, inclusivo.
+     * @param maxValue O valor máximo, inclusivo.
+     * @param minYear  O ano mínimo, inclusivo.
+     * @param maxYear  O ano máximo, inclusivo.
+     * @return Uma lista de carros dentro das faixas fornecidas.
+     */
+    @Query( QueryMongo.FIND_BY_VALUE_AND_YEAR_RANGE )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
+    List<Cars> findByValueAndYearRange ( Double minValue, Double maxValue, Integer minYear, Integer maxYear );
+
+    /**
+     * Retorna os carros cujo modelo está entre os modelos fornecidos, em uma única consulta, sem distinguir
+     * maiúsculas e minúsculas.
+     *
+     * @param models Os modelos a serem buscados.
+     * @return Uma lista com os carros encontrados, sem ordem definida.
+     */
+    @Query( value = QueryMongo.FIND_BY_MODEL_IN, collation = QueryMongo.CASE_INSENSITIVE_COLLATION )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
+    List<Cars> findByModelIn ( Collection<String> models );
+
+    /**
+     * Retorna os carros cujo modelo está no intervalo fornecido, sem distinguir maiúsculas e minúsculas.
+     * <p>
+     * Com o limite superior igual ao limite inferior seguido de {@link QueryMongo#COLLATION_MAX_CHARACTER}, retorna
+     * os carros cujo modelo começa pelo limite inferior, percorrendo apenas esse trecho do índice {@code model_ci}.
+     * </p>
+     *
+     * @param from  O limite inferior, inclusivo.
+     * @param to    O limite superior, exclusivo.
+     * @param limit A quantidade máxima de carros retornados.
+     * @return Uma lista com os carros encontrados, na ordem do índice.
+     */
+    @Query( value = QueryMongo.FIND_BY_MODEL_RANGE, collation = QueryMongo.CASE_INSENSITIVE_COLLATION )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
+    List<Cars> findByModelRange ( String from, String to, Limit limit );
+
+    /**
+     * Retorna os carros cujo fabricante está no intervalo fornecido, sem distinguir maiúsculas e minúsculas.
+     *
+     * @param from  O limite inferior, inclusivo.
+     * @param to    O limite superior, exclusivo.
+     * @param limit A quantidade máxima de carros retornados.
+     * @return Uma lista com os carros encontrados, na ordem do índice.
+     * @see #findByModelRange(String, String, Limit)
+     */
+    @Query( value = QueryMongo.FIND_BY_PRODUCEDBY_RANGE, collation = QueryMongo.CASE_INSENSITIVE_COLLATION )
+    @Meta( maxExecutionTimeMs = QueryMongo.MAX_TIME_MS )
+    List<Cars> findProducedByRange ( String from, String to, Limit limit );
+}
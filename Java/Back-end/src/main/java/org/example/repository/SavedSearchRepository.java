@@ -0,0 +1,33 @@
+package org.example.repository;
+
+import org.example.model.SavedSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositório para a entidade {@link SavedSearch}.
+ * <p>
+ * Além das operações CRUD, permite listar e contar as buscas salvas de um usuário pelo seu nome de usuário.
+ * </p>
+ */
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, String> {
+
+    /**
+     * Lista as buscas salvas de um usuário.
+     *
+     * @param username o nome de usuário
+     * @return as buscas salvas do usuário
+     */
+    List<SavedSearch> findByUserUsername ( String username );
+
+    /**
+     * Conta as buscas salvas de um usuário.
+     *
+     * @param username o nome de usuário
+     * @return a quantidade de buscas salvas do usuário
+     */
+    long countByUserUsername ( String username );
+}
@@ -6,6 +6,7 @@ public class Routes {
     public static final String ADMIN_ROUTE = "/admin";
     public static final String ID_ROUTE = "/{id}";
     public static final String MODEL_ROUTE = "/model";
+    public static final String FUZZY_MODEL_ROUTE = "/model/fuzzy";
     public static final String YEAR_ROUTE = "/year/{year}";
     public static final String NEWER_YEAR_ROUTE = "/year/newer_than/{year}";
     public static final String OLDER_YEAR_ROUTE = "/year/older_than/{year}";
@@ -16,8 +17,26 @@ public class Routes {
     public static final String ENGYNETYPE_ROUTE = "/engine_type";
     public static final String TOPSPEED_ROUTE = "/top_speed/{topSpeed}";
     public static final String FEATURE_ROUTE = "/feature";
+    public static final String SEARCH_ROUTE = "/search";
+    public static final String FACETS_ROUTE = "/facets";
+    public static final String STREAM_ROUTE = "/stream";
+    public static final String BATCH_ROUTE = "/batch";
+    public static final String RANKING_ROUTE = "/ranking/{criterion}";
+    public static final String RANKING_BY_PRODUCER_ROUTE = "/ranking/{criterion}/by_producer";
+    public static final String IMAGE_ROUTE = "/{id}/image";
+    public static final String SIMILAR_ROUTE = "/{id}/similar";
+    public static final String PRICE_HISTORY_ROUTE = "/{id}/prices";
+    public static final String PRICE_TREND_ROUTE = "/prices/trend";
+    public static final String THUMBNAIL_ROUTE = "/{id}/image/{width}";
     public static final String CREATE_USER_ROUTE = "/users/create";
+    public static final String SAVED_SEARCHES_ROUTE = "/searches";
+    public static final String SAVED_SEARCH_ROUTE = "/searches/{id}";
     public static final String CREATE_ADMIN_ROUTE = "/admin/create";
+    public static final String ADMIN_AND_DEPENDENCIES_ROUTE = "/admin/**";
+    public static final String STATS_ROUTE = "/stats";
+    public static final String MIGRATIONS_ROUTE = "/migrations";
+    public static final String MIGRATION_PAUSE_ROUTE = "/migrations/{id}/pause";
+    public static final String MIGRATION_RESUME_ROUTE = "/migrations/{id}/resume";
     public static final String CARS_ROUTE = "/cars";
     public static final String CARS_AND_DEPENDENCIES_ROUTE = "/cars/**";
     public static final String CREATE_ROUTE = "/create";
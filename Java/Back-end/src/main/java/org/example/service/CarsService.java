@@ -1,5 +1,11 @@
 package org.example.service;
 
+import org.example.dto.CarsBatchDTO;
+import org.example.dto.ModelMatchDTO;
+import org.example.events.CarsChangedEvent;
+import org.example.exceptions.InvalidFieldException;
+import org.example.exceptions.ResourceNotFoundException;
+import org.example.exceptions.VersionConflictException;
 import org.example.model.Cars;
 import org.example.repository.CarsRepository;
 import org.example.build.BuildCar.DirectorCar;
@@ -10,15 +16,48 @@ import org.example.service.context.ContextSearchCarsForInteger;
 import org.example.service.context.ContextSearchCarsForString;
 import org.example.service.context.ContextSearchCarsForDouble;
 import org.example.service.context.ContextSearchOneCarForString;
+import org.example.service.bitmap.FacetCatalog;
+import org.example.service.bitmap.FacetQuery;
+import org.example.service.bitmap.FacetResult;
+import org.example.service.columnar.ColumnarCatalog;
+import org.example.service.columnar.ColumnarQuery;
+import org.example.service.columnar.ColumnarSearchByDouble;
+import org.example.service.columnar.ColumnarSearchByYear;
+import org.example.service.coalescing.RequestCoalescer;
+import org.example.service.fuzzy.FuzzyModelCatalog;
+import org.example.service.fuzzy.TextFolding;
+import org.example.service.fuzzy.TrigramIndex;
+import org.example.service.patch.CarPatch;
+import org.example.service.routing.ReadRouting;
+import org.example.utils.Errors;
+import org.example.utils.PageInfo;
+import org.example.utils.QueryMongo;
 import org.example.validations.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Serviço responsável pela lógica de negócios relacionada aos objetos {@link Cars}.
@@ -27,6 +66,11 @@ import java.util.Optional;
  * relacionadas aos carros. Utiliza o repositório {@link CarsRepository} para interagir com o banco de dados e aplica
  * validações através das classes {@link CarValidations} e {@link StringValidation}.
  * </p>
+ * <p>
+ * As consultas de leitura passam pelo {@link RequestCoalescer}, de modo que requisições idênticas e simultâneas
+ * compartilham uma única consulta ao banco de dados, e pelo {@link ReadRouting}, que as executa nos secundários do
+ * MongoDB. As escritas e as leituras que as precedem continuam no primário.
+ * </p>
  */
 @Service
 public class CarsService {
@@ -42,23 +86,84 @@ public class CarsService {
     ContextSearchCarsForDouble contextByDouble;
     // For Integer
     ContextSearchCarsForInteger contextByYear;
+    // In-memory columnar catalog
+    ContextSearchCarsForDouble columnarByDouble;
+    ContextSearchCarsForInteger columnarByYear;
+
+    private final ColumnarCatalog columnarCatalog;
+    private final FacetCatalog facetCatalog;
+    private final FuzzyModelCatalog fuzzyModelCatalog;
+    private final RequestCoalescer coalescer;
+    private final ReadRouting readRouting;
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constrói uma instância do {@code CarsService} com os componentes necessários.
      *
      * @param carsRepository o repositório de carros para realizar operações de banco de dados
      * @param carValidations a classe de validações para carros
-     * @param directorCar    o diretor responsável pela construção de carros
+     * @param directorCar     o diretor responsável pela construção de carros
+     * @param columnarCatalog o catálogo colunar em memória usado nas consultas por faixa quando disponível
+     * @param facetCatalog    os índices de bitmap usados nas consultas por facetas quando disponíveis
+     * @param fuzzyModelCatalog o índice de trigramas usado na busca de modelos tolerante a erros quando disponível
+     * @param coalescer       o agrupador que compartilha uma única execução entre consultas idênticas simultâneas
+     * @param readRouting     o roteamento que envia as consultas de leitura para os secundários do MongoDB
+     * @param mongoTemplate   o acesso ao MongoDB usado nas atualizações parciais com verificação de versão
+     * @param eventPublisher  o publicador dos eventos de alteração dos carros
      */
     @Autowired
-    public CarsService ( CarsRepository carsRepository, CarValidations carValidations, DirectorCar directorCar ) {
+    public CarsService ( CarsRepository carsRepository, CarValidations carValidations, DirectorCar directorCar,
+                         ColumnarCatalog columnarCatalog, FacetCatalog facetCatalog,
+                         FuzzyModelCatalog fuzzyModelCatalog, RequestCoalescer coalescer,
+                         ReadRouting readRouting, MongoTemplate mongoTemplate,
+                         ApplicationEventPublisher eventPublisher ) {
         this.carsRepository = carsRepository;
         this.carValidations = carValidations;
+        this.columnarCatalog = columnarCatalog;
+        this.facetCatalog = facetCatalog;
+        this.fuzzyModelCatalog = fuzzyModelCatalog;
+        this.coalescer = coalescer;
+        this.readRouting = readRouting;
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
 
         this.contextGetOneCarByString = new ContextSearchOneCarForString( new SearchOneByString( carsRepository, carValidations ) );
         this.contextByDouble = new ContextSearchCarsForDouble( new SearchByDouble( carsRepository ) );
         this.contextByYear = new ContextSearchCarsForInteger( new SearchByYear( carsRepository ) );
         this.contextByString = new ContextSearchCarsForString( new SearchByString( carsRepository ) );
+
+        this.columnarByDouble = new ContextSearchCarsForDouble( new ColumnarSearchByDouble( columnarCatalog ) );
+        this.columnarByYear = new ContextSearchCarsForInteger( new ColumnarSearchByYear( columnarCatalog ) );
+    }
+
+    /**
+     * Executa uma consulta de leitura pelo agrupador, nos secundários do MongoDB quando o roteamento está ativo.
+     * <p>
+     * Quem acabou de escrever lê do primário sem passar pelo agrupador, que poderia entregar o resultado de uma
+     * consulta idêntica em andamento em um secundário ainda sem a escrita. As buscas que ignoram maiúsculas e
+     * minúsculas identificam a consulta pelo texto normalizado com {@link QueryMongo#caseKey(String)}.
+     * </p>
+     */
+    private <T> T read ( String method, Supplier<T> loader, Object... args ) {
+        if ( readRouting.readsOwnWrites() ) {
+            return readRouting.read( loader );
+        }
+        return coalescer.execute( method, () -> readRouting.read( loader ), args );
+    }
+
+    /**
+     * Seleciona a estratégia para consultas por valor: o catálogo colunar quando carregado, ou o banco de dados.
+     */
+    private ContextSearchCarsForDouble doubleContext () {
+        return columnarCatalog.isReady() ? columnarByDouble : contextByDouble;
+    }
+
+    /**
+     * Seleciona a estratégia para consultas por ano: o catálogo colunar quando carregado, ou o banco de dados.
+     */
+    private ContextSearchCarsForInteger yearContext () {
+        return columnarCatalog.isReady() ? columnarByYear : contextByYear;
     }
 
     /**
@@ -76,7 +181,7 @@ public class CarsService {
      */
     public Page<Cars> getAllCars ( int page, int size ) {
         Pageable pageable = PageRequest.of( page, size );
-        return carsRepository.findAll( pageable );
+        return read( "getAllCars", () -> carsRepository.findAll( pageable ), page, size );
     }
 
     /**
@@ -86,7 +191,59 @@ public class CarsService {
      * @return o carro correspondente ao modelo fornecido
      */
     public Optional<Cars> getByModel ( String model ) {
-        return contextGetOneCarByString.doSearchModel( model );
+        return read( "getByModel", () -> contextGetOneCarByString.doSearchModel( model ),
+                QueryMongo.caseKey( model ) );
+    }
+
+    /**
+     * Recupera os carros cujo modelo, ou fabricante seguido do modelo, se aproxima do texto digitado.
+     * <p>
+     * Maiúsculas, acentos e pontuação são ignorados, e são aceitos até {@code maxDistance} erros de digitação
+     * (inserções, remoções, substituições ou trocas de letras vizinhas), inclusive quando o texto é apenas o início
+     * do modelo. Quando o índice de trigramas está carregado a busca é feita em memória; caso contrário, um índice
+     * temporário é construído apenas com os carros cujo modelo ou fabricante começa pelas
+     * {@link PageInfo#FUZZY_FALLBACK_PREFIX} primeiras letras do texto, lidos pelos índices do MongoDB e limitados a
+     * {@link PageInfo#MAX_FUZZY_FALLBACK_CANDIDATES} por campo; erros de digitação nessas letras só são tolerados
+     * com o índice em memória.
+     * </p>
+     *
+     * @param model       o texto digitado
+     * @param maxDistance a maior quantidade de erros aceita
+     * @param limit       a quantidade máxima de carros retornados
+     * @return os carros encontrados, dos mais próximos para os mais distantes
+     * @throws InvalidFieldException se o limite ou a distância estiverem fora do intervalo permitido
+     */
+    public List<ModelMatchDTO> getByModelFuzzy ( String model, int maxDistance, int limit ) {
+        StringValidation.validate( model );
+        if ( limit <= 0 || limit > PageInfo.MAX_FUZZY_SIZE ) {
+            throw new InvalidFieldException( Errors.FUZZY_SIZE_ERROR + PageInfo.MAX_FUZZY_SIZE );
+        }
+        if ( maxDistance < 0 || maxDistance > PageInfo.MAX_FUZZY_DISTANCE ) {
+            throw new InvalidFieldException( Errors.FUZZY_DISTANCE_ERROR + PageInfo.MAX_FUZZY_DISTANCE );
+        }
+        if ( fuzzyModelCatalog.isReady() ) {
+            return fuzzyModelCatalog.search( model, maxDistance, limit );
+        }
+        return read( "getByModelFuzzy", () -> TrigramIndex.of( fuzzyCandidates( model ) )
+                .search( model, maxDistance, limit ), QueryMongo.caseKey( model ), maxDistance, limit );
+    }
+
+    /**
+     * Lê os carros cujo modelo ou fabricante começa pelas primeiras letras do texto digitado.
+     */
+    private List<Cars> fuzzyCandidates ( String model ) {
+        String folded = TextFolding.fold( model );
+        if ( folded.isEmpty() ) {
+            return List.of();
+        }
+        String from = folded.substring( 0, Math.min( folded.length(), PageInfo.FUZZY_FALLBACK_PREFIX ) );
+        String to = from + QueryMongo.COLLATION_MAX_CHARACTER;
+        Limit candidates = Limit.of( PageInfo.MAX_FUZZY_FALLBACK_CANDIDATES );
+        Map<String, Cars> found = new LinkedHashMap<>();
+        carsRepository.findByModelRange( from, to, candidates ).forEach( car -> found.put( car.getId(), car ) );
+        carsRepository.findProducedByRange( from, to, candidates )
+                .forEach( car -> found.putIfAbsent( car.getId(), car ) );
+        return new ArrayList<>( found.values() );
     }
 
     /**
@@ -97,7 +254,82 @@ public class CarsService {
      * @throws RuntimeException se o carro com o ID fornecido não for encontrado
      */
     public Optional<Cars> getById ( String id ) {
-        return contextGetOneCarByString.doSearchId( id );
+        return read( "getById", () -> contextGetOneCarByString.doSearchId( id ), id );
+    }
+
+    /**
+     * Recupera vários carros de uma só vez a partir de seus IDs e/ou modelos.
+     * <p>
+     * Os IDs são procurados primeiro no catálogo em memória, quando disponível, e os restantes são resolvidos em
+     * uma única consulta {@code findAllById}; os modelos são resolvidos em uma única consulta {@code $in}, sem
+     * distinguir maiúsculas e minúsculas, como em {@link #getByModel(String)}. Os carros são retornados na ordem
+     * das chaves solicitadas, primeiro os IDs e depois os modelos, e as chaves sem carro correspondente são
+     * listadas em {@link CarsBatchDTO#missing()} em vez de lançar uma exceção.
+     * </p>
+     *
+     * @param ids    os IDs dos carros a serem recuperados, ou {@code null}
+     * @param models os modelos dos carros a serem recuperados, ou {@code null}
+     * @return um {@link CarsBatchDTO} com os carros encontrados e as chaves ausentes
+     * @throws InvalidFieldException se a quantidade de chaves ultrapassar {@link PageInfo#MAX_BATCH_SIZE}
+     */
+    public CarsBatchDTO getBatch ( List<String> ids, List<String> models ) {
+        Set<String> idKeys = normalizeKeys( ids );
+        Set<String> modelKeys = normalizeKeys( models );
+        if ( idKeys.size() + modelKeys.size() > PageInfo.MAX_BATCH_SIZE ) {
+            throw new InvalidFieldException( Errors.BATCH_SIZE_ERROR + PageInfo.MAX_BATCH_SIZE );
+        }
+
+        Map<String, Cars> byId = new HashMap<>();
+        List<String> notCached = new ArrayList<>();
+        for ( String id : idKeys ) {
+            columnarCatalog.findById( id ).ifPresentOrElse( car -> byId.put( id, car ), () -> notCached.add( id ) );
+        }
+        if ( ! notCached.isEmpty() ) {
+            readRouting.read( () -> carsRepository.findAllById( notCached ) )
+                    .forEach( car -> byId.put( car.getId(), car ) );
+        }
+
+        Map<String, Cars> byModel = new HashMap<>();
+        if ( ! modelKeys.isEmpty() ) {
+            // A consulta ignora maiúsculas e minúsculas, então cada chave é associada ao modelo em minúsculas
+            Map<String, Cars> byFoldedModel = new HashMap<>();
+            readRouting.read( () -> carsRepository.findByModelIn( modelKeys ) ).forEach( car -> byFoldedModel
+                    .putIfAbsent( car.getModel().toLowerCase( Locale.ROOT ), car ) );
+            for ( String model : modelKeys ) {
+                Cars car = byFoldedModel.get( model.toLowerCase( Locale.ROOT ) );
+                if ( car != null ) {
+                    byModel.put( model, car );
+                }
+            }
+        }
+
+        List<Cars> found = new ArrayList<>( idKeys.size() + modelKeys.size() );
+        List<String> missing = new ArrayList<>();
+        collectInOrder( idKeys, byId, found, missing );
+        collectInOrder( modelKeys, byModel, found, missing );
+        return new CarsBatchDTO( found, missing );
+    }
+
+    private static Set<String> normalizeKeys ( List<String> keys ) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if ( keys != null ) {
+            for ( String key : keys ) {
+                normalized.add( FormatInfo.check( key ) );
+            }
+        }
+        return normalized;
+    }
+
+    private static void collectInOrder ( Set<String> keys, Map<String, Cars> resolved, List<Cars> found,
+                                         List<String> missing ) {
+        for ( String key : keys ) {
+            Cars car = resolved.get( key );
+            if ( car != null ) {
+                found.add( car );
+            } else {
+                missing.add( key );
+            }
+        }
     }
 
     /**
@@ -108,7 +340,7 @@ public class CarsService {
      * @throws IllegalArgumentException se o valor fornecido for inválido
      */
     public List<Cars> getByValue ( Double value ) {
-        return contextByDouble.doSearchEquals( value );
+        return read( "getByValue", () -> doubleContext().doSearchEquals( value ), value );
     }
 
     /**
@@ -119,7 +351,7 @@ public class CarsService {
      * @throws IllegalArgumentException se o valor fornecido for inválido
      */
     public List<Cars> getByLessThanValue ( Double value ) {
-        return contextByDouble.doSearchLess( value );
+        return read( "getByLessThanValue", () -> doubleContext().doSearchLess( value ), value );
     }
 
     /**
@@ -130,7 +362,7 @@ public class CarsService {
      * @throws IllegalArgumentException se o valor fornecido for inválido
      */
     public List<Cars> getBiggerThanValue ( Double value ) {
-        return contextByDouble.doSearchBigger( value );
+        return read( "getBiggerThanValue", () -> doubleContext().doSearchBigger( value ), value );
     }
 
     /**
@@ -141,7 +373,7 @@ public class CarsService {
      * @throws IllegalArgumentException se o ano fornecido for inválido
      */
     public List<Cars> getByYear ( Integer year ) {
-        return contextByYear.doSearchEquals( year );
+        return read( "getByYear", () -> yearContext().doSearchEquals( year ), year );
     }
 
     /**
@@ -152,7 +384,7 @@ public class CarsService {
      * @throws IllegalArgumentException se o ano fornecido for inválido
      */
     public List<Cars> getNewerThanYear ( Integer year ) {
-        return contextByYear.doSearchNewer( year );
+        return read( "getNewerThanYear", () -> yearContext().doSearchNewer( year ), year );
     }
 
     /**
@@ -163,7 +395,7 @@ public class CarsService {
      * @throws IllegalArgumentException se o ano fornecido for inválido
      */
     public List<Cars> getOlderThanYear ( Integer year ) {
-        return contextByYear.doSearchOlder( year );
+        return read( "getOlderThanYear", () -> yearContext().doSearchOlder( year ), year );
     }
 
     /**
@@ -173,7 +405,8 @@ public class CarsService {
      * @return uma lista de carros produzidos pelo fabricante fornecido
      */
     public List<Cars> getProducedBy ( String producedBy ) {
-        return contextByString.doSearchByProducedBy( producedBy );
+        return read( "getProducedBy", () -> contextByString.doSearchByProducedBy( producedBy ),
+                QueryMongo.caseKey( producedBy ) );
     }
 
     /**
@@ -183,7 +416,8 @@ public class CarsService {
      * @return uma lista de carros com o tipo de motor correspondente
      */
     public List<Cars> getByEngineType ( String engineType ) {
-        return contextByString.doSearchByEngyneType( engineType );
+        return read( "getByEngineType", () -> contextByString.doSearchByEngyneType( engineType ),
+                QueryMongo.caseKey( engineType ) );
     }
 
     /**
@@ -193,7 +427,8 @@ public class CarsService {
      * @return uma lista de carros com a característica correspondente
      */
     public List<Cars> getByFeature ( String feature ) {
-        return contextByString.doSearchByFeature( feature );
+        return read( "getByFeature", () -> contextByString.doSearchByFeature( feature ),
+                QueryMongo.caseKey( feature ) );
     }
 
     /**
@@ -204,7 +439,63 @@ public class CarsService {
      * @throws IllegalArgumentException se a velocidade fornecida for inválida
      */
     public List<Cars> getByTopSpeed ( Integer topSpeed ) {
-        return carsRepository.findByTopSpeed( TopSpeedValidation.validate( topSpeed ) );
+        return read( "getByTopSpeed",
+                () -> carsRepository.findByTopSpeed( TopSpeedValidation.validate( topSpeed ) ), topSpeed );
+    }
+
+    /**
+     * Recupera os carros que satisfazem simultaneamente faixas de valor e ano, fabricante e tipo de motor.
+     * <p>
+     * Quando o catálogo colunar está disponível a consulta é respondida em memória; caso contrário, as faixas são
+     * resolvidas no banco de dados e os filtros de fabricante e tipo de motor aplicados sobre o resultado. Nos dois
+     * casos, fabricante e tipo de motor ignoram maiúsculas e minúsculas, como as buscas exatas do repositório.
+     * </p>
+     *
+     * @param query os predicados da consulta; predicados nulos não são aplicados
+     * @return uma lista de carros que satisfazem todos os predicados
+     * @throws RuntimeException se algum limite fornecido for inválido
+     */
+    public List<Cars> search ( ColumnarQuery query ) {
+        if ( query.minValue() != null ) CarValueValidation.validate( query.minValue() );
+        if ( query.maxValue() != null ) CarValueValidation.validate( query.maxValue() );
+        if ( query.minYear() != null ) IntegerValidation.validate( query.minYear() );
+        if ( query.maxYear() != null ) IntegerValidation.validate( query.maxYear() );
+
+        if ( columnarCatalog.isReady() ) {
+            return columnarCatalog.snapshot().query( query );
+        }
+        return read( "search", () -> carsRepository.findByValueAndYearRange(
+                                query.minValue() != null ? query.minValue() : 0.0,
+                                query.maxValue() != null ? query.maxValue() : Double.MAX_VALUE,
+                                query.minYear() != null ? query.minYear() : 0,
+                                query.maxYear() != null ? query.maxYear() : Integer.MAX_VALUE )
+                        .stream()
+                        .filter( car -> query.producedBy() == null || QueryMongo.caseKey( query.producedBy() )
+                                .equals( QueryMongo.caseKey( car.getProducedBy() ) ) )
+                        .filter( car -> query.engineType() == null || ( car.getSpecifications() != null
+                                && QueryMongo.caseKey( query.engineType() )
+                                .equals( QueryMongo.caseKey( car.getSpecifications().getEngineType() ) ) ) )
+                        .toList(), query );
+    }
+
+    /**
+     * Recupera os carros que satisfazem um filtro de múltiplas facetas sobre características, fabricante e tipo de
+     * motor, junto com a contagem de carros do resultado por termo.
+     * <p>
+     * Quando os índices de bitmap estão carregados o filtro é avaliado em memória; caso contrário, ele é traduzido
+     * por {@link FacetQuery#toQuery()} em uma consulta sobre os índices do MongoDB, e as contagens por termo são
+     * calculadas apenas sobre os carros retornados.
+     * </p>
+     *
+     * @param query o filtro combinando termos obrigatórios, alternativos e excluídos
+     * @return o {@link FacetResult} com os carros encontrados e as cardinalidades por termo
+     */
+    public FacetResult searchFacets ( FacetQuery query ) {
+        if ( facetCatalog.isReady() ) {
+            return facetCatalog.evaluate( query );
+        }
+        return read( "searchFacets", () -> FacetResult.of( mongoTemplate.find( query.toQuery(), Cars.class ) ),
+                query );
     }
 
     /**
@@ -217,7 +508,10 @@ public class CarsService {
     public Cars saveCar ( Cars car ) {
         Cars newCar = ConstructCar.construct( car );
         CarIsValid.validate( car );
-        return carsRepository.save( newCar );
+        newCar.setVersion( null );
+        Cars saved = carsRepository.save( newCar );
+        eventPublisher.publishEvent( new CarsChangedEvent( this, CarsChangedEvent.Type.CREATED, saved.getId(), saved, null ) );
+        return saved;
     }
 
     /**
@@ -228,24 +522,120 @@ public class CarsService {
      */
     public void deleteCar ( String id ) {
         String str = FormatInfo.check( id );
-        carValidations.validateCarExistence( str );
+        Cars previous = carsRepository.findById( str )
+                .orElseThrow( () -> new ResourceNotFoundException( Errors.RESOURCE_NOT_FOUND_ERROR + str ) );
         carsRepository.deleteById( str );
+        eventPublisher.publishEvent( new CarsChangedEvent( this, CarsChangedEvent.Type.DELETED, str, null, previous ) );
     }
 
     /**
      * Atualiza os dados de um carro existente com base no ID fornecido.
+     * <p>
+     * O documento inteiro é substituído, mantendo o ID do carro. Se o corpo trouxer o campo {@code version}, a
+     * substituição só acontece se ele corresponder à versão armazenada; sem ele, é usada a versão lida do banco, o
+     * que ainda impede sobrescrever uma alteração concorrente feita entre a leitura e a gravação.
+     * </p>
      *
      * @param id  o ID do carro a ser atualizado
      * @param car o objeto {@link Cars} contendo os novos dados a serem aplicados
      * @return o carro atualizado
-     * @throws RuntimeException se o carro com o ID fornecido não for encontrado ou se houver problemas ao validar os dados
+     * @throws ResourceNotFoundException se o carro com o ID fornecido não for encontrado
+     * @throws VersionConflictException  se o carro foi alterado por outra requisição
+     * @throws RuntimeException          se houver problemas ao validar os dados
      */
     public Cars updateCar ( String id, Cars car ) {
         Cars oldCar = carsRepository.findById( id )
-                .orElseThrow( () -> new RuntimeException( "Car with ID " + id + " not found" ) );
+                .orElseThrow( () -> new ResourceNotFoundException( Errors.RESOURCE_NOT_FOUND_ERROR + id ) );
         Cars updatedCar = ConstructCar.construct( car );
         CarIsValid.validate( updatedCar );
-        return carsRepository.save( updatedCar );
+        long current = ensureVersion( oldCar );
+        if ( car.getVersion() != null && car.getVersion() != current ) {
+            throw new VersionConflictException( Errors.VERSION_CONFLICT_ERROR + current, current );
+        }
+        updatedCar.setId( oldCar.getId() );
+        updatedCar.setVersion( current );
+        Cars saved;
+        try {
+            saved = carsRepository.save( updatedCar );
+        } catch ( OptimisticLockingFailureException exception ) {
+            throw conflict( oldCar.getId() );
+        }
+        eventPublisher.publishEvent( new CarsChangedEvent( this, CarsChangedEvent.Type.UPDATED, saved.getId(), saved, oldCar ) );
+        return saved;
+    }
+
+    /**
+     * Altera apenas os campos informados de um carro, com verificação de versão.
+     * <p>
+     * A alteração é aplicada com uma única operação {@code findAndModify} cujo filtro inclui a versão esperada, de
+     * modo que duas edições concorrentes sobre a mesma versão nunca se sobrescrevem: a segunda recebe
+     * {@link VersionConflictException}. Carros gravados antes da introdução do controle de versão são tratados como
+     * versão {@code 0}.
+     * </p>
+     *
+     * @param id              o ID do carro a ser alterado
+     * @param changes         os campos alterados, conforme {@link CarPatch}
+     * @param expectedVersion a versão informada no cabeçalho {@code If-Match}, ou {@code null} para usar o campo
+     *                        {@code version} do corpo
+     * @return o carro após a alteração
+     * @throws InvalidFieldException     se algum campo for inválido ou a versão não for informada
+     * @throws ResourceNotFoundException se o carro com o ID fornecido não for encontrado
+     * @throws VersionConflictException  se a versão informada não for a versão armazenada
+     */
+    public Cars patchCar ( String id, Map<String, Object> changes, Long expectedVersion ) {
+        CarPatch patch = CarPatch.of( changes );
+        Long expected = expectedVersion != null ? expectedVersion : patch.version();
+        if ( expected == null ) {
+            throw new InvalidFieldException( Errors.VERSION_REQUIRED_ERROR );
+        }
+        String str = FormatInfo.check( id );
+        Cars previous = carsRepository.findById( str )
+                .orElseThrow( () -> new ResourceNotFoundException( Errors.RESOURCE_NOT_FOUND_ERROR + str ) );
+        long current = previous.getVersion() != null ? previous.getVersion() : 0;
+        if ( current != expected ) {
+            throw new VersionConflictException( Errors.VERSION_CONFLICT_ERROR + current, current );
+        }
+        Cars saved = mongoTemplate.findAndModify( versionedQuery( str, expected ), patch.toUpdate( Instant.now() ),
+                FindAndModifyOptions.options().returnNew( true ), Cars.class );
+        if ( saved == null ) {
+            throw conflict( str );
+        }
+        eventPublisher.publishEvent( new CarsChangedEvent( this, CarsChangedEvent.Type.UPDATED, saved.getId(), saved, previous ) );
+        return saved;
+    }
+
+    /**
+     * Monta o filtro que seleciona o carro apenas se ele ainda estiver na versão esperada.
+     */
+    private static Query versionedQuery ( String id, long version ) {
+        Criteria versionCriteria = version == 0
+                ? new Criteria().orOperator( Criteria.where( "version" ).is( 0L ), Criteria.where( "version" ).exists( false ) )
+                : Criteria.where( "version" ).is( version );
+        return Query.query( Criteria.where( "_id" ).is( id ) ).addCriteria( versionCriteria );
+    }
+
+    /**
+     * Garante que um carro gravado antes do controle de versão passe a ter a versão {@code 0}.
+     *
+     * @return a versão atual do carro
+     */
+    private long ensureVersion ( Cars car ) {
+        if ( car.getVersion() != null ) {
+            return car.getVersion();
+        }
+        mongoTemplate.updateFirst( Query.query( Criteria.where( "_id" ).is( car.getId() ) )
+                        .addCriteria( Criteria.where( "version" ).exists( false ) ),
+                new Update().set( "version", 0L ), Cars.class );
+        return 0;
+    }
+
+    /**
+     * Cria a exceção de conflito com a versão armazenada no momento, relendo o carro.
+     */
+    private VersionConflictException conflict ( String id ) {
+        Cars current = carsRepository.findById( id )
+                .orElseThrow( () -> new ResourceNotFoundException( Errors.RESOURCE_NOT_FOUND_ERROR + id ) );
+        return new VersionConflictException( Errors.VERSION_CONFLICT_ERROR + current.getVersion(), current.getVersion() );
     }
 
 }
@@ -1,17 +1,24 @@
 package org.example.service;
 
 import org.example.events.UserRegisteredEvent;
+import org.example.exceptions.DependencyUnavailableException;
 import org.example.handler.HandleClient;
 import org.example.model.User;
 import org.example.role.UserRole;
 import org.example.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Serviço personalizado para carregar detalhes do usuário e criar novos usuários.
  * <p>
@@ -23,21 +30,33 @@ import org.springframework.stereotype.Service;
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final int MAX_KNOWN_USERS = 10000;
+
+    private record KnownUser( UserDetails details, long loadedAt ) {
+    }
+
     private final HandleClient handleClient;
     private final UserRepository userRepository;
+    private final long knownUsersTtlNanos;
+    private final Map<String, KnownUser> lastKnownUsers = new ConcurrentHashMap<>();
     @Autowired
     private ApplicationEventPublisher eventPublisher;
 
     /**
      * Construtor para a classe {@link CustomUserDetailsService}.
      *
-     * @param userRepository o repositório de usuários {@link UserRepository} utilizado para recuperar e salvar usuários.
-     * @param handleClient   o construtor de usuários {@link HandleClient} utilizado para criar novas instâncias de {@link User}.
+     * @param userRepository      o repositório de usuários {@link UserRepository} utilizado para recuperar e salvar usuários.
+     * @param handleClient        o construtor de usuários {@link HandleClient} utilizado para criar novas instâncias de {@link User}.
+     * @param knownUsersTtlMillis o tempo durante o qual os últimos detalhes carregados de um usuário podem substituir
+     *                            a consulta ao PostgreSQL indisponível.
      */
     @Autowired
-    public CustomUserDetailsService ( UserRepository userRepository, HandleClient handleClient ) {
+    public CustomUserDetailsService ( UserRepository userRepository, HandleClient handleClient,
+                                      @Value( "${cars.resilience.postgres.known-users-ttl-ms:900000}" )
+                                      long knownUsersTtlMillis ) {
         this.userRepository = userRepository;
         this.handleClient = handleClient;
+        this.knownUsersTtlNanos = TimeUnit.MILLISECONDS.toNanos( knownUsersTtlMillis );
     }
 
     /**
@@ -45,6 +64,13 @@ public class CustomUserDetailsService implements UserDetailsService {
      * <p>
      * Este método é utilizado pelo Spring Security para recuperar os detalhes do usuário para autenticação.
      * </p>
+     * <p>
+     * Os últimos detalhes carregados de cada usuário são guardados em memória. Quando o PostgreSQL está indisponível
+     * ou lento demais, eles são usados no lugar da consulta, para que usuários já conhecidos continuem acessando as
+     * rotas que dependem apenas do MongoDB. Os detalhes guardados só são usados por
+     * {@code cars.resilience.postgres.known-users-ttl-ms} após a última consulta bem-sucedida, para que senhas e
+     * papéis alterados não continuem valendo durante uma indisponibilidade longa.
+     * </p>
      *
      * @param username o nome de usuário do usuário a ser carregado.
      * @return uma instância de {@link UserDetails} contendo os detalhes do usuário.
@@ -52,16 +78,34 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername ( String username ) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername( username );
+        User user;
+        try {
+            user = userRepository.findByUsername( username );
+        } catch ( DependencyUnavailableException | TransientDataAccessException exception ) {
+            KnownUser lastKnown = lastKnownUsers.get( username );
+            if ( lastKnown == null ) {
+                throw exception;
+            }
+            if ( System.nanoTime() - lastKnown.loadedAt() > knownUsersTtlNanos ) {
+                lastKnownUsers.remove( username, lastKnown );
+                throw exception;
+            }
+            return org.springframework.security.core.userdetails.User.withUserDetails( lastKnown.details() ).build();
+        }
         if ( user == null ) {
+            lastKnownUsers.remove( username );
             throw new UsernameNotFoundException( "USER NOT FOUND" );
         }
 
-        return org.springframework.security.core.userdetails.User
+        UserDetails details = org.springframework.security.core.userdetails.User
                 .withUsername( user.getUsername() )
                 .password( user.getPassword() )
                 .roles( user.getRole() )
                 .build();
+        if ( lastKnownUsers.size() < MAX_KNOWN_USERS || lastKnownUsers.containsKey( username ) ) {
+            lastKnownUsers.put( username, new KnownUser( details, System.nanoTime() ) );
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails( details ).build();
     }
 
     /**
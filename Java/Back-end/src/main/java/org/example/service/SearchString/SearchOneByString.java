@@ -6,6 +6,7 @@ import org.example.repository.CarsRepository;
 import org.example.service.FormatInfo;
 import org.example.service.strategies.StrategyGetOneCarForString;
 import org.example.validations.CarValidations;
+import org.springframework.data.domain.Limit;
 
 import java.util.Optional;
 
@@ -28,6 +29,6 @@ public class SearchOneByString implements StrategyGetOneCarForString {
 
     @Override
     public Optional<Cars> searchModel ( String string ) {
-        return Optional.ofNullable( carsRepository.findByModel( string ) );
+        return carsRepository.findByModel( string, Limit.of( 1 ) ).stream().findFirst();
     }
 }
@@ -0,0 +1,185 @@
+package org.example.service.bitmap;
+
+import org.example.model.Cars;
+import org.example.utils.QueryMongo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índices de bitmap sobre as características, fabricantes e tipos de motor do catálogo de carros.
+ * <p>
+ * Cada carro recebe um número de linha denso, reaproveitado após remoções, e cada termo indexado mantém um
+ * {@link RoaringBitmap} com as linhas dos carros que o possuem. Filtros de múltiplas facetas são resolvidos com
+ * operações de conjunto entre bitmaps, sem percorrer os documentos. Os termos são indexados e consultados por
+ * {@link QueryMongo#caseKey(String)}, ignorando maiúsculas e minúsculas como as consultas do MongoDB, e as
+ * contagens por termo são informadas com o termo em minúsculas.
+ * </p>
+ * <p>
+ * Instâncias não são seguras para uso concorrente; o chamador é responsável pela sincronização.
+ * </p>
+ */
+public class CarsFacetIndex {
+
+    private final Map<String, Integer> rowsById = new HashMap<>();
+    private final List<Cars> carsByRow = new ArrayList<>();
+    private final Deque<Integer> freeRows = new ArrayDeque<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+
+    private final Map<String, RoaringBitmap> features = new HashMap<>();
+    private final Map<String, RoaringBitmap> producers = new HashMap<>();
+    private final Map<String, RoaringBitmap> engineTypes = new HashMap<>();
+
+    /**
+     * Constrói um índice contendo os carros fornecidos.
+     *
+     * @param cars os carros a serem indexados
+     * @return o índice preenchido
+     */
+    public static CarsFacetIndex of ( Iterable<Cars> cars ) {
+        CarsFacetIndex index = new CarsFacetIndex();
+        for ( Cars car : cars ) {
+            index.put( car );
+        }
+        return index;
+    }
+
+    /**
+     * Retorna a quantidade de carros indexados.
+     *
+     * @return o número de carros
+     */
+    public int size () {
+        return rowsById.size();
+    }
+
+    /**
+     * Indexa um carro, substituindo a versão anterior com o mesmo ID, se existir.
+     *
+     * @param car o carro a ser indexado
+     */
+    public void put ( Cars car ) {
+        remove( car.getId() );
+        int row = freeRows.isEmpty() ? carsByRow.size() : freeRows.pop();
+        if ( row == carsByRow.size() ) {
+            carsByRow.add( car );
+        } else {
+            carsByRow.set( row, car );
+        }
+        rowsById.put( car.getId(), row );
+        live.add( row );
+        forEachTerm( car, ( terms, term ) -> terms.computeIfAbsent( term, key -> new RoaringBitmap() ).add( row ) );
+    }
+
+    /**
+     * Remove um carro do índice, se presente.
+     *
+     * @param id o ID do carro a ser removido
+     */
+    public void remove ( String id ) {
+        Integer row = rowsById.remove( id );
+        if ( row == null ) {
+            return;
+        }
+        forEachTerm( carsByRow.get( row ), ( terms, term ) -> {
+            RoaringBitmap bitmap = terms.get( term );
+            if ( bitmap != null ) {
+                bitmap.remove( row );
+                if ( bitmap.isEmpty() ) {
+                    terms.remove( term );
+                }
+            }
+        } );
+        live.remove( row );
+        carsByRow.set( row, null );
+        freeRows.push( row );
+    }
+
+    /**
+     * Avalia um filtro de facetas, retornando os carros correspondentes e a contagem por termo.
+     *
+     * @param query o filtro a ser avaliado
+     * @return o {@link FacetResult} com os carros e as cardinalidades
+     */
+    public FacetResult evaluate ( FacetQuery query ) {
+        RoaringBitmap result = live;
+        for ( String feature : query.features() ) {
+            result = RoaringBitmap.and( result, features.getOrDefault( QueryMongo.caseKey( feature ),
+                    new RoaringBitmap() ) );
+        }
+        if ( ! query.producers().isEmpty() ) {
+            result = RoaringBitmap.and( result, union( producers, query.producers() ) );
+        }
+        if ( ! query.engineTypes().isEmpty() ) {
+            result = RoaringBitmap.and( result, union( engineTypes, query.engineTypes() ) );
+        }
+        result = exclude( result, features, query.excludedFeatures() );
+        result = exclude( result, producers, query.excludedProducers() );
+        result = exclude( result, engineTypes, query.excludedEngineTypes() );
+
+        List<Cars> cars = new ArrayList<>( result.cardinality() );
+        result.forEach( row -> cars.add( carsByRow.get( row ) ) );
+        return new FacetResult( cars.size(), cars, counts( producers, result ), counts( engineTypes, result ),
+                counts( features, result ) );
+    }
+
+    private static RoaringBitmap union ( Map<String, RoaringBitmap> terms, Collection<String> keys ) {
+        RoaringBitmap union = new RoaringBitmap();
+        for ( String key : keys ) {
+            RoaringBitmap bitmap = terms.get( QueryMongo.caseKey( key ) );
+            if ( bitmap != null ) {
+                union = RoaringBitmap.or( union, bitmap );
+            }
+        }
+        return union;
+    }
+
+    private static RoaringBitmap exclude ( RoaringBitmap result, Map<String, RoaringBitmap> terms,
+                                           Collection<String> keys ) {
+        for ( String key : keys ) {
+            RoaringBitmap bitmap = terms.get( QueryMongo.caseKey( key ) );
+            if ( bitmap != null ) {
+                result = RoaringBitmap.andNot( result, bitmap );
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Integer> counts ( Map<String, RoaringBitmap> terms, RoaringBitmap result ) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        terms.forEach( ( term, bitmap ) -> {
+            int count = RoaringBitmap.andCardinality( result, bitmap );
+            if ( count > 0 ) {
+                counts.put( term, count );
+            }
+        } );
+        return counts;
+    }
+
+    private void forEachTerm ( Cars car, TermVisitor visitor ) {
+        if ( car.getFeatures() != null ) {
+            for ( String feature : car.getFeatures() ) {
+                if ( feature != null ) {
+                    visitor.visit( features, QueryMongo.caseKey( feature ) );
+                }
+            }
+        }
+        if ( car.getProducedBy() != null ) {
+            visitor.visit( producers, QueryMongo.caseKey( car.getProducedBy() ) );
+        }
+        if ( car.getSpecifications() != null && car.getSpecifications().getEngineType() != null ) {
+            visitor.visit( engineTypes, QueryMongo.caseKey( car.getSpecifications().getEngineType() ) );
+        }
+    }
+
+    @FunctionalInterface
+    private interface TermVisitor {
+        void visit ( Map<String, RoaringBitmap> terms, String term );
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.service.bitmap;
+
+import org.example.events.CarsChangedEvent;
+import org.example.model.Cars;
+import org.example.repository.CarsRepository;
+import org.example.service.snapshot.CatalogSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mantém o {@link CarsFacetIndex} do catálogo de carros sincronizado com o banco de dados.
+ * <p>
+ * O índice é construído a partir do {@link CarsRepository}, atualizado de forma incremental pelos eventos
+ * {@link CarsChangedEvent} e reconstruído periodicamente para absorver escritas feitas fora desta instância.
+ * Consultas compartilham um bloqueio de leitura, enquanto as escritas no índice usam o bloqueio exclusivo.
+ * </p>
+ * <p>
+ * Assim como o {@link org.example.service.columnar.ColumnarCatalog}, a primeira construção usa a fotografia do
+ * {@link CatalogSnapshotService} quando disponível, e as reconstruções completas alimentam novas fotografias.
+ * </p>
+ */
+@Component
+public class FacetCatalog {
+
+    private final CarsRepository carsRepository;
+    private final CatalogSnapshotService snapshotService;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private CarsFacetIndex index = new CarsFacetIndex();
+    private Map<String, Cars> pendingWrites;
+    private volatile boolean loaded;
+
+    /**
+     * Constrói o catálogo de facetas.
+     *
+     * @param carsRepository  o repositório usado para construir e reconciliar o índice
+     * @param snapshotService as fotografias do catálogo usadas na primeira construção
+     * @param enabled         indica se os índices de bitmap devem ser mantidos em memória
+     */
+    @Autowired
+    public FacetCatalog ( CarsRepository carsRepository, CatalogSnapshotService snapshotService,
+                          @Value( "${cars.bitmap.enabled:false}" ) boolean enabled ) {
+        this.carsRepository = carsRepository;
+        this.snapshotService = snapshotService;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Indica se o índice está habilitado e já foi carregado.
+     *
+     * @return {@code true} se as consultas podem ser atendidas pelo índice em memória
+     */
+    public boolean isReady () {
+        return enabled && loaded;
+    }
+
+    /**
+     * Avalia um filtro de facetas sobre o índice em memória.
+     *
+     * @param query o filtro a ser avaliado
+     * @return o {@link FacetResult} correspondente
+     */
+    public FacetResult evaluate ( FacetQuery query ) {
+        lock.readLock().lock();
+        try {
+            return index.evaluate( query );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco de dados, reaplicando as escritas recebidas durante a leitura.
+     */
+    @Scheduled( fixedDelayString = "${cars.bitmap.reconcile-interval-ms:300000}" )
+    public void reconcile () {
+        if ( ! enabled ) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long startedAt = System.currentTimeMillis();
+        Optional<List<Cars>> warm = loaded ? Optional.empty() : snapshotService.warmStart();
+        List<Cars> cars;
+        CarsFacetIndex rebuilt;
+        try {
+            cars = warm.isPresent() ? warm.get() : carsRepository.findAll();
+            rebuilt = CarsFacetIndex.of( cars );
+        } catch ( RuntimeException exception ) {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw exception;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingWrites.forEach( ( id, car ) -> apply( rebuilt, id, car ) );
+            pendingWrites = null;
+            index = rebuilt;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if ( warm.isEmpty() ) {
+            snapshotService.save( startedAt, cars );
+        }
+    }
+
+    /**
+     * Atualiza o índice de forma incremental após uma escrita no catálogo.
+     *
+     * @param event o evento descrevendo a alteração
+     */
+    @EventListener
+    public void onCarsChanged ( CarsChangedEvent event ) {
+        if ( ! enabled ) {
+            return;
+        }
+        Cars car = event.getType() == CarsChangedEvent.Type.DELETED ? null : event.getCar();
+        lock.writeLock().lock();
+        try {
+            apply( index, event.getCarId(), car );
+            if ( pendingWrites != null ) {
+                pendingWrites.put( event.getCarId(), car );
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply ( CarsFacetIndex target, String id, Cars car ) {
+        if ( car == null ) {
+            target.remove( id );
+        } else {
+            target.put( car );
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.service.bitmap;
+
+import org.example.config.MongoIndexConfig;
+import org.example.utils.QueryMongo;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+/**
+ * Filtro de múltiplas facetas avaliado sobre os índices de bitmap do catálogo.
+ * <p>
+ * Todas as características em {@code features} precisam estar presentes (AND); basta que o carro pertença a um
+ * dos fabricantes em {@code producers} e a um dos tipos de motor em {@code engineTypes} (OR); e os carros que
+ * possuírem qualquer termo das listas de exclusão são descartados (NOT). Listas vazias não restringem o resultado.
+ * </p>
+ *
+ * @param features            características que o carro deve possuir
+ * @param producers           fabricantes aceitos
+ * @param engineTypes         tipos de motor aceitos
+ * @param excludedFeatures    características que o carro não pode possuir
+ * @param excludedProducers   fabricantes rejeitados
+ * @param excludedEngineTypes tipos de motor rejeitados
+ */
+public record FacetQuery( List<String> features, List<String> producers, List<String> engineTypes,
+                          List<String> excludedFeatures, List<String> excludedProducers,
+                          List<String> excludedEngineTypes ) {
+
+    public FacetQuery {
+        features = features != null ? List.copyOf( features ) : List.of();
+        producers = producers != null ? List.copyOf( producers ) : List.of();
+        engineTypes = engineTypes != null ? List.copyOf( engineTypes ) : List.of();
+        excludedFeatures = excludedFeatures != null ? List.copyOf( excludedFeatures ) : List.of();
+        excludedProducers = excludedProducers != null ? List.copyOf( excludedProducers ) : List.of();
+        excludedEngineTypes = excludedEngineTypes != null ? List.copyOf( excludedEngineTypes ) : List.of();
+    }
+
+    /**
+     * Traduz o filtro para uma consulta do MongoDB com {@code $all}, {@code $in} e {@code $nin}, usada quando os
+     * índices de bitmap não estão carregados.
+     * <p>
+     * A consulta declara a collation {@link MongoIndexConfig#CASE_INSENSITIVE}, a mesma dos índices de
+     * {@code features}, {@code producedBy} e {@code specifications.engineType}, para que o MongoDB possa usá-los.
+     * </p>
+     *
+     * @return a consulta equivalente ao filtro
+     */
+    public Query toQuery () {
+        Criteria criteria = new Criteria();
+        if ( ! features.isEmpty() || ! excludedFeatures.isEmpty() ) {
+            Criteria field = criteria.and( "features" );
+            if ( ! features.isEmpty() ) field.all( features );
+            if ( ! excludedFeatures.isEmpty() ) field.nin( excludedFeatures );
+        }
+        if ( ! producers.isEmpty() || ! excludedProducers.isEmpty() ) {
+            Criteria field = criteria.and( "producedBy" );
+            if ( ! producers.isEmpty() ) field.in( producers );
+            if ( ! excludedProducers.isEmpty() ) field.nin( excludedProducers );
+        }
+        if ( ! engineTypes.isEmpty() || ! excludedEngineTypes.isEmpty() ) {
+            Criteria field = criteria.and( "specifications.engineType" );
+            if ( ! engineTypes.isEmpty() ) field.in( engineTypes );
+            if ( ! excludedEngineTypes.isEmpty() ) field.nin( excludedEngineTypes );
+        }
+        return Query.query( criteria )
+                .collation( MongoIndexConfig.CASE_INSENSITIVE )
+                .maxTimeMsec( QueryMongo.MAX_TIME_MS );
+    }
+}
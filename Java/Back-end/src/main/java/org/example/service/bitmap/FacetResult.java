@@ -0,0 +1,56 @@
+package org.example.service.bitmap;
+
+import org.example.model.Cars;
+import org.example.utils.QueryMongo;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resultado de uma consulta por facetas.
+ *
+ * @param count            a quantidade de carros que satisfazem o filtro
+ * @param cars             os carros que satisfazem o filtro
+ * @param producerCounts   a quantidade de carros do resultado por fabricante
+ * @param engineTypeCounts a quantidade de carros do resultado por tipo de motor
+ * @param featureCounts    a quantidade de carros do resultado por característica
+ */
+public record FacetResult( int count, List<Cars> cars, Map<String, Integer> producerCounts,
+                           Map<String, Integer> engineTypeCounts, Map<String, Integer> featureCounts ) {
+
+    /**
+     * Monta o resultado a partir dos carros já filtrados, contando os termos de cada faceta em minúsculas, como o
+     * {@link CarsFacetIndex}.
+     *
+     * @param cars os carros que satisfazem o filtro
+     * @return o resultado com as cardinalidades por termo
+     */
+    public static FacetResult of ( List<Cars> cars ) {
+        Map<String, Integer> producers = new LinkedHashMap<>();
+        Map<String, Integer> engineTypes = new LinkedHashMap<>();
+        Map<String, Integer> features = new LinkedHashMap<>();
+        for ( Cars car : cars ) {
+            if ( car.getProducedBy() != null ) {
+                producers.merge( QueryMongo.caseKey( car.getProducedBy() ), 1, Integer::sum );
+            }
+            if ( car.getSpecifications() != null && car.getSpecifications().getEngineType() != null ) {
+                engineTypes.merge( QueryMongo.caseKey( car.getSpecifications().getEngineType() ), 1,
+                        Integer::sum );
+            }
+            if ( car.getFeatures() != null ) {
+                // Uma característica repetida no mesmo carro conta uma única vez, como nos bitmaps
+                Set<String> distinct = new LinkedHashSet<>();
+                for ( String feature : car.getFeatures() ) {
+                    if ( feature != null ) {
+                        distinct.add( QueryMongo.caseKey( feature ) );
+                    }
+                }
+                distinct.forEach( feature -> features.merge( feature, 1, Integer::sum ) );
+            }
+        }
+        return new FacetResult( cars.size(), cars, producers, engineTypes, features );
+    }
+}
@@ -0,0 +1,651 @@
+package org.example.service.bitmap;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto de inteiros não negativos representado como um bitmap comprimido no estilo Roaring.
+ * <p>
+ * O espaço de inteiros é dividido em blocos de 65536 valores identificados pelos 16 bits mais altos. Cada bloco
+ * guarda os 16 bits mais baixos em um contêiner escolhido conforme a densidade: um vetor ordenado de até
+ * {@value #ARRAY_LIMIT} valores para blocos esparsos, ou um bitmap de 1024 palavras de 64 bits para blocos densos.
+ * As operações de conjunto (interseção, união e diferença) são realizadas bloco a bloco entre contêineres.
+ * </p>
+ * <p>
+ * Instâncias não são seguras para uso concorrente; o chamador é responsável pela sincronização.
+ * </p>
+ */
+public class RoaringBitmap {
+
+    static final int ARRAY_LIMIT = 4096;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    /**
+     * Cria um bitmap vazio.
+     */
+    public RoaringBitmap () {
+        this( new char[ 4 ], new Container[ 4 ], 0 );
+    }
+
+    private RoaringBitmap ( char[] keys, Container[] containers, int size ) {
+        this.keys = keys;
+        this.containers = containers;
+        this.size = size;
+    }
+
+    /**
+     * Cria um bitmap contendo os valores fornecidos.
+     *
+     * @param values os valores a serem adicionados
+     * @return o bitmap com os valores
+     */
+    public static RoaringBitmap of ( int... values ) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for ( int value : values ) {
+            bitmap.add( value );
+        }
+        return bitmap;
+    }
+
+    /**
+     * Adiciona um valor ao conjunto.
+     *
+     * @param value o valor a ser adicionado
+     */
+    public void add ( int value ) {
+        char key = highBits( value );
+        int index = indexOf( key );
+        if ( index >= 0 ) {
+            containers[ index ] = containers[ index ].add( lowBits( value ) );
+        } else {
+            insert( - index - 1, key, new ArrayContainer().add( lowBits( value ) ) );
+        }
+    }
+
+    /**
+     * Remove um valor do conjunto, se presente.
+     *
+     * @param value o valor a ser removido
+     */
+    public void remove ( int value ) {
+        int index = indexOf( highBits( value ) );
+        if ( index < 0 ) {
+            return;
+        }
+        Container container = containers[ index ].remove( lowBits( value ) );
+        if ( container.cardinality() == 0 ) {
+            System.arraycopy( keys, index + 1, keys, index, size - index - 1 );
+            System.arraycopy( containers, index + 1, containers, index, size - index - 1 );
+            containers[ --size ] = null;
+        } else {
+            containers[ index ] = container;
+        }
+    }
+
+    /**
+     * Verifica se o valor pertence ao conjunto.
+     *
+     * @param value o valor a ser verificado
+     * @return {@code true} se o valor estiver presente
+     */
+    public boolean contains ( int value ) {
+        int index = indexOf( highBits( value ) );
+        return index >= 0 && containers[ index ].contains( lowBits( value ) );
+    }
+
+    /**
+     * Retorna a quantidade de valores no conjunto.
+     *
+     * @return a cardinalidade do conjunto
+     */
+    public int cardinality () {
+        int total = 0;
+        for ( int i = 0; i < size; i++ ) {
+            total += containers[ i ].cardinality();
+        }
+        return total;
+    }
+
+    /**
+     * Verifica se o conjunto está vazio.
+     *
+     * @return {@code true} se nenhum valor estiver presente
+     */
+    public boolean isEmpty () {
+        return size == 0;
+    }
+
+    /**
+     * Percorre os valores do conjunto em ordem crescente.
+     *
+     * @param consumer a ação executada para cada valor
+     */
+    public void forEach ( IntConsumer consumer ) {
+        for ( int i = 0; i < size; i++ ) {
+            containers[ i ].forEach( keys[ i ] << 16, consumer );
+        }
+    }
+
+    /**
+     * Retorna os valores do conjunto em ordem crescente.
+     *
+     * @return um vetor com todos os valores
+     */
+    public int[] toArray () {
+        int[] values = new int[ cardinality() ];
+        int[] next = { 0 };
+        forEach( value -> values[ next[ 0 ]++ ] = value );
+        return values;
+    }
+
+    /**
+     * Cria uma cópia independente deste bitmap.
+     *
+     * @return a cópia
+     */
+    public RoaringBitmap copy () {
+        Container[] copies = new Container[ containers.length ];
+        for ( int i = 0; i < size; i++ ) {
+            copies[ i ] = containers[ i ].copy();
+        }
+        return new RoaringBitmap( keys.clone(), copies, size );
+    }
+
+    /**
+     * Calcula a interseção de dois bitmaps.
+     *
+     * @param left  o primeiro bitmap
+     * @param right o segundo bitmap
+     * @return um novo bitmap com os valores presentes em ambos
+     */
+    public static RoaringBitmap and ( RoaringBitmap left, RoaringBitmap right ) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while ( i < left.size && j < right.size ) {
+            if ( left.keys[ i ] < right.keys[ j ] ) {
+                i++;
+            } else if ( left.keys[ i ] > right.keys[ j ] ) {
+                j++;
+            } else {
+                Container container = left.containers[ i ].and( right.containers[ j ] );
+                if ( container.cardinality() > 0 ) {
+                    result.append( left.keys[ i ], container );
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calcula a cardinalidade da interseção de dois bitmaps sem materializá-la.
+     *
+     * @param left  o primeiro bitmap
+     * @param right o segundo bitmap
+     * @return a quantidade de valores presentes em ambos
+     */
+    public static int andCardinality ( RoaringBitmap left, RoaringBitmap right ) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while ( i < left.size && j < right.size ) {
+            if ( left.keys[ i ] < right.keys[ j ] ) {
+                i++;
+            } else if ( left.keys[ i ] > right.keys[ j ] ) {
+                j++;
+            } else {
+                total += left.containers[ i ].andCardinality( right.containers[ j ] );
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Calcula a união de dois bitmaps.
+     *
+     * @param left  o primeiro bitmap
+     * @param right o segundo bitmap
+     * @return um novo bitmap com os valores presentes em qualquer um deles
+     */
+    public static RoaringBitmap or ( RoaringBitmap left, RoaringBitmap right ) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0;
+        int j = 0;
+        while ( i < left.size || j < right.size ) {
+            if ( j == right.size || ( i < left.size && left.keys[ i ] < right.keys[ j ] ) ) {
+                result.append( left.keys[ i ], left.containers[ i ].copy() );
+                i++;
+            } else if ( i == left.size || left.keys[ i ] > right.keys[ j ] ) {
+                result.append( right.keys[ j ], right.containers[ j ].copy() );
+                j++;
+            } else {
+                result.append( left.keys[ i ], left.containers[ i ].or( right.containers[ j ] ) );
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Calcula a diferença entre dois bitmaps.
+     *
+     * @param left  o bitmap de origem
+     * @param right o bitmap com os valores a serem excluídos
+     * @return um novo bitmap com os valores de {@code left} que não estão em {@code right}
+     */
+    public static RoaringBitmap andNot ( RoaringBitmap left, RoaringBitmap right ) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for ( int i = 0; i < left.size; i++ ) {
+            while ( j < right.size && right.keys[ j ] < left.keys[ i ] ) {
+                j++;
+            }
+            Container container = j < right.size && right.keys[ j ] == left.keys[ i ]
+                    ? left.containers[ i ].andNot( right.containers[ j ] )
+                    : left.containers[ i ].copy();
+            if ( container.cardinality() > 0 ) {
+                result.append( left.keys[ i ], container );
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals ( Object other ) {
+        if ( ! ( other instanceof RoaringBitmap bitmap ) ) {
+            return false;
+        }
+        return Arrays.equals( toArray(), bitmap.toArray() );
+    }
+
+    @Override
+    public int hashCode () {
+        return Arrays.hashCode( toArray() );
+    }
+
+    private static char highBits ( int value ) {
+        return ( char ) ( value >>> 16 );
+    }
+
+    private static char lowBits ( int value ) {
+        return ( char ) value;
+    }
+
+    private int indexOf ( char key ) {
+        int low = 0;
+        int high = size - 1;
+        while ( low <= high ) {
+            int mid = ( low + high ) >>> 1;
+            if ( keys[ mid ] < key ) {
+                low = mid + 1;
+            } else if ( keys[ mid ] > key ) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return - ( low + 1 );
+    }
+
+    private void insert ( int index, char key, Container container ) {
+        ensureCapacity();
+        System.arraycopy( keys, index, keys, index + 1, size - index );
+        System.arraycopy( containers, index, containers, index + 1, size - index );
+        keys[ index ] = key;
+        containers[ index ] = container;
+        size++;
+    }
+
+    private void append ( char key, Container container ) {
+        ensureCapacity();
+        keys[ size ] = key;
+        containers[ size ] = container;
+        size++;
+    }
+
+    private void ensureCapacity () {
+        if ( size == keys.length ) {
+            keys = Arrays.copyOf( keys, size * 2 );
+            containers = Arrays.copyOf( containers, size * 2 );
+        }
+    }
+
+    /**
+     * Armazena os 16 bits mais baixos dos valores de um bloco.
+     */
+    private abstract static class Container {
+
+        abstract Container add ( char value );
+
+        abstract Container remove ( char value );
+
+        abstract boolean contains ( char value );
+
+        abstract int cardinality ();
+
+        abstract void forEach ( int base, IntConsumer consumer );
+
+        abstract Container copy ();
+
+        abstract Container and ( Container other );
+
+        abstract int andCardinality ( Container other );
+
+        abstract Container or ( Container other );
+
+        abstract Container andNot ( Container other );
+    }
+
+    /**
+     * Contêiner esparso: vetor ordenado de valores.
+     */
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer () {
+            this( new char[ 4 ], 0 );
+        }
+
+        ArrayContainer ( char[] values, int cardinality ) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add ( char value ) {
+            int index = Arrays.binarySearch( values, 0, cardinality, value );
+            if ( index >= 0 ) {
+                return this;
+            }
+            if ( cardinality == ARRAY_LIMIT ) {
+                return toBitmap().add( value );
+            }
+            index = - index - 1;
+            if ( cardinality == values.length ) {
+                values = Arrays.copyOf( values, Math.min( ARRAY_LIMIT, Math.max( 4, cardinality * 2 ) ) );
+            }
+            System.arraycopy( values, index, values, index + 1, cardinality - index );
+            values[ index ] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove ( char value ) {
+            int index = Arrays.binarySearch( values, 0, cardinality, value );
+            if ( index >= 0 ) {
+                System.arraycopy( values, index + 1, values, index, cardinality - index - 1 );
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains ( char value ) {
+            return Arrays.binarySearch( values, 0, cardinality, value ) >= 0;
+        }
+
+        @Override
+        int cardinality () {
+            return cardinality;
+        }
+
+        @Override
+        void forEach ( int base, IntConsumer consumer ) {
+            for ( int i = 0; i < cardinality; i++ ) {
+                consumer.accept( base | values[ i ] );
+            }
+        }
+
+        @Override
+        Container copy () {
+            return new ArrayContainer( Arrays.copyOf( values, Math.max( 1, cardinality ) ), cardinality );
+        }
+
+        @Override
+        Container and ( Container other ) {
+            char[] result = new char[ Math.min( cardinality, other.cardinality() ) ];
+            int count = 0;
+            if ( other instanceof ArrayContainer array ) {
+                int i = 0;
+                int j = 0;
+                while ( i < cardinality && j < array.cardinality ) {
+                    if ( values[ i ] < array.values[ j ] ) {
+                        i++;
+                    } else if ( values[ i ] > array.values[ j ] ) {
+                        j++;
+                    } else {
+                        result[ count++ ] = values[ i ];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for ( int i = 0; i < cardinality; i++ ) {
+                    if ( other.contains( values[ i ] ) ) {
+                        result[ count++ ] = values[ i ];
+                    }
+                }
+            }
+            return new ArrayContainer( result, count );
+        }
+
+        @Override
+        int andCardinality ( Container other ) {
+            if ( other instanceof ArrayContainer ) {
+                return and( other ).cardinality();
+            }
+            int count = 0;
+            for ( int i = 0; i < cardinality; i++ ) {
+                if ( other.contains( values[ i ] ) ) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        Container or ( Container other ) {
+            if ( other instanceof BitmapContainer ) {
+                return other.or( this );
+            }
+            ArrayContainer array = ( ArrayContainer ) other;
+            char[] result = new char[ cardinality + array.cardinality ];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while ( i < cardinality || j < array.cardinality ) {
+                if ( j == array.cardinality || ( i < cardinality && values[ i ] < array.values[ j ] ) ) {
+                    result[ count++ ] = values[ i++ ];
+                } else if ( i == cardinality || values[ i ] > array.values[ j ] ) {
+                    result[ count++ ] = array.values[ j++ ];
+                } else {
+                    result[ count++ ] = values[ i ];
+                    i++;
+                    j++;
+                }
+            }
+            ArrayContainer union = new ArrayContainer( result, count );
+            return count > ARRAY_LIMIT ? union.toBitmap() : union;
+        }
+
+        @Override
+        Container andNot ( Container other ) {
+            char[] result = new char[ Math.max( 1, cardinality ) ];
+            int count = 0;
+            for ( int i = 0; i < cardinality; i++ ) {
+                if ( ! other.contains( values[ i ] ) ) {
+                    result[ count++ ] = values[ i ];
+                }
+            }
+            return new ArrayContainer( result, count );
+        }
+
+        BitmapContainer toBitmap () {
+            BitmapContainer bitmap = new BitmapContainer();
+            for ( int i = 0; i < cardinality; i++ ) {
+                bitmap.add( values[ i ] );
+            }
+            return bitmap;
+        }
+    }
+
+    /**
+     * Contêiner denso: um bit para cada um dos 65536 valores do bloco.
+     */
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer () {
+            this( new long[ 1024 ], 0 );
+        }
+
+        BitmapContainer ( long[] words, int cardinality ) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add ( char value ) {
+            long before = words[ value >>> 6 ];
+            long after = before | ( 1L << value );
+            words[ value >>> 6 ] = after;
+            if ( before != after ) {
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Container remove ( char value ) {
+            long before = words[ value >>> 6 ];
+            long after = before & ~ ( 1L << value );
+            words[ value >>> 6 ] = after;
+            if ( before != after ) {
+                cardinality--;
+            }
+            return cardinality <= ARRAY_LIMIT ? toArray() : this;
+        }
+
+        @Override
+        boolean contains ( char value ) {
+            return ( words[ value >>> 6 ] & ( 1L << value ) ) != 0;
+        }
+
+        @Override
+        int cardinality () {
+            return cardinality;
+        }
+
+        @Override
+        void forEach ( int base, IntConsumer consumer ) {
+            for ( int w = 0; w < words.length; w++ ) {
+                long word = words[ w ];
+                while ( word != 0 ) {
+                    consumer.accept( base | ( w << 6 ) | Long.numberOfTrailingZeros( word ) );
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Container copy () {
+            return new BitmapContainer( words.clone(), cardinality );
+        }
+
+        @Override
+        Container and ( Container other ) {
+            if ( other instanceof ArrayContainer ) {
+                return other.and( this );
+            }
+            long[] otherWords = ( ( BitmapContainer ) other ).words;
+            long[] result = new long[ words.length ];
+            int count = 0;
+            for ( int w = 0; w < words.length; w++ ) {
+                result[ w ] = words[ w ] & otherWords[ w ];
+                count += Long.bitCount( result[ w ] );
+            }
+            return normalize( result, count );
+        }
+
+        @Override
+        int andCardinality ( Container other ) {
+            if ( other instanceof ArrayContainer ) {
+                return other.andCardinality( this );
+            }
+            long[] otherWords = ( ( BitmapContainer ) other ).words;
+            int count = 0;
+            for ( int w = 0; w < words.length; w++ ) {
+                count += Long.bitCount( words[ w ] & otherWords[ w ] );
+            }
+            return count;
+        }
+
+        @Override
+        Container or ( Container other ) {
+            BitmapContainer result = ( BitmapContainer ) copy();
+            if ( other instanceof ArrayContainer array ) {
+                for ( int i = 0; i < array.cardinality; i++ ) {
+                    result.add( array.values[ i ] );
+                }
+                return result;
+            }
+            long[] otherWords = ( ( BitmapContainer ) other ).words;
+            int count = 0;
+            for ( int w = 0; w < words.length; w++ ) {
+                result.words[ w ] |= otherWords[ w ];
+                count += Long.bitCount( result.words[ w ] );
+            }
+            result.cardinality = count;
+            return result;
+        }
+
+        @Override
+        Container andNot ( Container other ) {
+            long[] result = words.clone();
+            int count;
+            if ( other instanceof ArrayContainer array ) {
+                count = cardinality;
+                for ( int i = 0; i < array.cardinality; i++ ) {
+                    char value = array.values[ i ];
+                    if ( ( result[ value >>> 6 ] & ( 1L << value ) ) != 0 ) {
+                        result[ value >>> 6 ] &= ~ ( 1L << value );
+                        count--;
+                    }
+                }
+            } else {
+                long[] otherWords = ( ( BitmapContainer ) other ).words;
+                count = 0;
+                for ( int w = 0; w < result.length; w++ ) {
+                    result[ w ] &= ~ otherWords[ w ];
+                    count += Long.bitCount( result[ w ] );
+                }
+            }
+            return normalize( result, count );
+        }
+
+        private static Container normalize ( long[] words, int cardinality ) {
+            BitmapContainer bitmap = new BitmapContainer( words, cardinality );
+            return cardinality <= ARRAY_LIMIT ? bitmap.toArray() : bitmap;
+        }
+
+        ArrayContainer toArray () {
+            char[] values = new char[ Math.max( 1, cardinality ) ];
+            int[] next = { 0 };
+            forEach( 0, value -> values[ next[ 0 ]++ ] = ( char ) value );
+            return new ArrayContainer( values, cardinality );
+        }
+    }
+}
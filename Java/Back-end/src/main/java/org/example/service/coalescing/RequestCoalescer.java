@@ -0,0 +1,236 @@
+package org.example.service.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.events.CarsChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa consultas idênticas e simultâneas em uma única chamada ao banco de dados (<i>single-flight</i>).
+ * <p>
+ * Cada consulta é identificada pelo nome do método e pelos seus argumentos. A primeira requisição executa a
+ * consulta e as que chegam enquanto ela está em andamento aguardam e recebem o mesmo resultado. Após concluído, o
+ * resultado continua válido por {@code cars.coalescing.ttl-ms} e pode ser servido por mais
+ * {@code cars.coalescing.stale-ms} enquanto uma única requisição o atualiza, evitando que a expiração provoque uma
+ * avalanche de consultas iguais. Qualquer {@link CarsChangedEvent} descarta os resultados guardados, e consultas
+ * iniciadas antes da escrita não são guardadas.
+ * </p>
+ * <p>
+ * Nas chaves, textos em branco equivalem a {@code null}; consultas que ignoram maiúsculas e minúsculas devem passar
+ * os argumentos já normalizados. Cada resultado é removido assim que deixa de poder ser servido, e no máximo
+ * {@code cars.coalescing.max-entries} consultas são guardadas: com o limite atingido, as consultas novas são
+ * executadas diretamente, sem agrupamento.
+ * </p>
+ * <p>
+ * O contador {@value #CALLS_METRIC} registra cada chamada com o método e o desfecho: {@code loaded} quando a
+ * consulta foi executada, {@code merged} quando aguardou uma consulta em andamento, {@code cached} quando usou um
+ * resultado válido e {@code stale} quando usou um resultado expirado durante a atualização.
+ * </p>
+ */
+@Component
+public class RequestCoalescer {
+
+    public static final String CALLS_METRIC = "cars.coalescing.calls";
+
+    private static final String LOADED = "loaded";
+    private static final String MERGED = "merged";
+    private static final String CACHED = "cached";
+    private static final String STALE = "stale";
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final int maxEntries;
+    private final MeterRegistry meterRegistry;
+    private final Executor expiration;
+
+    private final ConcurrentHashMap<List<Object>, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constrói o agrupador de consultas.
+     *
+     * @param enabled       indica se as consultas devem ser agrupadas
+     * @param ttlMillis     o tempo durante o qual um resultado concluído é reutilizado
+     * @param staleMillis   o tempo adicional durante o qual um resultado expirado é servido enquanto é atualizado
+     * @param maxEntries    a quantidade máxima de consultas guardadas ao mesmo tempo
+     * @param meterRegistry o registro onde as métricas são publicadas
+     */
+    @Autowired
+    public RequestCoalescer ( @Value( "${cars.coalescing.enabled:true}" ) boolean enabled,
+                              @Value( "${cars.coalescing.ttl-ms:1000}" ) long ttlMillis,
+                              @Value( "${cars.coalescing.stale-ms:5000}" ) long staleMillis,
+                              @Value( "${cars.coalescing.max-entries:10000}" ) int maxEntries,
+                              MeterRegistry meterRegistry ) {
+        this.enabled = enabled;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos( ttlMillis );
+        this.staleNanos = TimeUnit.MILLISECONDS.toNanos( staleMillis );
+        this.maxEntries = maxEntries;
+        this.meterRegistry = meterRegistry;
+        this.expiration = CompletableFuture.delayedExecutor( ttlNanos + staleNanos, TimeUnit.NANOSECONDS );
+    }
+
+    /**
+     * Executa a consulta, ou reaproveita a execução em andamento ou o resultado recente de uma consulta idêntica.
+     *
+     * @param method o nome da consulta
+     * @param loader a consulta a ser executada
+     * @param args   os argumentos que identificam a consulta
+     * @param <T>    o tipo do resultado
+     * @return o resultado da consulta, possivelmente compartilhado com outras requisições
+     */
+    @SuppressWarnings( "unchecked" )
+    public <T> T execute ( String method, Supplier<T> loader, Object... args ) {
+        if ( ! enabled ) {
+            return loader.get();
+        }
+        List<Object> key = key( method, args );
+
+        while ( true ) {
+            Flight current = flights.get( key );
+            if ( current != null ) {
+                if ( ! current.result.isDone() ) {
+                    count( method, MERGED );
+                    return ( T ) await( current );
+                }
+                if ( ! current.result.isCompletedExceptionally() ) {
+                    long now = System.nanoTime();
+                    if ( now - current.expiresAt < 0 ) {
+                        count( method, CACHED );
+                        return ( T ) current.result.join();
+                    }
+                    if ( now - current.expiresAt - staleNanos < 0 ) {
+                        if ( ! current.refreshing.compareAndSet( false, true ) ) {
+                            count( method, STALE );
+                            return ( T ) current.result.join();
+                        }
+                        // Esta requisição atualiza o resultado; as demais continuam recebendo o anterior
+                        Flight refresh = new Flight( generation.get() );
+                        try {
+                            count( method, LOADED );
+                            return load( key, refresh, loader, current );
+                        } finally {
+                            current.refreshing.set( false );
+                        }
+                    }
+                }
+            }
+            if ( current == null && flights.size() >= maxEntries ) {
+                count( method, LOADED );
+                return loader.get();
+            }
+            Flight flight = new Flight( generation.get() );
+            boolean installed = current == null
+                    ? flights.putIfAbsent( key, flight ) == null
+                    : flights.replace( key, current, flight );
+            if ( installed ) {
+                count( method, LOADED );
+                return load( key, flight, loader, null );
+            }
+        }
+    }
+
+    /**
+     * Descarta todos os resultados guardados após uma alteração no catálogo.
+     *
+     * @param event o evento descrevendo a alteração
+     */
+    @EventListener
+    public void onCarsChanged ( CarsChangedEvent event ) {
+        generation.incrementAndGet();
+        flights.clear();
+    }
+
+    /**
+     * Retorna a quantidade de consultas guardadas, em andamento ou concluídas.
+     *
+     * @return a quantidade de consultas guardadas
+     */
+    public int size () {
+        return flights.size();
+    }
+
+    private static List<Object> key ( String method, Object... args ) {
+        List<Object> key = new ArrayList<>( args.length + 1 );
+        key.add( method );
+        for ( Object arg : args ) {
+            key.add( arg instanceof String text && text.isBlank() ? null : arg );
+        }
+        return key;
+    }
+
+    private <T> T load ( List<Object> key, Flight flight, Supplier<T> loader, Flight replaced ) {
+        T value;
+        try {
+            value = loader.get();
+        } catch ( RuntimeException | Error exception ) {
+            flight.result.completeExceptionally( exception );
+            flights.remove( key, flight );
+            throw exception;
+        }
+        flight.expiresAt = System.nanoTime() + ttlNanos;
+        flight.result.complete( value );
+        if ( replaced != null ) {
+            flights.replace( key, replaced, flight );
+        }
+        if ( flight.generation != generation.get() || ttlNanos + staleNanos == 0 ) {
+            flights.remove( key, flight );
+        } else {
+            expiration.execute( () -> flights.remove( key, flight ) );
+        }
+        return value;
+    }
+
+    private static Object await ( Flight flight ) {
+        try {
+            return flight.result.join();
+        } catch ( CompletionException exception ) {
+            if ( exception.getCause() instanceof RuntimeException runtime ) {
+                throw runtime;
+            }
+            if ( exception.getCause() instanceof Error error ) {
+                throw error;
+            }
+            throw exception;
+        }
+    }
+
+    private void count ( String method, String outcome ) {
+        counters.computeIfAbsent( method + ":" + outcome, name -> Counter.builder( CALLS_METRIC )
+                .description( "Catalog queries by coalescing outcome" )
+                .tag( "method", method )
+                .tag( "outcome", outcome )
+                .register( meterRegistry ) ).increment();
+    }
+
+    /**
+     * Execução de uma consulta, compartilhada por todas as requisições idênticas.
+     */
+    private static final class Flight {
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private final long generation;
+        private volatile long expiresAt;
+
+        Flight ( long generation ) {
+            this.generation = generation;
+        }
+    }
+}
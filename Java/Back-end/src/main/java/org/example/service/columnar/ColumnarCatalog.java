@@ -0,0 +1,174 @@
+package org.example.service.columnar;
+
+import org.example.events.CarsChangedEvent;
+import org.example.model.Cars;
+import org.example.repository.CarsRepository;
+import org.example.service.snapshot.CatalogSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Mecanismo opcional que mantém o catálogo de carros em memória no formato colunar.
+ * <p>
+ * O catálogo é carregado por completo a partir do {@link CarsRepository} e mantido atualizado pelos eventos
+ * {@link CarsChangedEvent} publicados nas escritas do {@link org.example.service.CarsService}. Periodicamente o
+ * conteúdo é reconciliado com o banco de dados para corrigir escritas feitas por outros processos.
+ * </p>
+ * <p>
+ * As escritas apenas marcam a fotografia como desatualizada; a reconstrução da {@link ColumnarSnapshot} acontece
+ * na próxima leitura, de modo que uma rajada de escritas custa uma única reconstrução.
+ * </p>
+ * <p>
+ * Na primeira carga o catálogo é obtido do {@link CatalogSnapshotService}, quando houver uma fotografia em disco,
+ * e cada reconciliação completa entrega o resultado para a gravação de uma nova fotografia.
+ * </p>
+ */
+@Component
+public class ColumnarCatalog {
+
+    private final CarsRepository carsRepository;
+    private final CatalogSnapshotService snapshotService;
+    private final boolean enabled;
+
+    private final Object lock = new Object();
+    private final Map<String, Cars> rows = new HashMap<>();
+    private Map<String, Cars> pendingWrites;
+    private volatile ColumnarSnapshot snapshot = ColumnarSnapshot.empty();
+    private volatile boolean dirty;
+    private volatile boolean loaded;
+
+    /**
+     * Constrói o catálogo colunar.
+     *
+     * @param carsRepository  o repositório usado para carregar e reconciliar o catálogo
+     * @param snapshotService as fotografias do catálogo usadas na primeira carga
+     * @param enabled         indica se o mecanismo colunar deve ser utilizado
+     */
+    @Autowired
+    public ColumnarCatalog ( CarsRepository carsRepository, CatalogSnapshotService snapshotService,
+                             @Value( "${cars.columnar.enabled:false}" ) boolean enabled ) {
+        this.carsRepository = carsRepository;
+        this.snapshotService = snapshotService;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Indica se o catálogo está habilitado e já foi carregado, podendo responder consultas.
+     *
+     * @return {@code true} se as consultas podem ser atendidas em memória
+     */
+    public boolean isReady () {
+        return enabled && loaded;
+    }
+
+    /**
+     * Recupera um carro do catálogo em memória pelo seu ID.
+     *
+     * @param id o ID do carro
+     * @return o carro correspondente, ou vazio se o catálogo não estiver pronto ou o carro não existir
+     */
+    public Optional<Cars> findById ( String id ) {
+        if ( ! isReady() ) {
+            return Optional.empty();
+        }
+        synchronized ( lock ) {
+            return Optional.ofNullable( rows.get( id ) );
+        }
+    }
+
+    /**
+     * Retorna a fotografia colunar atual, reconstruindo-a se houver escritas pendentes.
+     *
+     * @return a {@link ColumnarSnapshot} mais recente
+     */
+    public ColumnarSnapshot snapshot () {
+        if ( dirty ) {
+            synchronized ( lock ) {
+                if ( dirty ) {
+                    snapshot = ColumnarSnapshot.of( rows.values() );
+                    dirty = false;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Recarrega todo o catálogo a partir do banco de dados.
+     * <p>
+     * Executado na inicialização e em intervalos regulares. Escritas recebidas durante a leitura do banco são
+     * guardadas e reaplicadas sobre o resultado, evitando que a reconciliação desfaça alterações mais recentes.
+     * </p>
+     */
+    @Scheduled( fixedDelayString = "${cars.columnar.reconcile-interval-ms:300000}" )
+    public void reconcile () {
+        if ( ! enabled ) {
+            return;
+        }
+        synchronized ( lock ) {
+            pendingWrites = new HashMap<>();
+        }
+        long startedAt = System.currentTimeMillis();
+        Optional<List<Cars>> warm = loaded ? Optional.empty() : snapshotService.warmStart();
+        Map<String, Cars> reloaded = new HashMap<>();
+        try {
+            for ( Cars car : warm.isPresent() ? warm.get() : carsRepository.findAll() ) {
+                reloaded.put( car.getId(), car );
+            }
+        } catch ( RuntimeException exception ) {
+            synchronized ( lock ) {
+                pendingWrites = null;
+            }
+            throw exception;
+        }
+        synchronized ( lock ) {
+            pendingWrites.forEach( ( id, car ) -> {
+                if ( car == null ) {
+                    reloaded.remove( id );
+                } else {
+                    reloaded.put( id, car );
+                }
+            } );
+            pendingWrites = null;
+            rows.clear();
+            rows.putAll( reloaded );
+            dirty = true;
+            loaded = true;
+        }
+        if ( warm.isEmpty() ) {
+            snapshotService.save( startedAt, reloaded.values() );
+        }
+    }
+
+    /**
+     * Aplica ao catálogo uma alteração feita pelo {@link org.example.service.CarsService}.
+     *
+     * @param event o evento descrevendo a alteração
+     */
+    @EventListener
+    public void onCarsChanged ( CarsChangedEvent event ) {
+        if ( ! enabled ) {
+            return;
+        }
+        Cars car = event.getType() == CarsChangedEvent.Type.DELETED ? null : event.getCar();
+        synchronized ( lock ) {
+            if ( car == null ) {
+                rows.remove( event.getCarId() );
+            } else {
+                rows.put( event.getCarId(), car );
+            }
+            if ( pendingWrites != null ) {
+                pendingWrites.put( event.getCarId(), car );
+            }
+            dirty = true;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.service.columnar;
+
+/**
+ * Predicados de uma consulta combinada sobre o catálogo colunar.
+ * <p>
+ * Todos os limites são inclusivos e qualquer predicado pode ser {@code null}, indicando que o campo
+ * correspondente não deve ser filtrado.
+ * </p>
+ *
+ * @param minValue   o valor mínimo do carro
+ * @param maxValue   o valor máximo do carro
+ * @param minYear    o ano de produção mínimo
+ * @param maxYear    o ano de produção máximo
+ * @param producedBy o fabricante do carro
+ * @param engineType o tipo de motor do carro
+ */
+public record ColumnarQuery( Double minValue, Double maxValue, Integer minYear, Integer maxYear,
+                             String producedBy, String engineType ) {
+}
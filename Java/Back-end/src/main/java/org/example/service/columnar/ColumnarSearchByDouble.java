@@ -0,0 +1,34 @@
+package org.example.service.columnar;
+
+import org.example.model.Cars;
+import org.example.service.strategies.StrategyGetCarsForDouble;
+import org.example.validations.CarValueValidation;
+
+import java.util.List;
+
+public class ColumnarSearchByDouble implements StrategyGetCarsForDouble {
+
+    private final ColumnarCatalog columnarCatalog;
+
+    public ColumnarSearchByDouble ( ColumnarCatalog columnarCatalog ) {
+        this.columnarCatalog = columnarCatalog;
+    }
+
+    @Override
+    public List<Cars> searchEquals ( Double value ) {
+        CarValueValidation.validate( value );
+        return columnarCatalog.snapshot().valueEquals( value );
+    }
+
+    @Override
+    public List<Cars> searchBigger ( Double value ) {
+        CarValueValidation.validate( value );
+        return columnarCatalog.snapshot().valueGreaterThan( value );
+    }
+
+    @Override
+    public List<Cars> searchLess ( Double value ) {
+        CarValueValidation.validate( value );
+        return columnarCatalog.snapshot().valueLessThan( value );
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.service.columnar;
+
+import org.example.model.Cars;
+import org.example.service.strategies.StrategyGetCarsForYear;
+import org.example.validations.IntegerValidation;
+
+import java.util.List;
+
+public class ColumnarSearchByYear implements StrategyGetCarsForYear {
+
+    private final ColumnarCatalog columnarCatalog;
+
+    public ColumnarSearchByYear ( ColumnarCatalog columnarCatalog ) {
+        this.columnarCatalog = columnarCatalog;
+    }
+
+    @Override
+    public List<Cars> searchEquals ( Integer year ) {
+        IntegerValidation.validate( year );
+        return columnarCatalog.snapshot().yearEquals( year );
+    }
+
+    @Override
+    public List<Cars> searchNewer ( Integer year ) {
+        IntegerValidation.validate( year );
+        return columnarCatalog.snapshot().yearGreaterThan( year );
+    }
+
+    @Override
+    public List<Cars> searchOlder ( Integer year ) {
+        IntegerValidation.validate( year );
+        return columnarCatalog.snapshot().yearLessThan( year );
+    }
+}
@@ -0,0 +1,345 @@
+package org.example.service.columnar;
+
+import org.example.model.Cars;
+import org.example.utils.QueryMongo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Fotografia imutável do catálogo de carros organizada em colunas primitivas.
+ * <p>
+ * Cada carro ocupa uma linha identificada por um índice inteiro. Os campos usados em consultas por faixa são
+ * copiados para vetores primitivos ({@code double[]} para {@code carValue} e {@code int[]} para
+ * {@code yearProduction}), e os campos textuais {@code producedBy} e {@code specifications.engineType} são
+ * codificados em dicionários, sem distinção de maiúsculas e minúsculas, como as consultas do MongoDB. Para cada coluna numérica é mantida uma permutação ordenada, permitindo responder
+ * consultas por faixa com busca binária e percorrer apenas as linhas que satisfazem o intervalo.
+ * </p>
+ * <p>
+ * Linhas com o campo numérico nulo não participam da permutação ordenada daquela coluna e, portanto, nunca são
+ * retornadas por consultas que filtram esse campo.
+ * </p>
+ */
+public class ColumnarSnapshot {
+
+    private static final int NO_CODE = - 1;
+
+    private static final ColumnarSnapshot EMPTY = new ColumnarSnapshot( List.of() );
+
+    private final Cars[] rows;
+    private final double[] values;
+    private final boolean[] hasValue;
+    private final int[] years;
+    private final boolean[] hasYear;
+    private final int[] producers;
+    private final int[] engines;
+    private final Map<String, Integer> producerCodes = new HashMap<>();
+    private final Map<String, Integer> engineCodes = new HashMap<>();
+
+    private final int[] valueOrder;
+    private final double[] sortedValues;
+    private final int[] yearOrder;
+    private final int[] sortedYears;
+
+    private ColumnarSnapshot ( Collection<Cars> cars ) {
+        int size = cars.size();
+        this.rows = cars.toArray( new Cars[ 0 ] );
+        this.values = new double[ size ];
+        this.hasValue = new boolean[ size ];
+        this.years = new int[ size ];
+        this.hasYear = new boolean[ size ];
+        this.producers = new int[ size ];
+        this.engines = new int[ size ];
+
+        int valueCount = 0;
+        int yearCount = 0;
+        for ( int row = 0; row < size; row++ ) {
+            Cars car = rows[ row ];
+            if ( car.getCarValue() != null ) {
+                values[ row ] = car.getCarValue();
+                hasValue[ row ] = true;
+                valueCount++;
+            }
+            if ( car.getYearProduction() != null ) {
+                years[ row ] = car.getYearProduction();
+                hasYear[ row ] = true;
+                yearCount++;
+            }
+            producers[ row ] = encode( producerCodes, car.getProducedBy() );
+            engines[ row ] = encode( engineCodes, car.getSpecifications() != null
+                    ? car.getSpecifications().getEngineType() : null );
+        }
+
+        this.valueOrder = sortedPermutation( hasValue, valueCount, Comparator.comparingDouble( row -> values[ row ] ) );
+        this.sortedValues = new double[ valueOrder.length ];
+        for ( int i = 0; i < valueOrder.length; i++ ) {
+            sortedValues[ i ] = values[ valueOrder[ i ] ];
+        }
+
+        this.yearOrder = sortedPermutation( hasYear, yearCount, Comparator.comparingInt( row -> years[ row ] ) );
+        this.sortedYears = new int[ yearOrder.length ];
+        for ( int i = 0; i < yearOrder.length; i++ ) {
+            sortedYears[ i ] = years[ yearOrder[ i ] ];
+        }
+    }
+
+    /**
+     * Constrói uma nova fotografia a partir dos carros fornecidos.
+     *
+     * @param cars os carros que compõem o catálogo
+     * @return a fotografia colunar correspondente
+     */
+    public static ColumnarSnapshot of ( Collection<Cars> cars ) {
+        return cars.isEmpty() ? EMPTY : new ColumnarSnapshot( cars );
+    }
+
+    /**
+     * Retorna uma fotografia sem nenhum carro.
+     *
+     * @return a fotografia vazia
+     */
+    public static ColumnarSnapshot empty () {
+        return EMPTY;
+    }
+
+    /**
+     * Retorna a quantidade de carros contidos na fotografia.
+     *
+     * @return o número de linhas
+     */
+    public int size () {
+        return rows.length;
+    }
+
+    /**
+     * Percorre todos os carros da fotografia sem copiá-los para uma nova coleção.
+     *
+     * @param action a ação aplicada a cada carro
+     */
+    public void forEach ( Consumer<Cars> action ) {
+        for ( Cars car : rows ) {
+            action.accept( car );
+        }
+    }
+
+    /**
+     * Retorna os carros cujo valor é exatamente igual ao valor fornecido.
+     *
+     * @param value o valor a ser comparado
+     * @return uma lista de carros com o valor correspondente
+     */
+    public List<Cars> valueEquals ( double value ) {
+        return collect( valueOrder, lowerBound( sortedValues, value ), upperBound( sortedValues, value ) );
+    }
+
+    /**
+     * Retorna os carros cujo valor é estritamente menor que o valor fornecido.
+     *
+     * @param value o limite superior exclusivo
+     * @return uma lista de carros ordenada pelo valor
+     */
+    public List<Cars> valueLessThan ( double value ) {
+        return collect( valueOrder, 0, lowerBound( sortedValues, value ) );
+    }
+
+    /**
+     * Retorna os carros cujo valor é estritamente maior que o valor fornecido.
+     *
+     * @param value o limite inferior exclusivo
+     * @return uma lista de carros ordenada pelo valor
+     */
+    public List<Cars> valueGreaterThan ( double value ) {
+        return collect( valueOrder, upperBound( sortedValues, value ), valueOrder.length );
+    }
+
+    /**
+     * Retorna os carros produzidos exatamente no ano fornecido.
+     *
+     * @param year o ano a ser comparado
+     * @return uma lista de carros com o ano correspondente
+     */
+    public List<Cars> yearEquals ( int year ) {
+        return collect( yearOrder, lowerBound( sortedYears, year ), upperBound( sortedYears, year ) );
+    }
+
+    /**
+     * Retorna os carros produzidos depois do ano fornecido.
+     *
+     * @param year o limite inferior exclusivo
+     * @return uma lista de carros ordenada pelo ano
+     */
+    public List<Cars> yearGreaterThan ( int year ) {
+        return collect( yearOrder, upperBound( sortedYears, year ), yearOrder.length );
+    }
+
+    /**
+     * Retorna os carros produzidos antes do ano fornecido.
+     *
+     * @param year o limite superior exclusivo
+     * @return uma lista de carros ordenada pelo ano
+     */
+    public List<Cars> yearLessThan ( int year ) {
+        return collect( yearOrder, 0, lowerBound( sortedYears, year ) );
+    }
+
+    /**
+     * Executa uma consulta combinando faixas de valor e ano com fabricante e tipo de motor.
+     * <p>
+     * A coluna ordenada mais seletiva entre valor e ano é usada para delimitar as linhas candidatas por busca
+     * binária; os demais predicados são verificados diretamente sobre os vetores primitivos. Quando nenhuma faixa
+     * é informada, as colunas codificadas são percorridas por inteiro.
+     * </p>
+     *
+     * @param query os predicados da consulta
+     * @return uma lista de carros que satisfazem todos os predicados
+     */
+    public List<Cars> query ( ColumnarQuery query ) {
+        int producer = NO_CODE;
+        if ( query.producedBy() != null ) {
+            Integer code = producerCodes.get( QueryMongo.caseKey( query.producedBy() ) );
+            if ( code == null ) {
+                return List.of();
+            }
+            producer = code;
+        }
+        int engine = NO_CODE;
+        if ( query.engineType() != null ) {
+            Integer code = engineCodes.get( QueryMongo.caseKey( query.engineType() ) );
+            if ( code == null ) {
+                return List.of();
+            }
+            engine = code;
+        }
+
+        boolean filterValue = query.minValue() != null || query.maxValue() != null;
+        boolean filterYear = query.minYear() != null || query.maxYear() != null;
+        double minValue = query.minValue() != null ? query.minValue() : Double.NEGATIVE_INFINITY;
+        double maxValue = query.maxValue() != null ? query.maxValue() : Double.POSITIVE_INFINITY;
+        int minYear = query.minYear() != null ? query.minYear() : Integer.MIN_VALUE;
+        int maxYear = query.maxYear() != null ? query.maxYear() : Integer.MAX_VALUE;
+
+        int[] candidates;
+        int from;
+        int to;
+        if ( filterValue || filterYear ) {
+            int valueFrom = lowerBound( sortedValues, minValue );
+            int valueTo = upperBound( sortedValues, maxValue );
+            int yearFrom = lowerBound( sortedYears, minYear );
+            int yearTo = upperBound( sortedYears, maxYear );
+            boolean useValue = filterValue && ( ! filterYear || valueTo - valueFrom <= yearTo - yearFrom );
+            candidates = useValue ? valueOrder : yearOrder;
+            from = useValue ? valueFrom : yearFrom;
+            to = useValue ? valueTo : yearTo;
+        } else {
+            candidates = null;
+            from = 0;
+            to = rows.length;
+        }
+
+        List<Cars> result = new ArrayList<>();
+        for ( int i = from; i < to; i++ ) {
+            int row = candidates != null ? candidates[ i ] : i;
+            boolean matches = ( producer == NO_CODE || producers[ row ] == producer )
+                    & ( engine == NO_CODE || engines[ row ] == engine )
+                    & ( ! filterValue || ( hasValue[ row ] & values[ row ] >= minValue & values[ row ] <= maxValue ) )
+                    & ( ! filterYear || ( hasYear[ row ] & years[ row ] >= minYear & years[ row ] <= maxYear ) );
+            if ( matches ) {
+                result.add( rows[ row ] );
+            }
+        }
+        return result;
+    }
+
+    private static int encode ( Map<String, Integer> dictionary, String term ) {
+        if ( term == null ) {
+            return NO_CODE;
+        }
+        return dictionary.computeIfAbsent( QueryMongo.caseKey( term ), key -> dictionary.size() );
+    }
+
+    private static int[] sortedPermutation ( boolean[] present, int count, Comparator<Integer> comparator ) {
+        Integer[] order = new Integer[ count ];
+        int next = 0;
+        for ( int row = 0; row < present.length; row++ ) {
+            if ( present[ row ] ) {
+                order[ next++ ] = row;
+            }
+        }
+        Arrays.sort( order, comparator );
+        int[] permutation = new int[ count ];
+        for ( int i = 0; i < count; i++ ) {
+            permutation[ i ] = order[ i ];
+        }
+        return permutation;
+    }
+
+    private List<Cars> collect ( int[] order, int from, int to ) {
+        List<Cars> result = new ArrayList<>( Math.max( 0, to - from ) );
+        for ( int i = from; i < to; i++ ) {
+            result.add( rows[ order[ i ] ] );
+        }
+        return result;
+    }
+
+    private static int lowerBound ( double[] sorted, double key ) {
+        int low = 0;
+        int high = sorted.length;
+        while ( low < high ) {
+            int mid = ( low + high ) >>> 1;
+            if ( sorted[ mid ] < key ) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound ( double[] sorted, double key ) {
+        int low = 0;
+        int high = sorted.length;
+        while ( low < high ) {
+            int mid = ( low + high ) >>> 1;
+            if ( sorted[ mid ] <= key ) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound ( int[] sorted, int key ) {
+        int low = 0;
+        int high = sorted.length;
+        while ( low < high ) {
+            int mid = ( low + high ) >>> 1;
+            if ( sorted[ mid ] < key ) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound ( int[] sorted, int key ) {
+        int low = 0;
+        int high = sorted.length;
+        while ( low < high ) {
+            int mid = ( low + high ) >>> 1;
+            if ( sorted[ mid ] <= key ) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
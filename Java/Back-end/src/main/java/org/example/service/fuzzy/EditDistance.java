@@ -0,0 +1,88 @@
+package org.example.service.fuzzy;
+
+/**
+ * Distância de edição limitada entre a consulta e um texto do catálogo.
+ * <p>
+ * Usa a distância de Damerau-Levenshtein restrita (<i>optimal string alignment</i>), em que a troca de dois
+ * caracteres vizinhos, como em {@code "Corlola"}, conta como uma única edição. Apenas a faixa de células com
+ * diferença de comprimento de até {@code max} é calculada, e o cálculo é interrompido assim que nenhuma célula da
+ * linha atual pode terminar dentro do limite.
+ * </p>
+ * <p>
+ * Além da distância até o texto inteiro, é calculada a distância até o melhor prefixo do texto, permitindo
+ * reconhecer o modelo enquanto ele ainda está sendo digitado.
+ * </p>
+ */
+public final class EditDistance {
+
+    /**
+     * Resultado da comparação.
+     *
+     * @param distance a menor distância encontrada, até o texto inteiro ou até um prefixo
+     * @param prefix   {@code true} se a menor distância só foi alcançada por um prefixo do texto
+     */
+    public record Result( int distance, boolean prefix ) {
+    }
+
+    private EditDistance () {
+    }
+
+    /**
+     * Compara a consulta com um texto.
+     *
+     * @param query     a consulta normalizada
+     * @param candidate o texto normalizado do catálogo
+     * @param max       a maior distância aceita
+     * @return o resultado, ou {@code null} se a distância passar de {@code max}
+     */
+    public static Result compare ( String query, String candidate, int max ) {
+        int n = query.length();
+        int m = candidate.length();
+        int outside = max + 1;
+        int[] previous2 = new int[ m + 1 ];
+        int[] previous = new int[ m + 1 ];
+        int[] current = new int[ m + 1 ];
+        for ( int j = 0; j <= m; j++ ) {
+            previous[ j ] = j <= max ? j : outside;
+        }
+        for ( int i = 1; i <= n; i++ ) {
+            int from = Math.max( 1, i - max );
+            int to = Math.min( m, i + max );
+            current[ 0 ] = i <= max ? i : outside;
+            for ( int j = 1; j < from; j++ ) {
+                current[ j ] = outside;
+            }
+            int rowMin = current[ 0 ];
+            char a = query.charAt( i - 1 );
+            for ( int j = from; j <= to; j++ ) {
+                char b = candidate.charAt( j - 1 );
+                int cost = a == b ? 0 : 1;
+                int value = Math.min( Math.min( previous[ j ] + 1, current[ j - 1 ] + 1 ), previous[ j - 1 ] + cost );
+                if ( i > 1 && j > 1 && a == candidate.charAt( j - 2 ) && query.charAt( i - 2 ) == b ) {
+                    value = Math.min( value, previous2[ j - 2 ] + 1 );
+                }
+                current[ j ] = Math.min( value, outside );
+                rowMin = Math.min( rowMin, current[ j ] );
+            }
+            for ( int j = to + 1; j <= m; j++ ) {
+                current[ j ] = outside;
+            }
+            if ( rowMin > max ) {
+                return null;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        int full = previous[ m ];
+        int best = full;
+        for ( int j = 0; j < m; j++ ) {
+            best = Math.min( best, previous[ j ] );
+        }
+        if ( best > max ) {
+            return null;
+        }
+        return new Result( best, best < full );
+    }
+}
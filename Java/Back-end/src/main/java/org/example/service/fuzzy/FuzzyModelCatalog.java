@@ -0,0 +1,156 @@
+package org.example.service.fuzzy;
+
+import org.example.dto.ModelMatchDTO;
+import org.example.events.CarsChangedEvent;
+import org.example.model.Cars;
+import org.example.repository.CarsRepository;
+import org.example.service.snapshot.CatalogSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mantém o {@link TrigramIndex} dos modelos do catálogo de carros sincronizado com o banco de dados.
+ * <p>
+ * Segue o mesmo ciclo de vida do {@link org.example.service.bitmap.FacetCatalog}: o índice é construído a partir do
+ * {@link CarsRepository}, ou da fotografia do {@link CatalogSnapshotService} na primeira construção, atualizado de
+ * forma incremental pelos eventos {@link CarsChangedEvent} e reconstruído periodicamente para absorver escritas
+ * feitas fora desta instância.
+ * </p>
+ */
+@Component
+public class FuzzyModelCatalog {
+
+    private final CarsRepository carsRepository;
+    private final CatalogSnapshotService snapshotService;
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TrigramIndex index = new TrigramIndex();
+    private Map<String, Cars> pendingWrites;
+    private volatile boolean loaded;
+
+    /**
+     * Constrói o catálogo de modelos para a busca tolerante a erros de digitação.
+     *
+     * @param carsRepository  o repositório usado para construir e reconciliar o índice
+     * @param snapshotService as fotografias do catálogo usadas na primeira construção
+     * @param enabled         indica se o índice de trigramas deve ser mantido em memória
+     */
+    @Autowired
+    public FuzzyModelCatalog ( CarsRepository carsRepository, CatalogSnapshotService snapshotService,
+                               @Value( "${cars.fuzzy.enabled:false}" ) boolean enabled ) {
+        this.carsRepository = carsRepository;
+        this.snapshotService = snapshotService;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Indica se o índice está habilitado e já foi carregado.
+     *
+     * @return {@code true} se as buscas podem ser atendidas pelo índice em memória
+     */
+    public boolean isReady () {
+        return enabled && loaded;
+    }
+
+    /**
+     * Busca os modelos próximos do texto digitado no índice em memória.
+     *
+     * @param query       o texto digitado
+     * @param maxDistance a maior quantidade de edições aceita
+     * @param limit       a quantidade máxima de carros retornados
+     * @return os carros encontrados, dos mais próximos para os mais distantes
+     */
+    public List<ModelMatchDTO> search ( String query, int maxDistance, int limit ) {
+        lock.readLock().lock();
+        try {
+            return index.search( query, maxDistance, limit );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reconstrói o índice a partir do banco de dados, reaplicando as escritas recebidas durante a leitura.
+     */
+    @Scheduled( fixedDelayString = "${cars.fuzzy.reconcile-interval-ms:300000}" )
+    public void reconcile () {
+        if ( ! enabled ) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long startedAt = System.currentTimeMillis();
+        Optional<List<Cars>> warm = loaded ? Optional.empty() : snapshotService.warmStart();
+        List<Cars> cars;
+        TrigramIndex rebuilt;
+        try {
+            cars = warm.isPresent() ? warm.get() : carsRepository.findAll();
+            rebuilt = TrigramIndex.of( cars );
+        } catch ( RuntimeException exception ) {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw exception;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingWrites.forEach( ( id, car ) -> apply( rebuilt, id, car ) );
+            pendingWrites = null;
+            index = rebuilt;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if ( warm.isEmpty() ) {
+            snapshotService.save( startedAt, cars );
+        }
+    }
+
+    /**
+     * Atualiza o índice de forma incremental após uma escrita no catálogo.
+     *
+     * @param event o evento descrevendo a alteração
+     */
+    @EventListener
+    public void onCarsChanged ( CarsChangedEvent event ) {
+        if ( ! enabled ) {
+            return;
+        }
+        Cars car = event.getType() == CarsChangedEvent.Type.DELETED ? null : event.getCar();
+        lock.writeLock().lock();
+        try {
+            apply( index, event.getCarId(), car );
+            if ( pendingWrites != null ) {
+                pendingWrites.put( event.getCarId(), car );
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply ( TrigramIndex target, String id, Cars car ) {
+        if ( car == null ) {
+            target.remove( id );
+        } else {
+            target.put( car );
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.service.fuzzy;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização dos textos comparados na busca tolerante a erros de digitação.
+ * <p>
+ * Letras com acento são reduzidas à letra base, maiúsculas viram minúsculas e qualquer sequência de caracteres que
+ * não seja letra ou dígito vira um único espaço, de modo que {@code "Citroën C4-Cactus"} e
+ * {@code "citroen c4 cactus"} produzem o mesmo texto.
+ * </p>
+ */
+public final class TextFolding {
+
+    private static final Pattern MARKS = Pattern.compile( "\\p{M}+" );
+    private static final Pattern SEPARATORS = Pattern.compile( "[^\\p{L}\\p{N}]+" );
+
+    private TextFolding () {
+    }
+
+    /**
+     * Normaliza um texto.
+     *
+     * @param text o texto original
+     * @return o texto normalizado, ou vazio se o texto for {@code null}
+     */
+    public static String fold ( String text ) {
+        if ( text == null ) {
+            return "";
+        }
+        String decomposed = MARKS.matcher( Normalizer.normalize( text, Normalizer.Form.NFD ) ).replaceAll( "" );
+        return SEPARATORS.matcher( decomposed.toLowerCase( Locale.ROOT ) ).replaceAll( " " ).trim();
+    }
+}
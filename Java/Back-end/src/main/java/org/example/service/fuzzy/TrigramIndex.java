@@ -0,0 +1,203 @@
+package org.example.service.fuzzy;
+
+import org.example.dto.ModelMatchDTO;
+import org.example.model.Cars;
+import org.example.service.bitmap.RoaringBitmap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice de trigramas sobre o modelo e o fabricante dos carros, usado na busca tolerante a erros de digitação.
+ * <p>
+ * Cada carro recebe um número de linha denso, como no {@link org.example.service.bitmap.CarsFacetIndex}, e são
+ * indexados os trigramas do modelo e do fabricante seguido do modelo, já normalizados por {@link TextFolding}. Cada
+ * trigrama mantém um {@link RoaringBitmap} com as linhas dos carros que o contêm.
+ * </p>
+ * <p>
+ * Um texto a até {@code k} edições da consulta compartilha com ela pelo menos {@code t = q - 3k} dos seus {@code q}
+ * trigramas, pois cada edição altera no máximo três trigramas. Por isso, os candidatos são apenas as linhas
+ * presentes em algum dos {@code q - t + 1} trigramas mais raros da consulta; cada candidato precisa ainda aparecer
+ * em {@code t} trigramas antes de ter a distância calculada por {@link EditDistance}. A distância aceita é reduzida
+ * em consultas curtas, para que {@code t} seja sempre positivo. Os trigramas da consulta não incluem o final do
+ * texto, de modo que uma consulta incompleta também encontra os modelos que começam por ela.
+ * </p>
+ * <p>
+ * Instâncias não são seguras para uso concorrente; o chamador é responsável pela sincronização.
+ * </p>
+ */
+public class TrigramIndex {
+
+    private static final Comparator<Scored> RANKING = Comparator.comparingInt( ( Scored scored ) -> scored.distance )
+            .thenComparing( scored -> scored.prefix )
+            .thenComparingInt( scored -> scored.entry.model.length() )
+            .thenComparing( scored -> scored.entry.model );
+
+    private record Entry( String id, String model, String producedBy, String foldedModel, String foldedFull ) {
+    }
+
+    private record Scored( Entry entry, int distance, boolean prefix ) {
+    }
+
+    private final Map<String, Integer> rowsById = new HashMap<>();
+    private final List<Entry> entriesByRow = new ArrayList<>();
+    private final Deque<Integer> freeRows = new ArrayDeque<>();
+    private final Map<String, RoaringBitmap> postings = new HashMap<>();
+
+    /**
+     * Constrói um índice contendo os carros fornecidos.
+     *
+     * @param cars os carros a serem indexados
+     * @return o índice preenchido
+     */
+    public static TrigramIndex of ( Iterable<Cars> cars ) {
+        TrigramIndex index = new TrigramIndex();
+        for ( Cars car : cars ) {
+            index.put( car );
+        }
+        return index;
+    }
+
+    public int size () {
+        return rowsById.size();
+    }
+
+    /**
+     * Indexa um carro, substituindo a versão anterior com o mesmo ID, se existir.
+     *
+     * @param car o carro a ser indexado
+     */
+    public void put ( Cars car ) {
+        remove( car.getId() );
+        String foldedModel = TextFolding.fold( car.getModel() );
+        if ( foldedModel.isEmpty() ) {
+            return;
+        }
+        String producer = TextFolding.fold( car.getProducedBy() );
+        Entry entry = new Entry( car.getId(), car.getModel(), car.getProducedBy(), foldedModel,
+                producer.isEmpty() ? foldedModel : producer + " " + foldedModel );
+        int row = freeRows.isEmpty() ? entriesByRow.size() : freeRows.pop();
+        if ( row == entriesByRow.size() ) {
+            entriesByRow.add( entry );
+        } else {
+            entriesByRow.set( row, entry );
+        }
+        rowsById.put( car.getId(), row );
+        for ( String trigram : trigrams( entry ) ) {
+            postings.computeIfAbsent( trigram, key -> new RoaringBitmap() ).add( row );
+        }
+    }
+
+    /**
+     * Remove um carro do índice, se presente.
+     *
+     * @param id o ID do carro a ser removido
+     */
+    public void remove ( String id ) {
+        Integer row = rowsById.remove( id );
+        if ( row == null ) {
+            return;
+        }
+        for ( String trigram : trigrams( entriesByRow.get( row ) ) ) {
+            RoaringBitmap bitmap = postings.get( trigram );
+            if ( bitmap != null ) {
+                bitmap.remove( row );
+                if ( bitmap.isEmpty() ) {
+                    postings.remove( trigram );
+                }
+            }
+        }
+        entriesByRow.set( row, null );
+        freeRows.push( row );
+    }
+
+    /**
+     * Busca os carros cujo modelo, ou fabricante seguido do modelo, está a poucas edições da consulta.
+     *
+     * @param query       o texto digitado
+     * @param maxDistance a maior quantidade de edições aceita
+     * @param limit       a quantidade máxima de carros retornados
+     * @return os carros encontrados, dos mais próximos para os mais distantes
+     */
+    public List<ModelMatchDTO> search ( String query, int maxDistance, int limit ) {
+        String folded = TextFolding.fold( query );
+        if ( folded.isEmpty() ) {
+            return List.of();
+        }
+        List<String> grams = new ArrayList<>( queryTrigrams( folded ) );
+        int k = Math.min( maxDistance, ( grams.size() - 1 ) / 3 );
+        int threshold = grams.size() - 3 * k;
+        List<RoaringBitmap> lists = new ArrayList<>( grams.size() );
+        for ( String gram : grams ) {
+            lists.add( postings.getOrDefault( gram, new RoaringBitmap() ) );
+        }
+        lists.sort( Comparator.comparingInt( RoaringBitmap::cardinality ) );
+
+        RoaringBitmap candidates = new RoaringBitmap();
+        for ( int i = 0; i <= grams.size() - threshold; i++ ) {
+            candidates = RoaringBitmap.or( candidates, lists.get( i ) );
+        }
+        List<Scored> scored = new ArrayList<>();
+        candidates.forEach( row -> {
+            int shared = 0;
+            for ( RoaringBitmap list : lists ) {
+                if ( list.contains( row ) ) {
+                    shared++;
+                }
+            }
+            if ( shared >= threshold ) {
+                Entry entry = entriesByRow.get( row );
+                Scored best = score( entry, folded, entry.foldedModel, k, null );
+                best = score( entry, folded, entry.foldedFull, k, best );
+                if ( best != null ) {
+                    scored.add( best );
+                }
+            }
+        } );
+        scored.sort( RANKING );
+        List<ModelMatchDTO> matches = new ArrayList<>( Math.min( limit, scored.size() ) );
+        for ( Scored match : scored.subList( 0, Math.min( limit, scored.size() ) ) ) {
+            matches.add( new ModelMatchDTO( match.entry.id, match.entry.model, match.entry.producedBy,
+                    match.distance, match.prefix ) );
+        }
+        return matches;
+    }
+
+    private static Scored score ( Entry entry, String query, String text, int k, Scored best ) {
+        EditDistance.Result result = EditDistance.compare( query, text, k );
+        if ( result == null ) {
+            return best;
+        }
+        Scored candidate = new Scored( entry, result.distance(), result.prefix() );
+        return best == null || RANKING.compare( candidate, best ) < 0 ? candidate : best;
+    }
+
+    private static Set<String> trigrams ( Entry entry ) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        addTrigrams( "  " + entry.foldedModel + " ", trigrams );
+        addTrigrams( "  " + entry.foldedFull + " ", trigrams );
+        return trigrams;
+    }
+
+    /**
+     * Gera os trigramas da consulta com o preenchimento do início, mas sem o do final.
+     */
+    static Set<String> queryTrigrams ( String folded ) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        addTrigrams( "  " + folded, trigrams );
+        return trigrams;
+    }
+
+    private static void addTrigrams ( String padded, Set<String> trigrams ) {
+        for ( int i = 0; i + 3 <= padded.length(); i++ ) {
+            trigrams.add( padded.substring( i, i + 3 ) );
+        }
+    }
+}
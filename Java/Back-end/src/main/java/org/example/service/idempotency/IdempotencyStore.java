@@ -0,0 +1,269 @@
+package org.example.service.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Guarda as respostas das requisições de criação enviadas com o cabeçalho {@code Idempotency-Key}.
+ * <p>
+ * Cada chave é reduzida a um resumo de 128 bits do método, da rota, das credenciais e da própria chave, e a
+ * requisição a um resumo de 64 bits do corpo; apenas esses resumos, o status, o tipo e o corpo da resposta ficam
+ * em memória, por {@code cars.idempotency.ttl-ms} e até {@code cars.idempotency.max-entries} respostas, descartando
+ * as mais antigas. A primeira requisição com uma chave é executada; as que chegam enquanto ela está em andamento
+ * aguardam o resultado por até {@code cars.idempotency.wait-ms}, e as posteriores recebem a resposta guardada sem
+ * chegar aos controladores nem aos bancos de dados. Somente respostas de sucesso são guardadas: após um erro, a
+ * próxima requisição com a mesma chave é executada novamente.
+ * </p>
+ * <p>
+ * As respostas ficam apenas na instância que atendeu a requisição. O contador {@value #REQUESTS_METRIC} registra
+ * cada requisição com chave e o desfecho: {@code executed}, {@code replayed}, {@code merged} quando aguardou uma
+ * execução em andamento, {@code conflict} quando a chave foi reutilizada com outro corpo e {@code in_progress}
+ * quando a espera terminou antes da execução; o indicador {@value #ENTRIES_METRIC} mostra as respostas guardadas.
+ * </p>
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String REQUESTS_METRIC = "cars.idempotency.requests";
+    public static final String ENTRIES_METRIC = "cars.idempotency.entries";
+
+    /**
+     * O que fazer com uma requisição com chave de idempotência.
+     */
+    public enum Outcome {
+        EXECUTE, REPLAY, CONFLICT, IN_PROGRESS
+    }
+
+    /**
+     * Decisão sobre uma requisição com chave de idempotência.
+     *
+     * @param outcome  o que fazer com a requisição
+     * @param response a resposta guardada, quando a requisição é uma repetição
+     */
+    public record Decision( Outcome outcome, StoredResponse response ) {
+    }
+
+    /**
+     * Identificação compacta de uma chave de idempotência.
+     *
+     * @param high os primeiros 64 bits do resumo
+     * @param low  os 64 bits seguintes do resumo
+     */
+    public record Key( long high, long low ) {
+
+        /**
+         * Calcula a identificação de uma chave no escopo da rota e das credenciais da requisição.
+         *
+         * @param method         o método HTTP
+         * @param path           a rota da requisição
+         * @param credentials    o escopo das credenciais, como o cabeçalho de autorização, ou {@code null}
+         * @param idempotencyKey a chave enviada pelo cliente
+         * @return a identificação da chave
+         */
+        public static Key of ( String method, String path, String credentials, String idempotencyKey ) {
+            ByteBuffer digest = ByteBuffer.wrap( sha256( ( method + '\n' + path + '\n'
+                    + ( credentials == null ? "" : credentials ) + '\n' + idempotencyKey )
+                    .getBytes( StandardCharsets.UTF_8 ) ) );
+            return new Key( digest.getLong(), digest.getLong() );
+        }
+    }
+
+    private record Entry( long fingerprint, StoredResponse response, long expiresAt ) {
+    }
+
+    private record Flight( long fingerprint, CompletableFuture<StoredResponse> result ) {
+    }
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long waitMillis;
+    private final int maxEntries;
+    private final MeterRegistry meterRegistry;
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>();
+    private final Map<Key, Flight> flights = new HashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Constrói o repositório de respostas idempotentes.
+     *
+     * @param enabled       indica se o cabeçalho {@code Idempotency-Key} deve ser respeitado
+     * @param ttlMillis     o tempo durante o qual uma resposta é devolvida às repetições
+     * @param waitMillis    o tempo máximo de espera por uma execução em andamento com a mesma chave
+     * @param maxEntries    a quantidade máxima de respostas guardadas
+     * @param meterRegistry o registro onde as métricas são publicadas
+     */
+    @Autowired
+    public IdempotencyStore ( @Value( "${cars.idempotency.enabled:true}" ) boolean enabled,
+                              @Value( "${cars.idempotency.ttl-ms:86400000}" ) long ttlMillis,
+                              @Value( "${cars.idempotency.wait-ms:30000}" ) long waitMillis,
+                              @Value( "${cars.idempotency.max-entries:100000}" ) int maxEntries,
+                              MeterRegistry meterRegistry ) {
+        this.enabled = enabled;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos( ttlMillis );
+        this.waitMillis = waitMillis;
+        this.maxEntries = maxEntries;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registra o indicador das respostas guardadas depois que o repositório foi construído.
+     */
+    @PostConstruct
+    public void registerMetrics () {
+        Gauge.builder( ENTRIES_METRIC, this, IdempotencyStore::size ).register( meterRegistry );
+    }
+
+    public boolean isEnabled () {
+        return enabled;
+    }
+
+    /**
+     * Decide o que fazer com uma requisição, aguardando a execução em andamento com a mesma chave, se houver.
+     * <p>
+     * Quando a decisão é {@link Outcome#EXECUTE}, o chamador deve obrigatoriamente chamar {@link #complete} ou
+     * {@link #abandon} ao terminar a execução.
+     * </p>
+     *
+     * @param key         a identificação da chave
+     * @param fingerprint o resumo do corpo da requisição
+     * @return a decisão sobre a requisição
+     * @throws InterruptedException se a thread for interrompida durante a espera
+     */
+    public Decision begin ( Key key, long fingerprint ) throws InterruptedException {
+        boolean merged = false;
+        while ( true ) {
+            Flight flight;
+            synchronized ( this ) {
+                Entry entry = entries.get( key );
+                if ( entry != null && entry.expiresAt - System.nanoTime() < 0 ) {
+                    entries.remove( key );
+                    entry = null;
+                }
+                if ( entry != null ) {
+                    if ( entry.fingerprint != fingerprint ) {
+                        return decide( Outcome.CONFLICT, null, "conflict" );
+                    }
+                    return decide( Outcome.REPLAY, entry.response, merged ? "merged" : "replayed" );
+                }
+                flight = flights.get( key );
+                if ( flight == null ) {
+                    flights.put( key, new Flight( fingerprint, new CompletableFuture<>() ) );
+                    return decide( Outcome.EXECUTE, null, "executed" );
+                }
+            }
+            if ( flight.fingerprint != fingerprint ) {
+                return decide( Outcome.CONFLICT, null, "conflict" );
+            }
+            try {
+                // Uma execução que falhou não deixa resposta: a espera termina e a requisição tenta novamente
+                flight.result.get( waitMillis, TimeUnit.MILLISECONDS );
+                merged = true;
+            } catch ( TimeoutException exception ) {
+                return decide( Outcome.IN_PROGRESS, null, "in_progress" );
+            } catch ( ExecutionException exception ) {
+                throw new IllegalStateException( exception );
+            }
+        }
+    }
+
+    /**
+     * Guarda a resposta de uma execução e a entrega às requisições que aguardavam.
+     *
+     * @param key      a identificação da chave
+     * @param response a resposta a ser guardada
+     */
+    public void complete ( Key key, StoredResponse response ) {
+        Flight flight;
+        synchronized ( this ) {
+            flight = flights.remove( key );
+            if ( flight == null ) {
+                return;
+            }
+            entries.put( key, new Entry( flight.fingerprint, response, System.nanoTime() + ttlNanos ) );
+            Iterator<Entry> oldest = entries.values().iterator();
+            while ( entries.size() > maxEntries && oldest.hasNext() ) {
+                oldest.next();
+                oldest.remove();
+            }
+        }
+        flight.result.complete( response );
+    }
+
+    /**
+     * Libera a chave de uma execução que não terminou com sucesso, sem guardar a resposta.
+     *
+     * @param key a identificação da chave
+     */
+    public void abandon ( Key key ) {
+        Flight flight;
+        synchronized ( this ) {
+            flight = flights.remove( key );
+        }
+        if ( flight != null ) {
+            flight.result.complete( null );
+        }
+    }
+
+    /**
+     * Remove periodicamente as respostas expiradas.
+     */
+    @Scheduled( fixedDelayString = "${cars.idempotency.purge-interval-ms:60000}" )
+    public synchronized void purge () {
+        long now = System.nanoTime();
+        // As respostas são mantidas na ordem de inserção, com o mesmo tempo de vida
+        Iterator<Entry> oldest = entries.values().iterator();
+        while ( oldest.hasNext() && oldest.next().expiresAt - now < 0 ) {
+            oldest.remove();
+        }
+    }
+
+    public synchronized int size () {
+        return entries.size();
+    }
+
+    /**
+     * Calcula o resumo de 64 bits do corpo de uma requisição.
+     *
+     * @param body o corpo da requisição
+     * @return o resumo do corpo
+     */
+    public static long fingerprint ( byte[] body ) {
+        return ByteBuffer.wrap( sha256( body ) ).getLong();
+    }
+
+    private Decision decide ( Outcome outcome, StoredResponse response, String metric ) {
+        counters.computeIfAbsent( metric, name -> Counter.builder( REQUESTS_METRIC )
+                .tag( "outcome", name )
+                .register( meterRegistry ) ).increment();
+        return new Decision( outcome, response );
+    }
+
+    private static byte[] sha256 ( byte[] data ) {
+        try {
+            return MessageDigest.getInstance( "SHA-256" ).digest( data );
+        } catch ( NoSuchAlgorithmException exception ) {
+            throw new IllegalStateException( exception );
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.service.idempotency;
+
+/**
+ * Resposta guardada de uma requisição com {@code Idempotency-Key}, devolvida sem alterações às repetições.
+ *
+ * @param status      o status HTTP da resposta
+ * @param contentType o tipo do conteúdo, ou {@code null} se a resposta não informou
+ * @param body        o corpo da resposta
+ */
+public record StoredResponse( int status, String contentType, byte[] body ) {
+}
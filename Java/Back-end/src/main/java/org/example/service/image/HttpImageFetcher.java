@@ -0,0 +1,129 @@
+package org.example.service.image;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Busca as imagens dos carros nos servidores externos por HTTP.
+ * <p>
+ * Apenas URLs {@code http} e {@code https} são aceitas, e o servidor de destino não pode resolver para um endereço
+ * local, privado, de enlace local (como {@code 169.254.169.254}) ou de multicast, evitando que a aplicação seja
+ * usada para acessar a rede interna. Os redirecionamentos são seguidos manualmente, até {@value #MAX_REDIRECTS},
+ * e cada destino passa pela mesma verificação.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty( name = "cars.images.fetcher", havingValue = "http", matchIfMissing = true )
+public class HttpImageFetcher implements ImageFetcher {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds( 10 );
+    private static final int MAX_REDIRECTS = 5;
+    private static final Set<String> SCHEMES = Set.of( "http", "https" );
+    private static final Set<Integer> REDIRECTS = Set.of( 301, 302, 303, 307, 308 );
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout( TIMEOUT )
+            .followRedirects( HttpClient.Redirect.NEVER )
+            .build();
+
+    @Override
+    public byte[] fetch ( String url, long maxBytes ) throws IOException {
+        URI target = checkedUri( url );
+        for ( int redirects = 0; ; redirects++ ) {
+            HttpResponse<InputStream> response = send( target );
+            try ( InputStream body = response.body() ) {
+                if ( REDIRECTS.contains( response.statusCode() ) ) {
+                    String location = response.headers().firstValue( HttpHeaders.LOCATION )
+                            .orElseThrow( () -> new IOException( "REDIRECT WITHOUT LOCATION FOR " + url ) );
+                    if ( redirects >= MAX_REDIRECTS ) {
+                        throw new IOException( "TOO MANY REDIRECTS FOR " + url );
+                    }
+                    target = checkedUri( resolve( target, location ) );
+                    continue;
+                }
+                if ( response.statusCode() != 200 ) {
+                    throw new IOException( "UNEXPECTED STATUS " + response.statusCode() + " FOR " + url );
+                }
+                byte[] content = body.readNBytes( ( int ) Math.min( Integer.MAX_VALUE - 8, maxBytes + 1 ) );
+                if ( content.length > maxBytes ) {
+                    throw new IOException( "IMAGE BIGGER THAN " + maxBytes + " BYTES: " + url );
+                }
+                return content;
+            }
+        }
+    }
+
+    /**
+     * Converte a URL de uma imagem, aceitando apenas destinos externos acessíveis por HTTP ou HTTPS.
+     *
+     * @param url a URL da imagem
+     * @return a URL convertida
+     * @throws IOException se a URL for inválida, usar outro protocolo ou apontar para um endereço interno
+     */
+    public static URI checkedUri ( String url ) throws IOException {
+        URI uri;
+        try {
+            uri = new URI( url );
+        } catch ( URISyntaxException exception ) {
+            throw new IOException( "INVALID IMAGE URL: " + url, exception );
+        }
+        if ( uri.getScheme() == null || ! SCHEMES.contains( uri.getScheme().toLowerCase( Locale.ROOT ) ) ) {
+            throw new IOException( "UNSUPPORTED IMAGE URL SCHEME: " + url );
+        }
+        if ( uri.getHost() == null ) {
+            throw new IOException( "IMAGE URL WITHOUT HOST: " + url );
+        }
+        for ( InetAddress address : InetAddress.getAllByName( uri.getHost() ) ) {
+            if ( isInternal( address ) ) {
+                throw new IOException( "IMAGE URL POINTS TO AN INTERNAL ADDRESS: " + url );
+            }
+        }
+        return uri;
+    }
+
+    private static boolean isInternal ( InetAddress address ) {
+        if ( address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress() ) {
+            return true;
+        }
+        // Endereços IPv6 únicos locais (fc00::/7), o equivalente às faixas privadas do IPv4
+        return address instanceof Inet6Address && ( address.getAddress()[ 0 ] & 0xFE ) == 0xFC;
+    }
+
+    private static String resolve ( URI base, String location ) throws IOException {
+        try {
+            return base.resolve( new URI( location ) ).toString();
+        } catch ( URISyntaxException | IllegalArgumentException exception ) {
+            throw new IOException( "INVALID REDIRECT LOCATION: " + location, exception );
+        }
+    }
+
+    private HttpResponse<InputStream> send ( URI target ) throws IOException {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder( target ).timeout( TIMEOUT ).GET().build();
+        } catch ( IllegalArgumentException exception ) {
+            throw new IOException( "INVALID IMAGE URL: " + target, exception );
+        }
+        try {
+            return client.send( request, HttpResponse.BodyHandlers.ofInputStream() );
+        } catch ( InterruptedException exception ) {
+            Thread.currentThread().interrupt();
+            throw new IOException( "INTERRUPTED WHILE FETCHING " + target, exception );
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.service.image;
+
+import java.io.IOException;
+
+/**
+ * Origem das imagens referenciadas por {@link org.example.model.Cars#getImageUrl()}.
+ * <p>
+ * A implementação padrão busca as imagens por HTTP; uma implementação local pode substituí-la em desenvolvimento
+ * e testes, evitando o acesso aos servidores externos.
+ * </p>
+ */
+public interface ImageFetcher {
+
+    /**
+     * Obtém o conteúdo da imagem identificada pela URL.
+     *
+     * @param url      a URL da imagem
+     * @param maxBytes o tamanho máximo aceito, em bytes
+     * @return o conteúdo da imagem
+     * @throws IOException se a imagem não puder ser obtida ou ultrapassar o tamanho máximo
+     */
+    byte[] fetch ( String url, long maxBytes ) throws IOException;
+}
@@ -0,0 +1,144 @@
+package org.example.service.image;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escreve imagens armazenadas localmente na resposta HTTP sem copiá-las para a memória da aplicação.
+ * <p>
+ * Quando o conector do Tomcat oferece suporte a {@code sendfile}, a transferência é delegada a ele, que envia o
+ * arquivo diretamente do cache de páginas do sistema operacional para o socket. Caso contrário, o conteúdo é
+ * transferido com {@link FileChannel#transferTo(long, long, WritableByteChannel)}. Requisições com um único
+ * intervalo no cabeçalho {@code Range} recebem a resposta parcial correspondente, e o hash do conteúdo é usado como
+ * {@code ETag} para permitir revalidações com {@code 304 Not Modified}.
+ * </p>
+ */
+@Component
+public class ImageResponseWriter {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Cabeçalho de cache para imagens definitivas: podem ser reutilizadas por um dia e revalidadas pelo ETag. As
+     * rotas de imagens exigem autenticação, por isso apenas o cache do próprio cliente pode guardá-las.
+     */
+    public static final String LONG_CACHE = "private, max-age=86400, stale-while-revalidate=604800";
+
+    /**
+     * Cabeçalho de cache para respostas provisórias, como a imagem original servida no lugar de uma miniatura.
+     */
+    public static final String NO_CACHE = "no-cache";
+
+    /**
+     * Escreve a imagem na resposta, respeitando os cabeçalhos {@code If-None-Match} e {@code Range}.
+     *
+     * @param image        a imagem a ser enviada
+     * @param cacheControl o valor do cabeçalho {@code Cache-Control}
+     * @param request      a requisição HTTP
+     * @param response     a resposta HTTP
+     * @throws IOException se o arquivo não puder ser lido ou a resposta não puder ser escrita
+     */
+    public void write ( StoredImage image, String cacheControl, HttpServletRequest request,
+                        HttpServletResponse response ) throws IOException {
+        String etag = "\"" + image.hash() + "-" + image.variant() + "\"";
+        response.setHeader( HttpHeaders.ETAG, etag );
+        response.setHeader( HttpHeaders.CACHE_CONTROL, cacheControl );
+        response.setHeader( HttpHeaders.ACCEPT_RANGES, "bytes" );
+
+        if ( etag.equals( request.getHeader( HttpHeaders.IF_NONE_MATCH ) ) ) {
+            response.setStatus( HttpServletResponse.SC_NOT_MODIFIED );
+            return;
+        }
+
+        long length = image.length();
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader( HttpHeaders.RANGE );
+        if ( range != null && range.startsWith( "bytes=" ) && range.indexOf( ',' ) < 0 ) {
+            long[] bounds = parseRange( range.substring( "bytes=".length() ).trim(), length );
+            if ( bounds == null ) {
+                response.setStatus( HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE );
+                response.setHeader( HttpHeaders.CONTENT_RANGE, "bytes */" + length );
+                return;
+            }
+            start = bounds[ 0 ];
+            end = bounds[ 1 ];
+            response.setStatus( HttpServletResponse.SC_PARTIAL_CONTENT );
+            response.setHeader( HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length );
+        } else {
+            response.setStatus( HttpServletResponse.SC_OK );
+        }
+
+        long count = end - start + 1;
+        response.setContentType( image.contentType() );
+        response.setContentLengthLong( count );
+        if ( "HEAD".equals( request.getMethod() ) || count <= 0 ) {
+            return;
+        }
+
+        if ( Boolean.TRUE.equals( request.getAttribute( SENDFILE_SUPPORT ) ) ) {
+            request.setAttribute( SENDFILE_FILENAME, image.path().toAbsolutePath().toString() );
+            request.setAttribute( SENDFILE_START, start );
+            request.setAttribute( SENDFILE_END, end + 1 );
+            return;
+        }
+
+        try ( FileChannel channel = FileChannel.open( image.path(), StandardOpenOption.READ ) ) {
+            WritableByteChannel target = Channels.newChannel( response.getOutputStream() );
+            long position = start;
+            long remaining = count;
+            while ( remaining > 0 ) {
+                long transferred = channel.transferTo( position, remaining, target );
+                if ( transferred <= 0 ) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    /**
+     * Interpreta um intervalo de bytes no formato {@code inicio-fim}, {@code inicio-} ou {@code -sufixo}.
+     *
+     * @return os limites inclusivos do intervalo, ou {@code null} se o intervalo não puder ser atendido
+     */
+    private static long[] parseRange ( String spec, long length ) {
+        int dash = spec.indexOf( '-' );
+        if ( dash < 0 || length == 0 ) {
+            return null;
+        }
+        try {
+            String first = spec.substring( 0, dash ).trim();
+            String last = spec.substring( dash + 1 ).trim();
+            long start;
+            long end = length - 1;
+            if ( first.isEmpty() ) {
+                long suffix = Long.parseLong( last );
+                if ( suffix <= 0 ) {
+                    return null;
+                }
+                start = Math.max( 0, length - suffix );
+            } else {
+                start = Long.parseLong( first );
+                if ( ! last.isEmpty() ) {
+                    end = Math.min( Long.parseLong( last ), length - 1 );
+                }
+            }
+            return start < length && start <= end ? new long[]{ start, end } : null;
+        } catch ( NumberFormatException exception ) {
+            return null;
+        }
+    }
+}
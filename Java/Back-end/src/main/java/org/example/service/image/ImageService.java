@@ -0,0 +1,209 @@
+package org.example.service.image;
+
+import jakarta.annotation.PreDestroy;
+import org.example.exceptions.ImageUnavailableException;
+import org.example.exceptions.InvalidFieldException;
+import org.example.exceptions.ResourceNotFoundException;
+import org.example.model.Cars;
+import org.example.service.CarsService;
+import org.example.utils.Errors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serviço responsável por disponibilizar localmente as imagens dos carros e suas miniaturas.
+ * <p>
+ * Na primeira solicitação a imagem indicada em {@code imageUrl} é buscada pelo {@link ImageFetcher} e gravada no
+ * {@link ImageStore}; solicitações simultâneas para a mesma URL aguardam a mesma busca. A geração das miniaturas é
+ * feita por um conjunto limitado de threads, fora do caminho da requisição: enquanto uma miniatura não está pronta,
+ * a imagem original é servida no seu lugar. Imagens com mais de {@code cars.images.max-pixels} pixels não recebem
+ * miniaturas, e as falhas na geração são registradas no log.
+ * </p>
+ */
+@Service
+public class ImageService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( ImageService.class );
+
+    private final CarsService carsService;
+    private final ImageFetcher imageFetcher;
+    private final ImageStore imageStore;
+    private final Set<Integer> thumbnailWidths;
+    private final long maxBytes;
+    private final long maxPixels;
+
+    private final ConcurrentHashMap<String, CompletableFuture<StoredImage>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> pendingThumbnails = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor thumbnailWorkers;
+
+    /**
+     * Constrói o serviço de imagens.
+     *
+     * @param carsService     o serviço usado para localizar a URL da imagem de cada carro
+     * @param imageFetcher    a origem das imagens
+     * @param imageStore      o armazenamento local das imagens
+     * @param thumbnailWidths as larguras de miniatura disponíveis
+     * @param maxBytes        o tamanho máximo aceito para uma imagem original
+     * @param maxPixels       a maior quantidade de pixels de uma imagem original decodificada para gerar miniaturas
+     * @param workers         a quantidade de threads que geram miniaturas
+     * @param queueSize       a quantidade máxima de miniaturas aguardando geração
+     */
+    @Autowired
+    public ImageService ( CarsService carsService, ImageFetcher imageFetcher, ImageStore imageStore,
+                          @Value( "${cars.images.thumbnail-widths:160,320,640}" ) int[] thumbnailWidths,
+                          @Value( "${cars.images.max-bytes:10485760}" ) long maxBytes,
+                          @Value( "${cars.images.max-pixels:40000000}" ) long maxPixels,
+                          @Value( "${cars.images.workers:2}" ) int workers,
+                          @Value( "${cars.images.queue-size:64}" ) int queueSize ) {
+        this.carsService = carsService;
+        this.imageFetcher = imageFetcher;
+        this.imageStore = imageStore;
+        this.thumbnailWidths = Set.copyOf( Arrays.stream( thumbnailWidths ).boxed().toList() );
+        this.maxBytes = maxBytes;
+        this.maxPixels = maxPixels;
+        this.thumbnailWorkers = new ThreadPoolExecutor( workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>( queueSize ), new ThreadPoolExecutor.AbortPolicy() );
+    }
+
+    /**
+     * Recupera a imagem original de um carro, buscando-a na origem se ainda não estiver armazenada.
+     *
+     * @param carId o ID do carro
+     * @return a imagem armazenada localmente
+     * @throws ResourceNotFoundException se o carro não existir ou não possuir imagem
+     * @throws ImageUnavailableException se a imagem não puder ser obtida da origem
+     */
+    public StoredImage original ( String carId ) {
+        Cars car = carsService.getById( carId )
+                .orElseThrow( () -> new ResourceNotFoundException( Errors.RESOURCE_NOT_FOUND_ERROR + carId ) );
+        if ( car.getImageUrl() == null || car.getImageUrl().isBlank() ) {
+            throw new ResourceNotFoundException( Errors.RESOURCE_NOT_FOUND_ERROR + carId );
+        }
+        try {
+            Optional<StoredImage> stored = imageStore.findByUrl( car.getImageUrl() );
+            return stored.isPresent() ? stored.get() : fetchOnce( car.getImageUrl() );
+        } catch ( IOException exception ) {
+            throw new ImageUnavailableException( Errors.IMAGE_UNAVAILABLE_ERROR + carId, exception );
+        }
+    }
+
+    /**
+     * Recupera a miniatura de um carro na largura fornecida.
+     * <p>
+     * Se a miniatura ainda não foi gerada, sua geração é agendada e a imagem original é retornada.
+     * </p>
+     *
+     * @param carId o ID do carro
+     * @param width a largura desejada, que deve estar entre as larguras configuradas
+     * @return a miniatura, ou a imagem original enquanto a miniatura não estiver pronta
+     * @throws InvalidFieldException     se a largura não estiver entre as larguras disponíveis
+     * @throws ResourceNotFoundException se o carro não existir ou não possuir imagem
+     * @throws ImageUnavailableException se a imagem não puder ser obtida da origem
+     */
+    public StoredImage thumbnail ( String carId, int width ) {
+        if ( ! thumbnailWidths.contains( width ) ) {
+            throw new InvalidFieldException( Errors.FIELD_ERROR + width );
+        }
+        StoredImage original = original( carId );
+        try {
+            Optional<StoredImage> thumbnail = imageStore.findThumbnail( original.hash(), width );
+            if ( thumbnail.isPresent() ) {
+                return thumbnail.get();
+            }
+        } catch ( IOException exception ) {
+            throw new ImageUnavailableException( Errors.IMAGE_UNAVAILABLE_ERROR + carId, exception );
+        }
+        scheduleThumbnail( original, width );
+        return original;
+    }
+
+    /**
+     * Encerra as threads de geração de miniaturas.
+     */
+    @PreDestroy
+    public void shutdown () {
+        thumbnailWorkers.shutdownNow();
+    }
+
+    private StoredImage fetchOnce ( String url ) throws IOException {
+        CompletableFuture<StoredImage> created = new CompletableFuture<>();
+        CompletableFuture<StoredImage> existing = inFlight.putIfAbsent( url, created );
+        if ( existing != null ) {
+            return await( existing );
+        }
+        try {
+            StoredImage stored = imageStore.storeOriginal( url, imageFetcher.fetch( url, maxBytes ) );
+            created.complete( stored );
+            for ( int width : thumbnailWidths ) {
+                scheduleThumbnail( stored, width );
+            }
+            return stored;
+        } catch ( IOException | RuntimeException exception ) {
+            created.completeExceptionally( exception );
+            throw exception;
+        } finally {
+            inFlight.remove( url, created );
+        }
+    }
+
+    private static StoredImage await ( CompletableFuture<StoredImage> future ) throws IOException {
+        try {
+            return future.get();
+        } catch ( InterruptedException exception ) {
+            Thread.currentThread().interrupt();
+            throw new IOException( exception );
+        } catch ( ExecutionException exception ) {
+            if ( exception.getCause() instanceof IOException io ) {
+                throw io;
+            }
+            throw new IOException( exception.getCause() );
+        }
+    }
+
+    private void scheduleThumbnail ( StoredImage original, int width ) {
+        String key = original.hash() + ":" + width;
+        if ( ! pendingThumbnails.add( key ) ) {
+            return;
+        }
+        try {
+            thumbnailWorkers.execute( () -> {
+                try {
+                    generateThumbnail( original, width );
+                } finally {
+                    pendingThumbnails.remove( key );
+                }
+            } );
+        } catch ( RejectedExecutionException exception ) {
+            // Fila cheia: a miniatura será agendada novamente na próxima solicitação
+            pendingThumbnails.remove( key );
+        }
+    }
+
+    private void generateThumbnail ( StoredImage original, int width ) {
+        try {
+            if ( imageStore.findThumbnail( original.hash(), width ).isPresent() ) {
+                return;
+            }
+            imageStore.storeThumbnail( original.hash(), width,
+                    ThumbnailRenderer.render( original.path(), width, maxPixels ) );
+        } catch ( IOException | RuntimeException exception ) {
+            // Miniaturas são opcionais: a imagem original continua sendo servida
+            LOGGER.warn( "Could not generate the {} px thumbnail of image {}", width, original.hash(), exception );
+        }
+    }
+}
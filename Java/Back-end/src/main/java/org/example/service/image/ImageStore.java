@@ -0,0 +1,157 @@
+package org.example.service.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Armazenamento das imagens dos carros no disco local, endereçado pelo conteúdo.
+ * <p>
+ * Cada imagem original é gravada em {@code originals/<aa>/<hash>}, onde {@code hash} é o SHA-256 do conteúdo e
+ * {@code aa} seus dois primeiros caracteres, e suas miniaturas em {@code thumbnails/<largura>/<aa>/<hash>.jpg}.
+ * A associação entre a URL de origem e o conteúdo fica em {@code urls/<sha256 da URL>}, de modo que cada URL é
+ * buscada uma única vez, mesmo entre reinicializações. Todas as gravações usam um arquivo temporário seguido de
+ * uma movimentação atômica, e arquivos já existentes nunca são reescritos.
+ * </p>
+ */
+@Component
+public class ImageStore {
+
+    static final String THUMBNAIL_CONTENT_TYPE = "image/jpeg";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final Path originals;
+    private final Path thumbnails;
+    private final Path urls;
+    private final Path temporary;
+
+    public ImageStore ( @Value( "${cars.images.directory:${java.io.tmpdir}/cars-images}" ) String directory )
+            throws IOException {
+        Path root = Path.of( directory );
+        this.originals = Files.createDirectories( root.resolve( "originals" ) );
+        this.thumbnails = Files.createDirectories( root.resolve( "thumbnails" ) );
+        this.urls = Files.createDirectories( root.resolve( "urls" ) );
+        this.temporary = Files.createDirectories( root.resolve( "tmp" ) );
+    }
+
+    /**
+     * Procura a imagem original já armazenada para a URL fornecida.
+     *
+     * @param url a URL de origem da imagem
+     * @return a imagem armazenada, ou vazio se a URL ainda não foi buscada
+     * @throws IOException se o armazenamento não puder ser lido
+     */
+    public Optional<StoredImage> findByUrl ( String url ) throws IOException {
+        Path mapping = urls.resolve( sha256( url.getBytes( StandardCharsets.UTF_8 ) ) );
+        if ( ! Files.exists( mapping ) ) {
+            return Optional.empty();
+        }
+        List<String> lines = Files.readAllLines( mapping, StandardCharsets.UTF_8 );
+        Path original = shard( originals, lines.get( 0 ), "" );
+        if ( ! Files.exists( original ) ) {
+            return Optional.empty();
+        }
+        return Optional.of( new StoredImage( original, lines.get( 0 ), StoredImage.ORIGINAL, lines.get( 1 ),
+                Files.size( original ) ) );
+    }
+
+    /**
+     * Armazena o conteúdo original de uma imagem e o associa à URL de origem.
+     *
+     * @param url     a URL de origem da imagem
+     * @param content o conteúdo da imagem
+     * @return a imagem armazenada
+     * @throws IOException se a imagem não puder ser gravada
+     */
+    public StoredImage storeOriginal ( String url, byte[] content ) throws IOException {
+        String hash = sha256( content );
+        String contentType = URLConnection.guessContentTypeFromStream( new ByteArrayInputStream( content ) );
+        if ( contentType == null ) {
+            contentType = DEFAULT_CONTENT_TYPE;
+        }
+        Path original = shard( originals, hash, "" );
+        writeOnce( original, content );
+        writeOnce( urls.resolve( sha256( url.getBytes( StandardCharsets.UTF_8 ) ) ),
+                ( hash + "\n" + contentType + "\n" ).getBytes( StandardCharsets.UTF_8 ) );
+        return new StoredImage( original, hash, StoredImage.ORIGINAL, contentType, content.length );
+    }
+
+    /**
+     * Procura uma miniatura já gerada.
+     *
+     * @param hash  o hash da imagem original
+     * @param width a largura da miniatura
+     * @return a miniatura armazenada, ou vazio se ainda não foi gerada
+     * @throws IOException se o armazenamento não puder ser lido
+     */
+    public Optional<StoredImage> findThumbnail ( String hash, int width ) throws IOException {
+        Path thumbnail = thumbnailPath( hash, width );
+        if ( ! Files.exists( thumbnail ) ) {
+            return Optional.empty();
+        }
+        return Optional.of( new StoredImage( thumbnail, hash, Integer.toString( width ), THUMBNAIL_CONTENT_TYPE,
+                Files.size( thumbnail ) ) );
+    }
+
+    /**
+     * Armazena a miniatura gerada a partir de uma imagem original.
+     *
+     * @param hash    o hash da imagem original
+     * @param width   a largura da miniatura
+     * @param content o conteúdo da miniatura em JPEG
+     * @throws IOException se a miniatura não puder ser gravada
+     */
+    public void storeThumbnail ( String hash, int width, byte[] content ) throws IOException {
+        writeOnce( thumbnailPath( hash, width ), content );
+    }
+
+    private Path thumbnailPath ( String hash, int width ) {
+        return shard( thumbnails.resolve( Integer.toString( width ) ), hash, ".jpg" );
+    }
+
+    private static Path shard ( Path base, String hash, String extension ) {
+        return base.resolve( hash.substring( 0, 2 ) ).resolve( hash + extension );
+    }
+
+    private void writeOnce ( Path target, byte[] content ) throws IOException {
+        if ( Files.exists( target ) ) {
+            return;
+        }
+        Files.createDirectories( target.getParent() );
+        Path staging = Files.createTempFile( temporary, "image", ".tmp" );
+        try {
+            Files.write( staging, content );
+            try {
+                Files.move( staging, target, StandardCopyOption.ATOMIC_MOVE );
+            } catch ( AtomicMoveNotSupportedException exception ) {
+                Files.move( staging, target );
+            }
+        } catch ( FileAlreadyExistsException exception ) {
+            // Outra thread gravou o mesmo conteúdo primeiro
+        } finally {
+            Files.deleteIfExists( staging );
+        }
+    }
+
+    private static String sha256 ( byte[] content ) {
+        try {
+            return HexFormat.of().formatHex( MessageDigest.getInstance( "SHA-256" ).digest( content ) );
+        } catch ( NoSuchAlgorithmException exception ) {
+            throw new IllegalStateException( exception );
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.service.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Substituto local do {@link HttpImageFetcher} que lê as imagens de um diretório.
+ * <p>
+ * O arquivo é localizado pelo último segmento do caminho da URL, permitindo executar a aplicação sem acesso aos
+ * servidores externos de imagens.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty( name = "cars.images.fetcher", havingValue = "local" )
+public class LocalImageFetcher implements ImageFetcher {
+
+    private final Path sourceDirectory;
+
+    public LocalImageFetcher ( @Value( "${cars.images.local-source:images}" ) String sourceDirectory ) {
+        this.sourceDirectory = Path.of( sourceDirectory );
+    }
+
+    @Override
+    public byte[] fetch ( String url, long maxBytes ) throws IOException {
+        String path;
+        try {
+            path = new URI( url ).getPath();
+        } catch ( URISyntaxException exception ) {
+            throw new IOException( "INVALID IMAGE URL: " + url, exception );
+        }
+        String fileName = path == null ? url : path.substring( path.lastIndexOf( '/' ) + 1 );
+        Path file = sourceDirectory.resolve( fileName ).normalize();
+        if ( ! file.startsWith( sourceDirectory ) || ! Files.isRegularFile( file ) ) {
+            throw new IOException( "IMAGE NOT AVAILABLE LOCALLY: " + url );
+        }
+        if ( Files.size( file ) > maxBytes ) {
+            throw new IOException( "IMAGE BIGGER THAN " + maxBytes + " BYTES: " + url );
+        }
+        return Files.readAllBytes( file );
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.service.image;
+
+import java.nio.file.Path;
+
+/**
+ * Imagem armazenada no disco local.
+ *
+ * @param path        o arquivo com o conteúdo da imagem
+ * @param hash        o hash SHA-256 do conteúdo original, usado como endereço e como ETag
+ * @param variant     {@value #ORIGINAL} para a imagem original, ou a largura da miniatura
+ * @param contentType o tipo de mídia da imagem
+ * @param length      o tamanho do arquivo, em bytes
+ */
+public record StoredImage( Path path, String hash, String variant, String contentType, long length ) {
+
+    public static final String ORIGINAL = "original";
+
+    /**
+     * Indica se esta é a imagem original, e não uma miniatura.
+     *
+     * @return {@code true} para a imagem original
+     */
+    public boolean isOriginal () {
+        return ORIGINAL.equals( variant );
+    }
+}
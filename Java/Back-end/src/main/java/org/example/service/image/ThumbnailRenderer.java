@@ -0,0 +1,80 @@
+package org.example.service.image;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Gera as miniaturas JPEG das imagens dos carros.
+ * <p>
+ * As dimensões são lidas do cabeçalho da imagem antes da decodificação, e imagens com mais de {@code maxPixels}
+ * pixels são recusadas: o tamanho do arquivo limita apenas o conteúdo comprimido, e uma imagem pequena em bytes
+ * pode ocupar gigabytes de memória depois de decodificada.
+ * </p>
+ */
+public final class ThumbnailRenderer {
+
+    private ThumbnailRenderer () {
+    }
+
+    /**
+     * Gera a miniatura de uma imagem, sem ampliá-la além da largura original.
+     *
+     * @param source    o arquivo da imagem original
+     * @param width     a largura desejada
+     * @param maxPixels a maior quantidade de pixels aceita na imagem original
+     * @return o conteúdo JPEG da miniatura
+     * @throws IOException se a imagem não puder ser lida, não tiver um formato conhecido ou for grande demais
+     */
+    public static byte[] render ( Path source, int width, long maxPixels ) throws IOException {
+        BufferedImage image = read( source, maxPixels );
+        int targetWidth = Math.min( width, image.getWidth() );
+        int targetHeight = Math.max( 1, ( int ) Math.round(
+                image.getHeight() * ( targetWidth / ( double ) image.getWidth() ) ) );
+        BufferedImage scaled = new BufferedImage( targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB );
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR );
+            graphics.setRenderingHint( RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY );
+            graphics.setColor( Color.WHITE );
+            graphics.fillRect( 0, 0, targetWidth, targetHeight );
+            graphics.drawImage( image, 0, 0, targetWidth, targetHeight, null );
+        } finally {
+            graphics.dispose();
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        if ( ! ImageIO.write( scaled, "jpg", output ) ) {
+            throw new IOException( "NO JPEG WRITER AVAILABLE" );
+        }
+        return output.toByteArray();
+    }
+
+    private static BufferedImage read ( Path source, long maxPixels ) throws IOException {
+        try ( ImageInputStream input = ImageIO.createImageInputStream( source.toFile() ) ) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders( input ) : null;
+            if ( readers == null || ! readers.hasNext() ) {
+                throw new IOException( "UNKNOWN IMAGE FORMAT: " + source );
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput( input, true, true );
+                long pixels = ( long ) reader.getWidth( 0 ) * reader.getHeight( 0 );
+                if ( pixels > maxPixels ) {
+                    throw new IOException( "IMAGE WITH " + pixels + " PIXELS, THE LIMIT IS " + maxPixels + ": "
+                            + source );
+                }
+                return reader.read( 0 );
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.service.invalidation;
+
+/**
+ * Mensagem trocada entre as instâncias da aplicação para invalidar um carro mantido em memória.
+ * <p>
+ * A mensagem não carrega o carro, apenas o que permite a cada instância decidir se precisa relê-lo: o ID, o tipo de
+ * alteração e a versão gravada. A sequência é crescente por instância de origem, o que permite detectar mensagens
+ * perdidas, e o instante de envio é usado para medir o atraso entre as instâncias.
+ * </p>
+ *
+ * @param origin    o identificador da instância que realizou a escrita
+ * @param sequence  a posição da mensagem entre as enviadas pela origem, começando em 1
+ * @param type      o tipo de alteração, um dos valores de {@link org.example.events.CarsChangedEvent.Type}
+ * @param carId     o ID do carro alterado
+ * @param version   a versão do carro após a escrita, ou {@code null} se desconhecida
+ * @param timestamp o instante do envio, em milissegundos desde a época
+ */
+public record CarsInvalidation( String origin, long sequence, String type, String carId, Long version,
+                                long timestamp ) {
+}
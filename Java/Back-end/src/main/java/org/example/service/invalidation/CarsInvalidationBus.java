@@ -0,0 +1,270 @@
+package org.example.service.invalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.example.events.CarsChangedEvent;
+import org.example.model.Cars;
+import org.example.repository.CarsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Propaga as escritas do catálogo de carros entre as instâncias da aplicação.
+ * <p>
+ * Os catálogos em memória, o agrupador de consultas e o fluxo de alterações acompanham o banco de dados pelos
+ * {@link CarsChangedEvent} publicados pelo {@link org.example.service.CarsService}, que só existem na instância que
+ * fez a escrita. Este barramento envia, após cada escrita local, uma {@link CarsInvalidation} com o ID e a versão
+ * do carro pelo {@link InvalidationTransport} escolhido em {@code cars.invalidation.transport} ({@code loopback},
+ * {@code mongo}, {@code postgres} ou {@code none}, o padrão). Nas demais instâncias, o carro é relido do banco de
+ * dados e um {@link CarsChangedEvent} equivalente é publicado localmente, atualizando as mesmas estruturas.
+ * </p>
+ * <p>
+ * As versões já conhecidas de cada carro evitam releituras de mensagens antigas ou repetidas. Quando a sequência de
+ * uma origem salta, as mensagens perdidas são recuperadas relendo os carros com {@code lastModified} posterior à
+ * última mensagem recebida, descontada a margem para diferenças de relógio; remoções perdidas só são corrigidas
+ * pela reconciliação periódica dos catálogos.
+ * </p>
+ * <p>
+ * O temporizador {@value #LAG_METRIC} mede o atraso entre o envio de uma mensagem e o seu recebimento, calculado
+ * com os relógios das duas instâncias, e o contador {@value #RECEIVED_METRIC} registra cada mensagem recebida
+ * com o desfecho: {@code applied}, {@code skipped} quando a versão já era conhecida, {@code duplicate} e
+ * {@code gap}.
+ * </p>
+ */
+@Component
+public class CarsInvalidationBus {
+
+    public static final String LAG_METRIC = "cars.invalidation.lag";
+    public static final String RECEIVED_METRIC = "cars.invalidation.received";
+    public static final String NONE = "none";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CarsInvalidationBus.class );
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final CarsRepository carsRepository;
+    private final MongoTemplate mongoTemplate;
+    private final InvalidationTransport transport;
+    private final String nodeId;
+    private final long clockSkewMillis;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final InvalidationSequencer sequencer;
+    private final Map<String, Long> knownVersions;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().daemon().name( "cars-invalidation-sender" ).factory() );
+    private final Timer lag;
+
+    /**
+     * Constrói o barramento de invalidações.
+     *
+     * @param transports       os transportes disponíveis
+     * @param eventPublisher   o publicador dos eventos locais de alteração
+     * @param carsRepository   o repositório usado para reler os carros invalidados
+     * @param mongoTemplate    o acesso ao MongoDB usado para recuperar mensagens perdidas
+     * @param transportName    o nome do transporte escolhido, ou {@code none} para não propagar as escritas
+     * @param nodeId           o prefixo do identificador desta instância
+     * @param clockSkewMillis  a margem subtraída do instante da última mensagem ao recuperar mensagens perdidas
+     * @param maxKnownVersions a quantidade máxima de versões de carros guardadas
+     * @param meterRegistry    o registro onde as métricas são publicadas
+     */
+    @Autowired
+    public CarsInvalidationBus ( List<InvalidationTransport> transports, ApplicationEventPublisher eventPublisher,
+                                 CarsRepository carsRepository, MongoTemplate mongoTemplate,
+                                 @Value( "${cars.invalidation.transport:none}" ) String transportName,
+                                 @Value( "${cars.invalidation.node-id:${HOSTNAME:node}}" ) String nodeId,
+                                 @Value( "${cars.invalidation.clock-skew-ms:5000}" ) long clockSkewMillis,
+                                 @Value( "${cars.invalidation.max-known-versions:100000}" ) int maxKnownVersions,
+                                 MeterRegistry meterRegistry ) {
+        this.eventPublisher = eventPublisher;
+        this.carsRepository = carsRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.transport = NONE.equals( transportName ) ? null : transports.stream()
+                .filter( candidate -> candidate.name().equals( transportName ) )
+                .findFirst()
+                .orElseThrow( () -> new IllegalArgumentException( "Unknown invalidation transport: " + transportName ) );
+        // O sufixo aleatório distingue reinicializações da mesma instância, que recomeçam a sequência
+        this.nodeId = nodeId + "-" + UUID.randomUUID().toString().substring( 0, 8 );
+        this.clockSkewMillis = clockSkewMillis;
+        this.meterRegistry = meterRegistry;
+        this.sequencer = new InvalidationSequencer( 1024 );
+        this.knownVersions = new LinkedHashMap<>( 16, 0.75f, true ) {
+            @Override
+            protected boolean removeEldestEntry ( Map.Entry<String, Long> eldest ) {
+                return size() > maxKnownVersions;
+            }
+        };
+        this.lag = Timer.builder( LAG_METRIC )
+                .tag( "transport", transportName )
+                .publishPercentiles( 0.5, 0.99 )
+                .register( meterRegistry );
+    }
+
+    /**
+     * Retorna o identificador desta instância nas mensagens enviadas.
+     *
+     * @return o identificador da instância
+     */
+    public String nodeId () {
+        return nodeId;
+    }
+
+    /**
+     * Começa a receber as invalidações das demais instâncias quando a aplicação termina de iniciar.
+     */
+    @EventListener( ApplicationReadyEvent.class )
+    public void start () {
+        if ( transport != null ) {
+            transport.start( this::receive );
+            LOGGER.info( "Cars invalidation bus started on transport {} as {}", transport.name(), nodeId );
+        }
+    }
+
+    /**
+     * Interrompe o recebimento e o envio das invalidações.
+     */
+    @PreDestroy
+    public void stop () {
+        if ( transport != null ) {
+            transport.stop();
+        }
+        sender.shutdown();
+    }
+
+    /**
+     * Envia às demais instâncias a invalidação correspondente a uma escrita feita nesta instância.
+     * <p>
+     * Os eventos publicados pelo próprio barramento, ao aplicar mensagens recebidas, apenas atualizam as versões
+     * conhecidas e não são reenviados. O envio acontece em uma thread dedicada, fora da requisição que fez a
+     * escrita; uma falha no envio aparece para as outras instâncias como um salto na sequência.
+     * </p>
+     *
+     * @param event o evento descrevendo a alteração
+     */
+    @EventListener
+    public void onCarsChanged ( CarsChangedEvent event ) {
+        Long version = event.getCar() != null ? event.getCar().getVersion()
+                : event.getPrevious() != null ? event.getPrevious().getVersion() : null;
+        remember( event.getType(), event.getCarId(), version );
+        if ( transport == null || event.getSource() == this ) {
+            return;
+        }
+        CarsInvalidation invalidation = new CarsInvalidation( nodeId, sequence.incrementAndGet(),
+                event.getType().name(), event.getCarId(), version, System.currentTimeMillis() );
+        try {
+            sender.execute( () -> {
+                try {
+                    transport.publish( invalidation );
+                } catch ( RuntimeException exception ) {
+                    LOGGER.warn( "Could not publish invalidation {} of car {}", invalidation.sequence(),
+                            invalidation.carId(), exception );
+                }
+            } );
+        } catch ( RejectedExecutionException exception ) {
+            LOGGER.debug( "Invalidation bus stopped, dropping invalidation of car {}", invalidation.carId() );
+        }
+    }
+
+    /**
+     * Aplica uma invalidação recebida pelo transporte.
+     *
+     * @param invalidation a mensagem recebida
+     */
+    public synchronized void receive ( CarsInvalidation invalidation ) {
+        if ( nodeId.equals( invalidation.origin() ) ) {
+            return;
+        }
+        lag.record( Duration.ofMillis( Math.max( 0, System.currentTimeMillis() - invalidation.timestamp() ) ) );
+        InvalidationSequencer.Decision decision = sequencer.accept( invalidation );
+        switch ( decision.outcome() ) {
+            case DUPLICATE -> count( "duplicate" );
+            case GAP -> {
+                count( "gap" );
+                catchUp( decision.catchUpSince() );
+                apply( invalidation );
+            }
+            case APPLY -> apply( invalidation );
+        }
+    }
+
+    private void apply ( CarsInvalidation invalidation ) {
+        CarsChangedEvent.Type type = CarsChangedEvent.Type.valueOf( invalidation.type() );
+        if ( type != CarsChangedEvent.Type.DELETED && ! isNewer( invalidation.carId(), invalidation.version() ) ) {
+            count( "skipped" );
+            return;
+        }
+        Optional<Cars> car = type == CarsChangedEvent.Type.DELETED
+                ? Optional.empty()
+                : carsRepository.findById( invalidation.carId() );
+        // Um carro removido depois da mensagem também é retirado das estruturas locais
+        eventPublisher.publishEvent( new CarsChangedEvent( this, car.isPresent() ? type : CarsChangedEvent.Type.DELETED,
+                invalidation.carId(), car.orElse( null ), null ) );
+        count( "applied" );
+    }
+
+    private void catchUp ( long since ) {
+        List<Cars> changed = mongoTemplate.find( Query.query( Criteria.where( "lastModified" )
+                .gte( Instant.ofEpochMilli( since - clockSkewMillis ) ) ), Cars.class );
+        int refreshed = 0;
+        for ( Cars car : changed ) {
+            if ( isNewer( car.getId(), car.getVersion() ) ) {
+                eventPublisher.publishEvent( new CarsChangedEvent( this, CarsChangedEvent.Type.UPDATED, car.getId(),
+                        car, null ) );
+                refreshed++;
+            }
+        }
+        LOGGER.info( "Invalidation gap detected, refreshed {} of {} cars changed since {}", refreshed, changed.size(),
+                Instant.ofEpochMilli( since ) );
+    }
+
+    private boolean isNewer ( String carId, Long version ) {
+        if ( version == null ) {
+            return true;
+        }
+        synchronized ( knownVersions ) {
+            Long known = knownVersions.get( carId );
+            return known == null || known < version;
+        }
+    }
+
+    private void remember ( CarsChangedEvent.Type type, String carId, Long version ) {
+        synchronized ( knownVersions ) {
+            if ( type == CarsChangedEvent.Type.DELETED || version == null ) {
+                knownVersions.remove( carId );
+            } else {
+                knownVersions.merge( carId, version, Math::max );
+            }
+        }
+    }
+
+    private void count ( String outcome ) {
+        counters.computeIfAbsent( outcome, key -> Counter.builder( RECEIVED_METRIC )
+                .tag( "outcome", key )
+                .register( meterRegistry ) ).increment();
+    }
+}
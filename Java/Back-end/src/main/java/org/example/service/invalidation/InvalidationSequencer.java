@@ -0,0 +1,74 @@
+package org.example.service.invalidation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Acompanha a sequência das invalidações recebidas de cada instância de origem.
+ * <p>
+ * Uma mensagem com sequência igual ou menor que a última recebida da mesma origem é uma duplicata ou chegou fora
+ * de ordem e pode ser ignorada. Uma sequência que pula valores indica mensagens perdidas: a decisão informa então
+ * o instante da última mensagem recebida antes do salto, a partir do qual as alterações devem ser relidas do banco
+ * de dados. A primeira mensagem de uma origem desconhecida é sempre aceita, já que as anteriores a ela foram
+ * cobertas pela carga inicial dos catálogos.
+ * </p>
+ * <p>
+ * Como o identificador de origem muda a cada reinicialização, são guardadas apenas as origens mais recentes.
+ * </p>
+ */
+public final class InvalidationSequencer {
+
+    /**
+     * O que fazer com uma mensagem recebida.
+     */
+    public enum Outcome {
+        APPLY, DUPLICATE, GAP
+    }
+
+    /**
+     * Decisão sobre uma mensagem recebida.
+     *
+     * @param outcome      o que fazer com a mensagem
+     * @param catchUpSince o instante a partir do qual as alterações devem ser relidas, quando houver um salto
+     */
+    public record Decision( Outcome outcome, long catchUpSince ) {
+    }
+
+    private final Map<String, long[]> origins;
+
+    /**
+     * Constrói o acompanhamento de sequências.
+     *
+     * @param maxOrigins a quantidade máxima de origens guardadas
+     */
+    public InvalidationSequencer ( int maxOrigins ) {
+        this.origins = new LinkedHashMap<>( 16, 0.75f, true ) {
+            @Override
+            protected boolean removeEldestEntry ( Map.Entry<String, long[]> eldest ) {
+                return size() > maxOrigins;
+            }
+        };
+    }
+
+    /**
+     * Registra uma mensagem recebida e decide o que fazer com ela.
+     *
+     * @param invalidation a mensagem recebida
+     * @return a decisão sobre a mensagem
+     */
+    public synchronized Decision accept ( CarsInvalidation invalidation ) {
+        long[] last = origins.get( invalidation.origin() );
+        if ( last == null ) {
+            origins.put( invalidation.origin(), new long[]{ invalidation.sequence(), invalidation.timestamp() } );
+            return new Decision( Outcome.APPLY, 0 );
+        }
+        if ( invalidation.sequence() <= last[ 0 ] ) {
+            return new Decision( Outcome.DUPLICATE, 0 );
+        }
+        Outcome outcome = invalidation.sequence() == last[ 0 ] + 1 ? Outcome.APPLY : Outcome.GAP;
+        long since = last[ 1 ];
+        last[ 0 ] = invalidation.sequence();
+        last[ 1 ] = invalidation.timestamp();
+        return new Decision( outcome, outcome == Outcome.GAP ? since : 0 );
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.service.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Meio de transporte das invalidações entre as instâncias da aplicação.
+ * <p>
+ * Cada implementação entrega as mensagens publicadas por qualquer instância a todas as instâncias inscritas,
+ * inclusive à própria origem, que as descarta. A entrega é de melhor esforço: mensagens perdidas durante uma
+ * desconexão são compensadas pelo {@link CarsInvalidationBus}, que detecta o salto na sequência.
+ * </p>
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Retorna o nome usado para selecionar o transporte na propriedade {@code cars.invalidation.transport}.
+     *
+     * @return o nome do transporte
+     */
+    String name ();
+
+    /**
+     * Começa a receber as invalidações publicadas pelas instâncias.
+     *
+     * @param receiver a função chamada para cada mensagem recebida
+     */
+    void start ( Consumer<CarsInvalidation> receiver );
+
+    /**
+     * Publica uma invalidação para todas as instâncias.
+     *
+     * @param invalidation a mensagem a ser publicada
+     */
+    void publish ( CarsInvalidation invalidation );
+
+    /**
+     * Interrompe o recebimento e libera as conexões do transporte.
+     */
+    void stop ();
+}
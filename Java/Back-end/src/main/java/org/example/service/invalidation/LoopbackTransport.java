@@ -0,0 +1,74 @@
+package org.example.service.invalidation;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Transporte de invalidações dentro do próprio processo.
+ * <p>
+ * As instâncias inscritas no mesmo canal recebem as mensagens umas das outras de forma síncrona, na thread que as
+ * publicou. Serve para testes que simulam várias instâncias em uma única JVM e para execuções locais com uma só
+ * instância, onde nenhuma mensagem precisa sair do processo.
+ * </p>
+ */
+@Component
+public class LoopbackTransport implements InvalidationTransport {
+
+    public static final String NAME = "loopback";
+    public static final String DEFAULT_CHANNEL = "default";
+
+    private static final Map<String, Set<LoopbackTransport>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private volatile Consumer<CarsInvalidation> receiver;
+
+    /**
+     * Constrói o transporte no canal padrão.
+     */
+    public LoopbackTransport () {
+        this( DEFAULT_CHANNEL );
+    }
+
+    /**
+     * Constrói o transporte em um canal específico.
+     *
+     * @param channel o canal compartilhado pelas instâncias que trocam mensagens
+     */
+    public LoopbackTransport ( String channel ) {
+        this.channel = channel;
+    }
+
+    @Override
+    public String name () {
+        return NAME;
+    }
+
+    @Override
+    public void start ( Consumer<CarsInvalidation> receiver ) {
+        this.receiver = receiver;
+        CHANNELS.computeIfAbsent( channel, key -> ConcurrentHashMap.newKeySet() ).add( this );
+    }
+
+    @Override
+    public void publish ( CarsInvalidation invalidation ) {
+        for ( LoopbackTransport transport : CHANNELS.getOrDefault( channel, Set.of() ) ) {
+            Consumer<CarsInvalidation> target = transport.receiver;
+            if ( target != null ) {
+                target.accept( invalidation );
+            }
+        }
+    }
+
+    @Override
+    public void stop () {
+        Set<LoopbackTransport> members = CHANNELS.get( channel );
+        if ( members != null ) {
+            members.remove( this );
+        }
+        receiver = null;
+    }
+}
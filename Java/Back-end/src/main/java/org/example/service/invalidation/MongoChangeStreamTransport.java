@@ -0,0 +1,154 @@
+package org.example.service.invalidation;
+
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Transporte de invalidações por <i>change streams</i> do MongoDB.
+ * <p>
+ * Cada mensagem é inserida em uma coleção limitada ({@code capped}) e as instâncias acompanham as inserções
+ * dessa coleção por um <i>change stream</i>, que exige que o MongoDB rode como <i>replica set</i>. Ao reconectar, a
+ * leitura é retomada a partir do último <i>resume token</i> recebido, de modo que uma queda curta da conexão não
+ * perde mensagens enquanto elas ainda estiverem no <i>oplog</i>.
+ * </p>
+ */
+@Component
+public class MongoChangeStreamTransport implements InvalidationTransport {
+
+    public static final String NAME = "mongo";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( MongoChangeStreamTransport.class );
+
+    private final MongoTemplate mongoTemplate;
+    private final String collectionName;
+    private final long collectionBytes;
+    private final long retryMillis;
+
+    private volatile boolean running;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private Thread listener;
+
+    /**
+     * Constrói o transporte por <i>change streams</i>.
+     *
+     * @param mongoTemplate   o acesso ao MongoDB
+     * @param collectionName  o nome da coleção onde as mensagens são inseridas
+     * @param collectionBytes o tamanho máximo da coleção limitada
+     * @param retryMillis     o intervalo entre tentativas de reconexão
+     */
+    @Autowired
+    public MongoChangeStreamTransport ( MongoTemplate mongoTemplate,
+                                        @Value( "${cars.invalidation.mongo.collection:cars_invalidations}" ) String collectionName,
+                                        @Value( "${cars.invalidation.mongo.collection-bytes:16777216}" ) long collectionBytes,
+                                        @Value( "${cars.invalidation.retry-ms:1000}" ) long retryMillis ) {
+        this.mongoTemplate = mongoTemplate;
+        this.collectionName = collectionName;
+        this.collectionBytes = collectionBytes;
+        this.retryMillis = retryMillis;
+    }
+
+    @Override
+    public String name () {
+        return NAME;
+    }
+
+    @Override
+    public synchronized void start ( Consumer<CarsInvalidation> receiver ) {
+        running = true;
+        listener = Thread.ofPlatform().daemon().name( "cars-invalidation-mongo" ).start( () -> listen( receiver ) );
+    }
+
+    @Override
+    public void publish ( CarsInvalidation invalidation ) {
+        mongoTemplate.getCollection( collectionName ).insertOne( new Document()
+                .append( "origin", invalidation.origin() )
+                .append( "sequence", invalidation.sequence() )
+                .append( "type", invalidation.type() )
+                .append( "carId", invalidation.carId() )
+                .append( "version", invalidation.version() )
+                .append( "timestamp", invalidation.timestamp() ) );
+    }
+
+    @Override
+    public synchronized void stop () {
+        running = false;
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> current = cursor;
+        if ( current != null ) {
+            current.close();
+        }
+        if ( listener != null ) {
+            listener.interrupt();
+        }
+    }
+
+    private void listen ( Consumer<CarsInvalidation> receiver ) {
+        BsonDocument resumeToken = null;
+        while ( running ) {
+            try {
+                MongoCollection<Document> collection = collection();
+                var stream = collection.watch( List.of( Aggregates.match( Filters.eq( "operationType", "insert" ) ) ) );
+                if ( resumeToken != null ) {
+                    stream = stream.resumeAfter( resumeToken );
+                }
+                try ( MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened = stream.cursor() ) {
+                    cursor = opened;
+                    while ( running ) {
+                        ChangeStreamDocument<Document> change = opened.next();
+                        resumeToken = change.getResumeToken();
+                        Document document = change.getFullDocument();
+                        if ( document != null ) {
+                            receiver.accept( decode( document ) );
+                        }
+                    }
+                }
+            } catch ( RuntimeException exception ) {
+                if ( ! running ) {
+                    return;
+                }
+                LOGGER.warn( "Invalidation change stream on {} failed, retrying in {} ms", collectionName, retryMillis,
+                        exception );
+                try {
+                    Thread.sleep( retryMillis );
+                } catch ( InterruptedException interrupted ) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private MongoCollection<Document> collection () {
+        if ( ! mongoTemplate.collectionExists( collectionName ) ) {
+            try {
+                mongoTemplate.createCollection( collectionName, CollectionOptions.empty().capped().size( collectionBytes ) );
+            } catch ( DataAccessException exception ) {
+                // Outra instância criou a coleção ao mesmo tempo
+                LOGGER.debug( "Invalidation collection {} already created", collectionName, exception );
+            }
+        }
+        return mongoTemplate.getCollection( collectionName );
+    }
+
+    private static CarsInvalidation decode ( Document document ) {
+        Number version = document.get( "version", Number.class );
+        return new CarsInvalidation( document.getString( "origin" ), document.get( "sequence", Number.class ).longValue(),
+                document.getString( "type" ), document.getString( "carId" ),
+                version == null ? null : version.longValue(), document.get( "timestamp", Number.class ).longValue() );
+    }
+}
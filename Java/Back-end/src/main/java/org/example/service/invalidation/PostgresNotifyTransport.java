@@ -0,0 +1,156 @@
+package org.example.service.invalidation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+/**
+ * Transporte de invalidações pelo {@code LISTEN}/{@code NOTIFY} do PostgreSQL.
+ * <p>
+ * Cada mensagem é enviada em JSON com {@code pg_notify} no canal configurado, e cada instância mantém uma conexão
+ * dedicada escutando esse canal. Essa conexão é aberta diretamente pelo {@link DriverManager}, fora do pool usado
+ * pelo JPA, para não reduzir o pool durante toda a vida da aplicação nem depender da expiração das conexões do
+ * pool para reconectar; ela é fechada em {@link #stop()}. O PostgreSQL não guarda notificações para
+ * conexões ausentes, então as mensagens enviadas durante uma reconexão são recuperadas pela detecção de saltos de
+ * sequência do {@link CarsInvalidationBus}.
+ * </p>
+ */
+@Component
+public class PostgresNotifyTransport implements InvalidationTransport {
+
+    public static final String NAME = "postgres";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( PostgresNotifyTransport.class );
+
+    private final DataSourceProperties dataSourceProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final long retryMillis;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread listener;
+
+    /**
+     * Constrói o transporte por {@code LISTEN}/{@code NOTIFY}.
+     *
+     * @param dataSource           a origem das conexões do pool, usadas no envio das mensagens
+     * @param dataSourceProperties o endereço e as credenciais do PostgreSQL, usados na conexão de escuta
+     * @param objectMapper         o conversor das mensagens para JSON
+     * @param channel              o canal de notificação, que deve ser um identificador válido do PostgreSQL
+     * @param retryMillis          o intervalo entre tentativas de reconexão e entre verificações de novas
+     *                             notificações
+     */
+    @Autowired
+    public PostgresNotifyTransport ( DataSource dataSource, DataSourceProperties dataSourceProperties,
+                                     ObjectMapper objectMapper,
+                                     @Value( "${cars.invalidation.postgres.channel:cars_invalidation}" ) String channel,
+                                     @Value( "${cars.invalidation.retry-ms:1000}" ) long retryMillis ) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = new JdbcTemplate( dataSource );
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+        this.retryMillis = retryMillis;
+    }
+
+    @Override
+    public String name () {
+        return NAME;
+    }
+
+    @Override
+    public synchronized void start ( Consumer<CarsInvalidation> receiver ) {
+        running = true;
+        listener = Thread.ofPlatform().daemon().name( "cars-invalidation-postgres" ).start( () -> listen( receiver ) );
+    }
+
+    @Override
+    public void publish ( CarsInvalidation invalidation ) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString( invalidation );
+        } catch ( JsonProcessingException exception ) {
+            throw new IllegalStateException( exception );
+        }
+        jdbcTemplate.query( "SELECT pg_notify(?, ?)", resultSet -> null, channel, payload );
+    }
+
+    @Override
+    public synchronized void stop () {
+        running = false;
+        if ( listener != null ) {
+            listener.interrupt();
+        }
+        closeConnection();
+    }
+
+    private void listen ( Consumer<CarsInvalidation> receiver ) {
+        while ( running ) {
+            try ( Connection connection = openConnection() ) {
+                try ( Statement statement = connection.createStatement() ) {
+                    statement.execute( "LISTEN " + channel );
+                }
+                PGConnection notifications = connection.unwrap( PGConnection.class );
+                while ( running ) {
+                    PGNotification[] received = notifications.getNotifications( ( int ) retryMillis );
+                    if ( received == null ) {
+                        continue;
+                    }
+                    for ( PGNotification notification : received ) {
+                        receiver.accept( objectMapper.readValue( notification.getParameter(), CarsInvalidation.class ) );
+                    }
+                }
+            } catch ( SQLException | JsonProcessingException | RuntimeException exception ) {
+                if ( ! running ) {
+                    return;
+                }
+                LOGGER.warn( "Invalidation listener on channel {} failed, retrying in {} ms", channel, retryMillis,
+                        exception );
+                try {
+                    Thread.sleep( retryMillis );
+                } catch ( InterruptedException interrupted ) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private synchronized Connection openConnection () throws SQLException {
+        if ( ! running ) {
+            throw new SQLException( "Invalidation listener stopped" );
+        }
+        connection = DriverManager.getConnection( dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword() );
+        return connection;
+    }
+
+    private synchronized void closeConnection () {
+        if ( connection == null ) {
+            return;
+        }
+        try {
+            // Fechar a conexão também desbloqueia a espera por notificações
+            connection.close();
+        } catch ( SQLException exception ) {
+            LOGGER.debug( "Could not close invalidation listener connection", exception );
+        }
+        connection = null;
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.service.migration;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Migração dos documentos da coleção de carros, executada em segundo plano pelo {@link MigrationRunner}.
+ * <p>
+ * Cada implementação registrada como bean é executada uma única vez, na ordem dos identificadores, recebendo os
+ * documentos brutos em lotes ordenados por {@code _id}. Como o último lote de uma execução interrompida é
+ * processado novamente ao retomar, {@link #migrate(Document)} deve ser idempotente: um documento já migrado deve
+ * resultar em {@code null}.
+ * </p>
+ */
+public interface CarsMigration {
+
+    /**
+     * Retorna o identificador da migração, que define a ordem de execução e não deve mudar após a publicação.
+     *
+     * @return o identificador da migração
+     */
+    String id ();
+
+    /**
+     * Retorna a descrição da migração exibida no acompanhamento.
+     *
+     * @return a descrição da migração
+     */
+    String description ();
+
+    /**
+     * Calcula a alteração de um documento.
+     *
+     * @param car o documento bruto do carro
+     * @return a alteração a ser aplicada, ou {@code null} se o documento não precisa ser alterado
+     */
+    Update migrate ( Document car );
+}
@@ -0,0 +1,486 @@
+package org.example.service.migration;
+
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.bson.Document;
+import org.example.dto.MigrationStatusDTO;
+import org.example.events.CarsChangedEvent;
+import org.example.exceptions.ResourceNotFoundException;
+import org.example.model.Cars;
+import org.example.model.MigrationProgress;
+import org.example.utils.Errors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executa em segundo plano as {@link CarsMigration} da coleção de carros, uma de cada vez e na ordem dos
+ * identificadores.
+ * <p>
+ * Os documentos são lidos em lotes de {@code cars.migrations.batch-size} ordenados por {@code _id}, a partir do
+ * último {@code _id} processado, e as alterações de cada lote são gravadas em uma única operação em massa, que
+ * também incrementa a {@code version} e atualiza o {@code lastModified} dos carros alterados, de modo que
+ * atualizações concorrentes baseadas na versão anterior falham em vez de desfazer a migração. Cada alteração só é
+ * aplicada se o carro ainda estiver na {@code version} lida no lote; os carros alterados por outra escrita nesse
+ * meio tempo são lidos novamente e migrados a partir do estado atual, até {@value #MAX_CONFLICT_RETRIES} vezes,
+ * e, se o conflito persistir, o lote é refeito na próxima execução. Apenas os carros efetivamente alterados pela
+ * migração são contados e publicados como {@link CarsChangedEvent}, atualizando os catálogos em memória e as demais
+ * instâncias.
+ * </p>
+ * <p>
+ * Após cada lote, o progresso é gravado em {@link MigrationProgress}, o que permite retomar a migração após uma
+ * reinicialização. A concessão gravada junto com o progresso, renovada a cada lote, garante que apenas uma
+ * instância execute cada migração; a migração também para quando é pausada pelo endpoint administrativo. O ritmo
+ * é controlado pelo {@link MigrationThrottle}, que aumenta a pausa entre os lotes quando a latência do banco de
+ * dados ultrapassa {@code cars.migrations.target-latency-ms}.
+ * </p>
+ * <p>
+ * O contador {@value #DOCUMENTS_METRIC} registra os documentos {@code scanned} e {@code modified} de cada
+ * migração, e o temporizador {@value #BATCH_METRIC} mede a latência dos lotes.
+ * </p>
+ */
+@Component
+public class MigrationRunner {
+
+    public static final String DOCUMENTS_METRIC = "cars.migrations.documents";
+    public static final String BATCH_METRIC = "cars.migrations.batch";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( MigrationRunner.class );
+    private static final double RATE_SMOOTHING = 0.2;
+    private static final int MAX_CONFLICT_RETRIES = 3;
+
+    /**
+     * Andamento de uma migração em execução nesta instância, que não é gravado no banco de dados.
+     */
+    private static final class Live {
+        volatile double rate;
+        volatile long latencyMillis;
+        volatile long pauseMillis;
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, CarsMigration> migrations = new LinkedHashMap<>();
+    private final boolean enabled;
+    private final int batchSize;
+    private final long targetLatencyMillis;
+    private final long maxPauseMillis;
+    private final long leaseMillis;
+    private final String nodeId;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Live> live = new ConcurrentHashMap<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().daemon().name( "cars-migrations" ).factory() );
+    private volatile boolean stopping;
+
+    /**
+     * Constrói o executor de migrações.
+     *
+     * @param migrations          as migrações registradas
+     * @param mongoTemplate       o acesso ao MongoDB
+     * @param eventPublisher      o publicador dos eventos de alteração dos carros migrados
+     * @param enabled             indica se as migrações pendentes devem ser executadas
+     * @param batchSize           a quantidade de documentos por lote
+     * @param targetLatencyMillis a latência aceita para um lote antes de aumentar a pausa entre os lotes
+     * @param maxPauseMillis      a maior pausa entre dois lotes
+     * @param leaseMillis         o prazo da concessão de uma migração, renovado a cada lote
+     * @param nodeId              o prefixo do identificador desta instância
+     * @param meterRegistry       o registro onde as métricas são publicadas
+     */
+    @Autowired
+    public MigrationRunner ( List<CarsMigration> migrations, MongoTemplate mongoTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value( "${cars.migrations.enabled:false}" ) boolean enabled,
+                             @Value( "${cars.migrations.batch-size:500}" ) int batchSize,
+                             @Value( "${cars.migrations.target-latency-ms:200}" ) long targetLatencyMillis,
+                             @Value( "${cars.migrations.max-pause-ms:5000}" ) long maxPauseMillis,
+                             @Value( "${cars.migrations.lease-ms:60000}" ) long leaseMillis,
+                             @Value( "${cars.migrations.node-id:${HOSTNAME:node}}" ) String nodeId,
+                             MeterRegistry meterRegistry ) {
+        migrations.stream().sorted( Comparator.comparing( CarsMigration::id ) ).forEach( migration -> {
+            if ( this.migrations.put( migration.id(), migration ) != null ) {
+                throw new IllegalStateException( "Duplicate cars migration id: " + migration.id() );
+            }
+        } );
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.maxPauseMillis = maxPauseMillis;
+        this.leaseMillis = leaseMillis;
+        this.nodeId = nodeId + "-" + UUID.randomUUID().toString().substring( 0, 8 );
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Inicia a execução das migrações pendentes, se ainda não estiver em andamento nesta instância.
+     * <p>
+     * Chamado quando a aplicação termina de iniciar e periodicamente, para retomar as migrações cuja concessão
+     * expirou em outra instância ou que foram interrompidas por uma falha do banco de dados.
+     * </p>
+     */
+    @EventListener( ApplicationReadyEvent.class )
+    @Scheduled( initialDelayString = "${cars.migrations.poll-ms:60000}",
+            fixedDelayString = "${cars.migrations.poll-ms:60000}" )
+    public void trigger () {
+        if ( ! enabled || stopping || migrations.isEmpty() || ! running.compareAndSet( false, true ) ) {
+            return;
+        }
+        try {
+            worker.execute( this::runPending );
+        } catch ( RejectedExecutionException exception ) {
+            running.set( false );
+        }
+    }
+
+    /**
+     * Interrompe a migração em execução; ela é retomada do último lote gravado na próxima inicialização.
+     */
+    @PreDestroy
+    public void stop () {
+        stopping = true;
+        worker.shutdownNow();
+    }
+
+    /**
+     * Retorna o andamento de todas as migrações registradas.
+     *
+     * @return o andamento das migrações, na ordem de execução
+     */
+    public List<MigrationStatusDTO> status () {
+        Map<String, MigrationProgress> stored = new LinkedHashMap<>();
+        mongoTemplate.find( Query.query( Criteria.where( "_id" ).in( migrations.keySet() ) ), MigrationProgress.class )
+                .forEach( progress -> stored.put( progress.getId(), progress ) );
+        List<MigrationStatusDTO> statuses = new ArrayList<>( migrations.size() );
+        for ( CarsMigration migration : migrations.values() ) {
+            statuses.add( status( migration, stored.get( migration.id() ) ) );
+        }
+        return statuses;
+    }
+
+    /**
+     * Pausa uma migração pendente ou em execução; o lote em andamento termina, mas o progresso dele é descartado
+     * e refeito ao retomar.
+     *
+     * @param id o identificador da migração
+     * @return o andamento da migração
+     * @throws ResourceNotFoundException se a migração não existir
+     */
+    public MigrationStatusDTO pause ( String id ) {
+        CarsMigration migration = migration( id );
+        Update update = new Update()
+                .set( "status", MigrationStatus.PAUSED.name() )
+                .set( "updatedAt", Instant.now() )
+                .setOnInsert( "description", migration.description() );
+        try {
+            mongoTemplate.upsert( Query.query( Criteria.where( "_id" ).is( id ).and( "status" )
+                    .in( MigrationStatus.PENDING.name(), MigrationStatus.RUNNING.name() ) ), update,
+                    MigrationProgress.class );
+        } catch ( DuplicateKeyException exception ) {
+            // A migração já estava pausada, concluída ou com falha
+        }
+        return status( migration, mongoTemplate.findById( id, MigrationProgress.class ) );
+    }
+
+    /**
+     * Retoma uma migração pausada ou com falha a partir do último lote gravado.
+     *
+     * @param id o identificador da migração
+     * @return o andamento da migração
+     * @throws ResourceNotFoundException se a migração não existir
+     */
+    public MigrationStatusDTO resume ( String id ) {
+        CarsMigration migration = migration( id );
+        mongoTemplate.updateFirst( Query.query( Criteria.where( "_id" ).is( id ).and( "status" )
+                        .in( MigrationStatus.PAUSED.name(), MigrationStatus.FAILED.name() ) ),
+                new Update()
+                        .set( "status", MigrationStatus.PENDING.name() )
+                        .set( "updatedAt", Instant.now() )
+                        .unset( "error" )
+                        .unset( "owner" )
+                        .unset( "leaseUntil" ),
+                MigrationProgress.class );
+        trigger();
+        return status( migration, mongoTemplate.findById( id, MigrationProgress.class ) );
+    }
+
+    private void runPending () {
+        try {
+            for ( CarsMigration migration : migrations.values() ) {
+                if ( stopping ) {
+                    return;
+                }
+                run( migration );
+            }
+        } catch ( RuntimeException exception ) {
+            if ( ! stopping ) {
+                LOGGER.warn( "Cars migrations interrupted, retrying on the next poll", exception );
+            }
+        } finally {
+            running.set( false );
+        }
+    }
+
+    private void run ( CarsMigration migration ) {
+        MigrationProgress progress = acquire( migration );
+        if ( progress == null ) {
+            return;
+        }
+        String id = migration.id();
+        Object lastId = progress.getLastId();
+        long total = progress.getScanned() + mongoTemplate.count( afterQuery( lastId ), Cars.class );
+        mongoTemplate.updateFirst( Query.query( Criteria.where( "_id" ).is( id ) ), new Update().set( "total", total ),
+                MigrationProgress.class );
+        LOGGER.info( "Running cars migration {} from {} ({} of {} documents done)", id, lastId,
+                progress.getScanned(), total );
+
+        MigrationThrottle throttle = new MigrationThrottle( targetLatencyMillis, maxPauseMillis );
+        Live current = new Live();
+        live.put( id, current );
+        Counter scanned = documentsCounter( id, "scanned" );
+        Counter modified = documentsCounter( id, "modified" );
+        Timer batchTimer = Timer.builder( BATCH_METRIC ).tag( "migration", id ).register( meterRegistry );
+        String collection = mongoTemplate.getCollectionName( Cars.class );
+        try {
+            while ( ! stopping ) {
+                long batchStart = System.nanoTime();
+                List<Document> batch = mongoTemplate.find( afterQuery( lastId ).with( Sort.by( "_id" ) )
+                        .limit( batchSize ), Document.class, collection );
+                if ( batch.isEmpty() ) {
+                    finish( id, MigrationStatus.COMPLETED, null );
+                    LOGGER.info( "Cars migration {} completed", id );
+                    return;
+                }
+                Map<Object, Document> changed = new LinkedHashMap<>();
+                List<Cars> migrated = new ArrayList<>();
+                List<Document> candidates = batch;
+                Instant now = Instant.now();
+                for ( int attempt = 0; ! candidates.isEmpty(); attempt++ ) {
+                    if ( attempt > MAX_CONFLICT_RETRIES ) {
+                        // Mantém o último _id gravado, para que o lote seja refeito na próxima execução
+                        checkpoint( id, lastId, 0, changed.size() );
+                        modified.increment( changed.size() );
+                        publish( migrated, changed );
+                        throw new OptimisticLockingFailureException( "Cars migration " + id
+                                + " kept conflicting with concurrent writes after " + lastId );
+                    }
+                    Map<Object, Document> pending = new LinkedHashMap<>();
+                    BulkOperations bulk = mongoTemplate.bulkOps( BulkOperations.BulkMode.UNORDERED, collection );
+                    for ( Document car : candidates ) {
+                        Update update;
+                        try {
+                            update = migration.migrate( car );
+                        } catch ( RuntimeException exception ) {
+                            LOGGER.error( "Cars migration {} failed on document {}", id, car.get( "_id" ),
+                                    exception );
+                            finish( id, MigrationStatus.FAILED, car.get( "_id" ) + ": " + exception.getMessage() );
+                            return;
+                        }
+                        if ( update != null ) {
+                            bulk.updateOne( Query.query( Criteria.where( "_id" ).is( car.get( "_id" ) )
+                                            .and( "version" ).is( car.get( "version" ) ) ),
+                                    update.inc( "version", 1 ).set( "lastModified", now ) );
+                            pending.put( car.get( "_id" ), car );
+                        }
+                    }
+                    if ( pending.isEmpty() ) {
+                        break;
+                    }
+                    int matched = bulk.execute().getMatchedCount();
+                    candidates = new ArrayList<>();
+                    for ( Document car : mongoTemplate.find( Query.query( Criteria.where( "_id" )
+                            .in( pending.keySet() ) ), Document.class, collection ) ) {
+                        Document before = pending.get( car.get( "_id" ) );
+                        if ( matched == pending.size() || version( car ) == version( before ) + 1 ) {
+                            changed.put( car.get( "_id" ), before );
+                            migrated.add( mongoTemplate.getConverter().read( Cars.class, car ) );
+                        } else {
+                            // Alterado por outra escrita depois da leitura; migrado de novo a partir do estado atual
+                            candidates.add( car );
+                        }
+                    }
+                }
+                long latencyNanos = System.nanoTime() - batchStart;
+                batchTimer.record( Duration.ofNanos( latencyNanos ) );
+                lastId = batch.get( batch.size() - 1 ).get( "_id" );
+                if ( ! checkpoint( id, lastId, batch.size(), changed.size() ) ) {
+                    LOGGER.info( "Cars migration {} was paused or taken over by another instance", id );
+                    return;
+                }
+                scanned.increment( batch.size() );
+                modified.increment( changed.size() );
+                publish( migrated, changed );
+
+                long pause = throttle.pauseAfter( TimeUnit.NANOSECONDS.toMillis( latencyNanos ) );
+                current.latencyMillis = TimeUnit.NANOSECONDS.toMillis( latencyNanos );
+                current.pauseMillis = pause;
+                if ( pause > 0 ) {
+                    Thread.sleep( pause );
+                }
+                double rate = batch.size() * 1e9 / ( System.nanoTime() - batchStart );
+                current.rate = current.rate == 0 ? rate : current.rate + RATE_SMOOTHING * ( rate - current.rate );
+            }
+        } catch ( InterruptedException exception ) {
+            Thread.currentThread().interrupt();
+        } finally {
+            live.remove( id );
+        }
+    }
+
+    private MigrationProgress acquire ( CarsMigration migration ) {
+        MigrationProgress existing = mongoTemplate.findById( migration.id(), MigrationProgress.class );
+        if ( existing != null && ! MigrationStatus.PENDING.name().equals( existing.getStatus() )
+                && ! MigrationStatus.RUNNING.name().equals( existing.getStatus() ) ) {
+            return null;
+        }
+        Instant now = Instant.now();
+        Query available = Query.query( new Criteria().andOperator(
+                Criteria.where( "_id" ).is( migration.id() ),
+                Criteria.where( "status" ).in( MigrationStatus.PENDING.name(), MigrationStatus.RUNNING.name() ),
+                new Criteria().orOperator( Criteria.where( "leaseUntil" ).lt( now ),
+                        Criteria.where( "leaseUntil" ).exists( false ), Criteria.where( "owner" ).is( nodeId ) ) ) );
+        Update update = new Update()
+                .set( "status", MigrationStatus.RUNNING.name() )
+                .set( "owner", nodeId )
+                .set( "leaseUntil", now.plusMillis( leaseMillis ) )
+                .set( "updatedAt", now )
+                .setOnInsert( "description", migration.description() )
+                .setOnInsert( "startedAt", now )
+                .setOnInsert( "scanned", 0L )
+                .setOnInsert( "modified", 0L );
+        try {
+            return mongoTemplate.findAndModify( available, update,
+                    FindAndModifyOptions.options().upsert( true ).returnNew( true ), MigrationProgress.class );
+        } catch ( DuplicateKeyException exception ) {
+            // Outra instância detém a concessão
+            return null;
+        }
+    }
+
+    private boolean checkpoint ( String id, Object lastId, int scanned, int modified ) {
+        Instant now = Instant.now();
+        UpdateResult result = mongoTemplate.updateFirst( ownedQuery( id ), new Update()
+                .set( "lastId", lastId )
+                .inc( "scanned", scanned )
+                .inc( "modified", modified )
+                .set( "leaseUntil", now.plusMillis( leaseMillis ) )
+                .set( "updatedAt", now ), MigrationProgress.class );
+        return result.getMatchedCount() > 0;
+    }
+
+    private void finish ( String id, MigrationStatus status, String error ) {
+        Instant now = Instant.now();
+        Update update = new Update()
+                .set( "status", status.name() )
+                .set( "updatedAt", now )
+                .unset( "owner" )
+                .unset( "leaseUntil" );
+        if ( status == MigrationStatus.COMPLETED ) {
+            update.set( "completedAt", now );
+        } else {
+            update.set( "error", error );
+        }
+        mongoTemplate.updateFirst( ownedQuery( id ), update, MigrationProgress.class );
+    }
+
+    private void publish ( List<Cars> migrated, Map<Object, Document> previous ) {
+        Map<String, Document> previousById = new LinkedHashMap<>();
+        previous.forEach( ( id, car ) -> previousById.put( id.toString(), car ) );
+        for ( Cars car : migrated ) {
+            Document before = previousById.get( car.getId() );
+            eventPublisher.publishEvent( new CarsChangedEvent( this, CarsChangedEvent.Type.UPDATED, car.getId(), car,
+                    before != null ? mongoTemplate.getConverter().read( Cars.class, before ) : null ) );
+        }
+    }
+
+    private MigrationStatusDTO status ( CarsMigration migration, MigrationProgress progress ) {
+        if ( progress == null ) {
+            return new MigrationStatusDTO( migration.id(), migration.description(), MigrationStatus.PENDING.name(),
+                    0, 0, 0, 0, null, null, null, null, null, null, null, null, null );
+        }
+        Live current = live.get( migration.id() );
+        boolean isRunning = MigrationStatus.RUNNING.name().equals( progress.getStatus() );
+        Double rate = null;
+        if ( isRunning && current != null && current.rate > 0 ) {
+            rate = current.rate;
+        } else if ( isRunning && progress.getStartedAt() != null && progress.getUpdatedAt() != null ) {
+            // Executada em outra instância: média desde o início, incluindo eventuais interrupções
+            double seconds = Duration.between( progress.getStartedAt(), progress.getUpdatedAt() ).toMillis() / 1000.0;
+            rate = seconds > 0 ? progress.getScanned() / seconds : null;
+        }
+        long remaining = Math.max( 0, progress.getTotal() - progress.getScanned() );
+        Long eta = rate != null && rate > 0 ? ( long ) Math.ceil( remaining / rate ) : null;
+        double percent = MigrationStatus.COMPLETED.name().equals( progress.getStatus() ) ? 100
+                : progress.getTotal() > 0 ? Math.min( 100, 100.0 * progress.getScanned() / progress.getTotal() ) : 0;
+        return new MigrationStatusDTO( migration.id(), migration.description(), progress.getStatus(),
+                progress.getScanned(), progress.getModified(), progress.getTotal(), percent, rate, eta,
+                current != null ? current.latencyMillis : null, current != null ? current.pauseMillis : null,
+                progress.getOwner(), progress.getStartedAt(), progress.getUpdatedAt(), progress.getCompletedAt(),
+                progress.getError() );
+    }
+
+    private CarsMigration migration ( String id ) {
+        CarsMigration migration = migrations.get( id );
+        if ( migration == null ) {
+            throw new ResourceNotFoundException( Errors.RESOURCE_NOT_FOUND_ERROR + id );
+        }
+        return migration;
+    }
+
+    private Query ownedQuery ( String id ) {
+        return Query.query( Criteria.where( "_id" ).is( id ).and( "owner" ).is( nodeId ).and( "status" )
+                .is( MigrationStatus.RUNNING.name() ) );
+    }
+
+    private static long version ( Document car ) {
+        return car.get( "version" ) instanceof Number version ? version.longValue() : 0;
+    }
+
+    private static Query afterQuery ( Object lastId ) {
+        return lastId == null ? new Query() : Query.query( Criteria.where( "_id" ).gt( lastId ) );
+    }
+
+    private Counter documentsCounter ( String migration, String outcome ) {
+        return Counter.builder( DOCUMENTS_METRIC )
+                .tag( "migration", migration )
+                .tag( "outcome", outcome )
+                .register( meterRegistry );
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.service.migration;
+
+/**
+ * Situação de uma migração da coleção de carros.
+ */
+public enum MigrationStatus {
+    PENDING, RUNNING, PAUSED, COMPLETED, FAILED
+}
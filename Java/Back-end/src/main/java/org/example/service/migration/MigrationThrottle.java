@@ -0,0 +1,46 @@
+package org.example.service.migration;
+
+/**
+ * Calcula a pausa entre os lotes de uma migração a partir da latência do banco de dados.
+ * <p>
+ * Enquanto os lotes terminam dentro da latência alvo, a pausa cai pela metade a cada lote, até desaparecer. Quando
+ * um lote ultrapassa o alvo, sinal de que o banco de dados está ocupado com o tráfego da aplicação, a pausa dobra
+ * e passa a ser de pelo menos a própria latência do lote, limitada a {@code maxPauseMillis}.
+ * </p>
+ */
+public class MigrationThrottle {
+
+    private final long targetLatencyMillis;
+    private final long maxPauseMillis;
+    private long pauseMillis;
+
+    /**
+     * Constrói o controle de ritmo.
+     *
+     * @param targetLatencyMillis a latência aceita para um lote
+     * @param maxPauseMillis      a maior pausa entre dois lotes
+     */
+    public MigrationThrottle ( long targetLatencyMillis, long maxPauseMillis ) {
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.maxPauseMillis = maxPauseMillis;
+    }
+
+    /**
+     * Registra a latência de um lote e calcula a pausa antes do próximo.
+     *
+     * @param latencyMillis o tempo de leitura e escrita do lote
+     * @return a pausa antes do próximo lote, em milissegundos
+     */
+    public long pauseAfter ( long latencyMillis ) {
+        if ( latencyMillis > targetLatencyMillis ) {
+            pauseMillis = Math.min( maxPauseMillis, Math.max( latencyMillis, Math.max( 1, pauseMillis ) * 2 ) );
+        } else {
+            pauseMillis /= 2;
+        }
+        return pauseMillis;
+    }
+
+    public long pauseMillis () {
+        return pauseMillis;
+    }
+}
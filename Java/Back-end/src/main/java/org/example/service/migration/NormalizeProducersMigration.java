@@ -0,0 +1,36 @@
+package org.example.service.migration;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remove os espaços das extremidades e os espaços repetidos do fabricante dos carros cadastrados antes da
+ * validação atual, para que as buscas e as estatísticas por fabricante não os separem.
+ */
+@Component
+public class NormalizeProducersMigration implements CarsMigration {
+
+    @Override
+    public String id () {
+        return "2026-10-01-normalize-producers";
+    }
+
+    @Override
+    public String description () {
+        return "Trim and collapse whitespace in producedBy";
+    }
+
+    @Override
+    public Update migrate ( Document car ) {
+        if ( ! ( car.get( "producedBy" ) instanceof String producedBy ) ) {
+            return null;
+        }
+        String normalized = normalize( producedBy );
+        return normalized.equals( producedBy ) ? null : new Update().set( "producedBy", normalized );
+    }
+
+    static String normalize ( String producedBy ) {
+        return producedBy.strip().replaceAll( "\\s+", " " );
+    }
+}
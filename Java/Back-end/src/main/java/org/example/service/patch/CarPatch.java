@@ -0,0 +1,188 @@
+package org.example.service.patch;
+
+import org.example.exceptions.InvalidFieldException;
+import org.example.exceptions.ValidationFailedException;
+import org.example.utils.Errors;
+import org.example.validations.CarIsValid;
+import org.example.validations.ValidationResult;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Alteração parcial de um carro, traduzida para o operador {@code $set} do MongoDB.
+ * <p>
+ * O corpo da requisição contém apenas os campos que mudam. Todos os campos de um carro são obrigatórios no
+ * cadastro e na substituição, por isso valores {@code null} são rejeitados como em {@link CarIsValid}, em vez de
+ * removerem o campo do documento; {@code specifications} e {@code dimensions} podem ser enviados como objetos
+ * parciais, e cada subcampo vira um caminho próprio, como {@code specifications.topSpeed}, sem reescrever os
+ * demais. O campo {@code version}, quando presente, informa a versão sobre a qual a alteração foi feita.
+ * </p>
+ */
+public final class CarPatch {
+
+    private static final String VERSION = "version";
+    private static final Set<String> STRINGS = Set.of( "model", "producedBy", "imageUrl" );
+    private static final Map<String, Set<String>> NESTED = Map.of(
+            "specifications", Set.of( "engineType", "engineCapacity", "range", "acceleration", "topSpeed" ),
+            "dimensions", Set.of( "length", "width", "height", "wheelBase" ) );
+
+    private final Map<String, Object> sets;
+    private final Long version;
+
+    private CarPatch ( Map<String, Object> sets, Long version ) {
+        this.sets = sets;
+        this.version = version;
+    }
+
+    /**
+     * Interpreta e valida o corpo de uma requisição PATCH.
+     * <p>
+     * Todos os campos são verificados antes da rejeição, de modo que a exceção lista cada campo inválido.
+     * </p>
+     *
+     * @param body os campos alterados, como recebidos em JSON
+     * @return a alteração correspondente
+     * @throws ValidationFailedException se algum campo for desconhecido, {@code null} ou tiver valor inválido
+     * @throws InvalidFieldException     se nenhum campo for alterado
+     */
+    public static CarPatch of ( Map<String, Object> body ) {
+        ValidationResult result = new ValidationResult();
+        Map<String, Object> sets = new LinkedHashMap<>();
+        Long version = null;
+        for ( Map.Entry<String, Object> entry : body.entrySet() ) {
+            String field = entry.getKey();
+            Object value = entry.getValue();
+            if ( VERSION.equals( field ) ) {
+                version = value == null ? null : integral( result, field, value );
+            } else if ( STRINGS.contains( field ) ) {
+                putOrReject( sets, field, text( result, field, value ) );
+            } else if ( "yearProduction".equals( field ) ) {
+                Long year = result.present( field, value ) ? integral( result, field, value ) : null;
+                if ( year != null && year > Integer.MAX_VALUE ) {
+                    result.reject( field, Errors.INVALID_VALUE_ERROR );
+                } else if ( year != null && result.nonNegative( field, year ).isValid() ) {
+                    sets.put( field, year.intValue() );
+                }
+            } else if ( "carValue".equals( field ) ) {
+                if ( ! result.present( field, value ) ) {
+                    continue;
+                }
+                if ( ! ( value instanceof Number number ) ) {
+                    result.reject( field, Errors.INVALID_VALUE_ERROR );
+                } else if ( result.nonNegative( field, number ).isValid() ) {
+                    sets.put( field, number.doubleValue() );
+                }
+            } else if ( "features".equals( field ) ) {
+                if ( result.present( field, value ) ) {
+                    putOrReject( sets, field, features( result, value ) );
+                }
+            } else if ( NESTED.containsKey( field ) ) {
+                nested( result, sets, field, value );
+            } else {
+                result.reject( field, Errors.UNKNOWN_FIELD_ERROR );
+            }
+        }
+        result.throwIfInvalid();
+        if ( sets.isEmpty() ) {
+            throw new InvalidFieldException( Errors.EMPTY_PATCH_ERROR );
+        }
+        return new CarPatch( Collections.unmodifiableMap( sets ), version );
+    }
+
+    /**
+     * Retorna a versão informada no corpo da requisição.
+     *
+     * @return a versão, ou {@code null} se o campo {@code version} não foi enviado
+     */
+    public Long version () {
+        return version;
+    }
+
+    /**
+     * Retorna os caminhos que recebem um novo valor.
+     *
+     * @return os caminhos e valores do {@code $set}
+     */
+    public Map<String, Object> sets () {
+        return sets;
+    }
+
+    /**
+     * Monta a atualização do MongoDB, incrementando a versão e registrando o instante da alteração.
+     *
+     * @param now o instante da alteração
+     * @return a atualização com {@code $set} e {@code $inc}
+     */
+    public Update toUpdate ( Instant now ) {
+        Update update = new Update();
+        sets.forEach( update::set );
+        update.set( "lastModified", now );
+        update.inc( VERSION, 1 );
+        return update;
+    }
+
+    private static void nested ( ValidationResult result, Map<String, Object> sets, String field, Object value ) {
+        if ( ! result.present( field, value ) ) {
+            return;
+        }
+        if ( ! ( value instanceof Map<?, ?> children ) ) {
+            result.reject( field, Errors.INVALID_VALUE_ERROR );
+            return;
+        }
+        for ( Map.Entry<?, ?> child : children.entrySet() ) {
+            String path = field + "." + child.getKey();
+            if ( ! NESTED.get( field ).contains( String.valueOf( child.getKey() ) ) ) {
+                result.reject( path, Errors.UNKNOWN_FIELD_ERROR );
+            } else {
+                putOrReject( sets, path, text( result, path, child.getValue() ) );
+            }
+        }
+    }
+
+    private static void putOrReject ( Map<String, Object> sets, String path, Object value ) {
+        // Valores nulos já foram registrados como erro no resultado da validação
+        if ( value != null ) {
+            sets.put( path, value );
+        }
+    }
+
+    private static String text ( ValidationResult result, String field, Object value ) {
+        if ( value != null && ! ( value instanceof String ) ) {
+            result.reject( field, Errors.INVALID_VALUE_ERROR );
+            return null;
+        }
+        String text = ( String ) value;
+        return result.text( field, text ).isValid() ? text : null;
+    }
+
+    private static Long integral ( ValidationResult result, String field, Object value ) {
+        if ( value instanceof Integer || value instanceof Long ) {
+            return ( ( Number ) value ).longValue();
+        }
+        result.reject( field, Errors.INVALID_VALUE_ERROR );
+        return null;
+    }
+
+    private static List<String> features ( ValidationResult result, Object value ) {
+        if ( ! ( value instanceof List<?> items ) ) {
+            result.reject( "features", Errors.INVALID_VALUE_ERROR );
+            return null;
+        }
+        List<String> features = new ArrayList<>( items.size() );
+        for ( Object item : items ) {
+            if ( ! ( item instanceof String ) ) {
+                result.reject( "features", Errors.INVALID_VALUE_ERROR );
+                return null;
+            }
+            features.add( ( String ) item );
+        }
+        return result.notEmpty( "features", features ).isValid() ? features : null;
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.service.percolator;
+
+import org.example.model.Cars;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Índice invertido das buscas salvas, que encontra as buscas atendidas por um carro sem avaliar todas elas.
+ * <p>
+ * Cada busca é indexada por um único critério, o mais seletivo que ela possui: o fabricante, um dos acessórios
+ * (o de menor lista no momento do cadastro), o valor máximo ou o ano mínimo, nessa ordem. Buscas sem critérios ficam
+ * em uma lista à parte. Para um carro, são consultadas apenas as listas do seu fabricante e dos seus acessórios, as
+ * buscas com valor máximo a partir do valor do carro e as com ano mínimo até o ano do carro; os candidatos
+ * encontrados são então verificados com todos os critérios. Como cada busca aparece em uma só lista, nenhum
+ * candidato é avaliado duas vezes.
+ * </p>
+ * <p>
+ * Esta classe não é segura para uso concorrente.
+ * </p>
+ */
+public final class PercolatorIndex {
+
+    private final Map<String, SearchPredicate> searches = new HashMap<>();
+    private final Map<String, String> featureAnchors = new HashMap<>();
+    private final Map<String, Map<String, SearchPredicate>> byProducer = new HashMap<>();
+    private final Map<String, Map<String, SearchPredicate>> byFeature = new HashMap<>();
+    private final NavigableMap<Double, Map<String, SearchPredicate>> byMaxValue = new TreeMap<>();
+    private final NavigableMap<Integer, Map<String, SearchPredicate>> byMinYear = new TreeMap<>();
+    private final Map<String, SearchPredicate> unconstrained = new LinkedHashMap<>();
+
+    /**
+     * Adiciona uma busca ao índice, substituindo a versão anterior com o mesmo ID.
+     *
+     * @param search a busca compilada
+     */
+    public void add ( SearchPredicate search ) {
+        remove( search.id() );
+        searches.put( search.id(), search );
+        if ( search.producedBy() != null ) {
+            byProducer.computeIfAbsent( search.producedBy(), key -> new LinkedHashMap<>() ).put( search.id(), search );
+        } else if ( ! search.features().isEmpty() ) {
+            String anchor = null;
+            int smallest = Integer.MAX_VALUE;
+            for ( String feature : search.features() ) {
+                Map<String, SearchPredicate> posting = byFeature.get( feature );
+                int size = posting == null ? 0 : posting.size();
+                if ( size < smallest || size == smallest && feature.compareTo( anchor ) < 0 ) {
+                    anchor = feature;
+                    smallest = size;
+                }
+            }
+            featureAnchors.put( search.id(), anchor );
+            byFeature.computeIfAbsent( anchor, key -> new LinkedHashMap<>() ).put( search.id(), search );
+        } else if ( search.maxValue() != null ) {
+            byMaxValue.computeIfAbsent( search.maxValue(), key -> new LinkedHashMap<>() ).put( search.id(), search );
+        } else if ( search.minYear() != null ) {
+            byMinYear.computeIfAbsent( search.minYear(), key -> new LinkedHashMap<>() ).put( search.id(), search );
+        } else {
+            unconstrained.put( search.id(), search );
+        }
+    }
+
+    /**
+     * Remove uma busca do índice.
+     *
+     * @param id o ID da busca
+     * @return {@code true} se a busca estava no índice
+     */
+    public boolean remove ( String id ) {
+        SearchPredicate search = searches.remove( id );
+        if ( search == null ) {
+            return false;
+        }
+        if ( search.producedBy() != null ) {
+            removeFrom( byProducer, search.producedBy(), id );
+        } else if ( ! search.features().isEmpty() ) {
+            removeFrom( byFeature, featureAnchors.remove( id ), id );
+        } else if ( search.maxValue() != null ) {
+            removeFrom( byMaxValue, search.maxValue(), id );
+        } else if ( search.minYear() != null ) {
+            removeFrom( byMinYear, search.minYear(), id );
+        } else {
+            unconstrained.remove( id );
+        }
+        return true;
+    }
+
+    /**
+     * Encontra as buscas atendidas por um carro.
+     *
+     * @param car o carro avaliado
+     * @return as buscas cujos critérios o carro atende
+     */
+    public List<SearchPredicate> match ( Cars car ) {
+        List<SearchPredicate> matched = new ArrayList<>();
+        if ( car == null ) {
+            return matched;
+        }
+        String producer = SearchPredicate.normalize( car.getProducedBy() );
+        if ( producer != null ) {
+            collect( byProducer.get( producer ), car, matched );
+        }
+        Set<String> features = SearchPredicate.features( car );
+        for ( String feature : features ) {
+            collect( byFeature.get( feature ), car, matched );
+        }
+        if ( car.getCarValue() != null ) {
+            for ( Map<String, SearchPredicate> posting : byMaxValue.tailMap( car.getCarValue(), true ).values() ) {
+                collect( posting, car, matched );
+            }
+        }
+        if ( car.getYearProduction() != null ) {
+            for ( Map<String, SearchPredicate> posting : byMinYear.headMap( car.getYearProduction(), true ).values() ) {
+                collect( posting, car, matched );
+            }
+        }
+        collect( unconstrained, car, matched );
+        return matched;
+    }
+
+    public int size () {
+        return searches.size();
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice.
+     *
+     * @param all as buscas compiladas
+     */
+    public void reset ( Collection<SearchPredicate> all ) {
+        searches.clear();
+        featureAnchors.clear();
+        byProducer.clear();
+        byFeature.clear();
+        byMaxValue.clear();
+        byMinYear.clear();
+        unconstrained.clear();
+        all.forEach( this::add );
+    }
+
+    private static void collect ( Map<String, SearchPredicate> posting, Cars car, List<SearchPredicate> matched ) {
+        if ( posting == null ) {
+            return;
+        }
+        for ( SearchPredicate search : posting.values() ) {
+            if ( search.matches( car ) ) {
+                matched.add( search );
+            }
+        }
+    }
+
+    private static <K> void removeFrom ( Map<K, Map<String, SearchPredicate>> index, K key, String id ) {
+        Map<String, SearchPredicate> posting = index.get( key );
+        if ( posting != null ) {
+            posting.remove( id );
+            if ( posting.isEmpty() ) {
+                index.remove( key );
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.service.percolator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.utils.EmailInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Fila dos avisos de buscas salvas, enviados por e-mail em lotes.
+ * <p>
+ * Os carros encontrados pelo {@link SavedSearchPercolator} entram em uma fila limitada, sem que a escrita do carro
+ * espere o envio. Em intervalos regulares, a fila é esvaziada em lotes e cada destinatário recebe um único e-mail com
+ * todos os carros que passaram a atender às suas buscas. Quando a fila está cheia, os novos avisos são descartados.
+ * </p>
+ * <p>
+ * O contador {@value #NOTIFICATIONS_METRIC} registra cada aviso com o desfecho ({@code sent}, {@code failed} ou
+ * {@code dropped}), e o indicador {@value #QUEUE_METRIC} mostra a quantidade de avisos aguardando envio.
+ * </p>
+ */
+@Component
+public class SavedSearchNotifier {
+
+    public static final String NOTIFICATIONS_METRIC = "cars.saved_searches.notifications";
+    public static final String QUEUE_METRIC = "cars.saved_searches.queue";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( SavedSearchNotifier.class );
+
+    private final JavaMailSender mailSender;
+    private final BlockingQueue<SearchMatch> queue;
+    private final int batchSize;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter dropped;
+
+    /**
+     * Constrói a fila de avisos.
+     *
+     * @param mailSender    o enviador de e-mails
+     * @param capacity      a quantidade máxima de avisos aguardando envio
+     * @param batchSize     a quantidade máxima de avisos enviados a cada intervalo
+     * @param meterRegistry o registro onde as métricas são publicadas
+     */
+    @Autowired
+    public SavedSearchNotifier ( JavaMailSender mailSender,
+                                 @Value( "${cars.saved-searches.queue-capacity:10000}" ) int capacity,
+                                 @Value( "${cars.saved-searches.batch-size:500}" ) int batchSize,
+                                 MeterRegistry meterRegistry ) {
+        this.mailSender = mailSender;
+        this.queue = new ArrayBlockingQueue<>( capacity );
+        this.batchSize = batchSize;
+        this.sent = notificationsCounter( meterRegistry, "sent" );
+        this.failed = notificationsCounter( meterRegistry, "failed" );
+        this.dropped = notificationsCounter( meterRegistry, "dropped" );
+        Gauge.builder( QUEUE_METRIC, queue, BlockingQueue::size ).register( meterRegistry );
+    }
+
+    /**
+     * Coloca um aviso na fila.
+     *
+     * @param match o carro encontrado para a busca
+     * @return {@code false} se a fila estiver cheia e o aviso foi descartado
+     */
+    public boolean enqueue ( SearchMatch match ) {
+        if ( queue.offer( match ) ) {
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    /**
+     * Envia um lote de avisos, agrupados por destinatário.
+     * <p>
+     * Uma falha no envio para um destinatário é apenas logada; os avisos desse destinatário são perdidos, mas os
+     * demais continuam sendo enviados.
+     * </p>
+     *
+     * @return a quantidade de avisos retirados da fila
+     */
+    @Scheduled( initialDelayString = "${cars.saved-searches.flush-ms:60000}", fixedDelayString = "${cars.saved-searches.flush-ms:60000}" )
+    public int flush () {
+        List<SearchMatch> batch = new ArrayList<>();
+        queue.drainTo( batch, batchSize );
+        Map<String, List<SearchMatch>> byEmail = new LinkedHashMap<>();
+        for ( SearchMatch match : batch ) {
+            byEmail.computeIfAbsent( match.email(), key -> new ArrayList<>() ).add( match );
+        }
+        byEmail.forEach( ( email, matches ) -> {
+            try {
+                mailSender.send( message( email, matches ) );
+                sent.increment( matches.size() );
+            } catch ( RuntimeException exception ) {
+                failed.increment( matches.size() );
+                LOGGER.warn( "Could not send {} saved search notifications", matches.size(), exception );
+            }
+        } );
+        return batch.size();
+    }
+
+    public int pending () {
+        return queue.size();
+    }
+
+    static SimpleMailMessage message ( String email, List<SearchMatch> matches ) {
+        StringBuilder text = new StringBuilder( EmailInfo.SAVED_SEARCH_TEXT );
+        for ( SearchMatch match : matches ) {
+            text.append( System.lineSeparator() )
+                    .append( "- [" ).append( match.searchName() ).append( "] " )
+                    .append( match.producedBy() ).append( ' ' ).append( match.model() )
+                    .append( " (" ).append( match.carValue() ).append( ") -> " ).append( match.carId() );
+        }
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo( email );
+        message.setSubject( EmailInfo.SAVED_SEARCH_SUBJECT );
+        message.setText( text.toString() );
+        return message;
+    }
+
+    private static Counter notificationsCounter ( MeterRegistry meterRegistry, String outcome ) {
+        return Counter.builder( NOTIFICATIONS_METRIC ).tag( "outcome", outcome ).register( meterRegistry );
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.service.percolator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.example.events.CarsChangedEvent;
+import org.example.model.Cars;
+import org.example.model.SavedSearch;
+import org.example.repository.SavedSearchRepository;
+import org.example.service.CarsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Confronta cada carro criado ou atualizado com as buscas salvas dos usuários.
+ * <p>
+ * As buscas ficam compiladas em um {@link PercolatorIndex}, carregado do PostgreSQL quando a aplicação termina de
+ * iniciar e recarregado periodicamente, para incluir as buscas cadastradas em outras instâncias. As buscas
+ * cadastradas ou removidas nesta instância são aplicadas ao índice imediatamente.
+ * </p>
+ * <p>
+ * Apenas os eventos publicados pelo {@link CarsService} são avaliados, pois os reaplicados a partir de outras
+ * instâncias já foram avaliados pela instância que fez a escrita. Em uma atualização, só geram aviso as buscas que
+ * o carro passou a atender. Os avisos são entregues pelo {@link SavedSearchNotifier}, e o contador
+ * {@value #MATCHES_METRIC} registra a quantidade de buscas atendidas.
+ * </p>
+ */
+@Component
+public class SavedSearchPercolator {
+
+    public static final String MATCHES_METRIC = "cars.saved_searches.matches";
+    public static final String SIZE_METRIC = "cars.saved_searches.size";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( SavedSearchPercolator.class );
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final SavedSearchNotifier notifier;
+    private final PercolatorIndex index = new PercolatorIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final MeterRegistry meterRegistry;
+    private final Counter matches;
+
+    /**
+     * Constrói o confronto das buscas salvas.
+     *
+     * @param savedSearchRepository o repositório das buscas salvas
+     * @param notifier              a fila de avisos
+     * @param meterRegistry         o registro onde as métricas são publicadas
+     */
+    @Autowired
+    public SavedSearchPercolator ( SavedSearchRepository savedSearchRepository, SavedSearchNotifier notifier,
+                                   MeterRegistry meterRegistry ) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.notifier = notifier;
+        this.meterRegistry = meterRegistry;
+        this.matches = Counter.builder( MATCHES_METRIC ).register( meterRegistry );
+    }
+
+    /**
+     * Publica a quantidade de buscas indexadas, depois que o componente está construído.
+     */
+    @PostConstruct
+    public void registerMetrics () {
+        Gauge.builder( SIZE_METRIC, this, SavedSearchPercolator::size ).register( meterRegistry );
+    }
+
+    /**
+     * Recarrega todas as buscas salvas do banco de dados.
+     * <p>
+     * Se o PostgreSQL estiver indisponível, o índice atual é mantido e a carga é tentada novamente no próximo
+     * agendamento.
+     * </p>
+     */
+    @EventListener( ApplicationReadyEvent.class )
+    @Scheduled( initialDelayString = "${cars.saved-searches.reload-ms:300000}", fixedDelayString = "${cars.saved-searches.reload-ms:300000}" )
+    public void reload () {
+        List<SearchPredicate> all;
+        try {
+            all = savedSearchRepository.findAll().stream().map( SearchPredicate::of ).toList();
+        } catch ( RuntimeException exception ) {
+            LOGGER.warn( "Could not load saved searches, keeping {} indexed searches", size(), exception );
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            index.reset( all );
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adiciona ou substitui uma busca salva no índice.
+     *
+     * @param search a busca salva
+     */
+    public void add ( SavedSearch search ) {
+        SearchPredicate predicate = SearchPredicate.of( search );
+        lock.writeLock().lock();
+        try {
+            index.add( predicate );
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove uma busca salva do índice.
+     *
+     * @param id o ID da busca salva
+     */
+    public void remove ( String id ) {
+        lock.writeLock().lock();
+        try {
+            index.remove( id );
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Encontra as buscas atendidas por um carro.
+     *
+     * @param car o carro avaliado
+     * @return as buscas cujos critérios o carro atende
+     */
+    public List<SearchPredicate> match ( Cars car ) {
+        lock.readLock().lock();
+        try {
+            return index.match( car );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size () {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Coloca na fila de avisos as buscas que o carro criado ou atualizado passou a atender.
+     *
+     * @param event o evento descrevendo a alteração
+     */
+    @EventListener
+    public void onCarsChanged ( CarsChangedEvent event ) {
+        if ( ! ( event.getSource() instanceof CarsService ) || event.getType() == CarsChangedEvent.Type.DELETED ) {
+            return;
+        }
+        Cars car = event.getCar();
+        for ( SearchPredicate search : match( car ) ) {
+            if ( event.getType() == CarsChangedEvent.Type.UPDATED && search.matches( event.getPrevious() ) ) {
+                continue;
+            }
+            matches.increment();
+            notifier.enqueue( new SearchMatch( search.id(), search.name(), search.email(), car.getId(),
+                    car.getModel(), car.getProducedBy(), car.getCarValue() ) );
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.service.percolator;
+
+import org.example.dto.SavedSearchDTO;
+import org.example.exceptions.InvalidFieldException;
+import org.example.exceptions.ResourceNotFoundException;
+import org.example.model.SavedSearch;
+import org.example.model.User;
+import org.example.repository.SavedSearchRepository;
+import org.example.repository.UserRepository;
+import org.example.utils.Errors;
+import org.example.validations.ValidationResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Serviço de cadastro das buscas salvas de cada usuário.
+ * <p>
+ * As buscas são gravadas no PostgreSQL e aplicadas imediatamente ao índice do {@link SavedSearchPercolator}. Cada
+ * usuário pode ter até {@code cars.saved-searches.max-per-user} buscas, e toda busca precisa de ao menos um
+ * critério, para que um único cadastro não gere avisos de todos os carros do catálogo.
+ * </p>
+ */
+@Service
+public class SavedSearchService {
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final UserRepository userRepository;
+    private final SavedSearchPercolator percolator;
+    private final int maxPerUser;
+
+    /**
+     * Construtor da classe {@code SavedSearchService}.
+     *
+     * @param savedSearchRepository o repositório das buscas salvas
+     * @param userRepository        o repositório dos usuários
+     * @param percolator            o índice das buscas salvas
+     * @param maxPerUser            a quantidade máxima de buscas salvas por usuário
+     */
+    @Autowired
+    public SavedSearchService ( SavedSearchRepository savedSearchRepository, UserRepository userRepository,
+                                SavedSearchPercolator percolator,
+                                @Value( "${cars.saved-searches.max-per-user:20}" ) int maxPerUser ) {
+        this.savedSearchRepository = savedSearchRepository;
+        this.userRepository = userRepository;
+        this.percolator = percolator;
+        this.maxPerUser = maxPerUser;
+    }
+
+    /**
+     * Lista as buscas salvas de um usuário.
+     *
+     * @param username o nome de usuário
+     * @return as buscas salvas do usuário
+     */
+    public List<SavedSearchDTO> list ( String username ) {
+        return savedSearchRepository.findByUserUsername( username ).stream().map( SavedSearchDTO::of ).toList();
+    }
+
+    /**
+     * Cadastra uma busca salva para um usuário.
+     *
+     * @param username o nome de usuário
+     * @param request  os critérios da busca
+     * @return a busca cadastrada
+     * @throws InvalidFieldException se algum critério for inválido ou o limite de buscas tiver sido atingido
+     */
+    public SavedSearchDTO create ( String username, SavedSearchDTO request ) {
+        validate( request );
+        if ( savedSearchRepository.countByUserUsername( username ) >= maxPerUser ) {
+            throw new InvalidFieldException( Errors.SAVED_SEARCH_LIMIT_ERROR + maxPerUser );
+        }
+        User user = userRepository.findByUsername( username );
+        if ( user == null ) {
+            throw new ResourceNotFoundException( Errors.RESOURCE_NOT_FOUND_ERROR + username );
+        }
+        SavedSearch saved = savedSearchRepository.save( new SavedSearch( user, request.name(), request.producedBy(),
+                request.maxValue(), request.minYear(), request.features() ) );
+        percolator.add( saved );
+        return SavedSearchDTO.of( saved );
+    }
+
+    /**
+     * Remove uma busca salva de um usuário.
+     *
+     * @param username o nome de usuário
+     * @param id       o ID da busca salva
+     * @throws ResourceNotFoundException se a busca não existir ou pertencer a outro usuário
+     */
+    public void delete ( String username, String id ) {
+        SavedSearch search = savedSearchRepository.findById( id )
+                .filter( found -> found.getUser().getUsername().equals( username ) )
+                .orElseThrow( () -> new ResourceNotFoundException( Errors.RESOURCE_NOT_FOUND_ERROR + id ) );
+        savedSearchRepository.delete( search );
+        percolator.remove( id );
+    }
+
+    private static void validate ( SavedSearchDTO request ) {
+        ValidationResult result = new ValidationResult();
+        if ( ! result.present( "body", request ) ) {
+            result.throwIfInvalid();
+        }
+        result.text( "name", request.name() );
+        if ( request.maxValue() != null ) {
+            result.nonNegative( "maxValue", request.maxValue() );
+        }
+        if ( request.minYear() != null ) {
+            result.nonNegative( "minYear", request.minYear() );
+        }
+        if ( request.features() != null && request.features().stream().anyMatch( f -> f == null || f.isBlank() ) ) {
+            result.reject( "features", Errors.BLANK_FIELD_ERROR );
+        }
+        boolean hasCriterion = request.producedBy() != null && ! request.producedBy().isBlank()
+                || request.maxValue() != null || request.minYear() != null
+                || request.features() != null && ! request.features().isEmpty();
+        if ( ! hasCriterion ) {
+            result.reject( "producedBy", Errors.SAVED_SEARCH_CRITERIA_ERROR );
+        }
+        result.throwIfInvalid();
+    }
+}
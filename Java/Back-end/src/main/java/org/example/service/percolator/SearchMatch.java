@@ -0,0 +1,16 @@
+package org.example.service.percolator;
+
+/**
+ * Carro que passou a atender a uma busca salva, aguardando o envio do aviso.
+ *
+ * @param searchId   o ID da busca salva
+ * @param searchName o nome da busca salva
+ * @param email      o e-mail do dono da busca
+ * @param carId      o ID do carro
+ * @param model      o modelo do carro
+ * @param producedBy o fabricante do carro
+ * @param carValue   o valor do carro
+ */
+public record SearchMatch( String searchId, String searchName, String email, String carId, String model,
+                           String producedBy, Double carValue ) {
+}
@@ -0,0 +1,83 @@
+package org.example.service.percolator;
+
+import org.example.model.Cars;
+import org.example.model.SavedSearch;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Forma compilada de uma {@link SavedSearch}, com os textos normalizados e sem dependência da entidade JPA.
+ *
+ * @param id         o ID da busca salva
+ * @param name       o nome da busca
+ * @param username   o nome do usuário dono da busca
+ * @param email      o e-mail para onde os avisos são enviados
+ * @param producedBy o fabricante exigido, em minúsculas, ou {@code null}
+ * @param maxValue   o valor máximo, ou {@code null}
+ * @param minYear    o ano de produção mínimo, ou {@code null}
+ * @param features   os acessórios exigidos, em minúsculas
+ */
+public record SearchPredicate( String id, String name, String username, String email, String producedBy,
+                               Double maxValue, Integer minYear, Set<String> features ) {
+
+    /**
+     * Compila uma busca salva.
+     *
+     * @param search a busca salva
+     * @return o predicado correspondente
+     */
+    public static SearchPredicate of ( SavedSearch search ) {
+        Set<String> features = new HashSet<>();
+        if ( search.getFeatures() != null ) {
+            for ( String feature : search.getFeatures() ) {
+                features.add( normalize( feature ) );
+            }
+        }
+        return new SearchPredicate( search.getId(), search.getName(), search.getUser().getUsername(),
+                search.getUser().getEmail(), normalize( search.getProducedBy() ), search.getMaxValue(),
+                search.getMinYear(), Set.copyOf( features ) );
+    }
+
+    /**
+     * Verifica se o carro atende a todos os critérios da busca.
+     *
+     * @param car o carro avaliado
+     * @return {@code true} se o carro atende à busca
+     */
+    public boolean matches ( Cars car ) {
+        if ( car == null ) {
+            return false;
+        }
+        if ( producedBy != null && ! producedBy.equals( normalize( car.getProducedBy() ) ) ) {
+            return false;
+        }
+        if ( maxValue != null && ( car.getCarValue() == null || car.getCarValue() > maxValue ) ) {
+            return false;
+        }
+        if ( minYear != null && ( car.getYearProduction() == null || car.getYearProduction() < minYear ) ) {
+            return false;
+        }
+        if ( features.isEmpty() ) {
+            return true;
+        }
+        return features( car ).containsAll( features );
+    }
+
+    static Set<String> features ( Cars car ) {
+        Set<String> features = new HashSet<>();
+        if ( car.getFeatures() != null ) {
+            for ( String feature : car.getFeatures() ) {
+                if ( feature != null ) {
+                    features.add( normalize( feature ) );
+                }
+            }
+        }
+        return features;
+    }
+
+    static String normalize ( String value ) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase( Locale.ROOT );
+    }
+}
@@ -0,0 +1,217 @@
+package org.example.service.prices;
+
+import org.example.dto.PriceBucketDTO;
+import org.example.events.CarsChangedEvent;
+import org.example.model.CarPricePoint;
+import org.example.model.CarPriceRollup;
+import org.example.model.Cars;
+import org.example.service.CarsService;
+import org.example.service.routing.ReadRouting;
+import org.example.utils.QueryMongo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Mantém o histórico de preços dos carros e os agregados por período usados nas consultas de histórico e de
+ * tendência.
+ * <p>
+ * Cada criação de carro e cada atualização que altera o {@code carValue}, seja pela substituição completa ou pela
+ * atualização parcial, acrescenta um {@link CarPricePoint} à coleção de séries temporais {@code car_prices}. Na
+ * mesma operação, os agregados diários, semanais e mensais do carro e do seu fabricante são atualizados de forma
+ * incremental em {@code car_price_rollups}, com {@code $inc}, {@code $min} e {@code $max}, de modo que as consultas
+ * leem no máximo um documento por período em vez de percorrer os registros individuais. Os agregados do fabricante
+ * são identificados pelo nome em minúsculas ({@link QueryMongo#caseKey(String)}), de modo que "Honda" e "HONDA"
+ * compartilham a mesma tendência, como nas buscas por fabricante.
+ * </p>
+ * <p>
+ * Apenas os eventos publicados pelo {@link CarsService} são registrados; os eventos reaplicados a partir de outras
+ * instâncias já foram registrados pela instância que fez a escrita. Uma falha no registro é apenas logada e não
+ * desfaz a escrita do carro.
+ * </p>
+ */
+@Component
+public class PriceHistoryService {
+
+    public static final String CAR_SCOPE = "car";
+    public static final String PRODUCER_SCOPE = "producer";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( PriceHistoryService.class );
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadRouting readRouting;
+    private final boolean enabled;
+    private final int maxBuckets;
+    private volatile boolean collectionReady;
+
+    /**
+     * Constrói o serviço de histórico de preços.
+     *
+     * @param mongoTemplate o acesso ao MongoDB
+     * @param readRouting   o roteamento das leituras entre os membros do <i>replica set</i>
+     * @param enabled       indica se as alterações de preço devem ser registradas
+     * @param maxBuckets    a quantidade máxima de períodos retornados por consulta
+     */
+    @Autowired
+    public PriceHistoryService ( MongoTemplate mongoTemplate, ReadRouting readRouting,
+                                 @Value( "${cars.prices.enabled:true}" ) boolean enabled,
+                                 @Value( "${cars.prices.max-buckets:1000}" ) int maxBuckets ) {
+        this.mongoTemplate = mongoTemplate;
+        this.readRouting = readRouting;
+        this.enabled = enabled;
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Registra o novo preço de um carro criado ou atualizado.
+     *
+     * @param event o evento descrevendo a alteração
+     */
+    @EventListener
+    public void onCarsChanged ( CarsChangedEvent event ) {
+        if ( ! enabled || ! ( event.getSource() instanceof CarsService ) || event.getCar() == null ) {
+            return;
+        }
+        Cars car = event.getCar();
+        Double previous = event.getPrevious() != null ? event.getPrevious().getCarValue() : null;
+        boolean changed = switch ( event.getType() ) {
+            case CREATED -> true;
+            case UPDATED -> ! Objects.equals( previous, car.getCarValue() );
+            case DELETED -> false;
+        };
+        if ( changed && car.getCarValue() != null ) {
+            Instant at = car.getLastModified() != null ? car.getLastModified() : Instant.now();
+            try {
+                record( new CarPricePoint( at, car.getId(), car.getProducedBy(), car.getCarValue(), previous ) );
+            } catch ( DataAccessException exception ) {
+                LOGGER.warn( "Could not record price change of car {}", car.getId(), exception );
+            }
+        }
+    }
+
+    /**
+     * Acrescenta um preço ao histórico e atualiza os agregados de todos os períodos.
+     *
+     * @param point o preço registrado
+     */
+    public void record ( CarPricePoint point ) {
+        ensureCollection();
+        mongoTemplate.insert( point );
+        BulkOperations rollups = mongoTemplate.bulkOps( BulkOperations.BulkMode.UNORDERED, CarPriceRollup.class );
+        for ( PricePeriod period : PricePeriod.values() ) {
+            upsert( rollups, CAR_SCOPE, point.getCarId(), period, point );
+            if ( point.getProducedBy() != null ) {
+                upsert( rollups, PRODUCER_SCOPE, QueryMongo.caseKey( point.getProducedBy() ), period, point );
+            }
+        }
+        rollups.execute();
+    }
+
+    /**
+     * Recupera o histórico de preços de um carro agregado por período.
+     *
+     * @param carId  o ID do carro
+     * @param period o período de agregação
+     * @param from   o início do intervalo, inclusive, ou {@code null} para não limitar
+     * @param to     o fim do intervalo, exclusive, ou {@code null} para não limitar
+     * @return os períodos com preços registrados, do mais antigo para o mais recente
+     */
+    public List<PriceBucketDTO> history ( String carId, PricePeriod period, Instant from, Instant to ) {
+        return buckets( CAR_SCOPE, carId, period, from, to );
+    }
+
+    /**
+     * Recupera a tendência dos preços de um fabricante agregada por período.
+     *
+     * @param producedBy o fabricante, sem distinção de maiúsculas e minúsculas
+     * @param period     o período de agregação
+     * @param from       o início do intervalo, inclusive, ou {@code null} para não limitar
+     * @param to         o fim do intervalo, exclusive, ou {@code null} para não limitar
+     * @return os períodos com preços registrados, do mais antigo para o mais recente
+     */
+    public List<PriceBucketDTO> trend ( String producedBy, PricePeriod period, Instant from, Instant to ) {
+        return buckets( PRODUCER_SCOPE, QueryMongo.caseKey( producedBy ), period, from, to );
+    }
+
+    /**
+     * Monta o identificador do agregado de um período.
+     *
+     * @param scope  o escopo do agregado, {@value #CAR_SCOPE} ou {@value #PRODUCER_SCOPE}
+     * @param key    o ID do carro ou o fabricante em minúsculas
+     * @param period o período de agregação
+     * @param bucket o instante em que o período começa
+     * @return o identificador do agregado
+     */
+    public static String rollupId ( String scope, String key, PricePeriod period, Instant bucket ) {
+        return scope + ":" + key + ":" + period.name() + ":" + bucket.toEpochMilli();
+    }
+
+    private List<PriceBucketDTO> buckets ( String scope, String key, PricePeriod period, Instant from, Instant to ) {
+        Criteria criteria = Criteria.where( "scope" ).is( scope ).and( "key" ).is( key ).and( "period" )
+                .is( period.name() );
+        if ( from != null || to != null ) {
+            Criteria bucket = criteria.and( "bucket" );
+            if ( from != null ) {
+                bucket.gte( period.bucketStart( from ) );
+            }
+            if ( to != null ) {
+                bucket.lt( to );
+            }
+        }
+        Query query = Query.query( criteria ).with( Sort.by( "bucket" ) ).limit( maxBuckets );
+        return readRouting.read( () -> mongoTemplate.find( query, CarPriceRollup.class ) ).stream()
+                .map( PriceBucketDTO::of )
+                .toList();
+    }
+
+    private static void upsert ( BulkOperations rollups, String scope, String key, PricePeriod period,
+                                 CarPricePoint point ) {
+        Instant bucket = period.bucketStart( point.getAt() );
+        double price = point.getPrice();
+        Update update = new Update()
+                .setOnInsert( "scope", scope )
+                .setOnInsert( "key", key )
+                .setOnInsert( "period", period.name() )
+                .setOnInsert( "bucket", bucket )
+                .setOnInsert( "first", price )
+                .inc( "count", 1 )
+                .inc( "sum", price )
+                .min( "min", price )
+                .max( "max", price )
+                .set( "last", price )
+                .max( "lastAt", point.getAt() );
+        rollups.upsert( Query.query( Criteria.where( "_id" ).is( rollupId( scope, key, period, bucket ) ) ), update );
+    }
+
+    private void ensureCollection () {
+        if ( collectionReady ) {
+            return;
+        }
+        // A coleção precisa ser criada explicitamente como série temporal antes da primeira inserção
+        if ( ! mongoTemplate.collectionExists( CarPricePoint.class ) ) {
+            try {
+                mongoTemplate.createCollection( CarPricePoint.class );
+            } catch ( DataAccessException exception ) {
+                // Outra instância criou a coleção ao mesmo tempo
+                if ( ! mongoTemplate.collectionExists( CarPricePoint.class ) ) {
+                    throw exception;
+                }
+            }
+        }
+        collectionReady = true;
+    }
+}
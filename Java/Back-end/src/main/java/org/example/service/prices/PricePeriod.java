@@ -0,0 +1,66 @@
+package org.example.service.prices;
+
+import org.example.exceptions.InvalidFieldException;
+import org.example.utils.Errors;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Períodos em que os preços registrados são agregados.
+ * <p>
+ * Os períodos são calculados em UTC: o dia começa à meia-noite, a semana na segunda-feira, conforme a ISO 8601, e o
+ * mês no primeiro dia. Cada período é identificado pelo instante em que começa.
+ * </p>
+ */
+public enum PricePeriod {
+
+    DAY( "day" ),
+    WEEK( "week" ),
+    MONTH( "month" );
+
+    private final String path;
+
+    PricePeriod ( String path ) {
+        this.path = path;
+    }
+
+    /**
+     * Localiza o período correspondente ao nome usado na requisição.
+     *
+     * @param path o nome do período, por exemplo {@code month}
+     * @return o período correspondente
+     * @throws InvalidFieldException se o nome não corresponder a nenhum período
+     */
+    public static PricePeriod fromPath ( String path ) {
+        for ( PricePeriod period : values() ) {
+            if ( period.path.equalsIgnoreCase( path ) ) {
+                return period;
+            }
+        }
+        throw new InvalidFieldException( Errors.FIELD_ERROR + path );
+    }
+
+    public String getPath () {
+        return path;
+    }
+
+    /**
+     * Retorna o início do período que contém o instante informado.
+     *
+     * @param instant o instante avaliado
+     * @return o instante em que o período começa
+     */
+    public Instant bucketStart ( Instant instant ) {
+        LocalDate day = LocalDate.ofInstant( instant, ZoneOffset.UTC );
+        LocalDate start = switch ( this ) {
+            case DAY -> day;
+            case WEEK -> day.with( TemporalAdjusters.previousOrSame( DayOfWeek.MONDAY ) );
+            case MONTH -> day.withDayOfMonth( 1 );
+        };
+        return start.atStartOfDay( ZoneOffset.UTC ).toInstant();
+    }
+}
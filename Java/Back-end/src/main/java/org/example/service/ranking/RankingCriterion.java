@@ -0,0 +1,100 @@
+package org.example.service.ranking;
+
+import org.example.exceptions.InvalidFieldException;
+import org.example.model.Cars;
+import org.example.utils.Errors;
+import org.example.utils.SpeedInfo;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Critérios disponíveis para o ranking de carros.
+ * <p>
+ * Cada critério informa a chave numérica usada na comparação e, quando existir, o campo indexado do MongoDB que
+ * permite obter o ranking diretamente com uma ordenação limitada. A velocidade máxima é armazenada como texto, em
+ * unidades variadas, e por isso só pode ser ordenada após a normalização feita por {@link SpeedInfo}.
+ * </p>
+ */
+public enum RankingCriterion {
+
+    CHEAPEST( "cheapest", "carValue", Sort.Direction.ASC, RankingCriterion::value ),
+    MOST_EXPENSIVE( "most_expensive", "carValue", Sort.Direction.DESC, RankingCriterion::value ),
+    NEWEST( "newest", "yearProduction", Sort.Direction.DESC, RankingCriterion::year ),
+    OLDEST( "oldest", "yearProduction", Sort.Direction.ASC, RankingCriterion::year ),
+    FASTEST( "fastest", null, Sort.Direction.DESC, RankingCriterion::topSpeed );
+
+    private final String path;
+    private final String field;
+    private final Sort.Direction direction;
+    private final ToDoubleFunction<Cars> key;
+
+    RankingCriterion ( String path, String field, Sort.Direction direction, ToDoubleFunction<Cars> key ) {
+        this.path = path;
+        this.field = field;
+        this.direction = direction;
+        this.key = key;
+    }
+
+    /**
+     * Localiza o critério correspondente ao nome usado na rota.
+     *
+     * @param path o nome do critério, por exemplo {@code cheapest}
+     * @return o critério correspondente
+     * @throws InvalidFieldException se o nome não corresponder a nenhum critério
+     */
+    public static RankingCriterion fromPath ( String path ) {
+        for ( RankingCriterion criterion : values() ) {
+            if ( criterion.path.equalsIgnoreCase( path ) ) {
+                return criterion;
+            }
+        }
+        throw new InvalidFieldException( Errors.FIELD_ERROR + path );
+    }
+
+    /**
+     * Retorna o campo indexado que permite ordenar pelo critério no banco de dados.
+     *
+     * @return o nome do campo, ou {@code null} se o critério depender de uma chave calculada
+     */
+    public String getField () {
+        return field;
+    }
+
+    public Sort.Direction getDirection () {
+        return direction;
+    }
+
+    /**
+     * Indica se o carro possui a informação necessária para participar do ranking.
+     *
+     * @param car o carro avaliado
+     * @return {@code true} se a chave do critério estiver disponível
+     */
+    public boolean isRankable ( Cars car ) {
+        return car != null && ! Double.isNaN( key.applyAsDouble( car ) );
+    }
+
+    /**
+     * Retorna a ordem do ranking, em que os melhores carros aparecem primeiro.
+     *
+     * @return o comparador do critério
+     */
+    public Comparator<Cars> order () {
+        Comparator<Cars> ascending = Comparator.comparingDouble( key );
+        return direction == Sort.Direction.ASC ? ascending : ascending.reversed();
+    }
+
+    private static double value ( Cars car ) {
+        return car.getCarValue() == null ? Double.NaN : car.getCarValue();
+    }
+
+    private static double year ( Cars car ) {
+        return car.getYearProduction() == null ? Double.NaN : car.getYearProduction();
+    }
+
+    private static double topSpeed ( Cars car ) {
+        return car.getSpecifications() == null ? Double.NaN : SpeedInfo.toMph( car.getSpecifications().getTopSpeed() );
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.service.ranking;
+
+import org.example.exceptions.InvalidFieldException;
+import org.example.model.Cars;
+import org.example.service.columnar.ColumnarCatalog;
+import org.example.utils.Errors;
+import org.example.utils.PageInfo;
+import org.example.utils.QueryMongo;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Serviço que calcula rankings de carros sem materializar o catálogo completo.
+ * <p>
+ * Quando o {@link ColumnarCatalog} está pronto, o ranking é obtido por seleção com heap limitado ({@link TopK})
+ * sobre a fotografia em memória. Caso contrário, os rankings simples por valor ou ano são delegados ao MongoDB como
+ * uma ordenação limitada sobre o campo indexado, e os demais (agrupados por fabricante ou pela velocidade máxima,
+ * que não é indexável) percorrem um cursor do banco alimentando os heaps, mantendo no máximo {@code k} carros por
+ * grupo em memória.
+ * </p>
+ */
+@Service
+public class RankingService {
+
+    private static final String UNKNOWN_PRODUCER = "";
+
+    private final MongoTemplate mongoTemplate;
+    private final ColumnarCatalog columnarCatalog;
+
+    public RankingService ( MongoTemplate mongoTemplate, ColumnarCatalog columnarCatalog ) {
+        this.mongoTemplate = mongoTemplate;
+        this.columnarCatalog = columnarCatalog;
+    }
+
+    /**
+     * Retorna os {@code limit} melhores carros segundo o critério fornecido.
+     *
+     * @param criterion o critério do ranking
+     * @param limit     a quantidade de carros desejada
+     * @return os carros do ranking, do melhor para o pior
+     * @throws InvalidFieldException se o limite estiver fora do intervalo permitido
+     */
+    public List<Cars> top ( RankingCriterion criterion, int limit ) {
+        validateLimit( limit );
+        if ( ! columnarCatalog.isReady() && criterion.getField() != null ) {
+            Query query = new Query( Criteria.where( criterion.getField() ).ne( null ) )
+                    .with( Sort.by( criterion.getDirection(), criterion.getField() ) )
+                    .limit( limit )
+                    .maxTimeMsec( QueryMongo.MAX_TIME_MS );
+            return mongoTemplate.find( query, Cars.class );
+        }
+        TopK<Cars> selection = new TopK<>( limit, criterion.order() );
+        scan( criterion, car -> selection.offer( car ) );
+        return selection.toList();
+    }
+
+    /**
+     * Retorna os {@code limit} melhores carros de cada fabricante segundo o critério fornecido.
+     *
+     * @param criterion o critério do ranking
+     * @param limit     a quantidade de carros desejada por fabricante
+     * @return os rankings de cada fabricante, em ordem alfabética de fabricante
+     * @throws InvalidFieldException se o limite estiver fora do intervalo permitido
+     */
+    public Map<String, List<Cars>> topByProducer ( RankingCriterion criterion, int limit ) {
+        validateLimit( limit );
+        Map<String, TopK<Cars>> selections = new HashMap<>();
+        scan( criterion, car -> selections
+                .computeIfAbsent( car.getProducedBy() == null ? UNKNOWN_PRODUCER : car.getProducedBy(),
+                        producer -> new TopK<>( limit, criterion.order() ) )
+                .offer( car ) );
+        Map<String, List<Cars>> result = new TreeMap<>();
+        selections.forEach( ( producer, selection ) -> result.put( producer, selection.toList() ) );
+        return result;
+    }
+
+    /**
+     * Percorre os carros que possuem a chave do critério, a partir da memória ou de um cursor do banco.
+     */
+    private void scan ( RankingCriterion criterion, Consumer<Cars> action ) {
+        Consumer<Cars> rankable = car -> {
+            if ( criterion.isRankable( car ) ) {
+                action.accept( car );
+            }
+        };
+        if ( columnarCatalog.isReady() ) {
+            columnarCatalog.snapshot().forEach( rankable );
+            return;
+        }
+        Query query = criterion.getField() == null
+                ? new Query()
+                : new Query( Criteria.where( criterion.getField() ).ne( null ) );
+        // O agrupamento por fabricante é feito em memória; ordenar o cursor obrigaria o MongoDB a ordenar tudo
+        query.maxTimeMsec( QueryMongo.MAX_TIME_MS );
+        try ( Stream<Cars> cursor = mongoTemplate.stream( query, Cars.class ) ) {
+            cursor.forEach( rankable );
+        }
+    }
+
+    private static void validateLimit ( int limit ) {
+        if ( limit <= 0 || limit > PageInfo.MAX_RANKING_SIZE ) {
+            throw new InvalidFieldException( Errors.RANKING_SIZE_ERROR + PageInfo.MAX_RANKING_SIZE );
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.service.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Seleção dos {@code k} melhores elementos de uma sequência usando um heap limitado.
+ * <p>
+ * O heap mantém no topo o pior dos elementos retidos, de forma que cada novo elemento é comparado apenas com ele:
+ * a seleção custa {@code O(n log k)} e nunca guarda mais do que {@code k} elementos, independentemente do tamanho
+ * da sequência percorrida.
+ * </p>
+ *
+ * @param <T> o tipo dos elementos selecionados
+ */
+public class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    /**
+     * Constrói um seletor vazio.
+     *
+     * @param k     a quantidade máxima de elementos retidos
+     * @param order a ordem do ranking, em que os primeiros elementos são os melhores
+     */
+    public TopK ( int k, Comparator<? super T> order ) {
+        this.k = k;
+        this.order = order;
+        this.heap = new PriorityQueue<>( Math.max( 1, k ), order.reversed() );
+    }
+
+    /**
+     * Oferece um elemento ao seletor, que o retém apenas se ele estiver entre os {@code k} melhores até agora.
+     *
+     * @param element o elemento oferecido
+     */
+    public void offer ( T element ) {
+        if ( k <= 0 ) {
+            return;
+        }
+        if ( heap.size() < k ) {
+            heap.add( element );
+        } else if ( order.compare( element, heap.peek() ) < 0 ) {
+            heap.poll();
+            heap.add( element );
+        }
+    }
+
+    /**
+     * Retorna a quantidade de elementos retidos.
+     *
+     * @return o número de elementos retidos, no máximo {@code k}
+     */
+    public int size () {
+        return heap.size();
+    }
+
+    /**
+     * Retorna os elementos retidos, do melhor para o pior.
+     *
+     * @return a lista ordenada dos elementos selecionados
+     */
+    public List<T> toList () {
+        List<T> result = new ArrayList<>( heap );
+        result.sort( order );
+        return result;
+    }
+}
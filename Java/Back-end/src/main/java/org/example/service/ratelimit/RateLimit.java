@@ -0,0 +1,50 @@
+package org.example.service.ratelimit;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Limite de um balde de fichas: a taxa de reposição por segundo e a quantidade máxima acumulada.
+ *
+ * @param permitsPerSecond a quantidade de requisições liberadas por segundo
+ * @param burst            a quantidade máxima de requisições que podem ser feitas de uma só vez
+ */
+public record RateLimit( double permitsPerSecond, int burst ) {
+
+    /**
+     * Interpreta a configuração de limites de um papel, no formato {@code query=5:20,read=20:100,write=1:5}, em que
+     * cada entrada associa uma {@link RouteClass} à taxa por segundo e ao tamanho do balde.
+     * <p>
+     * Classes de rota ausentes da configuração não são limitadas.
+     * </p>
+     *
+     * @param spec a configuração textual dos limites
+     * @return os limites de cada classe de rota
+     * @throws IllegalArgumentException se a configuração estiver malformada
+     */
+    public static Map<RouteClass, RateLimit> parse ( String spec ) {
+        Map<RouteClass, RateLimit> limits = new EnumMap<>( RouteClass.class );
+        if ( spec == null || spec.isBlank() ) {
+            return limits;
+        }
+        for ( String entry : spec.split( "," ) ) {
+            String[] keyAndLimit = entry.trim().split( "=" );
+            String[] rateAndBurst = keyAndLimit.length == 2 ? keyAndLimit[ 1 ].split( ":" ) : new String[ 0 ];
+            if ( rateAndBurst.length != 2 ) {
+                throw new IllegalArgumentException( "Invalid rate limit entry: " + entry );
+            }
+            RouteClass routeClass = null;
+            for ( RouteClass candidate : RouteClass.values() ) {
+                if ( candidate.getKey().equalsIgnoreCase( keyAndLimit[ 0 ].trim() ) ) {
+                    routeClass = candidate;
+                }
+            }
+            if ( routeClass == null ) {
+                throw new IllegalArgumentException( "Unknown route class: " + keyAndLimit[ 0 ] );
+            }
+            limits.put( routeClass, new RateLimit( Double.parseDouble( rateAndBurst[ 0 ].trim() ),
+                    Integer.parseInt( rateAndBurst[ 1 ].trim() ) ) );
+        }
+        return limits;
+    }
+}
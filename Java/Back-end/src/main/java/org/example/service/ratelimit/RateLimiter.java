@@ -0,0 +1,94 @@
+package org.example.service.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.role.UserRole;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aplica os limites de requisições por usuário e por classe de rota.
+ * <p>
+ * Os limites são configurados por papel ({@link UserRole}) nas propriedades {@code cars.ratelimit.user} e
+ * {@code cars.ratelimit.admin}, e para requisições sem autenticação em {@code cars.ratelimit.anonymous}, usando o
+ * formato descrito em {@link RateLimit#parse(String)}. Cada requisição bloqueada incrementa o contador
+ * {@value #THROTTLED_METRIC}, identificado pelo papel e pela classe de rota.
+ * </p>
+ */
+@Component
+public class RateLimiter {
+
+    public static final String THROTTLED_METRIC = "cars.ratelimit.throttled";
+    public static final String ANONYMOUS = "anonymous";
+
+    private final boolean enabled;
+    private final StripedTokenBuckets buckets;
+    private final Map<String, Map<RouteClass, RateLimit>> limits = new HashMap<>();
+    private final Map<String, Map<RouteClass, Counter>> throttled = new HashMap<>();
+
+    /**
+     * Constrói o limitador de requisições.
+     *
+     * @param enabled        indica se os limites devem ser aplicados
+     * @param stripes        a quantidade de baldes de fichas
+     * @param userLimits     os limites do papel {@link UserRole#USER_ROLE}
+     * @param adminLimits    os limites do papel {@link UserRole#ADMIN_ROLE}
+     * @param anonymousLimits os limites das requisições sem autenticação
+     * @param meterRegistry  o registro onde as métricas são publicadas
+     */
+    @Autowired
+    public RateLimiter ( @Value( "${cars.ratelimit.enabled:true}" ) boolean enabled,
+                         @Value( "${cars.ratelimit.stripes:65536}" ) int stripes,
+                         @Value( "${cars.ratelimit.user:query=5:20,read=20:100,write=1:5}" ) String userLimits,
+                         @Value( "${cars.ratelimit.admin:query=20:100,read=100:500,write=10:50}" ) String adminLimits,
+                         @Value( "${cars.ratelimit.anonymous:query=1:5,read=1:5,write=1:5}" ) String anonymousLimits,
+                         MeterRegistry meterRegistry ) {
+        this.enabled = enabled;
+        this.buckets = new StripedTokenBuckets( stripes, System.currentTimeMillis() );
+        limits.put( UserRole.USER_ROLE.getRole(), RateLimit.parse( userLimits ) );
+        limits.put( UserRole.ADMIN_ROLE.getRole(), RateLimit.parse( adminLimits ) );
+        limits.put( ANONYMOUS, RateLimit.parse( anonymousLimits ) );
+        for ( String role : limits.keySet() ) {
+            Map<RouteClass, Counter> counters = new EnumMap<>( RouteClass.class );
+            for ( RouteClass routeClass : RouteClass.values() ) {
+                counters.put( routeClass, Counter.builder( THROTTLED_METRIC )
+                        .description( "Requests rejected by the rate limiter" )
+                        .tag( "role", role )
+                        .tag( "route_class", routeClass.getKey() )
+                        .register( meterRegistry ) );
+            }
+            throttled.put( role, counters );
+        }
+    }
+
+    /**
+     * Tenta liberar uma requisição.
+     *
+     * @param principal  o nome do usuário autenticado, ou o endereço do cliente nas requisições anônimas
+     * @param role       o papel do usuário, como retornado por {@link UserRole#getRole()}, ou {@value #ANONYMOUS}
+     * @param routeClass a classe da rota requisitada
+     * @return {@code 0} se a requisição foi liberada, ou o tempo em milissegundos até que uma nova tentativa possa
+     * ser atendida
+     */
+    public long tryAcquire ( String principal, String role, RouteClass routeClass ) {
+        if ( ! enabled ) {
+            return 0;
+        }
+        Map<RouteClass, RateLimit> roleLimits = limits.getOrDefault( role, limits.get( ANONYMOUS ) );
+        RateLimit limit = roleLimits.get( routeClass );
+        if ( limit == null ) {
+            return 0;
+        }
+        long wait = buckets.tryAcquire( role + ":" + routeClass.getKey() + ":" + principal, limit,
+                System.currentTimeMillis() );
+        if ( wait > 0 ) {
+            throttled.getOrDefault( role, throttled.get( ANONYMOUS ) ).get( routeClass ).increment();
+        }
+        return wait;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.service.ratelimit;
+
+import org.example.routes.Routes;
+import org.example.utils.HttpInfo;
+
+/**
+ * Classes de rotas usadas para aplicar limites de requisições diferentes conforme o custo de cada operação.
+ */
+public enum RouteClass {
+
+    /**
+     * Leituras pontuais, como a busca de um carro pelo ID ou de sua imagem.
+     */
+    READ( "read" ),
+
+    /**
+     * Consultas que podem percorrer grande parte do catálogo, como buscas por faixa de valor ou ano.
+     */
+    QUERY( "query" ),
+
+    /**
+     * Operações que alteram dados.
+     */
+    WRITE( "write" );
+
+    private final String key;
+
+    RouteClass ( String key ) {
+        this.key = key;
+    }
+
+    /**
+     * Obtém o nome da classe usado na configuração e nas métricas.
+     *
+     * @return o nome da classe de rota
+     */
+    public String getKey () {
+        return key;
+    }
+
+    /**
+     * Classifica uma requisição a partir do método HTTP e do caminho.
+     * <p>
+     * Requisições que não são {@code GET} alteram dados. Entre as leituras, apenas {@code /cars/{id}} e as imagens de
+     * um carro são pontuais; as demais rotas de carros são consultas sobre o catálogo.
+     * </p>
+     *
+     * @param method o método HTTP da requisição
+     * @param path   o caminho da requisição, sem o contexto da aplicação
+     * @return a classe da rota
+     */
+    public static RouteClass classify ( String method, String path ) {
+        if ( ! HttpInfo.HTTP_GET.equalsIgnoreCase( method ) && ! "HEAD".equalsIgnoreCase( method ) ) {
+            return WRITE;
+        }
+        if ( path == null || ! path.startsWith( Routes.CARS_ROUTE + "/" ) ) {
+            return path != null && path.equals( Routes.CARS_ROUTE ) ? QUERY : READ;
+        }
+        String[] segments = path.substring( Routes.CARS_ROUTE.length() + 1 ).split( "/" );
+        boolean pointRead = segments.length == 1 && ! isCollectionRoute( segments[ 0 ] )
+                || segments.length >= 2 && "image".equals( segments[ 1 ] );
+        return pointRead ? READ : QUERY;
+    }
+
+    private static boolean isCollectionRoute ( String segment ) {
+        String route = "/" + segment;
+        return route.equals( Routes.MODEL_ROUTE ) || route.equals( Routes.PRODUCEDBY_ROUTE )
+                || route.equals( Routes.ENGYNETYPE_ROUTE ) || route.equals( Routes.FEATURE_ROUTE )
+                || route.equals( Routes.SEARCH_ROUTE ) || route.equals( Routes.FACETS_ROUTE )
+                || route.equals( Routes.STREAM_ROUTE ) || route.equals( Routes.BATCH_ROUTE );
+    }
+}
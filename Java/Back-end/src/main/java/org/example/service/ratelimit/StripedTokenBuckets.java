@@ -0,0 +1,95 @@
+package org.example.service.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Conjunto de baldes de fichas sem bloqueio, distribuídos em um vetor de tamanho fixo.
+ * <p>
+ * Cada chave é associada a uma posição do vetor pelo seu hash. O estado de um balde ocupa um único {@code long}:
+ * os 40 bits superiores guardam o instante da última reposição, em milissegundos, e os 24 bits inferiores a
+ * quantidade de fichas disponíveis em milésimos. Assim cada aquisição é uma leitura seguida de um
+ * {@code compareAndSet}, sem travas e sem alocação, e a memória usada não cresce com a quantidade de usuários.
+ * Chaves que colidem na mesma posição compartilham o balde; com um vetor grande o bastante isso é raro e apenas
+ * torna o limite mais restritivo para as chaves envolvidas.
+ * </p>
+ */
+public class StripedTokenBuckets {
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = ( 1L << TOKEN_BITS ) - 1;
+    private static final long MILLI = 1000;
+
+    /**
+     * Maior tamanho de balde representável com a precisão de milésimos de ficha.
+     */
+    public static final int MAX_BURST = ( int ) ( TOKEN_MASK / MILLI );
+
+    private final AtomicLongArray states;
+    private final int mask;
+    private final long origin;
+
+    /**
+     * Constrói o conjunto de baldes.
+     *
+     * @param stripes a quantidade de posições, arredondada para a próxima potência de dois
+     * @param origin  o instante de referência, em milissegundos, a partir do qual os tempos são medidos
+     */
+    public StripedTokenBuckets ( int stripes, long origin ) {
+        int size = Integer.highestOneBit( Math.max( 1, stripes - 1 ) ) << 1;
+        this.states = new AtomicLongArray( size );
+        this.mask = size - 1;
+        this.origin = origin;
+    }
+
+    /**
+     * Tenta consumir uma ficha do balde associado à chave.
+     *
+     * @param key   a chave do balde
+     * @param limit o limite aplicado ao balde
+     * @param now   o instante atual, em milissegundos
+     * @return {@code 0} se a ficha foi consumida, ou o tempo em milissegundos até a próxima ficha estar disponível
+     */
+    public long tryAcquire ( String key, RateLimit limit, long now ) {
+        int stripe = spread( key.hashCode() ) & mask;
+        long capacity = Math.min( limit.burst(), MAX_BURST ) * MILLI;
+        double refillPerMilli = limit.permitsPerSecond();
+        long time = Math.max( 1, now - origin + 1 );
+        while ( true ) {
+            long state = states.get( stripe );
+            long tokens;
+            long last;
+            if ( state == 0 ) {
+                tokens = capacity;
+                last = time;
+            } else {
+                tokens = Math.min( state & TOKEN_MASK, capacity );
+                last = state >>> TOKEN_BITS;
+                long elapsed = Math.max( 0, time - last );
+                long refill = ( long ) ( elapsed * refillPerMilli );
+                if ( tokens + refill >= capacity ) {
+                    tokens = capacity;
+                    last = time;
+                } else if ( refill > 0 ) {
+                    tokens += refill;
+                    last += ( long ) ( refill / refillPerMilli );
+                }
+            }
+            if ( tokens < MILLI ) {
+                if ( refillPerMilli <= 0 ) {
+                    return Long.MAX_VALUE;
+                }
+                return Math.max( 1, ( long ) Math.ceil( ( MILLI - tokens ) / refillPerMilli ) );
+            }
+            if ( states.compareAndSet( stripe, state, ( last << TOKEN_BITS ) | ( tokens - MILLI ) ) ) {
+                return 0;
+            }
+        }
+    }
+
+    private static int spread ( int hash ) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+}
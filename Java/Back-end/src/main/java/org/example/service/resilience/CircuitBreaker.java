@@ -0,0 +1,167 @@
+package org.example.service.resilience;
+
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Disjuntor baseado na taxa de falhas das últimas chamadas.
+ * <p>
+ * No estado {@link State#CLOSED} todas as chamadas são permitidas e o resultado das últimas {@code windowSize}
+ * chamadas é guardado em um vetor circular. Quando pelo menos {@code minimumCalls} foram registradas e a taxa de
+ * falhas atinge {@code failureRateThreshold}, o disjuntor passa para {@link State#OPEN} e rejeita as chamadas por
+ * {@code openMillis}. Em seguida entra em {@link State#HALF_OPEN}, permitindo {@code probeCalls} chamadas de teste:
+ * se todas forem bem-sucedidas o circuito é fechado, e qualquer falha o abre novamente.
+ * </p>
+ */
+public class CircuitBreaker {
+
+    /**
+     * Estados do disjuntor.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final boolean[] outcomes;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openMillis;
+    private final int probeCalls;
+    private final LongSupplier clock;
+    private final BiConsumer<State, State> onTransition;
+
+    private State state = State.CLOSED;
+    private int recorded;
+    private int next;
+    private int failures;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    /**
+     * Constrói um disjuntor fechado.
+     *
+     * @param windowSize           a quantidade de chamadas consideradas no cálculo da taxa de falhas
+     * @param minimumCalls         a quantidade mínima de chamadas antes que o circuito possa abrir
+     * @param failureRateThreshold a taxa de falhas, entre 0 e 1, que abre o circuito
+     * @param openMillis           o tempo em que o circuito permanece aberto
+     * @param probeCalls           a quantidade de chamadas de teste no estado semiaberto
+     * @param clock                a fonte do instante atual, em milissegundos
+     * @param onTransition         a ação executada a cada mudança de estado, recebendo o estado anterior e o novo
+     */
+    public CircuitBreaker ( int windowSize, int minimumCalls, double failureRateThreshold, long openMillis,
+                            int probeCalls, LongSupplier clock, BiConsumer<State, State> onTransition ) {
+        this.outcomes = new boolean[ Math.max( 1, windowSize ) ];
+        this.minimumCalls = Math.max( 1, Math.min( minimumCalls, outcomes.length ) );
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+        this.probeCalls = Math.max( 1, probeCalls );
+        this.clock = clock;
+        this.onTransition = onTransition;
+    }
+
+    /**
+     * Retorna o estado atual, considerando o fim do período aberto.
+     *
+     * @return o estado do disjuntor
+     */
+    public synchronized State getState () {
+        refreshOpenState();
+        return state;
+    }
+
+    /**
+     * Solicita permissão para realizar uma chamada.
+     *
+     * @return {@code true} se a chamada pode ser realizada
+     */
+    public synchronized boolean tryAcquirePermission () {
+        refreshOpenState();
+        switch ( state ) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if ( probesStarted < probeCalls ) {
+                    probesStarted++;
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Retorna o tempo restante, em milissegundos, até o circuito aberto permitir chamadas de teste.
+     *
+     * @return o tempo restante, ou {@code 0} se o circuito não estiver aberto
+     */
+    public synchronized long remainingOpenMillis () {
+        return state == State.OPEN ? Math.max( 0, openedAt + openMillis - clock.getAsLong() ) : 0;
+    }
+
+    /**
+     * Registra uma chamada bem-sucedida.
+     */
+    public synchronized void onSuccess () {
+        if ( state == State.HALF_OPEN ) {
+            probesSucceeded++;
+            if ( probesSucceeded >= probeCalls ) {
+                transition( State.CLOSED );
+            }
+        } else if ( state == State.CLOSED ) {
+            record( false );
+        }
+    }
+
+    /**
+     * Registra uma chamada que falhou.
+     */
+    public synchronized void onFailure () {
+        if ( state == State.HALF_OPEN ) {
+            transition( State.OPEN );
+        } else if ( state == State.CLOSED ) {
+            record( true );
+            if ( recorded >= minimumCalls && failures >= failureRateThreshold * recorded ) {
+                transition( State.OPEN );
+            }
+        }
+    }
+
+    private void record ( boolean failure ) {
+        if ( recorded == outcomes.length ) {
+            if ( outcomes[ next ] ) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[ next ] = failure;
+        if ( failure ) {
+            failures++;
+        }
+        next = ( next + 1 ) % outcomes.length;
+    }
+
+    private void refreshOpenState () {
+        if ( state == State.OPEN && clock.getAsLong() - openedAt >= openMillis ) {
+            transition( State.HALF_OPEN );
+        }
+    }
+
+    private void transition ( State target ) {
+        State previous = state;
+        state = target;
+        if ( target == State.OPEN ) {
+            openedAt = clock.getAsLong();
+        } else if ( target == State.HALF_OPEN ) {
+            probesStarted = 0;
+            probesSucceeded = 0;
+        } else {
+            recorded = 0;
+            next = 0;
+            failures = 0;
+        }
+        onTransition.accept( previous, target );
+    }
+}
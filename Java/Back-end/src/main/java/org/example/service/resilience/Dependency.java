@@ -0,0 +1,37 @@
+package org.example.service.resilience;
+
+/**
+ * Dependências externas protegidas por limites de concorrência e disjuntores.
+ */
+public enum Dependency {
+
+    /**
+     * O MongoDB, acessado pelo {@link org.example.repository.CarsRepository}.
+     */
+    MONGO( "mongo" ),
+
+    /**
+     * O PostgreSQL, acessado pelo {@link org.example.repository.UserRepository}.
+     */
+    POSTGRES( "postgres" ),
+
+    /**
+     * O servidor SMTP, acessado pelo {@link org.springframework.mail.javamail.JavaMailSender}.
+     */
+    SMTP( "smtp" );
+
+    private final String key;
+
+    Dependency ( String key ) {
+        this.key = key;
+    }
+
+    /**
+     * Obtém o nome da dependência usado na configuração e nas métricas.
+     *
+     * @return o nome da dependência
+     */
+    public String getKey () {
+        return key;
+    }
+}
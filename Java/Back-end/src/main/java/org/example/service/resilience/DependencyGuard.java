@@ -0,0 +1,162 @@
+package org.example.service.resilience;
+
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.exceptions.DependencyUnavailableException;
+import org.example.utils.Errors;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Protege as chamadas a uma dependência externa com um limite de concorrência (<i>bulkhead</i>) e um
+ * {@link CircuitBreaker}.
+ * <p>
+ * Cada dependência possui o seu próprio conjunto de permissões, de modo que uma dependência lenta ocupa no máximo
+ * {@code maxConcurrent} threads e não bloqueia as requisições que usam as demais. Uma chamada que não obtém
+ * permissão em {@code maxWaitMillis}, ou que encontra o circuito aberto, falha imediatamente com
+ * {@link DependencyUnavailableException}.
+ * </p>
+ * <p>
+ * Erros de dados não transitórios, como violações de integridade, indicam que a dependência respondeu e não
+ * contam como falha; tempos esgotados e falhas de conexão, em qualquer nível da causa, contam. São publicadas as métricas {@value #TRANSITIONS_METRIC}, a cada mudança de estado do
+ * disjuntor, {@value #STATE_METRIC}, com o estado atual, e {@value #REJECTED_METRIC}, com as chamadas rejeitadas.
+ * </p>
+ */
+public class DependencyGuard {
+
+    public static final String TRANSITIONS_METRIC = "cars.resilience.breaker.transitions";
+    public static final String STATE_METRIC = "cars.resilience.breaker.state";
+    public static final String REJECTED_METRIC = "cars.resilience.rejected";
+
+    private final Dependency dependency;
+    private final Semaphore permits;
+    private final long maxWaitMillis;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter rejectedByBulkhead;
+    private final Counter rejectedByBreaker;
+
+    /**
+     * Constrói a proteção de uma dependência.
+     *
+     * @param dependency           a dependência protegida
+     * @param maxConcurrent        a quantidade máxima de chamadas simultâneas
+     * @param maxWaitMillis        o tempo máximo de espera por uma permissão de chamada
+     * @param windowSize           a quantidade de chamadas consideradas pelo disjuntor
+     * @param minimumCalls         a quantidade mínima de chamadas antes que o circuito possa abrir
+     * @param failureRateThreshold a taxa de falhas, entre 0 e 1, que abre o circuito
+     * @param openMillis           o tempo em que o circuito permanece aberto
+     * @param probeCalls           a quantidade de chamadas de teste no estado semiaberto
+     * @param meterRegistry        o registro onde as métricas são publicadas
+     */
+    public DependencyGuard ( Dependency dependency, int maxConcurrent, long maxWaitMillis, int windowSize,
+                             int minimumCalls, double failureRateThreshold, long openMillis, int probeCalls,
+                             MeterRegistry meterRegistry ) {
+        this.dependency = dependency;
+        this.permits = new Semaphore( maxConcurrent );
+        this.maxWaitMillis = maxWaitMillis;
+        this.circuitBreaker = new CircuitBreaker( windowSize, minimumCalls, failureRateThreshold, openMillis,
+                probeCalls, System::currentTimeMillis, ( from, to ) -> Counter.builder( TRANSITIONS_METRIC )
+                .description( "Circuit breaker state transitions" )
+                .tag( "dependency", dependency.getKey() )
+                .tag( "from", from.name() )
+                .tag( "to", to.name() )
+                .register( meterRegistry )
+                .increment() );
+        Gauge.builder( STATE_METRIC, circuitBreaker, breaker -> breaker.getState().ordinal() )
+                .description( "Circuit breaker state: 0 closed, 1 open, 2 half open" )
+                .tag( "dependency", dependency.getKey() )
+                .register( meterRegistry );
+        this.rejectedByBulkhead = rejectedCounter( meterRegistry, "bulkhead" );
+        this.rejectedByBreaker = rejectedCounter( meterRegistry, "circuit_open" );
+    }
+
+    /**
+     * Executa uma chamada à dependência respeitando o limite de concorrência e o estado do disjuntor.
+     *
+     * @param call a chamada a ser executada
+     * @param <T>  o tipo do resultado
+     * @return o resultado da chamada
+     * @throws DependencyUnavailableException se a chamada foi rejeitada sem ser executada
+     * @throws Exception                      a exceção lançada pela própria chamada
+     */
+    public <T> T call ( Callable<T> call ) throws Exception {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire( maxWaitMillis, TimeUnit.MILLISECONDS );
+        } catch ( InterruptedException exception ) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if ( ! acquired ) {
+            rejectedByBulkhead.increment();
+            throw unavailable( 0 );
+        }
+        if ( ! circuitBreaker.tryAcquirePermission() ) {
+            permits.release();
+            rejectedByBreaker.increment();
+            throw unavailable( circuitBreaker.remainingOpenMillis() );
+        }
+        try {
+            T result = call.call();
+            circuitBreaker.onSuccess();
+            return result;
+        } catch ( Exception | Error exception ) {
+            if ( isFailure( exception ) ) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            throw exception;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Retorna o estado atual do disjuntor.
+     *
+     * @return o estado do disjuntor
+     */
+    public CircuitBreaker.State getState () {
+        return circuitBreaker.getState();
+    }
+
+    private static boolean isFailure ( Throwable exception ) {
+        for ( Throwable cause = exception; cause != null; cause = cause.getCause() ) {
+            if ( cause instanceof MongoExecutionTimeoutException || cause instanceof MongoSocketException
+                    || cause instanceof MongoTimeoutException || cause instanceof SocketTimeoutException
+                    || cause instanceof DataAccessResourceFailureException ) {
+                return true;
+            }
+            if ( cause.getCause() == cause ) {
+                break;
+            }
+        }
+        return ! ( exception instanceof NonTransientDataAccessException )
+                && ! ( exception instanceof OptimisticLockingFailureException )
+                && ! ( exception instanceof IllegalArgumentException );
+    }
+
+    private DependencyUnavailableException unavailable ( long waitMillis ) {
+        return new DependencyUnavailableException( Errors.DEPENDENCY_UNAVAILABLE_ERROR + dependency.getKey(),
+                Math.max( 1, TimeUnit.MILLISECONDS.toSeconds( waitMillis + 999 ) ) );
+    }
+
+    private Counter rejectedCounter ( MeterRegistry meterRegistry, String reason ) {
+        return Counter.builder( REJECTED_METRIC )
+                .description( "Calls rejected without reaching the dependency" )
+                .tag( "dependency", dependency.getKey() )
+                .tag( "reason", reason )
+                .register( meterRegistry );
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.service.resilience;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Conjunto das proteções de cada {@link Dependency}.
+ * <p>
+ * O limite de chamadas simultâneas é configurado por dependência em {@code cars.resilience.<dependência>.max-concurrent};
+ * os parâmetros dos disjuntores são compartilhados e configurados em {@code cars.resilience.*}.
+ * </p>
+ */
+@Component
+public class DependencyGuards {
+
+    private final Map<Dependency, DependencyGuard> guards = new EnumMap<>( Dependency.class );
+
+    /**
+     * Constrói as proteções das dependências.
+     *
+     * @param mongoConcurrent      a quantidade máxima de chamadas simultâneas ao MongoDB
+     * @param postgresConcurrent   a quantidade máxima de chamadas simultâneas ao PostgreSQL
+     * @param smtpConcurrent       a quantidade máxima de envios simultâneos de e-mail
+     * @param maxWaitMillis        o tempo máximo de espera por uma permissão de chamada
+     * @param windowSize           a quantidade de chamadas consideradas pelos disjuntores
+     * @param minimumCalls         a quantidade mínima de chamadas antes que um circuito possa abrir
+     * @param failureRateThreshold a taxa de falhas, em porcentagem, que abre um circuito
+     * @param openMillis           o tempo em que um circuito permanece aberto
+     * @param probeCalls           a quantidade de chamadas de teste no estado semiaberto
+     * @param meterRegistry        o registro onde as métricas são publicadas
+     */
+    @Autowired
+    public DependencyGuards ( @Value( "${cars.resilience.mongo.max-concurrent:64}" ) int mongoConcurrent,
+                              @Value( "${cars.resilience.postgres.max-concurrent:16}" ) int postgresConcurrent,
+                              @Value( "${cars.resilience.smtp.max-concurrent:4}" ) int smtpConcurrent,
+                              @Value( "${cars.resilience.max-wait-ms:100}" ) long maxWaitMillis,
+                              @Value( "${cars.resilience.window-size:50}" ) int windowSize,
+                              @Value( "${cars.resilience.minimum-calls:20}" ) int minimumCalls,
+                              @Value( "${cars.resilience.failure-rate-threshold:50}" ) double failureRateThreshold,
+                              @Value( "${cars.resilience.open-ms:10000}" ) long openMillis,
+                              @Value( "${cars.resilience.probe-calls:3}" ) int probeCalls,
+                              MeterRegistry meterRegistry ) {
+        Map<Dependency, Integer> concurrency = Map.of( Dependency.MONGO, mongoConcurrent,
+                Dependency.POSTGRES, postgresConcurrent, Dependency.SMTP, smtpConcurrent );
+        for ( Dependency dependency : Dependency.values() ) {
+            guards.put( dependency, new DependencyGuard( dependency, concurrency.get( dependency ), maxWaitMillis,
+                    windowSize, minimumCalls, failureRateThreshold / 100.0, openMillis, probeCalls, meterRegistry ) );
+        }
+    }
+
+    /**
+     * Retorna a proteção de uma dependência.
+     *
+     * @param dependency a dependência
+     * @return a proteção correspondente
+     */
+    public DependencyGuard get ( Dependency dependency ) {
+        return guards.get( dependency );
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.service.resilience;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.example.repository.CarsRepository;
+import org.example.repository.SavedSearchRepository;
+import org.example.repository.UserRepository;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mail.javamail.JavaMailSender;
+
+/**
+ * Envolve os beans que acessam dependências externas para que toda chamada passe pelo seu {@link DependencyGuard}.
+ * <p>
+ * O {@link CarsRepository} é associado a {@link Dependency#MONGO}, o {@link UserRepository} e o
+ * {@link SavedSearchRepository} a {@link Dependency#POSTGRES} e o {@link JavaMailSender} a {@link Dependency#SMTP}.
+ * Os métodos de {@link Object} não são protegidos. As proteções são obtidas apenas na primeira chamada, evitando que
+ * este processador antecipe a criação de outros beans.
+ * </p>
+ */
+public class GuardedDependenciesPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<DependencyGuards> guards;
+
+    public GuardedDependenciesPostProcessor ( ObjectProvider<DependencyGuards> guards ) {
+        this.guards = guards;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization ( Object bean, String beanName ) {
+        Dependency dependency = dependencyOf( bean );
+        if ( dependency == null ) {
+            return bean;
+        }
+        ProxyFactory factory = new ProxyFactory( bean );
+        // Beans concretos, como o JavaMailSenderImpl, continuam sendo do mesmo tipo para quem os procura pela classe
+        factory.setProxyTargetClass( ! AopUtils.isJdkDynamicProxy( bean ) );
+        factory.addAdvice( ( MethodInterceptor ) invocation -> {
+            if ( AopUtils.isEqualsMethod( invocation.getMethod() ) || AopUtils.isHashCodeMethod( invocation.getMethod() )
+                    || AopUtils.isToStringMethod( invocation.getMethod() ) ) {
+                return invocation.proceed();
+            }
+            return guards.getObject().get( dependency ).call( () -> {
+                try {
+                    return invocation.proceed();
+                } catch ( Exception | Error exception ) {
+                    throw exception;
+                } catch ( Throwable throwable ) {
+                    throw new IllegalStateException( throwable );
+                }
+            } );
+        } );
+        return factory.getProxy( bean.getClass().getClassLoader() );
+    }
+
+    private static Dependency dependencyOf ( Object bean ) {
+        if ( bean instanceof CarsRepository ) {
+            return Dependency.MONGO;
+        }
+        if ( bean instanceof UserRepository || bean instanceof SavedSearchRepository ) {
+            return Dependency.POSTGRES;
+        }
+        if ( bean instanceof JavaMailSender ) {
+            return Dependency.SMTP;
+        }
+        return null;
+    }
+}
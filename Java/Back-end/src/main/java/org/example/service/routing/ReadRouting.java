@@ -0,0 +1,209 @@
+package org.example.service.routing;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoClient;
+import com.mongodb.connection.ClusterDescription;
+import com.mongodb.connection.ServerDescription;
+import com.mongodb.connection.ServerType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.events.CarsChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Decide em qual membro do <i>replica set</i> do MongoDB cada leitura do catálogo de carros é executada.
+ * <p>
+ * As consultas de listagem e busca executadas por {@link #read(Supplier)} usam a preferência
+ * {@code secondaryPreferred} com {@code maxStalenessSeconds}, liberando o primário para as escritas; as demais
+ * operações, incluindo todas as escritas e as leituras feitas antes de uma atualização, continuam no primário. A
+ * preferência vale apenas para a thread que executa a consulta e é aplicada pelo {@link RoutingMongoTemplate}.
+ * </p>
+ * <p>
+ * Para que um cliente veja as próprias escritas, cada escrita feita por um usuário autenticado fixa as leituras
+ * desse usuário no primário durante {@code cars.mongo.read-routing.read-your-writes-ms}, que deve cobrir o atraso
+ * máximo tolerado dos secundários.
+ * </p>
+ * <p>
+ * O contador {@value #READS_METRIC} registra cada leitura com o destino ({@code secondary}, {@code primary} ou
+ * {@code primary-own-writes}), e o indicador {@value #LAG_METRIC} mostra o maior atraso de replicação entre o
+ * primário e os secundários, em milissegundos, calculado pelo próprio driver a partir do monitoramento do cluster.
+ * </p>
+ */
+@Component
+public class ReadRouting {
+
+    public static final String READS_METRIC = "cars.mongo.reads";
+    public static final String LAG_METRIC = "cars.mongo.replication.lag";
+
+    private static final long MIN_STALENESS_SECONDS = 90;
+
+    private final ThreadLocal<ReadPreference> current = new ThreadLocal<>();
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final ReadPreference secondary;
+    private final long readYourWritesNanos;
+    private final Counter secondaryReads;
+    private final Counter primaryReads;
+    private final Counter ownWritesReads;
+
+    /**
+     * Constrói o roteamento das leituras.
+     *
+     * @param mongoClient          o cliente do MongoDB, usado para medir o atraso de replicação
+     * @param enabled              indica se as leituras de listagem e busca devem ir para os secundários
+     * @param maxStalenessSeconds  o atraso máximo aceito em um secundário, de no mínimo 90 segundos
+     * @param readYourWritesMillis o tempo durante o qual as leituras de quem acabou de escrever vão para o primário
+     * @param meterRegistry        o registro onde as métricas são publicadas
+     */
+    @Autowired
+    public ReadRouting ( MongoClient mongoClient,
+                         @Value( "${cars.mongo.read-routing.enabled:false}" ) boolean enabled,
+                         @Value( "${cars.mongo.read-routing.max-staleness-s:90}" ) long maxStalenessSeconds,
+                         @Value( "${cars.mongo.read-routing.read-your-writes-ms:100000}" ) long readYourWritesMillis,
+                         MeterRegistry meterRegistry ) {
+        if ( maxStalenessSeconds < MIN_STALENESS_SECONDS ) {
+            throw new IllegalArgumentException( "cars.mongo.read-routing.max-staleness-s must be at least "
+                    + MIN_STALENESS_SECONDS );
+        }
+        this.enabled = enabled;
+        this.secondary = ReadPreference.secondaryPreferred( maxStalenessSeconds, TimeUnit.SECONDS );
+        this.readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos( readYourWritesMillis );
+        this.secondaryReads = readsCounter( meterRegistry, "secondary" );
+        this.primaryReads = readsCounter( meterRegistry, "primary" );
+        this.ownWritesReads = readsCounter( meterRegistry, "primary-own-writes" );
+        Gauge.builder( LAG_METRIC, mongoClient, client -> replicationLagMillis( client.getClusterDescription() ) )
+                .baseUnit( "milliseconds" )
+                .register( meterRegistry );
+    }
+
+    /**
+     * Executa uma consulta de leitura no membro adequado do <i>replica set</i>.
+     *
+     * @param query a consulta a ser executada
+     * @param <T>   o tipo do resultado
+     * @return o resultado da consulta
+     */
+    public <T> T read ( Supplier<T> query ) {
+        if ( ! enabled ) {
+            primaryReads.increment();
+            return query.get();
+        }
+        if ( readsOwnWrites() ) {
+            ownWritesReads.increment();
+            return query.get();
+        }
+        ReadPreference previous = current.get();
+        current.set( secondary );
+        try {
+            secondaryReads.increment();
+            return query.get();
+        } finally {
+            if ( previous == null ) {
+                current.remove();
+            } else {
+                current.set( previous );
+            }
+        }
+    }
+
+    /**
+     * Indica se o usuário da requisição atual fez uma escrita recente e deve ler do primário.
+     *
+     * @return {@code true} se as leituras do usuário devem ir para o primário
+     */
+    public boolean readsOwnWrites () {
+        String client = currentClient();
+        if ( client == null ) {
+            return false;
+        }
+        Long until = recentWriters.get( client );
+        if ( until == null ) {
+            return false;
+        }
+        if ( until - System.nanoTime() < 0 ) {
+            recentWriters.remove( client, until );
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Retorna a preferência de leitura da consulta em execução na thread atual.
+     *
+     * @return a preferência de leitura, ou {@code null} para a preferência padrão do cliente
+     */
+    public ReadPreference current () {
+        return current.get();
+    }
+
+    /**
+     * Fixa as leituras do usuário que fez a escrita no primário.
+     * <p>
+     * Os eventos publicados fora de uma requisição autenticada, como os aplicados a partir de outras instâncias,
+     * não têm usuário e são ignorados.
+     * </p>
+     *
+     * @param event o evento descrevendo a escrita
+     */
+    @EventListener
+    public void onCarsChanged ( CarsChangedEvent event ) {
+        String client = currentClient();
+        if ( enabled && client != null ) {
+            long now = System.nanoTime();
+            recentWriters.values().removeIf( until -> until - now < 0 );
+            recentWriters.put( client, now + readYourWritesNanos );
+        }
+    }
+
+    /**
+     * Calcula o maior atraso entre a última escrita do primário e a de cada secundário.
+     *
+     * @param cluster a descrição do cluster mantida pelo driver
+     * @return o atraso em milissegundos, ou {@code NaN} se não houver primário e secundários conhecidos
+     */
+    public static double replicationLagMillis ( ClusterDescription cluster ) {
+        Date primaryWrite = null;
+        for ( ServerDescription server : cluster.getServerDescriptions() ) {
+            if ( server.getType() == ServerType.REPLICA_SET_PRIMARY && server.getLastWriteDate() != null ) {
+                primaryWrite = server.getLastWriteDate();
+            }
+        }
+        if ( primaryWrite == null ) {
+            return Double.NaN;
+        }
+        double lag = Double.NaN;
+        for ( ServerDescription server : cluster.getServerDescriptions() ) {
+            if ( server.getType() == ServerType.REPLICA_SET_SECONDARY && server.getLastWriteDate() != null ) {
+                double secondaryLag = Math.max( 0, primaryWrite.getTime() - server.getLastWriteDate().getTime() );
+                lag = Double.isNaN( lag ) ? secondaryLag : Math.max( lag, secondaryLag );
+            }
+        }
+        return lag;
+    }
+
+    private static String currentClient () {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if ( authentication == null || ! authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken ) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static Counter readsCounter ( MeterRegistry meterRegistry, String target ) {
+        return Counter.builder( READS_METRIC ).tag( "target", target ).register( meterRegistry );
+    }
+}
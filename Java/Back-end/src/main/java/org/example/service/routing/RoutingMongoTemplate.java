@@ -0,0 +1,43 @@
+package org.example.service.routing;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+
+/**
+ * {@link MongoTemplate} que aplica às coleções a preferência de leitura escolhida pelo {@link ReadRouting} para a
+ * thread atual.
+ * <p>
+ * Todas as operações dos repositórios passam por este template, de modo que as consultas executadas dentro de
+ * {@link ReadRouting#read(java.util.function.Supplier)} vão para os secundários sem que os repositórios ou as
+ * estratégias de busca precisem conhecer o roteamento. Preferências definidas na própria consulta continuam tendo
+ * precedência, e as escritas sempre vão para o primário, independentemente da preferência de leitura.
+ * </p>
+ */
+public class RoutingMongoTemplate extends MongoTemplate {
+
+    private final ReadRouting readRouting;
+
+    /**
+     * Constrói o template com roteamento de leituras.
+     *
+     * @param databaseFactory a fábrica de conexões com o banco de dados
+     * @param converter       o conversor entre documentos e objetos
+     * @param readRouting     o roteamento que define a preferência de leitura de cada thread
+     */
+    public RoutingMongoTemplate ( MongoDatabaseFactory databaseFactory, MongoConverter converter,
+                                  ReadRouting readRouting ) {
+        super( databaseFactory, converter );
+        this.readRouting = readRouting;
+    }
+
+    @Override
+    protected MongoCollection<Document> prepareCollection ( MongoCollection<Document> collection ) {
+        MongoCollection<Document> prepared = super.prepareCollection( collection );
+        ReadPreference routed = readRouting.current();
+        return routed == null ? prepared : prepared.withReadPreference( routed );
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.service.similar;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Busca exaustiva dos vizinhos mais próximos, comparando a consulta com todos os vetores.
+ * <p>
+ * Serve de referência para a {@link VantagePointTree}, que deve retornar os mesmos vizinhos, e é usada quando o
+ * índice em memória não está disponível.
+ * </p>
+ */
+public final class BruteForceNeighbours {
+
+    private BruteForceNeighbours () {
+    }
+
+    /**
+     * Busca os {@code k} carros mais próximos de um vetor.
+     *
+     * @param ids         os IDs dos carros
+     * @param coordinates as coordenadas normalizadas, {@code dimensions} posições por carro
+     * @param dimensions  a quantidade de posições de cada vetor
+     * @param query       o vetor normalizado da consulta
+     * @param k           a quantidade de vizinhos desejada
+     * @param skip        os IDs que não podem fazer parte do resultado
+     * @return os vizinhos, do mais próximo para o mais distante
+     */
+    public static List<Neighbour> nearest ( String[] ids, float[] coordinates, int dimensions, double[] query, int k,
+                                            Predicate<String> skip ) {
+        NeighbourHeap heap = new NeighbourHeap( k );
+        for ( int i = 0; i < ids.length; i++ ) {
+            int offset = i * dimensions;
+            double sum = 0;
+            for ( int d = 0; d < dimensions; d++ ) {
+                double delta = query[ d ] - coordinates[ offset + d ];
+                sum += delta * delta;
+            }
+            double distance = Math.sqrt( sum );
+            if ( distance < heap.bound() && ! skip.test( ids[ i ] ) ) {
+                heap.offer( ids[ i ], distance );
+            }
+        }
+        return heap.toList();
+    }
+}
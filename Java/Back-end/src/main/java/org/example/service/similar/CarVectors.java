@@ -0,0 +1,82 @@
+package org.example.service.similar;
+
+import org.example.model.Cars;
+import org.example.model.DimensionsCar;
+import org.example.model.SpecificationsCar;
+import org.example.utils.SpeedInfo;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Monta o vetor numérico de um carro usado na busca por carros semelhantes.
+ * <p>
+ * As dez primeiras posições são o valor, o ano de produção, a cilindrada, a autonomia, a aceleração, a velocidade
+ * máxima em milhas por hora e as quatro medidas de {@link DimensionsCar}, extraídas como o primeiro número de cada
+ * texto; valores ausentes ou ilegíveis ficam como {@link Double#NaN}. As posições restantes contam os acessórios
+ * do carro distribuídos por <i>hash</i>, de modo que carros com acessórios em comum ficam mais próximos sem que
+ * cada acessório precise de uma posição própria.
+ * </p>
+ * <p>
+ * Os vetores produzidos aqui estão nas unidades originais e precisam passar pelo {@link FeatureScaler} antes de
+ * serem comparados.
+ * </p>
+ */
+public final class CarVectors {
+
+    public static final int NUMERIC_DIMENSIONS = 10;
+    public static final int FEATURE_DIMENSIONS = 6;
+    public static final int DIMENSIONS = NUMERIC_DIMENSIONS + FEATURE_DIMENSIONS;
+
+    private static final Pattern NUMBER = Pattern.compile( "[0-9]+(?:[.,][0-9]+)?" );
+
+    private CarVectors () {
+    }
+
+    /**
+     * Monta o vetor de um carro nas unidades originais.
+     *
+     * @param car o carro
+     * @return o vetor com {@value #DIMENSIONS} posições
+     */
+    public static double[] raw ( Cars car ) {
+        double[] vector = new double[ DIMENSIONS ];
+        vector[ 0 ] = car.getCarValue() == null ? Double.NaN : car.getCarValue();
+        vector[ 1 ] = car.getYearProduction() == null ? Double.NaN : car.getYearProduction();
+        SpecificationsCar specifications = car.getSpecifications();
+        vector[ 2 ] = specifications == null ? Double.NaN : number( specifications.getEngineCapacity() );
+        vector[ 3 ] = specifications == null ? Double.NaN : number( specifications.getRange() );
+        vector[ 4 ] = specifications == null ? Double.NaN : number( specifications.getAcceleration() );
+        vector[ 5 ] = specifications == null ? Double.NaN : SpeedInfo.toMph( specifications.getTopSpeed() );
+        DimensionsCar dimensions = car.getDimensions();
+        vector[ 6 ] = dimensions == null ? Double.NaN : number( dimensions.getLength() );
+        vector[ 7 ] = dimensions == null ? Double.NaN : number( dimensions.getWidth() );
+        vector[ 8 ] = dimensions == null ? Double.NaN : number( dimensions.getHeight() );
+        vector[ 9 ] = dimensions == null ? Double.NaN : number( dimensions.getWheelBase() );
+        if ( car.getFeatures() != null ) {
+            for ( String feature : car.getFeatures() ) {
+                if ( feature != null && ! feature.isBlank() ) {
+                    int bucket = Math.floorMod( feature.trim().toLowerCase( Locale.ROOT ).hashCode(),
+                            FEATURE_DIMENSIONS );
+                    vector[ NUMERIC_DIMENSIONS + bucket ]++;
+                }
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Extrai o primeiro número de um texto, aceitando vírgula ou ponto como separador decimal.
+     *
+     * @param text o texto, por exemplo {@code "4.2 s"} ou {@code "4963 mm"}
+     * @return o número encontrado, ou {@link Double#NaN}
+     */
+    public static double number ( String text ) {
+        if ( text == null ) {
+            return Double.NaN;
+        }
+        Matcher matcher = NUMBER.matcher( text );
+        return matcher.find() ? Double.parseDouble( matcher.group().replace( ',', '.' ) ) : Double.NaN;
+    }
+}
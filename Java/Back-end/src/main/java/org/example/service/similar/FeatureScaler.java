@@ -0,0 +1,83 @@
+package org.example.service.similar;
+
+/**
+ * Normalização dos vetores dos carros pela média e pelo desvio padrão de cada posição.
+ * <p>
+ * Sem a normalização, o valor do carro, na casa dos milhares, dominaria a distância e as demais características
+ * seriam ignoradas. Cada posição é convertida para a quantidade de desvios padrão em relação à média do catálogo
+ * usado na construção, e os valores ausentes são tratados como a própria média. Posições sem variação no catálogo
+ * não contribuem para a distância.
+ * </p>
+ */
+public final class FeatureScaler {
+
+    private final double[] mean;
+    private final double[] deviation;
+
+    private FeatureScaler ( double[] mean, double[] deviation ) {
+        this.mean = mean;
+        this.deviation = deviation;
+    }
+
+    /**
+     * Calcula a normalização a partir dos vetores do catálogo.
+     *
+     * @param vectors os vetores nas unidades originais
+     * @param count   a quantidade de vetores a considerar
+     * @return a normalização calculada
+     */
+    public static FeatureScaler fit ( double[][] vectors, int count ) {
+        int dimensions = CarVectors.DIMENSIONS;
+        double[] mean = new double[ dimensions ];
+        double[] deviation = new double[ dimensions ];
+        for ( int d = 0; d < dimensions; d++ ) {
+            // Algoritmo de Welford, estável para catálogos grandes
+            long n = 0;
+            double average = 0;
+            double squares = 0;
+            for ( int i = 0; i < count; i++ ) {
+                double value = vectors[ i ][ d ];
+                if ( ! Double.isNaN( value ) ) {
+                    n++;
+                    double delta = value - average;
+                    average += delta / n;
+                    squares += delta * ( value - average );
+                }
+            }
+            mean[ d ] = average;
+            deviation[ d ] = n > 1 ? Math.sqrt( squares / ( n - 1 ) ) : 0;
+        }
+        return new FeatureScaler( mean, deviation );
+    }
+
+    /**
+     * Normaliza um vetor.
+     *
+     * @param raw o vetor nas unidades originais
+     * @return o vetor normalizado
+     */
+    public double[] scale ( double[] raw ) {
+        double[] scaled = new double[ raw.length ];
+        for ( int d = 0; d < raw.length; d++ ) {
+            scaled[ d ] = Double.isNaN( raw[ d ] ) || deviation[ d ] == 0 ? 0 : ( raw[ d ] - mean[ d ] ) / deviation[ d ];
+        }
+        return scaled;
+    }
+
+    /**
+     * Desfaz a normalização de um vetor, recuperando as unidades originais.
+     * <p>
+     * Os valores ausentes voltam como a média, e as posições sem variação, como o valor comum a todo o catálogo.
+     * </p>
+     *
+     * @param scaled o vetor normalizado
+     * @return o vetor nas unidades originais
+     */
+    public double[] unscale ( double[] scaled ) {
+        double[] raw = new double[ scaled.length ];
+        for ( int d = 0; d < scaled.length; d++ ) {
+            raw[ d ] = mean[ d ] + scaled[ d ] * deviation[ d ];
+        }
+        return raw;
+    }
+}
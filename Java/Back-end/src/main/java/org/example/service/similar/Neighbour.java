@@ -0,0 +1,10 @@
+package org.example.service.similar;
+
+/**
+ * Carro encontrado em uma busca por vizinhos mais próximos.
+ *
+ * @param id       o ID do carro
+ * @param distance a distância euclidiana entre o vetor normalizado do carro e o da consulta
+ */
+public record Neighbour( String id, double distance ) {
+}
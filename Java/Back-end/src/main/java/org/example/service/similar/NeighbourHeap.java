@@ -0,0 +1,82 @@
+package org.example.service.similar;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heap de máximo limitado aos {@code k} vizinhos mais próximos encontrados até o momento.
+ * <p>
+ * O maior dos {@code k} menores valores fica na raiz, de modo que a distância limite para aceitar um novo vizinho,
+ * usada também para podar a árvore, é lida em tempo constante.
+ * </p>
+ */
+final class NeighbourHeap {
+
+    private final String[] ids;
+    private final double[] distances;
+    private int size;
+
+    NeighbourHeap ( int k ) {
+        this.ids = new String[ k ];
+        this.distances = new double[ k ];
+    }
+
+    /**
+     * Retorna a distância que um novo vizinho precisa superar para entrar no heap.
+     *
+     * @return a maior distância guardada, ou infinito enquanto o heap não estiver cheio
+     */
+    double bound () {
+        return size < ids.length ? Double.POSITIVE_INFINITY : distances[ 0 ];
+    }
+
+    void offer ( String id, double distance ) {
+        if ( size < ids.length ) {
+            int i = size++;
+            while ( i > 0 ) {
+                int parent = ( i - 1 ) >>> 1;
+                if ( distances[ parent ] >= distance ) {
+                    break;
+                }
+                ids[ i ] = ids[ parent ];
+                distances[ i ] = distances[ parent ];
+                i = parent;
+            }
+            ids[ i ] = id;
+            distances[ i ] = distance;
+        } else if ( distance < distances[ 0 ] ) {
+            int i = 0;
+            while ( true ) {
+                int child = 2 * i + 1;
+                if ( child >= size ) {
+                    break;
+                }
+                if ( child + 1 < size && distances[ child + 1 ] > distances[ child ] ) {
+                    child++;
+                }
+                if ( distances[ child ] <= distance ) {
+                    break;
+                }
+                ids[ i ] = ids[ child ];
+                distances[ i ] = distances[ child ];
+                i = child;
+            }
+            ids[ i ] = id;
+            distances[ i ] = distance;
+        }
+    }
+
+    /**
+     * Retorna os vizinhos guardados, do mais próximo para o mais distante.
+     *
+     * @return os vizinhos ordenados pela distância
+     */
+    List<Neighbour> toList () {
+        List<Neighbour> neighbours = new ArrayList<>( size );
+        for ( int i = 0; i < size; i++ ) {
+            neighbours.add( new Neighbour( ids[ i ], distances[ i ] ) );
+        }
+        neighbours.sort( ( a, b ) -> Double.compare( a.distance(), b.distance() ) );
+        return neighbours;
+    }
+}
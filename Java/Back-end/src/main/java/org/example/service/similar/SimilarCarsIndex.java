@@ -0,0 +1,316 @@
+package org.example.service.similar;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.example.events.CarsChangedEvent;
+import org.example.config.MongoIndexConfig;
+import org.example.model.Cars;
+import org.example.utils.QueryMongo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória dos vetores dos carros, usado para encontrar os carros mais semelhantes a um carro.
+ * <p>
+ * O catálogo é carregado por completo em uma {@link VantagePointTree}, construída com a normalização
+ * ({@link FeatureScaler}) calculada sobre o próprio catálogo. Como a árvore é imutável, as escritas publicadas em
+ * {@link CarsChangedEvent} entram em uma camada sobreposta com os vetores novos e as remoções; a busca percorre a
+ * árvore ignorando os carros presentes nessa camada e compara a consulta diretamente com os vetores dela. Quando a
+ * camada passa de {@code cars.similar.rebuild-threshold} carros, a árvore é reconstruída em segundo plano a partir
+ * da árvore atual e da camada, sem consultar o banco de dados, e a camada é esvaziada. A reconciliação periódica
+ * reconstrói a árvore a partir do MongoDB.
+ * </p>
+ * <p>
+ * O mecanismo é opcional ({@code cars.similar.enabled}); enquanto o índice não estiver pronto, a busca é feita com
+ * {@link BruteForceNeighbours} sobre um conjunto limitado de candidatos lido pelos índices do MongoDB: os carros do
+ * mesmo fabricante e os de valor imediatamente acima e abaixo do carro de referência, até
+ * {@code cars.similar.fallback-candidates} carros, com a normalização calculada sobre esses candidatos. O
+ * temporizador {@value #QUERY_METRIC} mede o tempo de cada busca no índice.
+ * </p>
+ */
+@Component
+public class SimilarCarsIndex {
+
+    public static final String QUERY_METRIC = "cars.similar.query";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( SimilarCarsIndex.class );
+
+    private record Generation( VantagePointTree tree, FeatureScaler scaler ) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int rebuildThreshold;
+    private final int fallbackCandidates;
+    private final Timer queries;
+
+    private final Object lock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().daemon().name( "cars-similar-rebuild" ).factory() );
+    private volatile Generation generation;
+    private volatile Map<String, double[]> overlay = Map.of();
+
+    /**
+     * Constrói o índice de carros semelhantes.
+     *
+     * @param mongoTemplate      o acesso ao MongoDB usado para carregar o catálogo
+     * @param enabled            indica se o índice em memória deve ser utilizado
+     * @param rebuildThreshold   a quantidade de escritas acumuladas que dispara a reconstrução da árvore
+     * @param fallbackCandidates a quantidade máxima de carros lidos do banco de dados por busca sem o índice
+     * @param meterRegistry      o registro onde as métricas são publicadas
+     */
+    @Autowired
+    public SimilarCarsIndex ( MongoTemplate mongoTemplate,
+                              @Value( "${cars.similar.enabled:false}" ) boolean enabled,
+                              @Value( "${cars.similar.rebuild-threshold:1024}" ) int rebuildThreshold,
+                              @Value( "${cars.similar.fallback-candidates:300}" ) int fallbackCandidates,
+                              MeterRegistry meterRegistry ) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.rebuildThreshold = rebuildThreshold;
+        this.fallbackCandidates = fallbackCandidates;
+        this.queries = Timer.builder( QUERY_METRIC ).publishPercentiles( 0.5, 0.99 ).register( meterRegistry );
+    }
+
+    /**
+     * Indica se o índice está habilitado e já foi carregado.
+     *
+     * @return {@code true} se as buscas podem ser atendidas em memória
+     */
+    public boolean isReady () {
+        return enabled && generation != null;
+    }
+
+    /**
+     * Busca os {@code k} carros mais semelhantes a um carro, sem incluir o próprio carro.
+     *
+     * @param car o carro de referência
+     * @param k   a quantidade de carros desejada
+     * @return os carros mais próximos, do mais semelhante para o menos semelhante
+     */
+    public List<Neighbour> nearest ( Cars car, int k ) {
+        Generation current = generation;
+        if ( ! enabled || current == null ) {
+            return scan( car, k );
+        }
+        long start = System.nanoTime();
+        Map<String, double[]> written = overlay;
+        String self = car.getId();
+        double[] query = current.scaler().scale( CarVectors.raw( car ) );
+        NeighbourHeap heap = new NeighbourHeap( k );
+        current.tree().search( query, heap, id -> id.equals( self ) || written.containsKey( id ) );
+        written.forEach( ( id, raw ) -> {
+            if ( raw != null && ! id.equals( self ) ) {
+                heap.offer( id, distance( query, current.scaler().scale( raw ) ) );
+            }
+        } );
+        List<Neighbour> result = heap.toList();
+        queries.record( System.nanoTime() - start, TimeUnit.NANOSECONDS );
+        return result;
+    }
+
+    /**
+     * Recarrega todo o índice a partir do banco de dados.
+     * <p>
+     * Executado na inicialização e em intervalos regulares. Escritas recebidas durante a leitura do banco continuam
+     * na camada sobreposta depois da troca da árvore.
+     * </p>
+     */
+    @Scheduled( fixedDelayString = "${cars.similar.reconcile-interval-ms:300000}" )
+    public void reconcile () {
+        if ( ! enabled || ! rebuilding.compareAndSet( false, true ) ) {
+            return;
+        }
+        try {
+            Map<String, double[]> applied = overlay;
+            List<String> ids = new ArrayList<>();
+            List<double[]> vectors = new ArrayList<>();
+            try ( Stream<Cars> cursor = mongoTemplate.stream( new Query(), Cars.class ) ) {
+                cursor.forEach( car -> {
+                    ids.add( car.getId() );
+                    vectors.add( CarVectors.raw( car ) );
+                } );
+            }
+            install( ids, vectors, applied );
+        } finally {
+            rebuilding.set( false );
+        }
+    }
+
+    /**
+     * Registra na camada sobreposta uma alteração feita no catálogo.
+     *
+     * @param event o evento descrevendo a alteração
+     */
+    @EventListener
+    public void onCarsChanged ( CarsChangedEvent event ) {
+        if ( ! enabled ) {
+            return;
+        }
+        double[] raw = event.getType() == CarsChangedEvent.Type.DELETED || event.getCar() == null
+                ? null
+                : CarVectors.raw( event.getCar() );
+        int size;
+        synchronized ( lock ) {
+            Map<String, double[]> next = new HashMap<>( overlay );
+            next.put( event.getCarId(), raw );
+            overlay = Collections.unmodifiableMap( next );
+            size = next.size();
+        }
+        if ( size >= rebuildThreshold && generation != null && rebuilding.compareAndSet( false, true ) ) {
+            try {
+                rebuilder.execute( this::rebuildInMemory );
+            } catch ( RejectedExecutionException exception ) {
+                rebuilding.set( false );
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop () {
+        rebuilder.shutdownNow();
+    }
+
+    private void rebuildInMemory () {
+        try {
+            Generation current = generation;
+            Map<String, double[]> applied = overlay;
+            VantagePointTree tree = current.tree();
+            List<String> ids = new ArrayList<>( tree.size() + applied.size() );
+            List<double[]> vectors = new ArrayList<>( tree.size() + applied.size() );
+            for ( int i = 0; i < tree.size(); i++ ) {
+                if ( ! applied.containsKey( tree.id( i ) ) ) {
+                    ids.add( tree.id( i ) );
+                    vectors.add( current.scaler().unscale( tree.point( i ) ) );
+                }
+            }
+            applied.forEach( ( id, raw ) -> {
+                if ( raw != null ) {
+                    ids.add( id );
+                    vectors.add( raw );
+                }
+            } );
+            install( ids, vectors, applied );
+        } catch ( RuntimeException exception ) {
+            LOGGER.warn( "Could not rebuild the similar cars index", exception );
+        } finally {
+            rebuilding.set( false );
+        }
+    }
+
+    /**
+     * Constrói a nova árvore e a coloca no lugar da atual, mantendo na camada sobreposta apenas as escritas que
+     * chegaram depois de {@code applied}.
+     */
+    private void install ( List<String> ids, List<double[]> vectors, Map<String, double[]> applied ) {
+        long start = System.nanoTime();
+        int count = ids.size();
+        double[][] raw = vectors.toArray( new double[ 0 ][] );
+        FeatureScaler scaler = FeatureScaler.fit( raw, count );
+        VantagePointTree tree = new VantagePointTree( ids.toArray( new String[ 0 ] ), coordinates( raw, scaler ),
+                CarVectors.DIMENSIONS );
+        synchronized ( lock ) {
+            Map<String, double[]> remaining = new HashMap<>();
+            overlay.forEach( ( id, vector ) -> {
+                if ( ! applied.containsKey( id ) || applied.get( id ) != vector ) {
+                    remaining.put( id, vector );
+                }
+            } );
+            overlay = Collections.unmodifiableMap( remaining );
+            generation = new Generation( tree, scaler );
+        }
+        LOGGER.info( "Similar cars index rebuilt with {} cars in {} ms", count,
+                ( System.nanoTime() - start ) / 1_000_000 );
+    }
+
+    private List<Neighbour> scan ( Cars car, int k ) {
+        Map<String, Cars> candidates = new LinkedHashMap<>();
+        int perQuery = Math.max( k, fallbackCandidates / 3 );
+        if ( car.getProducedBy() != null ) {
+            candidates( Query.query( otherThan( car ).and( "producedBy" ).is( car.getProducedBy() ) )
+                    .collation( MongoIndexConfig.CASE_INSENSITIVE ), perQuery, candidates );
+        }
+        if ( car.getCarValue() != null ) {
+            candidates( Query.query( otherThan( car ).and( "carValue" ).gte( car.getCarValue() ) )
+                    .with( Sort.by( Sort.Direction.ASC, "carValue" ) ), perQuery, candidates );
+            candidates( Query.query( otherThan( car ).and( "carValue" ).lt( car.getCarValue() ) )
+                    .with( Sort.by( Sort.Direction.DESC, "carValue" ) ), perQuery, candidates );
+        }
+        List<String> ids = new ArrayList<>( candidates.size() );
+        List<double[]> vectors = new ArrayList<>( candidates.size() );
+        candidates.forEach( ( id, other ) -> {
+            ids.add( id );
+            vectors.add( CarVectors.raw( other ) );
+        } );
+        // A normalização inclui o carro de referência, para que os candidatos não colapsem em uma faixa estreita
+        vectors.add( CarVectors.raw( car ) );
+        double[][] raw = vectors.toArray( new double[ 0 ][] );
+        FeatureScaler scaler = FeatureScaler.fit( raw, raw.length );
+        Predicate<String> self = id -> id.equals( car.getId() );
+        return BruteForceNeighbours.nearest( ids.toArray( new String[ 0 ] ),
+                coordinates( Arrays.copyOf( raw, ids.size() ), scaler ), CarVectors.DIMENSIONS,
+                scaler.scale( CarVectors.raw( car ) ), k, self );
+    }
+
+    private void candidates ( Query query, int limit, Map<String, Cars> candidates ) {
+        mongoTemplate.find( query.limit( limit ).maxTimeMsec( QueryMongo.MAX_TIME_MS ), Cars.class )
+                .forEach( other -> candidates.putIfAbsent( other.getId(), other ) );
+    }
+
+    private static Criteria otherThan ( Cars car ) {
+        return Criteria.where( "_id" ).ne( car.getId() );
+    }
+
+    /**
+     * Normaliza os vetores e os copia para um único vetor contíguo de coordenadas.
+     *
+     * @param raw    os vetores nas unidades originais
+     * @param scaler a normalização a aplicar
+     * @return as coordenadas, {@value CarVectors#DIMENSIONS} posições por carro
+     */
+    public static float[] coordinates ( double[][] raw, FeatureScaler scaler ) {
+        float[] coordinates = new float[ raw.length * CarVectors.DIMENSIONS ];
+        for ( int i = 0; i < raw.length; i++ ) {
+            double[] scaled = scaler.scale( raw[ i ] );
+            for ( int d = 0; d < CarVectors.DIMENSIONS; d++ ) {
+                coordinates[ i * CarVectors.DIMENSIONS + d ] = ( float ) scaled[ d ];
+            }
+        }
+        return coordinates;
+    }
+
+    private static double distance ( double[] a, double[] b ) {
+        double sum = 0;
+        for ( int d = 0; d < a.length; d++ ) {
+            double delta = a[ d ] - b[ d ];
+            sum += delta * delta;
+        }
+        return Math.sqrt( sum );
+    }
+}
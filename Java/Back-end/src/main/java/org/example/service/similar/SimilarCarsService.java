@@ -0,0 +1,49 @@
+package org.example.service.similar;
+
+import org.example.exceptions.InvalidFieldException;
+import org.example.exceptions.ResourceNotFoundException;
+import org.example.model.Cars;
+import org.example.service.CarsService;
+import org.example.utils.Errors;
+import org.example.utils.PageInfo;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Serviço que recomenda os carros mais semelhantes a um carro do catálogo.
+ * <p>
+ * Os vizinhos são encontrados no {@link SimilarCarsIndex} e os carros correspondentes são carregados de uma só vez
+ * pelo {@link CarsService#getBatch(List, List)}, mantendo a ordem de semelhança.
+ * </p>
+ */
+@Service
+public class SimilarCarsService {
+
+    private final CarsService carsService;
+    private final SimilarCarsIndex similarCarsIndex;
+
+    public SimilarCarsService ( CarsService carsService, SimilarCarsIndex similarCarsIndex ) {
+        this.carsService = carsService;
+        this.similarCarsIndex = similarCarsIndex;
+    }
+
+    /**
+     * Retorna os carros mais semelhantes a um carro, sem incluir o próprio carro.
+     *
+     * @param id    o ID do carro de referência
+     * @param limit a quantidade de carros desejada
+     * @return os carros, do mais semelhante para o menos semelhante
+     * @throws InvalidFieldException     se o limite estiver fora do intervalo permitido
+     * @throws ResourceNotFoundException se o carro não existir
+     */
+    public List<Cars> similar ( String id, int limit ) {
+        if ( limit <= 0 || limit > PageInfo.MAX_SIMILAR_SIZE ) {
+            throw new InvalidFieldException( Errors.SIMILAR_SIZE_ERROR + PageInfo.MAX_SIMILAR_SIZE );
+        }
+        Cars car = carsService.getById( id )
+                .orElseThrow( () -> new ResourceNotFoundException( Errors.RESOURCE_NOT_FOUND_ERROR + id ) );
+        List<String> ids = similarCarsIndex.nearest( car, limit ).stream().map( Neighbour::id ).toList();
+        return ids.isEmpty() ? List.of() : carsService.getBatch( ids, null ).cars();
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.service.similar;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Árvore de pontos de vantagem (<i>vantage-point tree</i>) para buscar os vizinhos mais próximos de um vetor.
+ * <p>
+ * Cada nó escolhe um ponto ao acaso e divide os demais pela mediana das distâncias até ele: os mais próximos ficam
+ * dentro do raio e os mais distantes, fora. Na busca, a desigualdade triangular permite descartar um dos lados
+ * sempre que a esfera em torno da consulta, com raio igual à distância do k-ésimo vizinho já encontrado, não
+ * cruzar o raio do nó. Ao contrário da árvore k-d, a divisão não depende de um eixo, o que mantém a poda eficiente
+ * com as dezesseis posições dos vetores de carros.
+ * </p>
+ * <p>
+ * A árvore é imutável e guardada em vetores contíguos: os pontos são reordenados de forma que cada nó ocupa a
+ * posição inicial do seu intervalo, seguido do intervalo de dentro e depois do de fora, sem objetos por nó. As
+ * coordenadas ficam em {@code float} para reduzir pela metade a memória de catálogos grandes.
+ * </p>
+ */
+public final class VantagePointTree {
+
+    private static final int LEAF_SIZE = 8;
+
+    private final int dimensions;
+    private final String[] ids;
+    private final float[] coordinates;
+    private final double[] radius;
+    private final int[] split;
+
+    /**
+     * Constrói a árvore, reordenando os vetores recebidos.
+     *
+     * @param ids         os IDs dos carros; o vetor passa a pertencer à árvore
+     * @param coordinates as coordenadas normalizadas, {@code dimensions} posições por carro; o vetor passa a pertencer
+     *                    à árvore
+     * @param dimensions  a quantidade de posições de cada vetor
+     */
+    public VantagePointTree ( String[] ids, float[] coordinates, int dimensions ) {
+        this.dimensions = dimensions;
+        this.ids = ids;
+        this.coordinates = coordinates;
+        this.radius = new double[ ids.length ];
+        this.split = new int[ ids.length ];
+        build( 0, ids.length, new double[ ids.length ], new Random( 42 ) );
+    }
+
+    public int size () {
+        return ids.length;
+    }
+
+    public int dimensions () {
+        return dimensions;
+    }
+
+    /**
+     * Retorna o ID do carro guardado em uma posição.
+     *
+     * @param index a posição, entre zero e {@link #size()}
+     * @return o ID do carro
+     */
+    public String id ( int index ) {
+        return ids[ index ];
+    }
+
+    /**
+     * Retorna o vetor normalizado guardado em uma posição.
+     *
+     * @param index a posição, entre zero e {@link #size()}
+     * @return uma cópia do vetor
+     */
+    public double[] point ( int index ) {
+        double[] point = new double[ dimensions ];
+        for ( int d = 0; d < dimensions; d++ ) {
+            point[ d ] = coordinates[ index * dimensions + d ];
+        }
+        return point;
+    }
+
+    /**
+     * Busca os {@code k} carros mais próximos de um vetor.
+     *
+     * @param query o vetor normalizado da consulta
+     * @param k     a quantidade de vizinhos desejada
+     * @param skip  os IDs que não podem fazer parte do resultado
+     * @return os vizinhos, do mais próximo para o mais distante
+     */
+    public List<Neighbour> nearest ( double[] query, int k, Predicate<String> skip ) {
+        NeighbourHeap heap = new NeighbourHeap( k );
+        search( query, heap, skip );
+        return heap.toList();
+    }
+
+    void search ( double[] query, NeighbourHeap heap, Predicate<String> skip ) {
+        if ( ids.length > 0 ) {
+            search( 0, ids.length, query, heap, skip );
+        }
+    }
+
+    private void search ( int low, int high, double[] query, NeighbourHeap heap, Predicate<String> skip ) {
+        if ( high - low <= LEAF_SIZE ) {
+            for ( int i = low; i < high; i++ ) {
+                offer( i, distance( query, i ), heap, skip );
+            }
+            return;
+        }
+        double distance = distance( query, low );
+        offer( low, distance, heap, skip );
+        double mu = radius[ low ];
+        int middle = split[ low ];
+        if ( distance < mu ) {
+            search( low + 1, middle, query, heap, skip );
+            if ( distance + heap.bound() >= mu ) {
+                search( middle, high, query, heap, skip );
+            }
+        } else {
+            search( middle, high, query, heap, skip );
+            if ( distance - heap.bound() <= mu ) {
+                search( low + 1, middle, query, heap, skip );
+            }
+        }
+    }
+
+    private void offer ( int index, double distance, NeighbourHeap heap, Predicate<String> skip ) {
+        if ( distance < heap.bound() && ! skip.test( ids[ index ] ) ) {
+            heap.offer( ids[ index ], distance );
+        }
+    }
+
+    private void build ( int low, int high, double[] distances, Random random ) {
+        if ( high - low <= LEAF_SIZE ) {
+            return;
+        }
+        swap( low, low + random.nextInt( high - low ), distances );
+        for ( int i = low + 1; i < high; i++ ) {
+            distances[ i ] = distance( low, i );
+        }
+        int middle = ( low + 1 + high ) >>> 1;
+        select( low + 1, high - 1, middle, distances );
+        radius[ low ] = distances[ middle ];
+        split[ low ] = middle;
+        build( low + 1, middle, distances, random );
+        build( middle, high, distances, random );
+    }
+
+    /**
+     * Reordena o intervalo de forma que a posição {@code target} tenha o elemento que teria se o intervalo estivesse
+     * ordenado pela distância, com os menores antes e os maiores depois.
+     */
+    private void select ( int left, int right, int target, double[] distances ) {
+        while ( left < right ) {
+            double pivot = distances[ ( left + right ) >>> 1 ];
+            int i = left;
+            int j = right;
+            while ( i <= j ) {
+                while ( distances[ i ] < pivot ) {
+                    i++;
+                }
+                while ( distances[ j ] > pivot ) {
+                    j--;
+                }
+                if ( i <= j ) {
+                    swap( i, j, distances );
+                    i++;
+                    j--;
+                }
+            }
+            if ( target <= j ) {
+                right = j;
+            } else if ( target >= i ) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap ( int a, int b, double[] distances ) {
+        if ( a == b ) {
+            return;
+        }
+        String id = ids[ a ];
+        ids[ a ] = ids[ b ];
+        ids[ b ] = id;
+        double distance = distances[ a ];
+        distances[ a ] = distances[ b ];
+        distances[ b ] = distance;
+        int offsetA = a * dimensions;
+        int offsetB = b * dimensions;
+        for ( int d = 0; d < dimensions; d++ ) {
+            float coordinate = coordinates[ offsetA + d ];
+            coordinates[ offsetA + d ] = coordinates[ offsetB + d ];
+            coordinates[ offsetB + d ] = coordinate;
+        }
+    }
+
+    private double distance ( int a, int b ) {
+        int offsetA = a * dimensions;
+        int offsetB = b * dimensions;
+        double sum = 0;
+        for ( int d = 0; d < dimensions; d++ ) {
+            double delta = coordinates[ offsetA + d ] - coordinates[ offsetB + d ];
+            sum += delta * delta;
+        }
+        return Math.sqrt( sum );
+    }
+
+    private double distance ( double[] query, int index ) {
+        int offset = index * dimensions;
+        double sum = 0;
+        for ( int d = 0; d < dimensions; d++ ) {
+            double delta = query[ d ] - coordinates[ offset + d ];
+            sum += delta * delta;
+        }
+        return Math.sqrt( sum );
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.service.snapshot;
+
+import org.example.model.Cars;
+
+import java.util.List;
+
+/**
+ * Fotografia do catálogo de carros lida do disco.
+ *
+ * @param version o instante, em milissegundos desde a época, a partir do qual o catálogo pode ter mudado
+ * @param cars    os carros contidos na fotografia
+ */
+public record CatalogSnapshot( long version, List<Cars> cars ) {
+}
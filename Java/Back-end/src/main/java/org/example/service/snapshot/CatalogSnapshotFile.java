@@ -0,0 +1,246 @@
+package org.example.service.snapshot;
+
+import org.example.model.Cars;
+import org.example.model.DimensionsCar;
+import org.example.model.SpecificationsCar;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binário da fotografia do catálogo de carros gravada em disco.
+ * <p>
+ * O arquivo começa com um cabeçalho de tamanho fixo (identificador, versão do formato, versão da fotografia,
+ * quantidade de carros, tamanho e CRC32C do corpo) seguido dos carros em sequência. Números são gravados em
+ * largura fixa e textos como comprimento seguido de bytes UTF-8, com comprimento {@code -1} para {@code null}.
+ * </p>
+ * <p>
+ * A leitura mapeia o arquivo em memória e decodifica os carros diretamente do mapeamento, sem passar pela
+ * conversão de BSON nem pelo mapeamento por reflexão do Spring Data. Arquivos truncados, corrompidos ou de outro
+ * formato são ignorados.
+ * </p>
+ */
+public final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x43415253;
+    private static final int FORMAT = 2;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 8 + 8;
+    private static final int NULL_LENGTH = - 1;
+
+    private CatalogSnapshotFile () {
+    }
+
+    /**
+     * Grava a fotografia no caminho fornecido, substituindo de forma atômica o arquivo anterior.
+     *
+     * @param path    o arquivo de destino
+     * @param version a versão da fotografia, em milissegundos desde a época
+     * @param cars    os carros do catálogo
+     * @throws IOException se o arquivo não puder ser gravado
+     */
+    public static void write ( Path path, long version, Collection<Cars> cars ) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream( Math.max( 1024, cars.size() * 256 ) );
+        DataOutputStream output = new DataOutputStream( body );
+        for ( Cars car : cars ) {
+            writeCar( output, car );
+        }
+        output.flush();
+        byte[] bytes = body.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update( bytes );
+
+        ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE );
+        header.putInt( MAGIC ).putInt( FORMAT ).putLong( version ).putInt( cars.size() )
+                .putLong( bytes.length ).putLong( crc.getValue() );
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories( directory );
+        Path staging = Files.createTempFile( directory, "catalog", ".tmp" );
+        try {
+            try ( OutputStream file = new BufferedOutputStream( Files.newOutputStream( staging ) ) ) {
+                file.write( header.array() );
+                file.write( bytes );
+            }
+            try {
+                Files.move( staging, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+            } catch ( AtomicMoveNotSupportedException exception ) {
+                Files.move( staging, path, StandardCopyOption.REPLACE_EXISTING );
+            }
+        } finally {
+            Files.deleteIfExists( staging );
+        }
+    }
+
+    /**
+     * Lê a fotografia gravada no caminho fornecido.
+     *
+     * @param path o arquivo da fotografia
+     * @return a fotografia, ou vazio se o arquivo não existir ou estiver inválido
+     * @throws IOException se o arquivo não puder ser aberto
+     */
+    public static Optional<CatalogSnapshot> read ( Path path ) throws IOException {
+        if ( ! Files.isRegularFile( path ) ) {
+            return Optional.empty();
+        }
+        try ( FileChannel channel = FileChannel.open( path, StandardOpenOption.READ ) ) {
+            long size = channel.size();
+            if ( size < HEADER_SIZE ) {
+                return Optional.empty();
+            }
+            MappedByteBuffer buffer = channel.map( FileChannel.MapMode.READ_ONLY, 0, size );
+            if ( buffer.getInt() != MAGIC || buffer.getInt() != FORMAT ) {
+                return Optional.empty();
+            }
+            long version = buffer.getLong();
+            int count = buffer.getInt();
+            long length = buffer.getLong();
+            long checksum = buffer.getLong();
+            if ( count < 0 || length != size - HEADER_SIZE ) {
+                return Optional.empty();
+            }
+            CRC32C crc = new CRC32C();
+            crc.update( buffer.slice() );
+            if ( crc.getValue() != checksum ) {
+                return Optional.empty();
+            }
+            List<Cars> cars = new ArrayList<>( count );
+            for ( int i = 0; i < count; i++ ) {
+                cars.add( readCar( buffer ) );
+            }
+            return Optional.of( new CatalogSnapshot( version, cars ) );
+        } catch ( RuntimeException exception ) {
+            // Conteúdo inconsistente com o cabeçalho: a fotografia é descartada
+            return Optional.empty();
+        }
+    }
+
+    private static void writeCar ( DataOutputStream output, Cars car ) throws IOException {
+        writeString( output, car.getId() );
+        writeString( output, car.getModel() );
+        writeString( output, car.getProducedBy() );
+        writeString( output, car.getImageUrl() );
+        output.writeBoolean( car.getYearProduction() != null );
+        output.writeInt( car.getYearProduction() != null ? car.getYearProduction() : 0 );
+        output.writeBoolean( car.getCarValue() != null );
+        output.writeDouble( car.getCarValue() != null ? car.getCarValue() : 0 );
+
+        SpecificationsCar specifications = car.getSpecifications();
+        output.writeBoolean( specifications != null );
+        if ( specifications != null ) {
+            writeString( output, specifications.getEngineType() );
+            writeString( output, specifications.getEngineCapacity() );
+            writeString( output, specifications.getRange() );
+            writeString( output, specifications.getAcceleration() );
+            writeString( output, specifications.getTopSpeed() );
+        }
+
+        List<String> features = car.getFeatures();
+        output.writeInt( features != null ? features.size() : NULL_LENGTH );
+        if ( features != null ) {
+            for ( String feature : features ) {
+                writeString( output, feature );
+            }
+        }
+
+        DimensionsCar dimensions = car.getDimensions();
+        output.writeBoolean( dimensions != null );
+        if ( dimensions != null ) {
+            writeString( output, dimensions.getLength() );
+            writeString( output, dimensions.getWidth() );
+            writeString( output, dimensions.getHeight() );
+            writeString( output, dimensions.getWheelBase() );
+        }
+
+        output.writeBoolean( car.getLastModified() != null );
+        output.writeLong( car.getLastModified() != null ? car.getLastModified().toEpochMilli() : 0 );
+        output.writeBoolean( car.getVersion() != null );
+        output.writeLong( car.getVersion() != null ? car.getVersion() : 0 );
+    }
+
+    private static Cars readCar ( ByteBuffer buffer ) {
+        Cars car = new Cars();
+        car.setId( readString( buffer ) );
+        car.setModel( readString( buffer ) );
+        car.setProducedBy( readString( buffer ) );
+        car.setImageUrl( readString( buffer ) );
+        boolean hasYear = buffer.get() != 0;
+        int year = buffer.getInt();
+        if ( hasYear ) {
+            car.setYearProduction( year );
+        }
+        boolean hasValue = buffer.get() != 0;
+        double value = buffer.getDouble();
+        if ( hasValue ) {
+            car.setCarValue( value );
+        }
+
+        if ( buffer.get() != 0 ) {
+            car.setSpecifications( new SpecificationsCar( readString( buffer ), readString( buffer ),
+                    readString( buffer ), readString( buffer ), readString( buffer ) ) );
+        }
+
+        int featureCount = buffer.getInt();
+        if ( featureCount != NULL_LENGTH ) {
+            List<String> features = new ArrayList<>( featureCount );
+            for ( int i = 0; i < featureCount; i++ ) {
+                features.add( readString( buffer ) );
+            }
+            car.setFeatures( features );
+        }
+
+        if ( buffer.get() != 0 ) {
+            car.setDimensions( new DimensionsCar( readString( buffer ), readString( buffer ), readString( buffer ),
+                    readString( buffer ) ) );
+        }
+
+        boolean hasLastModified = buffer.get() != 0;
+        long lastModified = buffer.getLong();
+        if ( hasLastModified ) {
+            car.setLastModified( Instant.ofEpochMilli( lastModified ) );
+        }
+        boolean hasVersion = buffer.get() != 0;
+        long version = buffer.getLong();
+        if ( hasVersion ) {
+            car.setVersion( version );
+        }
+        return car;
+    }
+
+    private static void writeString ( DataOutputStream output, String value ) throws IOException {
+        if ( value == null ) {
+            output.writeInt( NULL_LENGTH );
+            return;
+        }
+        byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+        output.writeInt( bytes.length );
+        output.write( bytes );
+    }
+
+    private static String readString ( ByteBuffer buffer ) {
+        int length = buffer.getInt();
+        if ( length == NULL_LENGTH ) {
+            return null;
+        }
+        byte[] bytes = new byte[ length ];
+        buffer.get( bytes );
+        return new String( bytes, StandardCharsets.UTF_8 );
+    }
+}
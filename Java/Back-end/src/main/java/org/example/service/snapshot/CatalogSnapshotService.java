@@ -0,0 +1,178 @@
+package org.example.service.snapshot;
+
+import org.example.model.Cars;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Persiste o catálogo de carros em disco para que as reinicializações comecem com os catálogos em memória
+ * já preenchidos.
+ * <p>
+ * Após cada reconciliação completa, o {@link org.example.service.columnar.ColumnarCatalog} e o
+ * {@link org.example.service.bitmap.FacetCatalog} entregam o conteúdo lido do banco de dados, que é gravado com o
+ * instante de início da leitura como versão, respeitando o intervalo mínimo entre gravações. Na inicialização,
+ * a fotografia é lida por um mapeamento de memória e complementada apenas com o que mudou depois dela: os carros
+ * com {@code lastModified} posterior à versão, descontada uma margem para diferenças de relógio entre instâncias,
+ * e a lista de IDs existentes, usada para descartar os carros removidos.
+ * </p>
+ * <p>
+ * Documentos alterados fora da aplicação, sem atualizar {@code lastModified}, só são corrigidos pela próxima
+ * reconciliação periódica dos catálogos.
+ * </p>
+ */
+@Component
+public class CatalogSnapshotService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CatalogSnapshotService.class );
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final Path path;
+    private final long minIntervalMillis;
+    private final long clockSkewMillis;
+
+    private final Object lock = new Object();
+    private boolean warmStartAttempted;
+    private List<Cars> warmCatalog;
+    private long lastSavedVersion = Long.MIN_VALUE;
+
+    /**
+     * Constrói o serviço de fotografias do catálogo.
+     *
+     * @param mongoTemplate     o acesso ao MongoDB usado para recuperar as alterações posteriores à fotografia
+     * @param enabled           indica se as fotografias devem ser gravadas e usadas na inicialização
+     * @param path              o arquivo da fotografia
+     * @param minIntervalMillis o intervalo mínimo entre duas gravações
+     * @param clockSkewMillis   a margem subtraída da versão ao buscar as alterações no banco de dados
+     */
+    @Autowired
+    public CatalogSnapshotService ( MongoTemplate mongoTemplate,
+                                    @Value( "${cars.snapshot.enabled:false}" ) boolean enabled,
+                                    @Value( "${cars.snapshot.path:${java.io.tmpdir}/cars-catalog.snapshot}" ) String path,
+                                    @Value( "${cars.snapshot.min-interval-ms:60000}" ) long minIntervalMillis,
+                                    @Value( "${cars.snapshot.clock-skew-ms:5000}" ) long clockSkewMillis ) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.path = Path.of( path );
+        this.minIntervalMillis = minIntervalMillis;
+        this.clockSkewMillis = clockSkewMillis;
+    }
+
+    /**
+     * Retorna o catálogo reconstruído a partir da fotografia em disco e das alterações posteriores a ela.
+     * <p>
+     * A reconstrução acontece uma única vez e o resultado é compartilhado entre os catálogos em memória até a
+     * próxima gravação de fotografia. Se o serviço estiver desabilitado, a fotografia não existir ou estiver
+     * inválida, ou o banco de dados não puder ser consultado, o retorno é vazio e o catálogo deve ser carregado
+     * por completo.
+     * </p>
+     *
+     * @return os carros atuais do catálogo, ou vazio se não houver fotografia utilizável
+     */
+    public Optional<List<Cars>> warmStart () {
+        if ( ! enabled ) {
+            return Optional.empty();
+        }
+        synchronized ( lock ) {
+            if ( ! warmStartAttempted ) {
+                warmStartAttempted = true;
+                warmCatalog = loadWarmCatalog();
+            }
+            return Optional.ofNullable( warmCatalog );
+        }
+    }
+
+    /**
+     * Grava uma nova fotografia do catálogo, se a última gravação for mais antiga que o intervalo mínimo.
+     *
+     * @param version o instante em que começou a leitura completa do catálogo, em milissegundos desde a época
+     * @param cars    os carros lidos do banco de dados
+     */
+    public void save ( long version, Collection<Cars> cars ) {
+        if ( ! enabled ) {
+            return;
+        }
+        synchronized ( lock ) {
+            if ( lastSavedVersion != Long.MIN_VALUE && version < lastSavedVersion + minIntervalMillis ) {
+                return;
+            }
+            try {
+                CatalogSnapshotFile.write( path, version, cars );
+                lastSavedVersion = version;
+                warmCatalog = null;
+            } catch ( IOException exception ) {
+                LOGGER.warn( "Could not write catalog snapshot to {}", path, exception );
+            }
+        }
+    }
+
+    private List<Cars> loadWarmCatalog () {
+        long started = System.nanoTime();
+        Optional<CatalogSnapshot> snapshot;
+        try {
+            snapshot = CatalogSnapshotFile.read( path );
+        } catch ( IOException exception ) {
+            LOGGER.warn( "Could not read catalog snapshot from {}", path, exception );
+            return null;
+        }
+        if ( snapshot.isEmpty() ) {
+            return null;
+        }
+        long mappedMillis = ( System.nanoTime() - started ) / 1_000_000;
+
+        Map<String, Cars> catalog = new LinkedHashMap<>();
+        for ( Cars car : snapshot.get().cars() ) {
+            catalog.put( car.getId(), car );
+        }
+        int changed;
+        int removed;
+        try {
+            List<Cars> changes = mongoTemplate.find( Query.query( Criteria.where( "lastModified" )
+                    .gte( Instant.ofEpochMilli( snapshot.get().version() - clockSkewMillis ) ) ), Cars.class );
+            Set<String> existing = existingIds();
+            changed = changes.size();
+            removed = catalog.size();
+            catalog.keySet().retainAll( existing );
+            removed -= catalog.size();
+            for ( Cars car : changes ) {
+                catalog.put( car.getId(), car );
+            }
+        } catch ( DataAccessException exception ) {
+            LOGGER.warn( "Could not fetch catalog changes after snapshot; falling back to a full load", exception );
+            return null;
+        }
+        LOGGER.info( "Catalog warm start: {} cars mapped in {} ms, {} changed and {} removed since snapshot, total {} ms",
+                snapshot.get().cars().size(), mappedMillis, changed, removed,
+                ( System.nanoTime() - started ) / 1_000_000 );
+        return List.copyOf( catalog.values() );
+    }
+
+    private Set<String> existingIds () {
+        Query query = new Query();
+        query.fields().include( "_id" );
+        Set<String> ids = new HashSet<>();
+        try ( Stream<Cars> cursor = mongoTemplate.stream( query, Cars.class ) ) {
+            cursor.forEach( car -> ids.add( car.getId() ) );
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,270 @@
+package org.example.service.stats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.example.dto.CatalogStatsDTO;
+import org.example.events.CarsChangedEvent;
+import org.example.model.Cars;
+import org.example.model.CatalogStats;
+import org.example.service.CarsService;
+import org.example.service.routing.ReadRouting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Mantém as estatísticas do catálogo de carros materializadas no documento {@link CatalogStats}.
+ * <p>
+ * Cada criação, atualização e remoção feita pelo {@link CarsService} aplica ao documento os incrementos calculados
+ * por {@link StatsDelta} em uma única operação {@code $inc}, e a consulta das estatísticas lê apenas esse documento,
+ * independentemente do tamanho do catálogo. Assim como no {@link org.example.service.prices.PriceHistoryService},
+ * os eventos reaplicados a partir de outras instâncias já foram contados pela instância que fez a escrita.
+ * </p>
+ * <p>
+ * A cada {@code cars.stats.reconcile-interval-ms}, e na primeira consulta se o documento ainda não existir, as
+ * estatísticas são recalculadas com uma agregação completa da coleção, limitada a
+ * {@code cars.stats.aggregation-timeout-ms}, e o documento é substituído, corrigindo incrementos perdidos. Enquanto
+ * o documento não existe, as consultas recebem o último resultado calculado por até um intervalo de conferência, em
+ * vez de repetir a agregação a cada chamada.
+ * </p>
+ * <p>
+ * Se uma escrita feita por esta instância acontecer durante a agregação, a substituição é adiada para a próxima
+ * execução, para que a escrita não seja contada duas vezes ou perdida. Com escritas constantes, a substituição é
+ * feita mesmo assim depois de {@code cars.stats.max-skipped-reconciliations} adiamentos seguidos, aceitando um erro
+ * de poucas escritas que a conferência seguinte corrige. O contador {@value #RECONCILIATIONS_METRIC} registra cada
+ * execução com o desfecho {@code applied} ou {@code skipped}.
+ * </p>
+ */
+@Component
+public class CatalogStatsService {
+
+    public static final String STATS_ID = "catalog";
+    public static final String RECONCILIATIONS_METRIC = "cars.stats.reconciliations";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger( CatalogStatsService.class );
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadRouting readRouting;
+    private final boolean enabled;
+    private final long reconcileIntervalMillis;
+    private final int maxSkippedReconciliations;
+    private final AggregationOptions aggregationOptions;
+    private final Counter applied;
+    private final Counter skipped;
+
+    private final AtomicLong writes = new AtomicLong();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int consecutiveSkips;
+    private volatile CatalogStats latest;
+
+    /**
+     * Constrói o serviço de estatísticas do catálogo.
+     *
+     * @param mongoTemplate             o acesso ao MongoDB
+     * @param readRouting               o roteamento das leituras entre os membros do <i>replica set</i>
+     * @param enabled                   indica se as estatísticas devem ser mantidas a cada escrita
+     * @param reconcileIntervalMillis   o intervalo entre as agregações completas
+     * @param aggregationTimeoutMillis  o tempo máximo de cada agregação no MongoDB
+     * @param maxSkippedReconciliations a quantidade de substituições adiadas seguidas antes de aplicar a agregação
+     *                                  mesmo com escritas concorrentes
+     * @param meterRegistry             o registro onde as métricas são publicadas
+     */
+    @Autowired
+    public CatalogStatsService ( MongoTemplate mongoTemplate, ReadRouting readRouting,
+                                 @Value( "${cars.stats.enabled:true}" ) boolean enabled,
+                                 @Value( "${cars.stats.reconcile-interval-ms:3600000}" ) long reconcileIntervalMillis,
+                                 @Value( "${cars.stats.aggregation-timeout-ms:30000}" ) long aggregationTimeoutMillis,
+                                 @Value( "${cars.stats.max-skipped-reconciliations:3}" ) int maxSkippedReconciliations,
+                                 MeterRegistry meterRegistry ) {
+        this.mongoTemplate = mongoTemplate;
+        this.readRouting = readRouting;
+        this.enabled = enabled;
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+        this.maxSkippedReconciliations = maxSkippedReconciliations;
+        this.aggregationOptions = AggregationOptions.builder()
+                .maxTime( Duration.ofMillis( aggregationTimeoutMillis ) )
+                .build();
+        this.applied = reconciliationsCounter( meterRegistry, "applied" );
+        this.skipped = reconciliationsCounter( meterRegistry, "skipped" );
+    }
+
+    /**
+     * Recupera as estatísticas do catálogo.
+     * <p>
+     * Sem um documento já gravado, as estatísticas são calculadas pela agregação completa, e o resultado é reutilizado
+     * pelas consultas seguintes durante um intervalo de conferência.
+     * </p>
+     *
+     * @return as estatísticas materializadas
+     */
+    public CatalogStatsDTO stats () {
+        CatalogStats stats = readRouting.read( () -> mongoTemplate.findById( STATS_ID, CatalogStats.class ) );
+        if ( stats == null ) {
+            stats = latest();
+        }
+        return CatalogStatsDTO.of( stats );
+    }
+
+    /**
+     * Retorna o último resultado da agregação completa, recalculando-o apenas quando já passou um intervalo de
+     * conferência. As consultas simultâneas aguardam uma única agregação.
+     */
+    private synchronized CatalogStats latest () {
+        CatalogStats cached = latest;
+        if ( cached != null
+                && cached.getReconciledAt().plusMillis( reconcileIntervalMillis ).isAfter( Instant.now() ) ) {
+            return cached;
+        }
+        return enabled ? refresh() : aggregate();
+    }
+
+    /**
+     * Aplica às estatísticas os incrementos de uma escrita no catálogo.
+     *
+     * @param event o evento descrevendo a alteração
+     */
+    @EventListener
+    public void onCarsChanged ( CarsChangedEvent event ) {
+        if ( ! enabled ) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            // Eventos reaplicados de outras instâncias não alteram o documento e não precisam adiar a conferência
+            if ( ! ( event.getSource() instanceof CarsService ) ) {
+                return;
+            }
+            writes.incrementAndGet();
+            Cars current = event.getType() == CarsChangedEvent.Type.DELETED ? null : event.getCar();
+            Map<String, Number> delta = StatsDelta.of( event.getPrevious(), current );
+            if ( delta.isEmpty() ) {
+                return;
+            }
+            Update update = new Update().set( "updatedAt", Instant.now() );
+            delta.forEach( update::inc );
+            // Sem upsert: antes da primeira agregação, o documento é criado já com a escrita contada
+            mongoTemplate.updateFirst( Query.query( Criteria.where( "_id" ).is( STATS_ID ) ), update,
+                    CatalogStats.class );
+        } catch ( DataAccessException exception ) {
+            LOGGER.warn( "Could not update catalog stats after change of car {}", event.getCarId(), exception );
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recalcula periodicamente as estatísticas com uma agregação completa.
+     */
+    @Scheduled( fixedDelayString = "${cars.stats.reconcile-interval-ms:3600000}" )
+    public void reconcile () {
+        if ( enabled ) {
+            refresh();
+        }
+    }
+
+    /**
+     * Recalcula as estatísticas com uma agregação completa e substitui o documento, se nenhuma escrita local ocorreu
+     * durante a agregação ou se a substituição já foi adiada vezes demais.
+     *
+     * @return as estatísticas recalculadas
+     */
+    private CatalogStats refresh () {
+        long before = writes.get();
+        CatalogStats aggregated = aggregate();
+        lock.writeLock().lock();
+        try {
+            if ( writes.get() != before && consecutiveSkips < maxSkippedReconciliations ) {
+                consecutiveSkips++;
+                skipped.increment();
+                LOGGER.debug( "Catalog changed during stats aggregation, reconciliation postponed" );
+                return aggregated;
+            }
+            if ( writes.get() != before ) {
+                LOGGER.info( "Catalog stats reconciliation postponed {} times in a row, applying it despite "
+                        + "concurrent writes", consecutiveSkips );
+            }
+            consecutiveSkips = 0;
+            CatalogStats stored = mongoTemplate.findById( STATS_ID, CatalogStats.class );
+            if ( stored != null && ( stored.getCount() != aggregated.getCount()
+                    || Math.abs( stored.getTotalValue() - aggregated.getTotalValue() ) > 0.01 ) ) {
+                LOGGER.info( "Catalog stats drifted, count {} -> {}, total value {} -> {}", stored.getCount(),
+                        aggregated.getCount(), stored.getTotalValue(), aggregated.getTotalValue() );
+            }
+            aggregated.setUpdatedAt( stored != null && stored.getUpdatedAt() != null ? stored.getUpdatedAt()
+                    : aggregated.getReconciledAt() );
+            mongoTemplate.save( aggregated );
+            applied.increment();
+            return aggregated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private CatalogStats aggregate () {
+        CatalogStats stats = new CatalogStats();
+        stats.setId( STATS_ID );
+        for ( Document group : group( Aggregation.group( "producedBy" ).count().as( "count" )
+                .sum( "carValue" ).as( "sum" ) ) ) {
+            CatalogStats.Totals totals = totals( group );
+            merge( stats.getProducers(), StatsKeys.encode( group.get( "_id" ) ), totals );
+            stats.setCount( stats.getCount() + totals.getCount() );
+            stats.setTotalValue( stats.getTotalValue() + totals.getSum() );
+        }
+        for ( Document group : group( Aggregation.group( "yearProduction" ).count().as( "count" )
+                .sum( "carValue" ).as( "sum" ) ) ) {
+            merge( stats.getYears(), StatsKeys.encode( group.get( "_id" ) ), totals( group ) );
+        }
+        for ( Document group : group( Aggregation.group( "specifications.engineType" ).count().as( "count" ) ) ) {
+            stats.getEngines().merge( StatsKeys.encode( group.get( "_id" ) ), number( group, "count" ).longValue(),
+                    Long::sum );
+        }
+        stats.setReconciledAt( Instant.now() );
+        latest = stats;
+        return stats;
+    }
+
+    private List<Document> group ( GroupOperation group ) {
+        return mongoTemplate.aggregate( Aggregation.newAggregation( Cars.class, group )
+                        .withOptions( aggregationOptions ), Document.class )
+                .getMappedResults();
+    }
+
+    private static void merge ( Map<String, CatalogStats.Totals> target, String key, CatalogStats.Totals totals ) {
+        target.merge( key, totals, ( left, right ) -> new CatalogStats.Totals( left.getCount() + right.getCount(),
+                left.getSum() + right.getSum() ) );
+    }
+
+    private static CatalogStats.Totals totals ( Document group ) {
+        return new CatalogStats.Totals( number( group, "count" ).longValue(), number( group, "sum" ).doubleValue() );
+    }
+
+    private static Number number ( Document document, String field ) {
+        Object value = document.get( field );
+        return value instanceof Number number ? number : 0;
+    }
+
+    private static Counter reconciliationsCounter ( MeterRegistry meterRegistry, String outcome ) {
+        return Counter.builder( RECONCILIATIONS_METRIC ).tag( "outcome", outcome ).register( meterRegistry );
+    }
+}
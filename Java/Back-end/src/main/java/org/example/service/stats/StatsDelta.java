@@ -0,0 +1,64 @@
+package org.example.service.stats;
+
+import org.example.model.Cars;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Calcula os incrementos do documento de estatísticas causados por uma escrita no catálogo.
+ * <p>
+ * A versão anterior do carro é subtraída e a nova é somada, de modo que criações, remoções e atualizações usam a
+ * mesma conta; incrementos que se anulam, como os de um fabricante que não mudou, são descartados. O resultado
+ * mapeia o caminho de cada campo ao valor a ser aplicado com {@code $inc}.
+ * </p>
+ */
+public final class StatsDelta {
+
+    private StatsDelta () {
+    }
+
+    /**
+     * Calcula os incrementos de uma escrita.
+     *
+     * @param previous o estado anterior do carro, ou {@code null} em uma criação
+     * @param current  o estado atual do carro, ou {@code null} em uma remoção
+     * @return os incrementos por caminho de campo, vazio se a escrita não altera as estatísticas
+     */
+    public static Map<String, Number> of ( Cars previous, Cars current ) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        Map<String, Double> sums = new LinkedHashMap<>();
+        add( counts, sums, previous, -1 );
+        add( counts, sums, current, 1 );
+        Map<String, Number> delta = new LinkedHashMap<>();
+        counts.forEach( ( path, value ) -> {
+            if ( value != 0 ) {
+                delta.put( path, value );
+            }
+        } );
+        sums.forEach( ( path, value ) -> {
+            if ( value != 0 ) {
+                delta.put( path, value );
+            }
+        } );
+        return delta;
+    }
+
+    private static void add ( Map<String, Long> counts, Map<String, Double> sums, Cars car, int sign ) {
+        if ( car == null ) {
+            return;
+        }
+        double value = car.getCarValue() != null ? car.getCarValue() : 0;
+        String producer = "producers." + StatsKeys.encode( car.getProducedBy() );
+        String year = "years." + StatsKeys.encode( car.getYearProduction() );
+        String engine = "engines." + StatsKeys.encode( car.getSpecifications() != null
+                ? car.getSpecifications().getEngineType() : null );
+        counts.merge( "count", ( long ) sign, Long::sum );
+        sums.merge( "totalValue", sign * value, Double::sum );
+        counts.merge( producer + ".count", ( long ) sign, Long::sum );
+        sums.merge( producer + ".sum", sign * value, Double::sum );
+        counts.merge( year + ".count", ( long ) sign, Long::sum );
+        sums.merge( year + ".sum", sign * value, Double::sum );
+        counts.merge( engine, ( long ) sign, Long::sum );
+    }
+}
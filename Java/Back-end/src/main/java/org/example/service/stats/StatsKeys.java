@@ -0,0 +1,47 @@
+package org.example.service.stats;
+
+/**
+ * Codifica fabricantes, anos e tipos de motor para uso como nomes de campos no documento de estatísticas.
+ * <p>
+ * Nomes de campos do MongoDB não podem conter {@code .} nem começar com {@code $}, então esses caracteres, e o
+ * próprio {@code %}, são escritos como em uma URL. Valores ausentes usam a chave {@value #MISSING}, que nenhum valor
+ * codificado pode produzir.
+ * </p>
+ */
+public final class StatsKeys {
+
+    public static final String MISSING = "%";
+
+    private StatsKeys () {
+    }
+
+    /**
+     * Codifica um valor como nome de campo.
+     *
+     * @param value o valor, possivelmente nulo
+     * @return o nome de campo correspondente
+     */
+    public static String encode ( Object value ) {
+        if ( value == null ) {
+            return MISSING;
+        }
+        String text = value.toString();
+        if ( text.isEmpty() ) {
+            return MISSING;
+        }
+        return text.replace( "%", "%25" ).replace( ".", "%2E" ).replace( "$", "%24" );
+    }
+
+    /**
+     * Decodifica um nome de campo produzido por {@link #encode(Object)}.
+     *
+     * @param key o nome de campo
+     * @return o valor original, ou {@code null} se o valor estava ausente
+     */
+    public static String decode ( String key ) {
+        if ( MISSING.equals( key ) ) {
+            return null;
+        }
+        return key.replace( "%2E", "." ).replace( "%24", "$" ).replace( "%25", "%" );
+    }
+}
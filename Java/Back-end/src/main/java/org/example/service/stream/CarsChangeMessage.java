@@ -0,0 +1,14 @@
+package org.example.service.stream;
+
+import org.example.model.Cars;
+
+/**
+ * Mensagem enviada aos assinantes do fluxo de alterações do catálogo.
+ *
+ * @param sequence o número sequencial da alteração, usado também como ID do evento SSE
+ * @param type     o tipo da alteração ({@code CREATED}, {@code UPDATED} ou {@code DELETED})
+ * @param carId    o ID do carro alterado
+ * @param car      o estado atual do carro, ou {@code null} quando o carro foi removido
+ */
+public record CarsChangeMessage( long sequence, String type, String carId, Cars car ) {
+}
@@ -0,0 +1,213 @@
+package org.example.service.stream;
+
+import jakarta.annotation.PreDestroy;
+import org.example.events.CarsChangedEvent;
+import org.example.model.Cars;
+import org.example.utils.QueryMongo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Distribui as alterações do catálogo de carros para assinantes conectados via Server-Sent Events.
+ * <p>
+ * Cada assinante possui uma fila limitada. As alterações recebidas por {@link CarsChangedEvent} são apenas
+ * enfileiradas na thread que realizou a escrita; o envio acontece em um conjunto fixo de threads, com no máximo
+ * uma tarefa de envio ativa por assinante. Quando a fila de um consumidor lento enche, as mensagens pendentes são
+ * descartadas e um evento {@value #RESYNC_EVENT} é enviado, indicando que o cliente deve recarregar o catálogo
+ * antes de continuar a consumir o fluxo. Os filtros por fabricante e tipo de motor ignoram maiúsculas e
+ * minúsculas, como as buscas exatas do repositório.
+ * </p>
+ */
+@Component
+public class CarsChangeStream {
+
+    public static final String CHANGE_EVENT = "car-change";
+    public static final String RESYNC_EVENT = "resync";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ExecutorService senders;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    /**
+     * Constrói o distribuidor de alterações.
+     *
+     * @param bufferSize    a quantidade máxima de mensagens pendentes por assinante
+     * @param senderThreads a quantidade de threads dedicadas ao envio
+     * @param timeoutMillis o tempo máximo de uma conexão antes que o cliente precise se reconectar
+     */
+    @Autowired
+    public CarsChangeStream ( @Value( "${cars.stream.buffer-size:256}" ) int bufferSize,
+                              @Value( "${cars.stream.sender-threads:4}" ) int senderThreads,
+                              @Value( "${cars.stream.timeout-ms:1800000}" ) long timeoutMillis ) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.senders = Executors.newFixedThreadPool( senderThreads );
+    }
+
+    /**
+     * Registra um novo assinante, opcionalmente filtrando por fabricante e tipo de motor.
+     *
+     * @param producedBy o fabricante de interesse, ou {@code null} para todos
+     * @param engineType o tipo de motor de interesse, ou {@code null} para todos
+     * @return o {@link SseEmitter} associado ao assinante
+     */
+    public SseEmitter subscribe ( String producedBy, String engineType ) {
+        SseEmitter emitter = createEmitter( timeoutMillis );
+        Subscriber subscriber = new Subscriber( emitter, producedBy, engineType, bufferSize );
+        emitter.onCompletion( () -> subscribers.remove( subscriber ) );
+        emitter.onTimeout( () -> subscribers.remove( subscriber ) );
+        emitter.onError( error -> subscribers.remove( subscriber ) );
+        subscribers.add( subscriber );
+        return emitter;
+    }
+
+    /**
+     * Cria a conexão de um novo assinante.
+     *
+     * @param timeoutMillis o tempo máximo da conexão
+     * @return o {@link SseEmitter} do assinante
+     */
+    protected SseEmitter createEmitter ( long timeoutMillis ) {
+        return new SseEmitter( timeoutMillis );
+    }
+
+    /**
+     * Retorna a quantidade de assinantes conectados.
+     *
+     * @return o número de assinantes
+     */
+    public int subscriberCount () {
+        return subscribers.size();
+    }
+
+    /**
+     * Enfileira a alteração para todos os assinantes interessados.
+     *
+     * @param event o evento descrevendo a alteração
+     */
+    @EventListener
+    public void onCarsChanged ( CarsChangedEvent event ) {
+        if ( subscribers.isEmpty() ) {
+            return;
+        }
+        CarsChangeMessage message = new CarsChangeMessage( sequence.incrementAndGet(), event.getType().name(),
+                event.getCarId(), event.getCar() );
+        for ( Subscriber subscriber : subscribers ) {
+            if ( subscriber.accepts( event.getCar() ) || subscriber.accepts( event.getPrevious() ) ) {
+                subscriber.enqueue( SseEmitter.event()
+                        .id( Long.toString( message.sequence() ) )
+                        .name( CHANGE_EVENT )
+                        .data( message ) );
+            }
+        }
+    }
+
+    /**
+     * Envia um comentário periódico para manter as conexões abertas através de proxies.
+     */
+    @Scheduled( fixedDelayString = "${cars.stream.heartbeat-interval-ms:15000}" )
+    public void heartbeat () {
+        for ( Subscriber subscriber : subscribers ) {
+            subscriber.enqueue( SseEmitter.event().comment( "heartbeat" ) );
+        }
+    }
+
+    /**
+     * Encerra as conexões abertas e as threads de envio.
+     */
+    @PreDestroy
+    public void shutdown () {
+        senders.shutdownNow();
+        for ( Subscriber subscriber : subscribers ) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    /**
+     * Assinante do fluxo, com sua fila limitada de mensagens pendentes.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String producedBy;
+        private final String engineType;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean resyncRequired = new AtomicBoolean();
+
+        Subscriber ( SseEmitter emitter, String producedBy, String engineType, int bufferSize ) {
+            this.emitter = emitter;
+            this.producedBy = QueryMongo.caseKey( producedBy );
+            this.engineType = QueryMongo.caseKey( engineType );
+            this.queue = new ArrayBlockingQueue<>( bufferSize );
+        }
+
+        boolean accepts ( Cars car ) {
+            if ( car == null ) {
+                return false;
+            }
+            boolean producerMatches = producedBy == null
+                    || producedBy.equals( QueryMongo.caseKey( car.getProducedBy() ) );
+            boolean engineMatches = engineType == null || ( car.getSpecifications() != null
+                    && engineType.equals( QueryMongo.caseKey( car.getSpecifications().getEngineType() ) ) );
+            return producerMatches && engineMatches;
+        }
+
+        void enqueue ( SseEmitter.SseEventBuilder event ) {
+            if ( ! queue.offer( event ) ) {
+                queue.clear();
+                resyncRequired.set( true );
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain () {
+            if ( draining.compareAndSet( false, true ) ) {
+                try {
+                    senders.execute( this::drain );
+                } catch ( RejectedExecutionException exception ) {
+                    draining.set( false );
+                }
+            }
+        }
+
+        private void drain () {
+            try {
+                if ( resyncRequired.getAndSet( false ) ) {
+                    emitter.send( SseEmitter.event().name( RESYNC_EVENT ).data( sequence.get() ) );
+                }
+                SseEmitter.SseEventBuilder event;
+                while ( ( event = queue.poll() ) != null ) {
+                    emitter.send( event );
+                }
+            } catch ( IOException | IllegalStateException exception ) {
+                subscribers.remove( this );
+                emitter.completeWithError( exception );
+                return;
+            } finally {
+                draining.set( false );
+            }
+            if ( ! queue.isEmpty() || resyncRequired.get() ) {
+                scheduleDrain();
+            }
+        }
+    }
+}
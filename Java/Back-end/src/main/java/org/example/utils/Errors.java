@@ -4,6 +4,35 @@ public class Errors {
     public final static String FIELD_ERROR = "THIS FIELD IS NOT VALID! -> ";
     public final static String RESOURCE_NOT_FOUND_ERROR = "RESOURCE NOT FOUND FOR ID -> ";
     public final static String DUPLICATED_FOUND_ERROR = "IT'S NOT POSSIBLE TO SAVE THAT ID -> ";
+    public final static String BATCH_SIZE_ERROR = "TOO MANY KEYS IN A SINGLE BATCH, THE LIMIT IS -> ";
+    public final static String RANKING_SIZE_ERROR = "THE RANKING SIZE MUST BE BETWEEN 1 AND -> ";
+    public final static String SIMILAR_SIZE_ERROR = "THE NUMBER OF SIMILAR CARS MUST BE BETWEEN 1 AND -> ";
+    public final static String FUZZY_SIZE_ERROR = "THE NUMBER OF MATCHING MODELS MUST BE BETWEEN 1 AND -> ";
+    public final static String FUZZY_DISTANCE_ERROR = "THE EDIT DISTANCE MUST BE BETWEEN 0 AND -> ";
+    public final static String IDEMPOTENCY_KEY_ERROR = "THE Idempotency-Key HEADER MUST HAVE AT MOST 255 CHARACTERS";
+    public final static String IDEMPOTENCY_REUSED_ERROR = "THIS Idempotency-Key WAS ALREADY USED WITH A DIFFERENT " +
+            "REQUEST BODY";
+    public final static String IDEMPOTENCY_IN_PROGRESS_ERROR = "A REQUEST WITH THIS Idempotency-Key IS STILL IN " +
+            "PROGRESS, TRY AGAIN LATER";
+    public final static String IDEMPOTENCY_BODY_ERROR = "REQUESTS WITH AN Idempotency-Key MUST HAVE A BODY OF AT " +
+            "MOST 1048576 BYTES";
+    public final static String RATE_LIMIT_ERROR = "TOO MANY REQUESTS, TRY AGAIN IN SECONDS -> ";
+    public final static String DEPENDENCY_UNAVAILABLE_ERROR = "SERVICE TEMPORARILY UNAVAILABLE, DEPENDENCY -> ";
+    public final static String QUERY_TIMEOUT_ERROR = "THE QUERY TOOK TOO LONG TO ANSWER, TRY AGAIN LATER";
+    public final static String VERSION_CONFLICT_ERROR = "THE CAR WAS CHANGED BY ANOTHER REQUEST, CURRENT VERSION -> ";
+    public final static String VERSION_REQUIRED_ERROR = "THE CAR VERSION MUST BE SENT IN THE If-Match HEADER OR IN " +
+            "THE version FIELD";
+    public final static String VALIDATION_ERROR = "THE REQUEST HAS INVALID FIELDS -> ";
+    public final static String BLANK_FIELD_ERROR = "THIS FIELD MUST NOT BE EMPTY";
+    public final static String NEGATIVE_FIELD_ERROR = "THIS FIELD MUST BE A FINITE NUMBER GREATER THAN OR EQUAL TO ZERO";
+    public final static String EMPTY_LIST_ERROR = "THIS FIELD MUST HAVE AT LEAST ONE ITEM";
+    public final static String INVALID_VALUE_ERROR = "THIS FIELD HAS A VALUE OF THE WRONG TYPE";
+    public final static String UNKNOWN_FIELD_ERROR = "THIS FIELD DOES NOT EXIST OR CAN'T BE CHANGED";
+    public final static String SAVED_SEARCH_LIMIT_ERROR = "TOO MANY SAVED SEARCHES, THE LIMIT IS -> ";
+    public final static String SAVED_SEARCH_CRITERIA_ERROR = "THE SEARCH MUST HAVE AT LEAST ONE OF producedBy, " +
+            "maxValue, minYear OR features";
+    public final static String EMPTY_PATCH_ERROR = "THE PATCH DOES NOT CHANGE ANY FIELD";
+    public final static String IMAGE_UNAVAILABLE_ERROR = "IT'S NOT POSSIBLE TO FETCH THE IMAGE FOR CAR -> ";
     public final static String INVALID_ACCESS_ERROR = "ERRO AO ACESSAR O CAMPO -> ";
     public final static String PASSWORD_INVALID_ERROR = "THIS PASSWORD IS INVALID! IT NEEDS: UPPERCASE AND LOWERCASE LETTERS" +
             ", NUMBERS, SPECIAL CHARACTERS AND YOUR LENGTH SHOULD BE BIGGER THAN 8 CHARACTERS";
@@ -6,5 +6,10 @@ public class HttpInfo {
     public static final String HTTP_GET = "GET";
     public static final String HTTP_POST = "POST";
     public static final String HTTP_PUT = "PUT";
+    public static final String HTTP_PATCH = "PATCH";
     public static final String HTTP_DELETE = "DELETE";
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    public static final int MAX_IDEMPOTENT_BODY_BYTES = 1_048_576;
 }
@@ -3,4 +3,16 @@ package org.example.utils;
 public class PageInfo {
     public static final String DEFAULT_FIRSTPAGE = "0";
     public static final String DEFAULT_DATAFORPAGE = "10";
+    public static final int MAX_BATCH_SIZE = 100;
+    public static final String DEFAULT_RANKING_SIZE = "10";
+    public static final int MAX_RANKING_SIZE = 100;
+    public static final String DEFAULT_SIMILAR_SIZE = "10";
+    public static final int MAX_SIMILAR_SIZE = 50;
+    public static final String DEFAULT_FUZZY_SIZE = "10";
+    public static final int MAX_FUZZY_SIZE = 50;
+    public static final String DEFAULT_FUZZY_DISTANCE = "2";
+    public static final int MAX_FUZZY_DISTANCE = 3;
+    public static final int FUZZY_FALLBACK_PREFIX = 2;
+    public static final int MAX_FUZZY_FALLBACK_CANDIDATES = 250;
+    public static final String DEFAULT_PRICE_PERIOD = "month";
 }
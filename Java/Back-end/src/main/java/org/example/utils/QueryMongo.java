@@ -1,15 +1,42 @@
 package org.example.utils;
 
+import java.util.Locale;
+
 public class QueryMongo {
+    public final static long MAX_TIME_MS = 2000;
+    public final static String COLLATION_LOCALE = "en";
+    public final static int COLLATION_STRENGTH = 2;
+    public final static String CASE_INSENSITIVE_COLLATION = "{ 'locale': '" + COLLATION_LOCALE + "', 'strength': " +
+            COLLATION_STRENGTH + " }";
     public final static String FIND_BY_MODEL = "{'model': {$eq: ?0}}";
-    public final static String FIND_BY_LESS_VALUE = "{ 'carValue': { $gt: ?0 } }";
+    public final static String SORT_BY_ID = "{ '_id': 1 }";
+    public final static String FIND_BY_LESS_VALUE = "{ 'carValue': { $lt: ?0 } }";
     public final static String FIND_BY_VALUE = "{ 'carValue': { $eq: ?0} }";
     public final static String FIND_BY_BIGGER_VALUE = "{ 'carValue': { $gt: ?0} }";
     public final static String FIND_BY_YEAR = " { 'yearProduction': { $eq: ?0 } }";
-    public final static String FIND_BY_NEWER_YEAR = " { 'yearProduction': { $lt: ?0 } }";
-    public final static String FIND_BY_OLDER_YEAR = " { 'yearProduction': { $gt: ?0 } }";
+    public final static String FIND_BY_NEWER_YEAR = " { 'yearProduction': { $gt: ?0 } }";
+    public final static String FIND_BY_OLDER_YEAR = " { 'yearProduction': { $lt: ?0 } }";
     public final static String FIND_BY_PRODUCEDBY = "{'producedBy': {$eq: ?0 } }";
     public final static String FIND_BY_ENGINE_TYPE = "{'specifications.engineType':{$eq: ?0}}";
     public final static String FIND_BY_TOP_SPEED = "{'specifications.topSpeed':{$eq: ?0}}";
     public final static String FIND_BY_FEATURE = "{'features': {$eq: ?0}}";
+    public final static String FIND_BY_MODEL_IN = "{'model': {$in: ?0}}";
+    public final static String FIND_BY_MODEL_RANGE = "{'model': {$gte: ?0, $lt: ?1}}";
+    public final static String FIND_BY_PRODUCEDBY_RANGE = "{'producedBy': {$gte: ?0, $lt: ?1}}";
+    // Ordenado depois de qualquer texto pela collation, usado como limite superior das buscas por prefixo
+    public final static String COLLATION_MAX_CHARACTER = "\uFFFF";
+    public final static String FIND_BY_VALUE_AND_YEAR_RANGE = "{ 'carValue': { $gte: ?0, $lte: ?1 }, " +
+            "'yearProduction': { $gte: ?2, $lte: ?3 } }";
+
+    /**
+     * Normaliza um termo para as comparações feitas em memória, ignorando maiúsculas e minúsculas como a collation
+     * {@link #CASE_INSENSITIVE_COLLATION}, de modo que os catálogos em memória e o MongoDB encontrem os mesmos
+     * carros.
+     *
+     * @param value o termo a ser normalizado, ou {@code null}
+     * @return o termo em minúsculas, ou {@code null}
+     */
+    public static String caseKey ( String value ) {
+        return value != null ? value.toLowerCase( Locale.ROOT ) : null;
+    }
 }
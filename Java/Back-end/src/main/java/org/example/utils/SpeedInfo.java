@@ -0,0 +1,38 @@
+package org.example.utils;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Conversão dos valores textuais de velocidade máxima para uma unidade comum.
+ * <p>
+ * As especificações guardam a velocidade como texto, por exemplo {@code "155 mph"} ou {@code "250 km/h"}. Esta
+ * classe extrai o número e o converte para milhas por hora, permitindo comparar carros cadastrados com unidades
+ * diferentes. Valores sem unidade são considerados em {@value Metrics#SPEED_UNITY}.
+ * </p>
+ */
+public class SpeedInfo {
+
+    private static final Pattern SPEED = Pattern.compile( "([0-9]+(?:[.,][0-9]+)?)\\s*(mph|km/?h|kph)?",
+            Pattern.CASE_INSENSITIVE );
+    private static final double KMH_TO_MPH = 0.621371;
+
+    /**
+     * Converte uma velocidade textual para milhas por hora.
+     *
+     * @param topSpeed a velocidade como cadastrada nas especificações
+     * @return a velocidade em milhas por hora, ou {@link Double#NaN} se o valor não puder ser interpretado
+     */
+    public static double toMph ( String topSpeed ) {
+        if ( topSpeed == null ) {
+            return Double.NaN;
+        }
+        Matcher matcher = SPEED.matcher( topSpeed );
+        if ( ! matcher.find() ) {
+            return Double.NaN;
+        }
+        double value = Double.parseDouble( matcher.group( 1 ).replace( ',', '.' ) );
+        String unit = matcher.group( 2 );
+        return unit != null && unit.toLowerCase().startsWith( "k" ) ? value * KMH_TO_MPH : value;
+    }
+}
@@ -1,14 +1,62 @@
 package org.example.validations;
 
+import org.example.exceptions.ValidationFailedException;
 import org.example.model.Cars;
+import org.example.model.DimensionsCar;
+import org.example.model.SpecificationsCar;
 
+/**
+ * Validação completa de um carro recebido para cadastro ou substituição.
+ * <p>
+ * Todos os campos são verificados e os erros são reunidos em um {@link ValidationResult}, de modo que a resposta
+ * liste de uma vez todos os campos inválidos, inclusive os subcampos de {@code specifications} e
+ * {@code dimensions}.
+ * </p>
+ */
 public class CarIsValid {
 
+    /**
+     * Valida o carro e lança uma exceção com todos os campos inválidos.
+     *
+     * @param newCar o carro a ser validado
+     * @throws ValidationFailedException se ao menos um campo for inválido
+     */
     public static void validate ( Cars newCar ) {
-        CarValidations carValidations = new CarValidations();
-        carValidations.validateUpdatedInformations( newCar.getModel(), newCar.getYearProduction(),
-                newCar.getProducedBy(), newCar.getImageUrl(),
-                newCar.getCarValue(), newCar.getSpecifications(),
-                newCar.getFeatures(), newCar.getDimensions() );
+        check( newCar ).throwIfInvalid();
+    }
+
+    /**
+     * Valida o carro sem lançar exceções.
+     *
+     * @param car o carro a ser validado
+     * @return o resultado com os campos inválidos, vazio se o carro for válido
+     */
+    public static ValidationResult check ( Cars car ) {
+        ValidationResult result = new ValidationResult()
+                .text( "model", car.getModel() )
+                .nonNegative( "yearProduction", car.getYearProduction() )
+                .text( "producedBy", car.getProducedBy() )
+                .text( "imageUrl", car.getImageUrl() )
+                .nonNegative( "carValue", car.getCarValue() );
+
+        SpecificationsCar specifications = car.getSpecifications();
+        if ( result.present( "specifications", specifications ) ) {
+            result.text( "specifications.engineType", specifications.getEngineType() )
+                    .text( "specifications.engineCapacity", specifications.getEngineCapacity() )
+                    .text( "specifications.range", specifications.getRange() )
+                    .text( "specifications.acceleration", specifications.getAcceleration() )
+                    .text( "specifications.topSpeed", specifications.getTopSpeed() );
+        }
+
+        result.notEmpty( "features", car.getFeatures() );
+
+        DimensionsCar dimensions = car.getDimensions();
+        if ( result.present( "dimensions", dimensions ) ) {
+            result.text( "dimensions.length", dimensions.getLength() )
+                    .text( "dimensions.width", dimensions.getWidth() )
+                    .text( "dimensions.height", dimensions.getHeight() )
+                    .text( "dimensions.wheelBase", dimensions.getWheelBase() );
+        }
+        return result;
     }
 }
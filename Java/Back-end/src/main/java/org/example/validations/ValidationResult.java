@@ -0,0 +1,124 @@
+package org.example.validations;
+
+import org.example.dto.FieldErrorDTO;
+import org.example.exceptions.ValidationFailedException;
+import org.example.utils.Errors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de uma validação que reúne todos os campos inválidos em vez de parar no primeiro.
+ * <p>
+ * Cada verificação registra o erro e segue para a próxima, sem lançar exceções; ao final, {@link #throwIfInvalid()}
+ * lança uma única {@link ValidationFailedException} com a lista completa. As regras são as mesmas de
+ * {@link StringValidation}, {@link IntegerValidation}, {@link CarValueValidation} e {@link IsEmptyValidation}. A
+ * lista de erros só é criada quando o primeiro erro aparece, então uma validação bem-sucedida não aloca nada além
+ * do próprio resultado.
+ * </p>
+ */
+public final class ValidationResult {
+
+    private List<FieldErrorDTO> errors;
+
+    /**
+     * Verifica se o texto não é nulo nem vazio.
+     *
+     * @param field o caminho do campo
+     * @param value o valor recebido
+     * @return este resultado
+     */
+    public ValidationResult text ( String field, String value ) {
+        if ( value == null || value.isBlank() ) {
+            reject( field, Errors.BLANK_FIELD_ERROR );
+        }
+        return this;
+    }
+
+    /**
+     * Verifica se o número foi informado, é finito e não é negativo.
+     *
+     * @param field o caminho do campo
+     * @param value o valor recebido
+     * @return este resultado
+     */
+    public ValidationResult nonNegative ( String field, Number value ) {
+        if ( value == null ) {
+            return reject( field, Errors.BLANK_FIELD_ERROR );
+        }
+        double number = value.doubleValue();
+        if ( Double.isInfinite( number ) || Double.isNaN( number ) || number < 0 ) {
+            reject( field, Errors.NEGATIVE_FIELD_ERROR );
+        }
+        return this;
+    }
+
+    /**
+     * Verifica se a lista foi informada, tem ao menos um item e não contém textos vazios.
+     *
+     * @param field  o caminho do campo
+     * @param values os valores recebidos
+     * @return este resultado
+     */
+    public ValidationResult notEmpty ( String field, List<String> values ) {
+        if ( values == null || values.isEmpty() ) {
+            return reject( field, Errors.EMPTY_LIST_ERROR );
+        }
+        for ( String value : values ) {
+            if ( value == null || value.isBlank() ) {
+                return reject( field, Errors.BLANK_FIELD_ERROR );
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Verifica se o objeto aninhado foi informado.
+     *
+     * @param field o caminho do campo
+     * @param value o objeto recebido
+     * @return {@code true} se o objeto existe e seus subcampos devem ser verificados
+     */
+    public boolean present ( String field, Object value ) {
+        if ( value == null ) {
+            reject( field, Errors.BLANK_FIELD_ERROR );
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Registra um campo inválido.
+     *
+     * @param field   o caminho do campo
+     * @param message o motivo da rejeição
+     * @return este resultado
+     */
+    public ValidationResult reject ( String field, String message ) {
+        if ( errors == null ) {
+            errors = new ArrayList<>( 4 );
+        }
+        errors.add( new FieldErrorDTO( field, message ) );
+        return this;
+    }
+
+    public boolean isValid () {
+        return errors == null;
+    }
+
+    public List<FieldErrorDTO> getErrors () {
+        return errors == null ? List.of() : Collections.unmodifiableList( errors );
+    }
+
+    /**
+     * Lança a exceção com todos os campos inválidos, se houver algum.
+     *
+     * @throws ValidationFailedException se ao menos um campo for inválido
+     */
+    public void throwIfInvalid () {
+        if ( errors != null ) {
+            throw new ValidationFailedException( errors );
+        }
+    }
+}
@@ -0,0 +1,104 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.config.BinaryFormatsConfig;
+import org.example.model.Cars;
+import org.example.model.DimensionsCar;
+import org.example.model.SpecificationsCar;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compara o tamanho e o tempo de codificação de páginas de carros em JSON, CBOR e Smile.
+ * <p>
+ * Não faz parte da suíte de testes. Para executar:
+ * </p>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.mainClass=BinaryFormatsBenchmark -Dexec.classpathScope=test
+ * </pre>
+ */
+public class BinaryFormatsBenchmark {
+
+    private static final int[] PAGE_SIZES = { 10, 100, 1000 };
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+    private static final long MEASURE_NANOS = 3_000_000_000L;
+
+    public static void main ( String[] args ) throws IOException {
+        BinaryFormatsConfig config = new BinaryFormatsConfig();
+        String[] names = { "json", "cbor", "smile" };
+        ObjectMapper[] mappers = {
+                new Jackson2ObjectMapperBuilder().build(),
+                config.cborHttpMessageConverter( new Jackson2ObjectMapperBuilder() ).getObjectMapper(),
+                config.smileHttpMessageConverter( new Jackson2ObjectMapperBuilder() ).getObjectMapper()
+        };
+
+        System.out.printf( "%-6s %6s %12s %10s %14s %14s%n",
+                "format", "size", "bytes", "vs_json", "encode_us", "decode_us" );
+        for ( int size : PAGE_SIZES ) {
+            Page<Cars> page = page( size );
+            int jsonBytes = mappers[ 0 ].writeValueAsBytes( page ).length;
+            for ( int i = 0; i < mappers.length; i++ ) {
+                ObjectMapper mapper = mappers[ i ];
+                byte[] encoded = mapper.writeValueAsBytes( page );
+                measureEncode( mapper, page, WARMUP_NANOS );
+                double encodeMicros = measureEncode( mapper, page, MEASURE_NANOS );
+                measureDecode( mapper, encoded, WARMUP_NANOS );
+                double decodeMicros = measureDecode( mapper, encoded, MEASURE_NANOS );
+                System.out.printf( "%-6s %6d %12d %9.0f%% %14.1f %14.1f%n", names[ i ], size, encoded.length,
+                        100.0 * encoded.length / jsonBytes, encodeMicros, decodeMicros );
+            }
+        }
+    }
+
+    private static double measureEncode ( ObjectMapper mapper, Page<Cars> page, long budgetNanos ) throws IOException {
+        long iterations = 0;
+        long sink = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += mapper.writeValueAsBytes( page ).length;
+            iterations++;
+            elapsed = System.nanoTime() - start;
+        } while ( elapsed < budgetNanos );
+        return sink == 0 ? 0 : elapsed / 1000.0 / iterations;
+    }
+
+    private static double measureDecode ( ObjectMapper mapper, byte[] encoded, long budgetNanos ) throws IOException {
+        long iterations = 0;
+        long sink = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += mapper.readTree( encoded ).size();
+            iterations++;
+            elapsed = System.nanoTime() - start;
+        } while ( elapsed < budgetNanos );
+        return sink == 0 ? 0 : elapsed / 1000.0 / iterations;
+    }
+
+    private static Page<Cars> page ( int size ) {
+        Random random = new Random( size );
+        String[] producers = { "Porsche", "Tesla", "BMW", "Toyota", "Ferrari" };
+        String[] engines = { "Electric", "V8", "V6", "Hybrid" };
+        List<Cars> cars = new ArrayList<>( size );
+        for ( int i = 0; i < size; i++ ) {
+            Cars car = new Cars( "Model " + i, 1990 + random.nextInt( 35 ), producers[ random.nextInt( producers.length ) ],
+                    "https://images.example.com/cars/" + i + ".jpg", 20000 + random.nextInt( 300000 ),
+                    new SpecificationsCar( engines[ random.nextInt( engines.length ) ], random.nextInt( 6 ) + ".0L",
+                            random.nextInt( 800 ) + " km", ( 2 + random.nextInt( 8 ) ) + ".5 s",
+                            ( 150 + random.nextInt( 200 ) ) + " mph" ),
+                    List.of( "Ar-condicionado", "Piloto automático", "Teto solar" ),
+                    new DimensionsCar( "4963 mm", "1966 mm", "1381 mm", "2900 mm" ) );
+            car.setId( Integer.toHexString( 0x6500_0000 + i ) + "a1b2c3d4e5f60718" );
+            car.setLastModified( Instant.ofEpochMilli( 1_700_000_000_000L + i ) );
+            cars.add( car );
+        }
+        return new PageImpl<>( cars, PageRequest.of( 0, size ), 50_000 );
+    }
+}
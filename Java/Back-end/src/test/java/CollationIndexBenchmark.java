@@ -0,0 +1,188 @@
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.example.config.MongoIndexConfig;
+import org.example.model.Cars;
+import org.example.model.SpecificationsCar;
+import org.example.repository.CarsRepository;
+import org.example.utils.QueryMongo;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Verifica, em um MongoDB real, que as buscas exatas sem distinção de maiúsculas do {@link CarsRepository} usam os
+ * índices com collation e compara o tempo delas com o da alternativa por expressão regular.
+ * <p>
+ * Um banco de dados temporário recebe um catálogo sintético e os mesmos índices do {@link MongoIndexConfig}. As
+ * consultas são feitas pelos próprios métodos {@code @Query} do repositório, criado pelo
+ * {@link MongoRepositoryFactory}, com o <i>profiler</i> do MongoDB ligado. Para cada método, a entrada registrada
+ * pelo servidor mostra a collation recebida e o plano executado; o benchmark falha se alguma consulta chegar sem
+ * collation ou usar {@code COLLSCAN}. Exige um MongoDB sem {@code mongos}, onde o <i>profiler</i> está
+ * disponível, e não faz parte da suíte de testes. Para executar, com a URI do MongoDB e o tamanho do catálogo
+ * opcionais:
+ * </p>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.mainClass=CollationIndexBenchmark -Dexec.classpathScope=test \
+ *     -Dexec.args="mongodb://localhost:27017 200000"
+ * </pre>
+ */
+public class CollationIndexBenchmark {
+
+    private static final String DATABASE = "cars_benchmark";
+    private static final int BATCH = 10_000;
+    private static final int QUERIES = 200;
+    private static final String[] ENGINES = { "Electric", "V8", "V6", "Hybrid" };
+    private static final String[] FEATURES = { "GPS", "Teto solar", "Piloto automático", "Bancos de couro",
+            "Câmera de ré", "Som premium", "Tração integral", "Faróis de LED" };
+
+    private record Case( String field, String value, Supplier<List<Cars>> repository ) {
+    }
+
+    public static void main ( String[] args ) {
+        String uri = args.length > 0 ? args[ 0 ] : "mongodb://localhost:27017";
+        int count = args.length > 1 ? Integer.parseInt( args[ 1 ] ) : 200_000;
+        try ( MongoClient client = MongoClients.create( uri ) ) {
+            MongoTemplate template = new MongoTemplate( client, DATABASE );
+            String collectionName = template.getCollectionName( Cars.class );
+            template.dropCollection( Cars.class );
+            seed( template, count );
+            IndexOperations indexes = template.indexOps( Cars.class );
+            MongoIndexConfig.caseInsensitiveIndexes().forEach( indexes::ensureIndex );
+
+            CarsRepository repository = new MongoRepositoryFactory( template ).getRepository( CarsRepository.class );
+            MongoCollection<Document> collection = template.getCollection( collectionName );
+            MongoCollection<Document> profile = template.getDb().getCollection( "system.profile" );
+            List<Case> cases = List.of(
+                    new Case( "model", "FAMILY 42", () -> repository.findByModelIn( List.of( "FAMILY 42" ) ) ),
+                    new Case( "producedBy", "producer 7", () -> repository.findProducedBy( "producer 7" ) ),
+                    new Case( "specifications.engineType", "electric",
+                            () -> repository.findByEngineType( "electric" ) ),
+                    new Case( "features", "gps", () -> repository.findByFeature( "gps" ) ) );
+            System.out.printf( "cars=%d%n", count );
+            System.out.printf( "%-26s %-30s %8s %10s %12s %12s%n",
+                    "field", "plan", "matches", "examined", "collation_us", "regex_us" );
+            List<String> failures = new ArrayList<>();
+            for ( Case query : cases ) {
+                Map<String, Object> executed = profiled( template, profile, collectionName, query.repository() );
+                Object collation = executed.get( "collation" );
+                String plan = String.valueOf( executed.get( "planSummary" ) );
+                if ( collation == null ) {
+                    failures.add( query.field() + " reached the server without a collation" );
+                }
+                if ( plan.contains( "COLLSCAN" ) ) {
+                    failures.add( query.field() + " used " + plan );
+                }
+
+                Bson regex = Filters.regex( query.field(), "^" + Pattern.quote( query.value() ) + "$", "i" );
+                long matches = query.repository().get().size();
+                long regexMatches = count( collection, regex );
+                if ( matches != regexMatches ) {
+                    throw new IllegalStateException( "Collation and regex disagree on " + query.field() + ": "
+                            + matches + " != " + regexMatches );
+                }
+                long start = System.nanoTime();
+                for ( int i = 0; i < QUERIES; i++ ) {
+                    query.repository().get();
+                }
+                double collationMicros = ( System.nanoTime() - start ) / 1000.0 / QUERIES;
+                start = System.nanoTime();
+                for ( int i = 0; i < QUERIES; i++ ) {
+                    count( collection, regex );
+                }
+                double regexMicros = ( System.nanoTime() - start ) / 1000.0 / QUERIES;
+                System.out.printf( "%-26s %-30s %8d %10s %12.1f %12.1f%n", query.field(), plan, matches,
+                        executed.get( "docsExamined" ), collationMicros, regexMicros );
+            }
+
+            // A busca por prefixo do fallback da busca tolerante a erros deve percorrer apenas um trecho do índice
+            Map<String, Object> range = profiled( template, profile, collectionName, () -> repository
+                    .findByModelRange( "fa", "fa" + QueryMongo.COLLATION_MAX_CHARACTER, Limit.of( 250 ) ) );
+            System.out.printf( "%-26s %-30s %8s %10s%n", "model (prefix range)", range.get( "planSummary" ), "",
+                    range.get( "docsExamined" ) );
+            if ( String.valueOf( range.get( "planSummary" ) ).contains( "COLLSCAN" ) ) {
+                failures.add( "model prefix range used " + range.get( "planSummary" ) );
+            }
+
+            template.getDb().runCommand( new Document( "profile", 0 ) );
+            template.getDb().drop();
+            if ( ! failures.isEmpty() ) {
+                throw new IllegalStateException( String.join( "; ", failures ) );
+            }
+            System.out.println( "every repository query carried the collation and none used a COLLSCAN" );
+        }
+    }
+
+    /**
+     * Executa uma consulta do repositório com o <i>profiler</i> ligado e retorna o que o servidor registrou dela.
+     */
+    private static Map<String, Object> profiled ( MongoTemplate template, MongoCollection<Document> profile,
+                                                  String collectionName, Supplier<List<Cars>> query ) {
+        template.getDb().runCommand( new Document( "profile", 0 ) );
+        profile.drop();
+        template.getDb().runCommand( new Document( "profile", 2 ) );
+        query.get();
+        template.getDb().runCommand( new Document( "profile", 0 ) );
+        Document entry = profile.find( Filters.and( Filters.eq( "ns", DATABASE + "." + collectionName ),
+                        Filters.eq( "op", "query" ) ) )
+                .sort( Sorts.descending( "ts" ) )
+                .first();
+        if ( entry == null ) {
+            throw new IllegalStateException( "The profiler did not record the repository query" );
+        }
+        Document command = entry.get( "command", Document.class );
+        Map<String, Object> executed = new LinkedHashMap<>();
+        executed.put( "collation", command.get( "collation" ) );
+        executed.put( "planSummary", entry.get( "planSummary" ) );
+        executed.put( "docsExamined", entry.get( "docsExamined" ) );
+        return executed;
+    }
+
+    private static long count ( MongoCollection<Document> collection, Bson filter ) {
+        long matches = 0;
+        for ( Document ignored : collection.find( filter ) ) {
+            matches++;
+        }
+        return matches;
+    }
+
+    private static void seed ( MongoTemplate template, int count ) {
+        Random random = new Random( 5 );
+        List<Cars> batch = new ArrayList<>( BATCH );
+        for ( int i = 0; i < count; i++ ) {
+            // Variações de maiúsculas do mesmo valor, como as enviadas pelos clientes
+            int family = random.nextInt( 5000 );
+            String model = random.nextBoolean() ? "Family " + family : "family " + family;
+            int producer = random.nextInt( 60 );
+            String producedBy = random.nextBoolean() ? "Producer " + producer : "PRODUCER " + producer;
+            String engine = ENGINES[ random.nextInt( ENGINES.length ) ];
+            batch.add( new Cars( model, 1990 + random.nextInt( 35 ), producedBy, null,
+                    15000 + random.nextDouble() * 250000,
+                    new SpecificationsCar( random.nextBoolean() ? engine : engine.toUpperCase(), "2.0L", "500 km",
+                            "6.5 s", "150 mph" ),
+                    List.of( FEATURES[ random.nextInt( FEATURES.length ) ],
+                            FEATURES[ random.nextInt( FEATURES.length ) ].toLowerCase() ),
+                    null ) );
+            if ( batch.size() == BATCH ) {
+                template.insert( batch, Cars.class );
+                batch.clear();
+            }
+        }
+        if ( ! batch.isEmpty() ) {
+            template.insert( batch, Cars.class );
+        }
+    }
+}
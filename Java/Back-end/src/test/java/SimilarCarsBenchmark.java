@@ -0,0 +1,114 @@
+import org.example.model.Cars;
+import org.example.model.DimensionsCar;
+import org.example.model.SpecificationsCar;
+import org.example.service.similar.BruteForceNeighbours;
+import org.example.service.similar.CarVectors;
+import org.example.service.similar.FeatureScaler;
+import org.example.service.similar.Neighbour;
+import org.example.service.similar.SimilarCarsIndex;
+import org.example.service.similar.VantagePointTree;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compara o tempo da busca por carros semelhantes na {@link VantagePointTree} com a busca exaustiva.
+ * <p>
+ * O catálogo sintético é formado por famílias de modelos, cada uma com variações de preço, ano, motor e
+ * acessórios, como acontece em um catálogo real. Não faz parte da suíte de testes. Para executar, com o tamanho do
+ * catálogo opcional:
+ * </p>
+ * <pre>
+ * mvn test-compile exec:java -Dexec.mainClass=SimilarCarsBenchmark -Dexec.classpathScope=test -Dexec.args=1000000
+ * </pre>
+ */
+public class SimilarCarsBenchmark {
+
+    private static final int QUERIES = 1000;
+    private static final int K = 10;
+    private static final int FAMILIES = 5000;
+
+    public static void main ( String[] args ) {
+        int count = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 1_000_000;
+        Random random = new Random( 11 );
+        Cars[] families = new Cars[ FAMILIES ];
+        for ( int i = 0; i < FAMILIES; i++ ) {
+            families[ i ] = family( random, i );
+        }
+        String[] ids = new String[ count ];
+        double[][] raw = new double[ count ][];
+        for ( int i = 0; i < count; i++ ) {
+            ids[ i ] = "car-" + i;
+            raw[ i ] = CarVectors.raw( variant( random, families[ random.nextInt( FAMILIES ) ] ) );
+        }
+        FeatureScaler scaler = FeatureScaler.fit( raw, count );
+        float[] coordinates = SimilarCarsIndex.coordinates( raw, scaler );
+
+        long start = System.nanoTime();
+        VantagePointTree tree = new VantagePointTree( ids.clone(), coordinates.clone(), CarVectors.DIMENSIONS );
+        System.out.printf( "cars=%d build_ms=%d%n", count, ( System.nanoTime() - start ) / 1_000_000 );
+
+        double[][] queries = new double[ QUERIES ][];
+        for ( int q = 0; q < QUERIES; q++ ) {
+            queries[ q ] = scaler.scale( raw[ random.nextInt( count ) ] );
+        }
+        // Aquecimento do JIT
+        for ( int q = 0; q < QUERIES; q++ ) {
+            tree.nearest( queries[ q ], K, id -> false );
+        }
+
+        long sink = 0;
+        start = System.nanoTime();
+        for ( int q = 0; q < QUERIES; q++ ) {
+            sink += tree.nearest( queries[ q ], K, id -> false ).size();
+        }
+        double treeMicros = ( System.nanoTime() - start ) / 1000.0 / QUERIES;
+
+        int bruteQueries = Math.min( QUERIES, 50 );
+        int mismatches = 0;
+        start = System.nanoTime();
+        for ( int q = 0; q < bruteQueries; q++ ) {
+            List<Neighbour> expected = BruteForceNeighbours.nearest( ids, coordinates, CarVectors.DIMENSIONS,
+                    queries[ q ], K, id -> false );
+            sink += expected.size();
+            if ( ! distances( expected ).equals( distances( tree.nearest( queries[ q ], K, id -> false ) ) ) ) {
+                mismatches++;
+            }
+        }
+        double bruteMicros = ( System.nanoTime() - start ) / 1000.0 / bruteQueries;
+
+        System.out.printf( "%-12s %12s%n", "method", "query_us" );
+        System.out.printf( "%-12s %12.1f%n", "vp-tree", treeMicros );
+        System.out.printf( "%-12s %12.1f%n", "brute-force", bruteMicros );
+        System.out.printf( "speedup=%.0fx mismatches=%d sink=%d%n", bruteMicros / treeMicros, mismatches, sink );
+    }
+
+    private static List<Double> distances ( List<Neighbour> neighbours ) {
+        return neighbours.stream().map( Neighbour::distance ).toList();
+    }
+
+    private static Cars family ( Random random, int index ) {
+        String[] engines = { "Electric", "V8", "V6", "Hybrid" };
+        String[] features = { "GPS", "Teto solar", "Piloto automático", "Bancos de couro", "Câmera de ré",
+                "Som premium", "Tração integral", "Faróis de LED" };
+        int year = 1990 + random.nextInt( 35 );
+        double value = 15000 + random.nextDouble() * 250000;
+        return new Cars( "Family " + index, year, "Producer " + random.nextInt( 60 ), null, value,
+                new SpecificationsCar( engines[ random.nextInt( engines.length ) ], ( 1 + random.nextInt( 6 ) ) + ".0L",
+                        ( 300 + random.nextInt( 600 ) ) + " km", ( 2 + random.nextInt( 10 ) ) + ".5 s",
+                        ( 100 + random.nextInt( 120 ) ) + " mph" ),
+                List.of( features[ random.nextInt( features.length ) ], features[ random.nextInt( features.length ) ] ),
+                new DimensionsCar( ( 3800 + random.nextInt( 1500 ) ) + " mm", ( 1600 + random.nextInt( 400 ) ) + " mm",
+                        ( 1200 + random.nextInt( 600 ) ) + " mm", ( 2300 + random.nextInt( 800 ) ) + " mm" ) );
+    }
+
+    private static Cars variant ( Random random, Cars family ) {
+        SpecificationsCar specifications = family.getSpecifications();
+        return new Cars( family.getModel(), family.getYearProduction() + random.nextInt( 3 ), family.getProducedBy(),
+                null, family.getCarValue() * ( 0.9 + random.nextDouble() * 0.2 ),
+                new SpecificationsCar( specifications.getEngineType(), specifications.getEngineCapacity(),
+                        specifications.getRange(), specifications.getAcceleration(), specifications.getTopSpeed() ),
+                random.nextBoolean() ? family.getFeatures() : family.getFeatures().subList( 0, 1 ),
+                family.getDimensions() );
+    }
+}
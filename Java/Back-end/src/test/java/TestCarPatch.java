@@ -0,0 +1,80 @@
+import org.example.exceptions.InvalidFieldException;
+import org.example.exceptions.ValidationFailedException;
+import org.example.service.patch.CarPatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCarPatch {
+
+    @Test
+    @DisplayName( "Testando a tradução de uma alteração parcial para $set e $inc" )
+    void testTranslation () {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put( "carValue", 99500 );
+        body.put( "imageUrl", "https://example.com/car.png" );
+        body.put( "specifications", Map.of( "topSpeed", "180 mph" ) );
+        body.put( "version", 4 );
+
+        CarPatch patch = CarPatch.of( body );
+        Update update = patch.toUpdate( Instant.EPOCH );
+        assertAll(
+                () -> assertEquals( 4L, patch.version() ),
+                () -> assertEquals( Map.of( "carValue", 99500.0, "imageUrl", "https://example.com/car.png",
+                        "specifications.topSpeed", "180 mph" ), patch.sets() ),
+                () -> assertTrue( update.modifies( "carValue" ) ),
+                () -> assertTrue( update.modifies( "imageUrl" ) ),
+                () -> assertTrue( update.modifies( "version" ) ),
+                () -> assertFalse( update.modifies( "specifications" ) )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a rejeição de campos desconhecidos, obrigatórios removidos e alterações vazias" )
+    void testInvalid () {
+        Map<String, Object> requiredRemoved = new HashMap<>();
+        requiredRemoved.put( "model", null );
+        assertAll(
+                () -> assertThrows( InvalidFieldException.class, () -> CarPatch.of( Map.of( "id", "abc" ) ) ),
+                () -> assertThrows( InvalidFieldException.class, () -> CarPatch.of( requiredRemoved ) ),
+                () -> assertThrows( InvalidFieldException.class, () -> CarPatch.of( Map.of( "version", 1 ) ) ),
+                () -> assertThrows( InvalidFieldException.class,
+                        () -> CarPatch.of( Map.of( "dimensions", Map.of( "weight", "1 t" ) ) ) ),
+                () -> assertThrows( InvalidFieldException.class, () -> CarPatch.of( Map.of( "features", List.of() ) ) )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a rejeição de null em cada campo obrigatório do carro" )
+    void testRequiredFields () {
+        List<String> fields = List.of( "model", "producedBy", "imageUrl", "yearProduction", "carValue", "features",
+                "specifications", "dimensions" );
+        List<String> nested = List.of( "specifications.engineType", "specifications.engineCapacity",
+                "specifications.range", "specifications.acceleration", "specifications.topSpeed", "dimensions.length",
+                "dimensions.width", "dimensions.height", "dimensions.wheelBase" );
+        List<Executable> checks = new ArrayList<>();
+        for ( String field : fields ) {
+            Map<String, Object> body = new HashMap<>();
+            body.put( field, null );
+            checks.add( () -> assertThrows( ValidationFailedException.class, () -> CarPatch.of( body ), field ) );
+        }
+        for ( String path : nested ) {
+            String[] parts = path.split( "\\." );
+            Map<String, Object> child = new HashMap<>();
+            child.put( parts[ 1 ], null );
+            checks.add( () -> assertThrows( ValidationFailedException.class,
+                    () -> CarPatch.of( Map.of( parts[ 0 ], child ) ), path ) );
+        }
+        assertAll( checks );
+    }
+}
@@ -0,0 +1,140 @@
+import org.example.events.CarsChangedEvent;
+import org.example.model.Cars;
+import org.example.model.SpecificationsCar;
+import org.example.service.stream.CarsChangeStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCarsChangeStream {
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private final CarsChangeStream stream = new CarsChangeStream( 16, 2, 60_000 ) {
+        @Override
+        protected SseEmitter createEmitter ( long timeoutMillis ) {
+            RecordingEmitter emitter = new RecordingEmitter( timeoutMillis );
+            emitters.add( emitter );
+            return emitter;
+        }
+    };
+
+    @AfterEach
+    void shutdown () {
+        stream.shutdown();
+    }
+
+    private static Cars car ( String producedBy, String engineType ) {
+        return new Cars( "Model", 2020, producedBy, null, 30000.0,
+                new SpecificationsCar( engineType, "2.0L", "500 km", "6.5 s", "150 mph" ), List.of(), null );
+    }
+
+    private void publish ( CarsChangedEvent.Type type, String carId, Cars car, Cars previous ) {
+        stream.onCarsChanged( new CarsChangedEvent( this, type, carId, car, previous ) );
+    }
+
+    @Test
+    @DisplayName( "Testando a assinatura e o filtro por fabricante e tipo de motor, ignorando maiúsculas" )
+    void testSubscribeAndFilter () throws Exception {
+        stream.subscribe( null, null );
+        stream.subscribe( "HONDA", null );
+        stream.subscribe( null, "i4" );
+        RecordingEmitter all = emitters.get( 0 );
+        RecordingEmitter honda = emitters.get( 1 );
+        RecordingEmitter inline = emitters.get( 2 );
+
+        publish( CarsChangedEvent.Type.CREATED, "1", car( "Honda", "V6" ), null );
+        publish( CarsChangedEvent.Type.UPDATED, "2", car( "Toyota", "I4" ), car( "Toyota", "V6" ) );
+        // O estado anterior também é entregue, para que o assinante saiba que o carro deixou o filtro
+        publish( CarsChangedEvent.Type.UPDATED, "3", car( "Toyota", "V8" ), car( "Honda", "I4" ) );
+
+        List<String> toAll = List.of( all.next(), all.next(), all.next() );
+        List<String> toHonda = List.of( honda.next(), honda.next() );
+        List<String> toInline = List.of( inline.next(), inline.next() );
+        assertAll(
+                () -> assertEquals( 3, stream.subscriberCount() ),
+                () -> assertTrue( toAll.stream().allMatch( event -> event.contains( CarsChangeStream.CHANGE_EVENT ) ) ),
+                () -> assertTrue( toAll.get( 0 ).contains( "id:1" ) ),
+                () -> assertTrue( toHonda.get( 0 ).contains( "id:1" ) ),
+                () -> assertTrue( toHonda.get( 1 ).contains( "id:3" ) ),
+                () -> assertTrue( toInline.get( 0 ).contains( "id:2" ) ),
+                () -> assertTrue( toInline.get( 1 ).contains( "id:3" ) ),
+                () -> assertNull( honda.events.poll( 100, TimeUnit.MILLISECONDS ) )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando o envio do heartbeat para todos os assinantes" )
+    void testHeartbeat () throws Exception {
+        stream.subscribe( "Honda", null );
+        stream.subscribe( null, "V6" );
+        stream.heartbeat();
+        assertAll(
+                () -> assertTrue( emitters.get( 0 ).next().contains( ":heartbeat" ) ),
+                () -> assertTrue( emitters.get( 1 ).next().contains( ":heartbeat" ) )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a remoção dos assinantes cuja conexão foi encerrada" )
+    void testDeadEmitterEviction () throws Exception {
+        stream.subscribe( null, null );
+        stream.subscribe( null, null );
+        RecordingEmitter dead = emitters.get( 0 );
+        RecordingEmitter alive = emitters.get( 1 );
+        dead.broken = true;
+
+        stream.heartbeat();
+        assertTrue( alive.next().contains( ":heartbeat" ) );
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos( 5 );
+        while ( stream.subscriberCount() > 1 && System.nanoTime() < deadline ) {
+            Thread.sleep( 10 );
+        }
+        publish( CarsChangedEvent.Type.DELETED, "1", null, car( "Honda", "V6" ) );
+        assertAll(
+                () -> assertEquals( 1, stream.subscriberCount() ),
+                () -> assertTrue( alive.next().contains( "id:1" ) ),
+                () -> assertTrue( dead.events.isEmpty() )
+        );
+    }
+
+    /**
+     * Conexão que registra os eventos enviados, ou falha como um cliente desconectado.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private volatile boolean broken;
+
+        RecordingEmitter ( long timeoutMillis ) {
+            super( timeoutMillis );
+        }
+
+        @Override
+        public void send ( SseEventBuilder builder ) throws IOException {
+            if ( broken ) {
+                throw new IOException( "BROKEN PIPE" );
+            }
+            events.add( builder.build().stream()
+                    .map( data -> String.valueOf( data.getData() ) )
+                    .collect( Collectors.joining() ) );
+        }
+
+        String next () throws InterruptedException {
+            String event = events.poll( 5, TimeUnit.SECONDS );
+            assertNotNull( event, "NO EVENT SENT" );
+            return event;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.events.CarsChangedEvent;
+import org.example.model.Cars;
+import org.example.repository.CarsRepository;
+import org.example.service.invalidation.CarsInvalidation;
+import org.example.service.invalidation.CarsInvalidationBus;
+import org.example.service.invalidation.LoopbackTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCarsInvalidationBus {
+
+    private static final String CHANNEL = "test-invalidation-bus";
+
+    private final Map<String, Cars> database = new ConcurrentHashMap<>();
+    private final MongoClient client = MongoClients.create( "mongodb://localhost:1" );
+    private final List<Query> catchUps = new CopyOnWriteArrayList<>();
+    private final MongoTemplate mongoTemplate = new MongoTemplate( client, "cars" ) {
+        @Override
+        @SuppressWarnings( "unchecked" )
+        public <T> List<T> find ( Query query, Class<T> entityClass ) {
+            catchUps.add( query );
+            return ( List<T> ) List.copyOf( database.values() );
+        }
+    };
+    private final CarsRepository carsRepository = ( CarsRepository ) Proxy.newProxyInstance(
+            CarsRepository.class.getClassLoader(), new Class<?>[]{ CarsRepository.class },
+            ( proxy, method, args ) -> {
+                if ( method.getName().equals( "findById" ) ) {
+                    return Optional.ofNullable( database.get( ( String ) args[ 0 ] ) );
+                }
+                throw new UnsupportedOperationException( method.getName() );
+            } );
+
+    private final Node first = new Node();
+    private final Node second = new Node();
+
+    @AfterEach
+    void stop () {
+        first.bus.stop();
+        second.bus.stop();
+        client.close();
+    }
+
+    private Cars save ( String id, long version ) {
+        Cars car = new Cars( "Civic", 2020, "Honda", null, 30000.0, null, List.of(), null );
+        car.setId( id );
+        car.setVersion( version );
+        database.put( id, car );
+        return car;
+    }
+
+    @Test
+    @DisplayName( "Testando a propagação de uma escrita para a outra instância, sem reenvio nem eco" )
+    void testPropagation () throws Exception {
+        Cars car = save( "1", 1 );
+        first.bus.onCarsChanged( new CarsChangedEvent( this, CarsChangedEvent.Type.CREATED, "1", car, null ) );
+
+        CarsChangedEvent received = second.events.poll( 5, TimeUnit.SECONDS );
+        assertNotNull( received );
+        // Aguarda o envio assíncrono de um eventual reenvio antes de conferir as contagens
+        Thread.sleep( 200 );
+        assertAll(
+                () -> assertSame( second.bus, received.getSource() ),
+                () -> assertEquals( CarsChangedEvent.Type.CREATED, received.getType() ),
+                () -> assertEquals( "1", received.getCarId() ),
+                () -> assertSame( car, received.getCar() ),
+                () -> assertEquals( 1, first.transport.published.get() ),
+                () -> assertEquals( 0, second.transport.published.get() ),
+                () -> assertTrue( first.events.isEmpty() ),
+                () -> assertTrue( second.events.isEmpty() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando que a instância ignora as próprias mensagens e as versões já conhecidas" )
+    void testSkipsOwnAndKnownMessages () {
+        save( "1", 2 );
+        first.bus.receive( new CarsInvalidation( first.bus.nodeId(), 1, "UPDATED", "1", 2L,
+                System.currentTimeMillis() ) );
+        second.bus.receive( new CarsInvalidation( "other", 1, "UPDATED", "1", 2L, System.currentTimeMillis() ) );
+        int applied = second.events.size();
+        second.events.clear();
+        second.bus.receive( new CarsInvalidation( "another", 1, "UPDATED", "1", 2L, System.currentTimeMillis() ) );
+        second.bus.receive( new CarsInvalidation( "other", 1, "UPDATED", "1", 2L, System.currentTimeMillis() ) );
+        assertAll(
+                () -> assertTrue( first.events.isEmpty() ),
+                () -> assertEquals( 1, applied ),
+                () -> assertTrue( second.events.isEmpty() ),
+                () -> assertEquals( 0, second.transport.published.get() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a recuperação das alterações perdidas quando a sequência de uma origem salta" )
+    void testCatchUpOnSequenceGap () {
+        long now = System.currentTimeMillis();
+        save( "1", 1 );
+        second.bus.receive( new CarsInvalidation( "other", 1, "CREATED", "1", 1L, now ) );
+        second.events.clear();
+        save( "2", 1 );
+        save( "3", 1 );
+        second.bus.receive( new CarsInvalidation( "other", 4, "CREATED", "3", 1L, now + 10 ) );
+
+        List<String> refreshed = second.events.stream().map( CarsChangedEvent::getCarId ).toList();
+        assertAll(
+                () -> assertEquals( 1, catchUps.size() ),
+                () -> assertTrue( catchUps.get( 0 ).getQueryObject().containsKey( "lastModified" ) ),
+                () -> assertEquals( List.of( "2", "3" ), refreshed.stream().sorted().toList() ),
+                () -> assertEquals( 0, second.transport.published.get() )
+        );
+    }
+
+    /**
+     * Instância simulada: um barramento com o seu transporte e os eventos que ele publicou localmente.
+     */
+    private final class Node {
+
+        private final CountingTransport transport = new CountingTransport();
+        private final BlockingQueue<CarsChangedEvent> events = new LinkedBlockingQueue<>();
+        private final CarsInvalidationBus bus;
+
+        Node () {
+            bus = new CarsInvalidationBus( List.of( transport ), event -> {
+                events.add( ( CarsChangedEvent ) event );
+                // Como no contexto do Spring, o próprio barramento também escuta os eventos que publica
+                currentBus().onCarsChanged( ( CarsChangedEvent ) event );
+            }, carsRepository, mongoTemplate, LoopbackTransport.NAME, "node", 0, 1000, new SimpleMeterRegistry() );
+            bus.start();
+        }
+
+        private CarsInvalidationBus currentBus () {
+            return bus;
+        }
+    }
+
+    /**
+     * Transporte em memória que conta as mensagens enviadas pela instância.
+     */
+    private static final class CountingTransport extends LoopbackTransport {
+
+        private final AtomicInteger published = new AtomicInteger();
+
+        CountingTransport () {
+            super( CHANNEL );
+        }
+
+        @Override
+        public void publish ( CarsInvalidation invalidation ) {
+            published.incrementAndGet();
+            super.publish( invalidation );
+        }
+    }
+}
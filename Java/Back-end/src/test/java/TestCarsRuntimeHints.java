@@ -0,0 +1,48 @@
+import org.example.config.CarsRuntimeHints;
+import org.example.model.Cars;
+import org.example.model.DimensionsCar;
+import org.example.model.SpecificationsCar;
+import org.example.model.User;
+import org.example.utils.QueryMongo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCarsRuntimeHints {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    TestCarsRuntimeHints () {
+        new CarsRuntimeHints().registerHints( hints, getClass().getClassLoader() );
+    }
+
+    @Test
+    @DisplayName( "Testando o acesso aos campos lidos por reflexão no mapeamento dos carros" )
+    void testValidatedFields () throws NoSuchFieldException {
+        assertAll(
+                () -> assertTrue( RuntimeHintsPredicates.reflection()
+                        .onField( SpecificationsCar.class.getDeclaredField( "engineType" ) ).test( hints ) ),
+                () -> assertTrue( RuntimeHintsPredicates.reflection()
+                        .onField( DimensionsCar.class.getDeclaredField( "length" ) ).test( hints ) ),
+                () -> assertTrue( RuntimeHintsPredicates.reflection()
+                        .onField( QueryMongo.class.getField( "FIND_BY_MODEL" ) ).test( hints ) )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a criação dos modelos por reflexão" )
+    void testModelConstructors () {
+        assertAll(
+                () -> assertTrue( RuntimeHintsPredicates.reflection()
+                        .onConstructor( Cars.class.getDeclaredConstructor() ).test( hints ) ),
+                () -> assertTrue( RuntimeHintsPredicates.reflection()
+                        .onConstructor( User.class.getDeclaredConstructor() ).test( hints ) ),
+                () -> assertTrue( RuntimeHintsPredicates.resource()
+                        .forResource( "META-INF/resources/webjars/springfox-swagger-ui/swagger-ui.css" )
+                        .test( hints ) )
+        );
+    }
+}
@@ -0,0 +1,62 @@
+import org.bson.Document;
+import org.example.model.Cars;
+import org.example.repository.CarsRepository;
+import org.example.service.bitmap.CarsFacetIndex;
+import org.example.service.bitmap.FacetQuery;
+import org.example.service.bitmap.FacetResult;
+import org.example.service.columnar.ColumnarQuery;
+import org.example.service.columnar.ColumnarSnapshot;
+import org.example.utils.QueryMongo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCaseInsensitiveSearch extends TestRoutine {
+
+    Cars car ( String id, String producedBy, String engineType, String feature ) {
+        Cars car = initCarsWithParameters();
+        car.setId( id );
+        car.setModel( id );
+        car.setProducedBy( producedBy );
+        car.getSpecifications().setEngineType( engineType );
+        car.setFeatures( List.of( feature ) );
+        return car;
+    }
+
+    List<String> ids ( List<Cars> cars ) {
+        return cars.stream().map( Cars::getId ).sorted().toList();
+    }
+
+    @Test
+    @DisplayName( "Testando que facetas, catálogo colunar e MongoDB concordam em buscas com maiúsculas variadas" )
+    void testPathsAgree () throws NoSuchMethodException {
+        List<Cars> cars = List.of(
+                car( "A", "Honda", "Hybrid", "GPS" ),
+                car( "B", "HONDA", "hybrid", "gps" ),
+                car( "C", "honda", "Electric", "Gps" ),
+                car( "D", "Toyota", "HYBRID", "GPS" ) );
+        FacetQuery facetQuery = new FacetQuery( List.of( "gPs" ), List.of( "hOnDa" ), List.of( "HyBrId" ),
+                null, null, null );
+        FacetResult facets = CarsFacetIndex.of( cars ).evaluate( facetQuery );
+        List<Cars> columnar = ColumnarSnapshot.of( cars )
+                .query( new ColumnarQuery( null, null, null, null, "hOnDa", "HyBrId" ) );
+        Collation collation = facetQuery.toQuery().getCollation().orElseThrow();
+        Query repositoryQuery = CarsRepository.class.getMethod( "findProducedBy", String.class )
+                .getAnnotation( Query.class );
+
+        assertAll(
+                () -> assertEquals( List.of( "A", "B" ), ids( facets.cars() ) ),
+                () -> assertEquals( List.of( "A", "B" ), ids( columnar ) ),
+                () -> assertEquals( FacetResult.of( facets.cars() ), facets ),
+                () -> assertEquals( new Document( "locale", QueryMongo.COLLATION_LOCALE )
+                        .append( "strength", QueryMongo.COLLATION_STRENGTH ), collation.toDocument() ),
+                () -> assertEquals( QueryMongo.CASE_INSENSITIVE_COLLATION, repositoryQuery.collation() ),
+                () -> assertEquals( "honda", QueryMongo.caseKey( "HoNdA" ) )
+        );
+    }
+}
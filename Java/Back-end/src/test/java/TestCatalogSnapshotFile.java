@@ -0,0 +1,81 @@
+import org.example.model.Cars;
+import org.example.model.DimensionsCar;
+import org.example.model.SpecificationsCar;
+import org.example.service.snapshot.CatalogSnapshot;
+import org.example.service.snapshot.CatalogSnapshotFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCatalogSnapshotFile {
+
+    @TempDir
+    Path directory;
+
+    private static Cars car ( String id, String model ) {
+        Cars car = new Cars( model, 2022, "Porsche", "https://example.com/" + id + ".jpg", 150000.0,
+                new SpecificationsCar( "Electric", "0", "450 km", "2.8 s", "260 km/h" ),
+                List.of( "Autopilot", "Ar-condicionado" ), new DimensionsCar( "4963 mm", "1966 mm", "1381 mm", "2900 mm" ) );
+        car.setId( id );
+        car.setLastModified( Instant.ofEpochMilli( 1_700_000_000_000L ) );
+        car.setVersion( 3L );
+        return car;
+    }
+
+    @Test
+    @DisplayName( "Testando a gravação e a leitura da fotografia do catálogo" )
+    void testRoundTrip () throws IOException {
+        Path path = directory.resolve( "catalog.snapshot" );
+        Cars partial = new Cars();
+        partial.setId( "2" );
+        partial.setModel( "Fusca" );
+        CatalogSnapshotFile.write( path, 42L, List.of( car( "1", "Taycan" ), partial ) );
+
+        CatalogSnapshot snapshot = CatalogSnapshotFile.read( path ).orElseThrow();
+        Cars first = snapshot.cars().get( 0 );
+        Cars second = snapshot.cars().get( 1 );
+        assertAll(
+                () -> assertEquals( 42L, snapshot.version() ),
+                () -> assertEquals( 2, snapshot.cars().size() ),
+                () -> assertEquals( "Taycan", first.getModel() ),
+                () -> assertEquals( 2022, first.getYearProduction() ),
+                () -> assertEquals( 150000.0, first.getCarValue() ),
+                () -> assertEquals( "260 km/h", first.getSpecifications().getTopSpeed() ),
+                () -> assertEquals( List.of( "Autopilot", "Ar-condicionado" ), first.getFeatures() ),
+                () -> assertEquals( "2900 mm", first.getDimensions().getWheelBase() ),
+                () -> assertEquals( Instant.ofEpochMilli( 1_700_000_000_000L ), first.getLastModified() ),
+                () -> assertEquals( 3L, first.getVersion() ),
+                () -> assertEquals( "Fusca", second.getModel() ),
+                () -> assertNull( second.getYearProduction() ),
+                () -> assertNull( second.getCarValue() ),
+                () -> assertNull( second.getSpecifications() ),
+                () -> assertNull( second.getFeatures() ),
+                () -> assertNull( second.getLastModified() ),
+                () -> assertNull( second.getVersion() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando o descarte de fotografias corrompidas ou inexistentes" )
+    void testCorrupted () throws IOException {
+        Path path = directory.resolve( "catalog.snapshot" );
+        CatalogSnapshotFile.write( path, 1L, List.of( car( "1", "Taycan" ) ) );
+        byte[] bytes = Files.readAllBytes( path );
+        bytes[ bytes.length - 3 ] ^= 0x5A;
+        Files.write( path, bytes );
+
+        assertAll(
+                () -> assertEquals( Optional.empty(), CatalogSnapshotFile.read( path ) ),
+                () -> assertEquals( Optional.empty(), CatalogSnapshotFile.read( directory.resolve( "missing" ) ) )
+        );
+    }
+}
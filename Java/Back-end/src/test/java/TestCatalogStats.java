@@ -0,0 +1,69 @@
+import org.example.dto.CatalogStatsDTO;
+import org.example.model.Cars;
+import org.example.model.CatalogStats;
+import org.example.model.SpecificationsCar;
+import org.example.service.stats.StatsDelta;
+import org.example.service.stats.StatsKeys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCatalogStats {
+
+    private static Cars car ( String producedBy, int year, double value, String engineType ) {
+        return new Cars( "Model", year, producedBy, null, value,
+                new SpecificationsCar( engineType, "2.0L", "500 km", "6.5 s", "150 mph" ), List.of(), null );
+    }
+
+    @Test
+    @DisplayName( "Testando os incrementos das estatísticas para criação, atualização e remoção" )
+    void testDelta () {
+        Cars civic = car( "Honda", 2020, 30000.0, "V6" );
+        Cars repriced = car( "Honda", 2020, 32000.0, "V6" );
+        Cars moved = car( "Mercedes-Benz S.A.", 2021, 32000.0, null );
+        Map<String, Number> created = StatsDelta.of( null, civic );
+        Map<String, Number> update = StatsDelta.of( civic, repriced );
+        Map<String, Number> change = StatsDelta.of( civic, moved );
+        assertAll(
+                () -> assertEquals( 1L, created.get( "count" ) ),
+                () -> assertEquals( 30000.0, created.get( "producers.Honda.sum" ) ),
+                () -> assertEquals( 1L, created.get( "engines.V6" ) ),
+                () -> assertEquals( Map.of( "totalValue", 2000.0, "producers.Honda.sum", 2000.0,
+                        "years.2020.sum", 2000.0 ), update ),
+                () -> assertEquals( -1L, change.get( "producers.Honda.count" ) ),
+                () -> assertEquals( 1L, change.get( "producers.Mercedes-Benz S%2EA%2E.count" ) ),
+                () -> assertEquals( 1L, change.get( "engines.%" ) ),
+                () -> assertFalse( change.containsKey( "count" ) ),
+                () -> assertEquals( -1L, StatsDelta.of( civic, null ).get( "years.2020.count" ) ),
+                () -> assertTrue( StatsDelta.of( civic, civic ).isEmpty() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a codificação das chaves e a montagem das estatísticas exibidas" )
+    void testKeysAndDto () {
+        CatalogStats stats = new CatalogStats();
+        stats.setCount( 3 );
+        stats.setTotalValue( 90000.0 );
+        stats.getProducers().put( StatsKeys.encode( "A.B$" ), new CatalogStats.Totals( 2, 60000.0 ) );
+        stats.getProducers().put( StatsKeys.encode( "Gone" ), new CatalogStats.Totals( 0, 0.0 ) );
+        stats.getProducers().put( StatsKeys.encode( null ), new CatalogStats.Totals( 1, 30000.0 ) );
+        stats.getYears().put( "2020", new CatalogStats.Totals( 2, 50000.0 ) );
+        stats.getYears().put( "2021", new CatalogStats.Totals( 1, 40000.0 ) );
+        stats.getEngines().put( "V6", 3L );
+        CatalogStatsDTO dto = CatalogStatsDTO.of( stats );
+        assertAll(
+                () -> assertEquals( "%2524%2E", StatsKeys.encode( "%24." ) ),
+                () -> assertEquals( "%24.", StatsKeys.decode( StatsKeys.encode( "%24." ) ) ),
+                () -> assertEquals( Map.of( "A.B$", 60000.0, CatalogStatsDTO.UNKNOWN, 30000.0 ),
+                        dto.inventoryValueByProducer() ),
+                () -> assertEquals( Map.of( 2020, 25000.0, 2021, 40000.0 ), dto.averagePriceByYear() ),
+                () -> assertEquals( Map.of( "V6", 3L ), dto.engineTypes() ),
+                () -> assertEquals( 3, dto.count() )
+        );
+    }
+}
@@ -0,0 +1,70 @@
+import org.example.service.resilience.CircuitBreaker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCircuitBreaker {
+
+    @Test
+    @DisplayName( "Testando as transições do disjuntor entre fechado, aberto e semiaberto" )
+    void testTransitions () {
+        AtomicLong clock = new AtomicLong();
+        List<String> transitions = new ArrayList<>();
+        CircuitBreaker breaker = new CircuitBreaker( 4, 4, 0.5, 1000, 2, clock::get,
+                ( from, to ) -> transitions.add( from + "->" + to ) );
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        CircuitBreaker.State belowThreshold = breaker.getState();
+        breaker.onFailure();
+        CircuitBreaker.State opened = breaker.getState();
+        boolean rejectedWhileOpen = ! breaker.tryAcquirePermission();
+        clock.set( 400 );
+        long remaining = breaker.remainingOpenMillis();
+        clock.set( 1000 );
+        CircuitBreaker.State halfOpen = breaker.getState();
+        boolean firstProbe = breaker.tryAcquirePermission();
+        boolean secondProbe = breaker.tryAcquirePermission();
+        boolean thirdProbe = breaker.tryAcquirePermission();
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        assertAll(
+                () -> assertEquals( CircuitBreaker.State.CLOSED, belowThreshold ),
+                () -> assertEquals( CircuitBreaker.State.OPEN, opened ),
+                () -> assertTrue( rejectedWhileOpen ),
+                () -> assertEquals( 600, remaining ),
+                () -> assertEquals( CircuitBreaker.State.HALF_OPEN, halfOpen ),
+                () -> assertTrue( firstProbe && secondProbe ),
+                () -> assertFalse( thirdProbe ),
+                () -> assertEquals( CircuitBreaker.State.CLOSED, breaker.getState() ),
+                () -> assertEquals( List.of( "CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED" ), transitions )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a reabertura do disjuntor quando uma chamada de teste falha" )
+    void testFailedProbe () {
+        AtomicLong clock = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker( 2, 2, 0.5, 1000, 1, clock::get, ( from, to ) -> {
+        } );
+        breaker.onFailure();
+        breaker.onFailure();
+        clock.set( 1500 );
+        boolean probe = breaker.tryAcquirePermission();
+        breaker.onFailure();
+
+        assertAll(
+                () -> assertTrue( probe ),
+                () -> assertEquals( CircuitBreaker.State.OPEN, breaker.getState() ),
+                () -> assertEquals( 1000, breaker.remainingOpenMillis() ),
+                () -> assertFalse( breaker.tryAcquirePermission() )
+        );
+    }
+}
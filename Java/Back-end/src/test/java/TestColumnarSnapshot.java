@@ -0,0 +1,68 @@
+import org.example.model.Cars;
+import org.example.service.columnar.ColumnarQuery;
+import org.example.service.columnar.ColumnarSnapshot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestColumnarSnapshot extends TestRoutine {
+
+    Cars car ( String model, int year, String producedBy, double value, String engineType ) {
+        Cars car = initCarsWithParameters();
+        car.setId( model );
+        car.setModel( model );
+        car.setYearProduction( year );
+        car.setProducedBy( producedBy );
+        car.setCarValue( value );
+        car.getSpecifications().setEngineType( engineType );
+        return car;
+    }
+
+    List<String> models ( List<Cars> cars ) {
+        return cars.stream().map( Cars::getModel ).toList();
+    }
+
+    ColumnarSnapshot initSnapshot () {
+        return ColumnarSnapshot.of( List.of(
+                car( "A", 2010, "Toyota", 30000.0, "Gasoline" ),
+                car( "B", 2015, "Tesla", 80000.0, "Electric" ),
+                car( "C", 2020, "Tesla", 50000.0, "Electric" ),
+                car( "D", 2020, "Toyota", 50000.0, "Hybrid" ) ) );
+    }
+
+    @Test
+    @DisplayName( "Testando consultas por faixa de valor e ano sobre a fotografia colunar" )
+    void testRangeQueries () {
+        ColumnarSnapshot snapshot = initSnapshot();
+
+        assertAll(
+                () -> assertEquals( List.of( "A" ), models( snapshot.valueLessThan( 50000.0 ) ) ),
+                () -> assertEquals( List.of( "B" ), models( snapshot.valueGreaterThan( 50000.0 ) ) ),
+                () -> assertEquals( 2, snapshot.valueEquals( 50000.0 ).size() ),
+                () -> assertEquals( List.of( "A", "B" ), models( snapshot.yearLessThan( 2020 ) ) ),
+                () -> assertEquals( 2, snapshot.yearGreaterThan( 2015 ).size() ),
+                () -> assertEquals( List.of( "B" ), models( snapshot.yearEquals( 2015 ) ) ),
+                () -> assertTrue( ColumnarSnapshot.empty().valueLessThan( 1.0 ).isEmpty() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando consultas combinadas sobre a fotografia colunar" )
+    void testCombinedQuery () {
+        ColumnarSnapshot snapshot = initSnapshot();
+
+        assertAll(
+                () -> assertEquals( List.of( "C" ), models( snapshot.query(
+                        new ColumnarQuery( 40000.0, 60000.0, null, null, "Tesla", null ) ) ) ),
+                () -> assertEquals( List.of( "B", "C" ), models( snapshot.query(
+                        new ColumnarQuery( null, null, null, null, null, "Electric" ) ) ) ),
+                () -> assertEquals( List.of( "D" ), models( snapshot.query(
+                        new ColumnarQuery( null, null, 2016, null, "Toyota", null ) ) ) ),
+                () -> assertTrue( snapshot.query(
+                        new ColumnarQuery( null, null, null, null, "Ford", null ) ).isEmpty() )
+        );
+    }
+}
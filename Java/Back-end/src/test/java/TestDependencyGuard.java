@@ -0,0 +1,78 @@
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.exceptions.DependencyUnavailableException;
+import org.example.service.resilience.CircuitBreaker;
+import org.example.service.resilience.Dependency;
+import org.example.service.resilience.DependencyGuard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDependencyGuard {
+
+    @Test
+    @DisplayName( "Testando a rejeição de chamadas acima do limite de concorrência da dependência" )
+    void testBulkheadRejection () throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DependencyGuard guard = new DependencyGuard( Dependency.POSTGRES, 1, 0, 10, 10, 0.5, 30000, 1, registry );
+        CountDownLatch started = new CountDownLatch( 1 );
+        CountDownLatch release = new CountDownLatch( 1 );
+        CompletableFuture<String> running = CompletableFuture.supplyAsync( () -> {
+            try {
+                return guard.call( () -> {
+                    started.countDown();
+                    release.await();
+                    return "done";
+                } );
+            } catch ( Exception exception ) {
+                throw new IllegalStateException( exception );
+            }
+        } );
+        assertTrue( started.await( 5, TimeUnit.SECONDS ) );
+        DependencyUnavailableException rejected = assertThrows( DependencyUnavailableException.class,
+                () -> guard.call( () -> "second" ) );
+        release.countDown();
+
+        assertAll(
+                () -> assertEquals( "done", running.get( 5, TimeUnit.SECONDS ) ),
+                () -> assertEquals( "again", guard.call( () -> "again" ) ),
+                () -> assertEquals( 1, rejected.getRetryAfterSeconds() ),
+                () -> assertEquals( 1.0, registry.get( DependencyGuard.REJECTED_METRIC )
+                        .tag( "reason", "bulkhead" ).counter().count() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a abertura do circuito apenas por falhas de conexão da dependência" )
+    void testBreakerOpensOnFailures () {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DependencyGuard guard = new DependencyGuard( Dependency.POSTGRES, 4, 0, 2, 2, 0.5, 30000, 1, registry );
+        assertThrows( DuplicateKeyException.class, () -> guard.call( () -> {
+            throw new DuplicateKeyException( "duplicated" );
+        } ) );
+        assertThrows( DuplicateKeyException.class, () -> guard.call( () -> {
+            throw new DuplicateKeyException( "duplicated" );
+        } ) );
+        CircuitBreaker.State afterDataErrors = guard.getState();
+        // Com a janela de duas chamadas, uma falha de conexão já atinge a taxa de 50%
+        assertThrows( DataAccessResourceFailureException.class, () -> guard.call( () -> {
+            throw new DataAccessResourceFailureException( "connection refused" );
+        } ) );
+        DependencyUnavailableException rejected = assertThrows( DependencyUnavailableException.class,
+                () -> guard.call( () -> "never" ) );
+
+        assertAll(
+                () -> assertEquals( CircuitBreaker.State.CLOSED, afterDataErrors ),
+                () -> assertEquals( CircuitBreaker.State.OPEN, guard.getState() ),
+                () -> assertEquals( 30, rejected.getRetryAfterSeconds() ),
+                () -> assertEquals( 1.0, registry.get( DependencyGuard.REJECTED_METRIC )
+                        .tag( "reason", "circuit_open" ).counter().count() )
+        );
+    }
+}
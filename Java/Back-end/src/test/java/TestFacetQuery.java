@@ -0,0 +1,49 @@
+import org.bson.Document;
+import org.example.model.Cars;
+import org.example.model.SpecificationsCar;
+import org.example.service.bitmap.FacetQuery;
+import org.example.service.bitmap.FacetResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFacetQuery {
+
+    @Test
+    @DisplayName( "Testando a tradução do filtro de facetas para uma consulta do MongoDB" )
+    void testToQuery () {
+        FacetQuery query = new FacetQuery( List.of( "GPS", "Teto solar" ), List.of( "Honda", "Toyota" ), null,
+                List.of( "Turbo" ), null, List.of( "Diesel" ) );
+        Document filter = query.toQuery().getQueryObject();
+        Document empty = new FacetQuery( null, null, null, null, null, null ).toQuery().getQueryObject();
+        assertAll(
+                () -> assertEquals( new Document( "$all", List.of( "GPS", "Teto solar" ) )
+                        .append( "$nin", List.of( "Turbo" ) ), filter.get( "features" ) ),
+                () -> assertEquals( new Document( "$in", List.of( "Honda", "Toyota" ) ), filter.get( "producedBy" ) ),
+                () -> assertEquals( new Document( "$nin", List.of( "Diesel" ) ),
+                        filter.get( "specifications.engineType" ) ),
+                () -> assertTrue( query.toQuery().getCollation().isPresent() ),
+                () -> assertTrue( empty.isEmpty() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando as contagens por termo calculadas sobre os carros filtrados" )
+    void testResultCounts () {
+        Cars civic = new Cars( "Civic", 2020, "Honda", null, 30000.0,
+                new SpecificationsCar( "V6", "2.0L", "500 km", "6.5 s", "150 mph" ), List.of( "GPS", "GPS" ), null );
+        Cars fit = new Cars( "Fit", 2019, "Honda", null, 20000.0,
+                new SpecificationsCar( "I4", "1.5L", "600 km", "9.5 s", "110 mph" ), List.of( "GPS" ), null );
+        FacetResult result = FacetResult.of( List.of( civic, fit ) );
+        assertAll(
+                () -> assertEquals( 2, result.count() ),
+                () -> assertEquals( Map.of( "honda", 2 ), result.producerCounts() ),
+                () -> assertEquals( Map.of( "v6", 1, "i4", 1 ), result.engineTypeCounts() ),
+                () -> assertEquals( Map.of( "gps", 2 ), result.featureCounts() )
+        );
+    }
+}
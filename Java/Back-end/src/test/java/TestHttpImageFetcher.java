@@ -0,0 +1,41 @@
+import org.example.service.image.HttpImageFetcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestHttpImageFetcher {
+
+    @Test
+    @DisplayName( "Testando a recusa de URLs de imagens inválidas ou apontando para a rede interna" )
+    void testRejectedUrls () {
+        assertAll(
+                () -> assertThrows( IOException.class, () -> HttpImageFetcher.checkedUri( "ftp://example.com/a.png" ) ),
+                () -> assertThrows( IOException.class, () -> HttpImageFetcher.checkedUri( "file:///etc/passwd" ) ),
+                () -> assertThrows( IOException.class, () -> HttpImageFetcher.checkedUri( "http://exa mple.com/a" ) ),
+                () -> assertThrows( IOException.class, () -> HttpImageFetcher.checkedUri( "/images/car.png" ) ),
+                () -> assertThrows( IOException.class, () -> HttpImageFetcher.checkedUri( "http://127.0.0.1/a" ) ),
+                () -> assertThrows( IOException.class, () -> HttpImageFetcher.checkedUri( "http://localhost/a" ) ),
+                () -> assertThrows( IOException.class,
+                        () -> HttpImageFetcher.checkedUri( "http://169.254.169.254/latest/meta-data" ) ),
+                () -> assertThrows( IOException.class, () -> HttpImageFetcher.checkedUri( "http://10.0.0.5/a" ) ),
+                () -> assertThrows( IOException.class, () -> HttpImageFetcher.checkedUri( "http://192.168.1.1/a" ) ),
+                () -> assertThrows( IOException.class, () -> HttpImageFetcher.checkedUri( "http://0.0.0.0/a" ) ),
+                () -> assertThrows( IOException.class, () -> HttpImageFetcher.checkedUri( "http://[::1]/a" ) ),
+                () -> assertThrows( IOException.class, () -> HttpImageFetcher.checkedUri( "http://[fd00::1]/a" ) )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a aceitação de URLs de imagens em endereços públicos" )
+    void testAcceptedUrl () throws IOException {
+        URI uri = HttpImageFetcher.checkedUri( "HTTPS://93.184.215.14/cars/civic.png" );
+        assertAll(
+                () -> assertEquals( "93.184.215.14", uri.getHost() ),
+                () -> assertEquals( "/cars/civic.png", uri.getPath() )
+        );
+    }
+}
@@ -0,0 +1,74 @@
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.service.idempotency.IdempotencyStore;
+import org.example.service.idempotency.StoredResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestIdempotencyStore {
+
+    private static final IdempotencyStore.Key KEY = IdempotencyStore.Key.of( "POST", "/cars", "Basic YWRtaW4=", "k1" );
+
+    private static IdempotencyStore store ( int maxEntries ) {
+        return new IdempotencyStore( true, 60000, 5000, maxEntries, new SimpleMeterRegistry() );
+    }
+
+    private static StoredResponse created () {
+        return new StoredResponse( 200, "application/json", "{\"id\":\"1\"}".getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    @Test
+    @DisplayName( "Testando a repetição, o conflito e a liberação de chaves de idempotência" )
+    void testReplayAndConflict () throws InterruptedException {
+        IdempotencyStore store = store( 10 );
+        long body = IdempotencyStore.fingerprint( "{\"model\":\"Civic\"}".getBytes( StandardCharsets.UTF_8 ) );
+        long other = IdempotencyStore.fingerprint( "{\"model\":\"Accord\"}".getBytes( StandardCharsets.UTF_8 ) );
+        IdempotencyStore.Key abandoned = IdempotencyStore.Key.of( "POST", "/cars", "Basic YWRtaW4=", "k2" );
+
+        assertEquals( IdempotencyStore.Outcome.EXECUTE, store.begin( KEY, body ).outcome() );
+        store.complete( KEY, created() );
+        assertEquals( IdempotencyStore.Outcome.EXECUTE, store.begin( abandoned, body ).outcome() );
+        store.abandon( abandoned );
+        IdempotencyStore.Decision replay = store.begin( KEY, body );
+        assertAll(
+                () -> assertEquals( IdempotencyStore.Outcome.REPLAY, replay.outcome() ),
+                () -> assertEquals( "{\"id\":\"1\"}", new String( replay.response().body(), StandardCharsets.UTF_8 ) ),
+                () -> assertEquals( IdempotencyStore.Outcome.CONFLICT, store.begin( KEY, other ).outcome() ),
+                () -> assertEquals( IdempotencyStore.Outcome.EXECUTE, store.begin( abandoned, body ).outcome() ),
+                () -> assertNotEquals( KEY, IdempotencyStore.Key.of( "POST", "/cars", "Basic b3V0cm8=", "k1" ) ),
+                () -> assertEquals( 1, store.size() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a espera de uma requisição repetida pela execução em andamento" )
+    void testConcurrentDuplicate () throws Exception {
+        IdempotencyStore store = store( 1 );
+        assertEquals( IdempotencyStore.Outcome.EXECUTE, store.begin( KEY, 7 ).outcome() );
+        CompletableFuture<IdempotencyStore.Decision> duplicate = CompletableFuture.supplyAsync( () -> {
+            try {
+                return store.begin( KEY, 7 );
+            } catch ( InterruptedException exception ) {
+                throw new IllegalStateException( exception );
+            }
+        } );
+        Thread.sleep( 100 );
+        assertFalse( duplicate.isDone() );
+        store.complete( KEY, created() );
+        IdempotencyStore.Decision decision = duplicate.get( 5, TimeUnit.SECONDS );
+        IdempotencyStore.Key next = IdempotencyStore.Key.of( "POST", "/users/create", null, "k1" );
+        store.begin( next, 7 );
+        store.complete( next, created() );
+        assertAll(
+                () -> assertEquals( IdempotencyStore.Outcome.REPLAY, decision.outcome() ),
+                () -> assertEquals( 200, decision.response().status() ),
+                () -> assertEquals( IdempotencyStore.Outcome.EXECUTE, store.begin( KEY, 7 ).outcome() ),
+                () -> assertEquals( 1, store.size() )
+        );
+    }
+}
@@ -0,0 +1,52 @@
+import org.example.service.invalidation.CarsInvalidation;
+import org.example.service.invalidation.InvalidationSequencer;
+import org.example.service.invalidation.InvalidationSequencer.Outcome;
+import org.example.service.invalidation.LoopbackTransport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestInvalidationSequencer {
+
+    @Test
+    @DisplayName( "Testando a detecção de duplicatas e de saltos na sequência de cada origem" )
+    void testSequence () {
+        InvalidationSequencer sequencer = new InvalidationSequencer( 8 );
+        assertAll(
+                () -> assertEquals( Outcome.APPLY, sequencer.accept( message( "a", 3, 1000 ) ).outcome() ),
+                () -> assertEquals( Outcome.APPLY, sequencer.accept( message( "a", 4, 2000 ) ).outcome() ),
+                () -> assertEquals( Outcome.DUPLICATE, sequencer.accept( message( "a", 4, 2000 ) ).outcome() ),
+                () -> assertEquals( new InvalidationSequencer.Decision( Outcome.GAP, 2000 ),
+                        sequencer.accept( message( "a", 7, 5000 ) ) ),
+                () -> assertEquals( Outcome.APPLY, sequencer.accept( message( "b", 1, 5000 ) ).outcome() ),
+                () -> assertEquals( Outcome.APPLY, sequencer.accept( message( "a", 8, 6000 ) ).outcome() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a entrega das mensagens entre transportes do mesmo canal" )
+    void testLoopback () {
+        LoopbackTransport first = new LoopbackTransport( "test" );
+        LoopbackTransport second = new LoopbackTransport( "test" );
+        LoopbackTransport other = new LoopbackTransport( "other" );
+        List<CarsInvalidation> received = new ArrayList<>();
+        first.start( received::add );
+        second.start( received::add );
+        other.start( received::add );
+
+        first.publish( message( "a", 1, 1000 ) );
+        second.stop();
+        first.publish( message( "a", 2, 2000 ) );
+        first.stop();
+        other.stop();
+        assertEquals( List.of( 1L, 1L, 2L ), received.stream().map( CarsInvalidation::sequence ).toList() );
+    }
+
+    private static CarsInvalidation message ( String origin, long sequence, long timestamp ) {
+        return new CarsInvalidation( origin, sequence, "UPDATED", "car-" + sequence, sequence, timestamp );
+    }
+}
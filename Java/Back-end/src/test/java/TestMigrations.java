@@ -0,0 +1,45 @@
+import org.bson.Document;
+import org.example.service.migration.MigrationThrottle;
+import org.example.service.migration.NormalizeProducersMigration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMigrations {
+
+    @Test
+    @DisplayName( "Testando a pausa entre os lotes conforme a latência do banco de dados" )
+    void testThrottle () {
+        MigrationThrottle throttle = new MigrationThrottle( 200, 1000 );
+        long fast = throttle.pauseAfter( 50 );
+        long slow = throttle.pauseAfter( 300 );
+        long slower = throttle.pauseAfter( 400 );
+        long capped = throttle.pauseAfter( 900 );
+        long recovering = throttle.pauseAfter( 100 );
+        assertAll(
+                () -> assertEquals( 0, fast ),
+                () -> assertEquals( 300, slow ),
+                () -> assertEquals( 600, slower ),
+                () -> assertEquals( 1000, capped ),
+                () -> assertEquals( 500, recovering ),
+                () -> assertEquals( 500, throttle.pauseMillis() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a normalização dos fabricantes cadastrados" )
+    void testNormalizeProducers () {
+        NormalizeProducersMigration migration = new NormalizeProducersMigration();
+        Update update = migration.migrate( new Document( "producedBy", "  Mercedes   Benz " ) );
+        assertAll(
+                () -> assertNotNull( update ),
+                () -> assertEquals( new Document( "producedBy", "Mercedes Benz" ),
+                        update.getUpdateObject().get( "$set" ) ),
+                () -> assertNull( migration.migrate( new Document( "producedBy", "Mercedes Benz" ) ) ),
+                () -> assertNull( migration.migrate( new Document( "producedBy", 42 ) ) ),
+                () -> assertNull( migration.migrate( new Document( "model", "Civic" ) ) )
+        );
+    }
+}
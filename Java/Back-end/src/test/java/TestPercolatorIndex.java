@@ -0,0 +1,60 @@
+import org.example.model.Cars;
+import org.example.service.percolator.PercolatorIndex;
+import org.example.service.percolator.SearchPredicate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPercolatorIndex {
+
+    private static SearchPredicate search ( String id, String producedBy, Double maxValue, Integer minYear,
+                                            String... features ) {
+        return new SearchPredicate( id, id, "user", "user@example.org", producedBy, maxValue, minYear,
+                Set.of( features ) );
+    }
+
+    private static List<String> ids ( List<SearchPredicate> matched ) {
+        return matched.stream().map( SearchPredicate::id ).sorted().toList();
+    }
+
+    @Test
+    @DisplayName( "Testando o confronto de um carro com buscas indexadas por critérios diferentes" )
+    void testMatch () {
+        PercolatorIndex index = new PercolatorIndex();
+        index.add( search( "toyota-barato", "toyota", 50000.0, null ) );
+        index.add( search( "honda", "honda", null, null ) );
+        index.add( search( "gps-teto", null, null, null, "gps", "sunroof" ) );
+        index.add( search( "ate-80k", null, 80000.0, 2015 ) );
+        index.add( search( "desde-2020", null, null, 2020 ) );
+        index.add( search( "qualquer", null, null, null ) );
+        Cars car = new Cars( "Corolla", 2018, "Toyota", null, 45000.0, null, List.of( "GPS", "Sunroof" ), null );
+        Cars expensive = new Cars( "Corolla", 2022, "Toyota", null, 90000.0, null, List.of( "GPS" ), null );
+        assertAll(
+                () -> assertEquals( List.of( "ate-80k", "gps-teto", "qualquer", "toyota-barato" ),
+                        ids( index.match( car ) ) ),
+                () -> assertEquals( List.of( "desde-2020", "qualquer" ), ids( index.match( expensive ) ) ),
+                () -> assertEquals( 6, index.size() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a remoção e a substituição de buscas no índice" )
+    void testRemoveAndReplace () {
+        PercolatorIndex index = new PercolatorIndex();
+        index.add( search( "a", null, null, null, "gps" ) );
+        index.add( search( "b", null, null, null, "gps", "leather" ) );
+        Cars car = new Cars( "Civic", 2020, "Honda", null, 30000.0, null, List.of( "gps", "leather" ), null );
+        assertEquals( List.of( "a", "b" ), ids( index.match( car ) ) );
+        index.add( search( "a", "toyota", null, null ) );
+        assertTrue( index.remove( "b" ) );
+        assertAll(
+                () -> assertTrue( index.match( car ).isEmpty() ),
+                () -> assertFalse( index.remove( "b" ) ),
+                () -> assertEquals( 1, index.size() )
+        );
+    }
+}
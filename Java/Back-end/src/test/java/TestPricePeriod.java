@@ -0,0 +1,41 @@
+import org.example.exceptions.InvalidFieldException;
+import org.example.service.prices.PriceHistoryService;
+import org.example.service.prices.PricePeriod;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestPricePeriod {
+
+    @Test
+    @DisplayName( "Testando o início dos períodos diário, semanal e mensal em UTC" )
+    void testBucketStart () {
+        // 2024-03-14 é uma quinta-feira
+        Instant instant = Instant.parse( "2024-03-14T22:45:10Z" );
+        assertAll(
+                () -> assertEquals( Instant.parse( "2024-03-14T00:00:00Z" ), PricePeriod.DAY.bucketStart( instant ) ),
+                () -> assertEquals( Instant.parse( "2024-03-11T00:00:00Z" ), PricePeriod.WEEK.bucketStart( instant ) ),
+                () -> assertEquals( Instant.parse( "2024-03-01T00:00:00Z" ), PricePeriod.MONTH.bucketStart( instant ) ),
+                () -> assertEquals( Instant.parse( "2024-03-11T00:00:00Z" ),
+                        PricePeriod.WEEK.bucketStart( Instant.parse( "2024-03-11T00:00:00Z" ) ) ),
+                () -> assertEquals( Instant.parse( "2024-03-11T00:00:00Z" ),
+                        PricePeriod.WEEK.bucketStart( Instant.parse( "2024-03-17T23:59:59Z" ) ) )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a leitura do período e o identificador dos agregados" )
+    void testFromPathAndRollupId () {
+        Instant bucket = Instant.parse( "2024-03-01T00:00:00Z" );
+        assertAll(
+                () -> assertEquals( PricePeriod.WEEK, PricePeriod.fromPath( "Week" ) ),
+                () -> assertThrows( InvalidFieldException.class, () -> PricePeriod.fromPath( "year" ) ),
+                () -> assertEquals( "producer:Toyota:MONTH:" + bucket.toEpochMilli(),
+                        PriceHistoryService.rollupId( PriceHistoryService.PRODUCER_SCOPE, "Toyota", PricePeriod.MONTH,
+                                bucket ) )
+        );
+    }
+}
@@ -0,0 +1,51 @@
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterConnectionMode;
+import com.mongodb.connection.ClusterDescription;
+import com.mongodb.connection.ClusterType;
+import com.mongodb.connection.ServerConnectionState;
+import com.mongodb.connection.ServerDescription;
+import com.mongodb.connection.ServerType;
+import org.example.service.routing.ReadRouting;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestReadRouting {
+
+    @Test
+    @DisplayName( "Testando o atraso de replicação do secundário mais atrasado" )
+    void testReplicationLag () {
+        ClusterDescription cluster = new ClusterDescription( ClusterConnectionMode.MULTIPLE, ClusterType.REPLICA_SET,
+                List.of( server( "a", ServerType.REPLICA_SET_PRIMARY, 10_000 ),
+                        server( "b", ServerType.REPLICA_SET_SECONDARY, 9_250 ),
+                        server( "c", ServerType.REPLICA_SET_SECONDARY, 7_500 ) ) );
+        assertEquals( 2_500, ReadRouting.replicationLagMillis( cluster ) );
+    }
+
+    @Test
+    @DisplayName( "Testando a ausência de atraso quando não há primário e secundários" )
+    void testStandalone () {
+        ClusterDescription cluster = new ClusterDescription( ClusterConnectionMode.SINGLE, ClusterType.STANDALONE,
+                List.of( server( "a", ServerType.STANDALONE, 10_000 ) ) );
+        ClusterDescription primaryOnly = new ClusterDescription( ClusterConnectionMode.MULTIPLE,
+                ClusterType.REPLICA_SET, List.of( server( "a", ServerType.REPLICA_SET_PRIMARY, 10_000 ) ) );
+        assertAll(
+                () -> assertTrue( Double.isNaN( ReadRouting.replicationLagMillis( cluster ) ) ),
+                () -> assertTrue( Double.isNaN( ReadRouting.replicationLagMillis( primaryOnly ) ) )
+        );
+    }
+
+    private static ServerDescription server ( String host, ServerType type, long lastWrite ) {
+        return ServerDescription.builder()
+                .address( new ServerAddress( host ) )
+                .state( ServerConnectionState.CONNECTED )
+                .ok( true )
+                .type( type )
+                .lastWriteDate( new Date( lastWrite ) )
+                .build();
+    }
+}
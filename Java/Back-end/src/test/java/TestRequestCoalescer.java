@@ -0,0 +1,126 @@
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.events.CarsChangedEvent;
+import org.example.service.coalescing.RequestCoalescer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestRequestCoalescer {
+
+    private static RequestCoalescer coalescer ( int maxEntries ) {
+        return new RequestCoalescer( true, 60_000, 60_000, maxEntries, new SimpleMeterRegistry() );
+    }
+
+    @Test
+    @DisplayName( "Testando que requisições simultâneas idênticas compartilham uma única consulta" )
+    void testConcurrentCallersShareLoad () throws Exception {
+        RequestCoalescer coalescer = coalescer( 100 );
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch( 1 );
+        CountDownLatch release = new CountDownLatch( 1 );
+        ExecutorService executor = Executors.newFixedThreadPool( 8 );
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add( executor.submit( () -> coalescer.execute( "getProducedBy", () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await( release );
+                return "honda";
+            }, "honda" ) ) );
+            assertTrue( started.await( 5, TimeUnit.SECONDS ) );
+            for ( int i = 0; i < 7; i++ ) {
+                results.add( executor.submit( () -> coalescer.execute( "getProducedBy", () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                }, "honda" ) ) );
+            }
+            Thread.sleep( 100 );
+            release.countDown();
+            for ( Future<String> result : results ) {
+                assertEquals( "honda", result.get( 5, TimeUnit.SECONDS ) );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertAll(
+                () -> assertEquals( 1, loads.get() ),
+                () -> assertEquals( "honda", coalescer.execute( "getProducedBy", () -> "other", "honda" ) )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando o descarte dos resultados guardados após uma alteração no catálogo" )
+    void testInvalidationOnCarsChanged () {
+        RequestCoalescer coalescer = coalescer( 100 );
+        assertEquals( "before", coalescer.execute( "getByYear", () -> "before", 2020 ) );
+        assertEquals( "before", coalescer.execute( "getByYear", () -> "after", 2020 ) );
+        coalescer.onCarsChanged( new CarsChangedEvent( this, CarsChangedEvent.Type.CREATED, "1", null, null ) );
+        assertAll(
+                () -> assertEquals( 0, coalescer.size() ),
+                () -> assertEquals( "after", coalescer.execute( "getByYear", () -> "after", 2020 ) )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a propagação das falhas para todas as requisições agrupadas, sem guardá-las" )
+    void testFailurePropagation () throws Exception {
+        RequestCoalescer coalescer = coalescer( 100 );
+        CountDownLatch started = new CountDownLatch( 1 );
+        CountDownLatch release = new CountDownLatch( 1 );
+        ExecutorService executor = Executors.newFixedThreadPool( 2 );
+        try {
+            Future<Object> first = executor.submit( () -> coalescer.execute( "getById", () -> {
+                started.countDown();
+                await( release );
+                throw new IllegalStateException( "database down" );
+            }, "1" ) );
+            assertTrue( started.await( 5, TimeUnit.SECONDS ) );
+            Future<Object> merged = executor.submit( () -> coalescer.execute( "getById", () -> "loaded", "1" ) );
+            Thread.sleep( 100 );
+            release.countDown();
+            Exception firstFailure = assertThrows( Exception.class, () -> first.get( 5, TimeUnit.SECONDS ) );
+            Exception mergedFailure = assertThrows( Exception.class, () -> merged.get( 5, TimeUnit.SECONDS ) );
+            assertAll(
+                    () -> assertInstanceOf( IllegalStateException.class, firstFailure.getCause() ),
+                    () -> assertInstanceOf( IllegalStateException.class, mergedFailure.getCause() ),
+                    () -> assertEquals( 0, coalescer.size() ),
+                    () -> assertEquals( "loaded", coalescer.execute( "getById", () -> "loaded", "1" ) )
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName( "Testando a chave das consultas e o limite de consultas guardadas" )
+    void testKeysAndLimit () {
+        RequestCoalescer coalescer = coalescer( 2 );
+        assertEquals( "blank", coalescer.execute( "getByModel", () -> "blank", " " ) );
+        assertEquals( "blank", coalescer.execute( "getByModel", () -> "null", ( Object ) null ) );
+        assertEquals( "civic", coalescer.execute( "getByModel", () -> "civic", "civic" ) );
+        assertAll(
+                () -> assertEquals( 2, coalescer.size() ),
+                () -> assertEquals( "direct", coalescer.execute( "getByModel", () -> "direct", "accord" ) ),
+                () -> assertEquals( "other", coalescer.execute( "getByModel", () -> "other", "accord" ) ),
+                () -> assertEquals( 2, coalescer.size() )
+        );
+    }
+
+    private static void await ( CountDownLatch latch ) {
+        try {
+            latch.await( 5, TimeUnit.SECONDS );
+        } catch ( InterruptedException exception ) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
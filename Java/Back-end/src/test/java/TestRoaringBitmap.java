@@ -0,0 +1,62 @@
+import org.example.service.bitmap.RoaringBitmap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestRoaringBitmap {
+
+    int[] toArray ( TreeSet<Integer> set ) {
+        return set.stream().mapToInt( Integer::intValue ).toArray();
+    }
+
+    @Test
+    @DisplayName( "Testando operações de conjunto do bitmap contra um TreeSet de referência" )
+    void testSetOperations () {
+        Random random = new Random( 42 );
+        RoaringBitmap left = new RoaringBitmap();
+        RoaringBitmap right = new RoaringBitmap();
+        TreeSet<Integer> leftSet = new TreeSet<>();
+        TreeSet<Integer> rightSet = new TreeSet<>();
+
+        // Valores densos no primeiro bloco e esparsos nos demais, exercitando os dois tipos de contêiner
+        for ( int i = 0; i < 20000; i++ ) {
+            int dense = random.nextInt( 10000 );
+            int sparse = random.nextInt( 1 << 22 );
+            left.add( dense );
+            leftSet.add( dense );
+            right.add( sparse );
+            rightSet.add( sparse );
+            if ( i % 3 == 0 ) {
+                right.add( dense );
+                rightSet.add( dense );
+            }
+        }
+        for ( int i = 0; i < 5000; i++ ) {
+            int value = random.nextInt( 10000 );
+            left.remove( value );
+            leftSet.remove( value );
+        }
+
+        TreeSet<Integer> and = new TreeSet<>( leftSet );
+        and.retainAll( rightSet );
+        TreeSet<Integer> or = new TreeSet<>( leftSet );
+        or.addAll( rightSet );
+        TreeSet<Integer> andNot = new TreeSet<>( leftSet );
+        andNot.removeAll( rightSet );
+
+        assertAll(
+                () -> assertArrayEquals( toArray( leftSet ), left.toArray() ),
+                () -> assertEquals( leftSet.size(), left.cardinality() ),
+                () -> assertArrayEquals( toArray( and ), RoaringBitmap.and( left, right ).toArray() ),
+                () -> assertEquals( and.size(), RoaringBitmap.andCardinality( left, right ) ),
+                () -> assertArrayEquals( toArray( or ), RoaringBitmap.or( left, right ).toArray() ),
+                () -> assertArrayEquals( toArray( andNot ), RoaringBitmap.andNot( left, right ).toArray() ),
+                () -> assertTrue( right.contains( rightSet.first() ) ),
+                () -> assertFalse( RoaringBitmap.of( 1, 2, 3 ).contains( 4 ) )
+        );
+    }
+}
@@ -0,0 +1,43 @@
+import org.example.service.ratelimit.RateLimit;
+import org.example.service.ratelimit.RouteClass;
+import org.example.service.ratelimit.StripedTokenBuckets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestStripedTokenBuckets {
+
+    @Test
+    @DisplayName( "Testando o consumo e a reposição das fichas de um balde" )
+    void testAcquireAndRefill () {
+        StripedTokenBuckets buckets = new StripedTokenBuckets( 1024, 0 );
+        RateLimit limit = new RateLimit( 2, 3 );
+
+        assertAll(
+                () -> assertEquals( 0, buckets.tryAcquire( "user", limit, 1000 ) ),
+                () -> assertEquals( 0, buckets.tryAcquire( "user", limit, 1000 ) ),
+                () -> assertEquals( 0, buckets.tryAcquire( "user", limit, 1000 ) ),
+                () -> assertEquals( 500, buckets.tryAcquire( "user", limit, 1000 ) ),
+                () -> assertEquals( 0, buckets.tryAcquire( "other", limit, 1000 ) ),
+                () -> assertEquals( 0, buckets.tryAcquire( "user", limit, 1500 ) ),
+                () -> assertTrue( buckets.tryAcquire( "user", limit, 1500 ) > 0 )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a classificação das rotas e a leitura dos limites configurados" )
+    void testRouteClassAndParse () {
+        assertAll(
+                () -> assertEquals( RouteClass.READ, RouteClass.classify( "GET", "/cars/66b0c0ffee" ) ),
+                () -> assertEquals( RouteClass.READ, RouteClass.classify( "GET", "/cars/66b0c0ffee/image/160" ) ),
+                () -> assertEquals( RouteClass.QUERY, RouteClass.classify( "GET", "/cars/value/bigger_than/10" ) ),
+                () -> assertEquals( RouteClass.QUERY, RouteClass.classify( "GET", "/cars/search" ) ),
+                () -> assertEquals( RouteClass.QUERY, RouteClass.classify( "GET", "/cars" ) ),
+                () -> assertEquals( RouteClass.WRITE, RouteClass.classify( "POST", "/cars" ) ),
+                () -> assertEquals( new RateLimit( 0.5, 10 ),
+                        RateLimit.parse( "query=0.5:10,write=1:2" ).get( RouteClass.QUERY ) ),
+                () -> assertThrows( IllegalArgumentException.class, () -> RateLimit.parse( "unknown=1:1" ) )
+        );
+    }
+}
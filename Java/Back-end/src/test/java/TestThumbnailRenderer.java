@@ -0,0 +1,51 @@
+import org.example.service.image.ThumbnailRenderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestThumbnailRenderer {
+
+    @TempDir
+    Path directory;
+
+    Path png ( int width, int height ) throws IOException {
+        Path file = directory.resolve( width + "x" + height + ".png" );
+        ImageIO.write( new BufferedImage( width, height, BufferedImage.TYPE_INT_RGB ), "png", file.toFile() );
+        return file;
+    }
+
+    @Test
+    @DisplayName( "Testando a geração de miniaturas proporcionais sem ampliar a imagem original" )
+    void testRender () throws IOException {
+        BufferedImage reduced = ImageIO.read( new ByteArrayInputStream(
+                ThumbnailRenderer.render( png( 400, 200 ), 100, 1_000_000 ) ) );
+        BufferedImage kept = ImageIO.read( new ByteArrayInputStream(
+                ThumbnailRenderer.render( png( 50, 40 ), 100, 1_000_000 ) ) );
+        assertAll(
+                () -> assertEquals( 100, reduced.getWidth() ),
+                () -> assertEquals( 50, reduced.getHeight() ),
+                () -> assertEquals( 50, kept.getWidth() ),
+                () -> assertEquals( 40, kept.getHeight() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a recusa de imagens acima do limite de pixels ou em formato desconhecido" )
+    void testRejected () throws IOException {
+        Path large = png( 400, 200 );
+        Path text = Files.writeString( directory.resolve( "car.png" ), "not an image" );
+        assertAll(
+                () -> assertThrows( IOException.class, () -> ThumbnailRenderer.render( large, 100, 79_999 ) ),
+                () -> assertThrows( IOException.class, () -> ThumbnailRenderer.render( text, 100, 1_000_000 ) )
+        );
+    }
+}
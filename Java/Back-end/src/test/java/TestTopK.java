@@ -0,0 +1,45 @@
+import org.example.service.ranking.TopK;
+import org.example.utils.SpeedInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTopK {
+
+    @Test
+    @DisplayName( "Testando a seleção dos k menores valores contra a ordenação completa" )
+    void testSelection () {
+        Random random = new Random( 7 );
+        List<Integer> values = new ArrayList<>();
+        TopK<Integer> selection = new TopK<>( 10, Comparator.naturalOrder() );
+        for ( int i = 0; i < 5000; i++ ) {
+            int value = random.nextInt( 100000 );
+            values.add( value );
+            selection.offer( value );
+        }
+        values.sort( Comparator.naturalOrder() );
+
+        assertAll(
+                () -> assertEquals( 10, selection.size() ),
+                () -> assertEquals( values.subList( 0, 10 ), selection.toList() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a normalização da velocidade máxima para milhas por hora" )
+    void testSpeedNormalization () {
+        assertAll(
+                () -> assertEquals( 155.0, SpeedInfo.toMph( "155 mph" ) ),
+                () -> assertEquals( 155.34, SpeedInfo.toMph( "250 km/h" ), 0.01 ),
+                () -> assertEquals( 200.0, SpeedInfo.toMph( "200" ) ),
+                () -> assertTrue( Double.isNaN( SpeedInfo.toMph( "N/A" ) ) ),
+                () -> assertTrue( Double.isNaN( SpeedInfo.toMph( null ) ) )
+        );
+    }
+}
@@ -0,0 +1,86 @@
+import org.example.dto.ModelMatchDTO;
+import org.example.model.Cars;
+import org.example.service.fuzzy.EditDistance;
+import org.example.service.fuzzy.TextFolding;
+import org.example.service.fuzzy.TrigramIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTrigramIndex {
+
+    private static Cars car ( String id, String model, String producedBy ) {
+        Cars car = new Cars( model, 2020, producedBy, null, 30000.0, null, List.of(), null );
+        car.setId( id );
+        return car;
+    }
+
+    private static TrigramIndex index () {
+        return TrigramIndex.of( List.of(
+                car( "1", "Corolla", "Toyota" ),
+                car( "2", "Corolla Cross", "Toyota" ),
+                car( "3", "Model S", "Tesla" ),
+                car( "4", "Model 3", "Tesla" ),
+                car( "5", "Citroën C3", "Citroën" ),
+                car( "6", "Civic", "Honda" ) ) );
+    }
+
+    private static List<String> ids ( List<ModelMatchDTO> matches ) {
+        return matches.stream().map( ModelMatchDTO::id ).toList();
+    }
+
+    @Test
+    @DisplayName( "Testando a normalização de maiúsculas, acentos e pontuação" )
+    void testFolding () {
+        assertAll(
+                () -> assertEquals( "citroen c3", TextFolding.fold( "  CITROËN-C3! " ) ),
+                () -> assertEquals( "", TextFolding.fold( "--" ) )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a distância de edição limitada com trocas de letras vizinhas e prefixos" )
+    void testEditDistance () {
+        assertAll(
+                () -> assertEquals( 1, EditDistance.compare( "corola", "corolla", 2 ).distance() ),
+                () -> assertEquals( 1, EditDistance.compare( "coroll", "corlol", 2 ).distance() ),
+                () -> assertTrue( EditDistance.compare( "coro", "corolla", 1 ).prefix() ),
+                () -> assertNull( EditDistance.compare( "civic", "corolla", 2 ) )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a busca de modelos com erros de digitação, fabricante e acentos" )
+    void testSearch () {
+        TrigramIndex index = index();
+        List<ModelMatchDTO> corola = index.search( "Corola", 2, 10 );
+        assertAll(
+                () -> assertEquals( "1", corola.get( 0 ).id() ),
+                () -> assertEquals( 1, corola.get( 0 ).distance() ),
+                () -> assertFalse( corola.get( 0 ).prefix() ),
+                () -> assertEquals( List.of( "3", "4" ), ids( index.search( "model s", 1, 10 ) ) ),
+                () -> assertEquals( List.of( "3", "4" ), ids( index.search( "tesla modle s", 2, 10 ) ) ),
+                () -> assertEquals( List.of( "5" ), ids( index.search( "citroen c3", 0, 10 ) ) ),
+                () -> assertEquals( List.of( "1", "2" ), ids( index.search( "coro", 1, 10 ) ) ),
+                () -> assertTrue( index.search( "xyz", 2, 10 ).isEmpty() ),
+                () -> assertEquals( 1, index.search( "coro", 1, 1 ).size() )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a atualização e a remoção de carros no índice de trigramas" )
+    void testPutAndRemove () {
+        TrigramIndex index = index();
+        index.put( car( "6", "Accord", "Honda" ) );
+        index.remove( "1" );
+        assertAll(
+                () -> assertTrue( index.search( "civic", 1, 10 ).isEmpty() ),
+                () -> assertEquals( List.of( "6" ), ids( index.search( "acord", 1, 10 ) ) ),
+                () -> assertEquals( List.of( "2" ), ids( index.search( "corolla", 1, 10 ) ) ),
+                () -> assertEquals( 5, index.size() )
+        );
+    }
+}
@@ -0,0 +1,52 @@
+import org.example.dto.FieldErrorDTO;
+import org.example.exceptions.InvalidFieldException;
+import org.example.exceptions.ValidationFailedException;
+import org.example.model.Cars;
+import org.example.model.DimensionsCar;
+import org.example.model.SpecificationsCar;
+import org.example.service.patch.CarPatch;
+import org.example.validations.CarIsValid;
+import org.example.validations.ValidationResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestValidationResult {
+
+    @Test
+    @DisplayName( "Testando a reunião de todos os campos inválidos de um carro" )
+    void testCarErrors () {
+        Cars car = new Cars( " ", 2020, "Porsche", "https://images.example.com/taycan.jpg", - 1,
+                new SpecificationsCar( "Electric", "", "450 km", "2.6 s", "161 mph" ), List.of(), null );
+
+        ValidationResult result = CarIsValid.check( car );
+        ValidationFailedException exception = assertThrows( ValidationFailedException.class,
+                () -> CarIsValid.validate( car ) );
+        assertAll(
+                () -> assertFalse( result.isValid() ),
+                () -> assertEquals( List.of( "model", "carValue", "specifications.engineCapacity", "features",
+                        "dimensions" ), result.getErrors().stream().map( FieldErrorDTO::field ).toList() ),
+                () -> assertEquals( result.getErrors(), exception.getErrors() ),
+                () -> assertEquals( 0, exception.getStackTrace().length )
+        );
+    }
+
+    @Test
+    @DisplayName( "Testando a validação de um carro completo e a reunião dos erros de uma alteração parcial" )
+    void testValidCarAndPatchErrors () {
+        Cars car = new Cars( "Taycan", 2020, "Porsche", "https://images.example.com/taycan.jpg", 103800,
+                new SpecificationsCar( "Electric", "93.4 kWh", "450 km", "2.6 s", "161 mph" ),
+                List.of( "Ar-condicionado" ), new DimensionsCar( "4963 mm", "1966 mm", "1381 mm", "2900 mm" ) );
+
+        InvalidFieldException exception = assertThrows( InvalidFieldException.class,
+                () -> CarPatch.of( Map.of( "carValue", "caro", "dimensions", Map.of( "weight", "2 t" ) ) ) );
+        assertAll(
+                () -> assertTrue( CarIsValid.check( car ).isValid() ),
+                () -> assertEquals( 2, ( ( ValidationFailedException ) exception ).getErrors().size() )
+        );
+    }
+}
@@ -0,0 +1,71 @@
+import org.example.model.Cars;
+import org.example.model.DimensionsCar;
+import org.example.model.SpecificationsCar;
+import org.example.service.similar.BruteForceNeighbours;
+import org.example.service.similar.CarVectors;
+import org.example.service.similar.Neighbour;
+import org.example.service.similar.VantagePointTree;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestVantagePointTree {
+
+    @Test
+    @DisplayName( "Testando se a árvore encontra os mesmos vizinhos que a busca exaustiva" )
+    void testMatchesBruteForce () {
+        int count = 5000;
+        int dimensions = 6;
+        Random random = new Random( 7 );
+        String[] ids = new String[ count ];
+        float[] coordinates = new float[ count * dimensions ];
+        for ( int i = 0; i < count; i++ ) {
+            ids[ i ] = "car-" + i;
+            for ( int d = 0; d < dimensions; d++ ) {
+                // Poucos valores distintos geram muitos empates de distância
+                coordinates[ i * dimensions + d ] = d < 2 ? random.nextInt( 4 ) : ( float ) random.nextGaussian();
+            }
+        }
+        float[] copy = coordinates.clone();
+        VantagePointTree tree = new VantagePointTree( ids.clone(), coordinates, dimensions );
+        for ( int q = 0; q < 50; q++ ) {
+            double[] query = new double[ dimensions ];
+            for ( int d = 0; d < dimensions; d++ ) {
+                query[ d ] = random.nextGaussian();
+            }
+            String skipped = "car-" + q;
+            List<Neighbour> expected = BruteForceNeighbours.nearest( ids, copy, dimensions, query, 10,
+                    skipped::equals );
+            List<Neighbour> actual = tree.nearest( query, 10, skipped::equals );
+            assertEquals( expected.stream().map( Neighbour::distance ).toList(),
+                    actual.stream().map( Neighbour::distance ).toList() );
+            assertTrue( actual.stream().noneMatch( neighbour -> neighbour.id().equals( skipped ) ) );
+        }
+    }
+
+    @Test
+    @DisplayName( "Testando a extração dos números das especificações e dimensões do carro" )
+    void testCarVector () {
+        Cars car = new Cars( "Taycan", 2021, "Porsche", null, 85000,
+                new SpecificationsCar( "Electric", "0", "227 miles", "2,6 s", "250 km/h" ),
+                List.of( "GPS", "gps" ), new DimensionsCar( "4963 mm", "1966 mm", null, "2900 mm" ) );
+        double[] vector = CarVectors.raw( car );
+        double features = 0;
+        for ( int d = CarVectors.NUMERIC_DIMENSIONS; d < CarVectors.DIMENSIONS; d++ ) {
+            features += vector[ d ];
+        }
+        double total = features;
+        assertAll(
+                () -> assertEquals( 85000, vector[ 0 ] ),
+                () -> assertEquals( 2021, vector[ 1 ] ),
+                () -> assertEquals( 2.6, vector[ 4 ], 1e-9 ),
+                () -> assertEquals( 250 * 0.621371, vector[ 5 ], 1e-6 ),
+                () -> assertTrue( Double.isNaN( vector[ 8 ] ) ),
+                () -> assertEquals( 2, total )
+        );
+    }
+}